@@ -26,4 +26,27 @@ public interface ICapabilityKeys {
 	 * whether the client can prompt the user for a string with a given message
 	 */
 	public static final String BOOLEAN_STRING_PROMPT = "prompt.string";
-}
+
+	/**
+	 * A capability key expecting a boolean in string form 
+	 * whether the client wants to receive `client/serverStateDelta`
+	 * notifications instead of complete server states
+	 */
+	public static final String BOOLEAN_STATE_DELTA = "state.delta";
+
+	/**
+	 * A capability key expecting a number of bytes in string form.
+	 * Clients set it to how much of the most recent output of each 
+	 * stream of each running server process they want replayed once 
+	 * they registered their capabilities. The server sets it to the
+	 * most it replays.
+	 */
+	public static final String STRING_OUTPUT_REPLAY = "output.replay";
+
+	/**
+	 * A capability key expecting a boolean in string form 
+	 * whether the client wants to receive large process output as
+	 * `client/serverProcessOutputCompressed` notifications
+	 */
+	public static final String BOOLEAN_OUTPUT_COMPRESSED = "output.compressed";
+}
\ No newline at end of file
@@ -13,11 +13,13 @@ import java.util.concurrent.CompletableFuture;
 import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
 import org.eclipse.lsp4j.jsonrpc.services.JsonRequest;
 import org.eclipse.lsp4j.jsonrpc.services.JsonSegment;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
 
 @JsonSegment("client")
@@ -99,6 +101,20 @@ public interface RSPClient {
 	@JsonNotification
 	void serverStateChanged(ServerState state);
 
+	/**
+	 * The `client/serverStateDelta` notification is sent by the server 
+	 * instead of `client/serverStateChanged` to clients which have 
+	 * registered the `state.delta` capability. 
+	 * 
+	 * It only carries what has changed since the previous delta for 
+	 * the same server. The first delta for a server has sequence number 1
+	 * and carries the complete state. If a client notices a gap in the 
+	 * sequence numbers, it should request the complete state of the server
+	 * with `server/getServerState`.
+	 */
+	@JsonNotification
+	void serverStateDelta(ServerStateDelta delta);
+
 	/**
 	 * The `client/serverProcessCreated` notification is sent 
 	 * by the server to all clients when any server 
@@ -136,4 +152,17 @@ public interface RSPClient {
 	@JsonNotification
 	void serverProcessOutputAppended(ServerProcessOutput output);
 
+	/**
+	 * The `client/serverProcessOutputCompressed` notification is sent by 
+	 * the server instead of `client/serverProcessOutputAppended` to clients 
+	 * which have registered the `output.compressed` capability, if the 
+	 * output is large enough to be worth compressing. 
+	 * 
+	 * The output is the text encoded as UTF-8, compressed as a zlib 
+	 * deflate stream and encoded as base64. Smaller output is still sent 
+	 * with `client/serverProcessOutputAppended`.
+	 */
+	@JsonNotification
+	void serverProcessOutputCompressed(CompressedServerProcessOutput output);
+
 }
@@ -23,19 +23,30 @@ import org.jboss.tools.rsp.api.dao.DiscoveryPath;
 import org.jboss.tools.rsp.api.dao.DownloadRuntimeResponse;
 import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
 import org.jboss.tools.rsp.api.dao.LaunchParameters;
+import org.jboss.tools.rsp.api.dao.MessageTraceRequest;
+import org.jboss.tools.rsp.api.dao.MessageTraceResponse;
 import org.jboss.tools.rsp.api.dao.ModifyDeployableRequest;
 import org.jboss.tools.rsp.api.dao.PublishServerRequest;
+import org.jboss.tools.rsp.api.dao.PublishServersRequest;
 import org.jboss.tools.rsp.api.dao.ServerAttributes;
 import org.jboss.tools.rsp.api.dao.ServerBean;
 import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
 import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilterRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
 import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStatesRequest;
 import org.jboss.tools.rsp.api.dao.ServerType;
 import org.jboss.tools.rsp.api.dao.StartServerResponse;
+import org.jboss.tools.rsp.api.dao.StartServersRequest;
 import org.jboss.tools.rsp.api.dao.Status;
 import org.jboss.tools.rsp.api.dao.StopServerAttributes;
+import org.jboss.tools.rsp.api.dao.StopServersRequest;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
 
 @JsonSegment("server")
 public interface RSPServer {
@@ -44,7 +55,12 @@ public interface RSPServer {
 	 */
 
 	/** 
-	 * Register client capabilities so the server knows what this client can support
+	 * Register client capabilities so the server knows what this client can support.
+	 * Clients that register the `output.replay` capability are sent that many bytes
+	 * of the most recent output of each running server process as 
+	 * `client/serverProcessOutputAppended` notifications.
+	 * Clients that register the `output.compressed` capability are sent 
+	 * large output as `client/serverProcessOutputCompressed` notifications.
 	 */
 	@JsonRequest
 	CompletableFuture<ServerCapabilitiesResponse> registerClientCapabilities(ClientCapabilitiesRequest request);
@@ -56,6 +72,39 @@ public interface RSPServer {
 	@JsonNotification
 	void shutdown();
 
+	/**
+	 * The `server/subscribe` request is sent by the client to the server
+	 * to choose which events it is notified of. 
+	 * 
+	 * Each request replaces the previous subscription of the client. 
+	 * Clients that never subscribe are notified of all events.
+	 * Events that do not match the subscription are discarded before 
+	 * they are sent, so clients that want to catch up with a server 
+	 * they subscribe to later should use `server/getServerState`.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@JsonRequest
+	CompletableFuture<Status> subscribe(SubscriptionRequest request);
+
+	/**
+	 * The `server/setOutputFilter` request is sent by the client to the server
+	 * to only be sent the lines of server process output it is interested in. 
+	 * 
+	 * A line is sent if it matches any of the filters that are not excluding,
+	 * or if there are none, and it matches none of the excluding filters. 
+	 * Filters apply to whole lines, so output is held until its line ends 
+	 * or its process terminates. Each request replaces the previous filters 
+	 * of the client for the given servers. Output that is filtered out is 
+	 * discarded before it is sent.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@JsonRequest
+	CompletableFuture<Status> setOutputFilter(ServerOutputFilterRequest request);
+
 	
 	
 	
@@ -268,6 +317,19 @@ public interface RSPServer {
 	 */
 	@JsonRequest
 	CompletableFuture<ServerState> getServerState(ServerHandle handle);
+
+	/**
+	 * The `server/getServerHealth` request is sent by the client to the server 
+	 * to get the health of a server as found by the last checks of the health 
+	 * monitor. The monitor is off unless the RSP is started with 
+	 * rsp.server.health.interval set. It checks started servers every so often, 
+	 * and sets those found down to stopped, which clients are notified of 
+	 * with `client/serverStateChanged`. 
+	 * 
+	 * Returns null if the server does not exist.
+	 */
+	@JsonRequest
+	CompletableFuture<ServerHealth> getServerHealth(ServerHandle handle);
 	
 	/**
 	 * The `server/startServerAsync` request is sent by the client to the server to
@@ -287,6 +349,37 @@ public interface RSPServer {
 	@JsonRequest
 	CompletableFuture<Status> stopServerAsync(StopServerAttributes attr);
 
+	/*
+	 * Bulk operations
+	 */
+	/**
+	 * The `server/getServerStates` request is sent by the client to the server to
+	 * get the state of several servers at once.
+	 * 
+	 * The states are returned in the order of the given servers. 
+	 * The state of a server that does not exist is null.
+	 */
+	@JsonRequest
+	CompletableFuture<List<ServerState>> getServerStates(ServerStatesRequest request);
+
+	/**
+	 * The `server/startServers` request is sent by the client to the server to
+	 * start several existing servers in the model. The servers are started in 
+	 * parallel, and the responses are returned in the order of the given 
+	 * launch parameters once all of them are available.
+	 */
+	@JsonRequest
+	CompletableFuture<List<StartServerResponse>> startServers(StartServersRequest request);
+
+	/**
+	 * The `server/stopServers` request is sent by the client to the server to
+	 * stop several existing servers in the model. The servers are stopped in 
+	 * parallel, and the statuses are returned in the order of the given 
+	 * servers once all of them are available.
+	 */
+	@JsonRequest
+	CompletableFuture<List<Status>> stopServers(StopServersRequest request);
+
 	
 	/*
 	 * Publishing
@@ -334,6 +427,38 @@ public interface RSPServer {
 	 */
 	@JsonRequest
 	public CompletableFuture<Status> publish(PublishServerRequest request);
+
+	/**
+	 * The `server/publishServers` request is sent by the client to the server
+	 * to publish several servers at once. The servers are published in 
+	 * parallel, and the statuses are returned in the order of the given 
+	 * servers once all of them are available.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@JsonRequest
+	public CompletableFuture<List<Status>> publishServers(PublishServersRequest request);
+	
+	/*
+	 * Server output
+	 */
+	/**
+	 * The `server/getServerOutput` request is sent by the client to the server 
+	 * to read the output history of a server process. 
+	 * 
+	 * Only the most recent output of each process stream is kept, 
+	 * up to a size set when the server was launched. Offsets count 
+	 * the bytes written by the process, and a negative offset counts 
+	 * back from the latest output. Clients page through the history 
+	 * by sending the `nextOffset` of a response as the offset of 
+	 * the next request. The response is null if the process is unknown.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@JsonRequest
+	public CompletableFuture<ServerOutputResponse> getServerOutput(ServerOutputRequest request);
 	
 
 	
@@ -348,4 +473,22 @@ public interface RSPServer {
 	@JsonRequest
 	public CompletableFuture<DownloadRuntimeResponse> listDownloadableRuntimes();
 	
+
+
+	/*
+	 * Diagnostics
+	 */
+	/**
+	 * The `server/getMessageTrace` request is sent by the client to the server
+	 * to fetch the json-rpc messages most recently sent or received by the server.
+	 * 
+	 * Messages are only traced if the server was launched with tracing enabled, 
+	 * and only as many as fit in the trace buffer are kept. If the request asks
+	 * for it, the buffer is cleared after its contents are returned.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	@JsonRequest
+	public CompletableFuture<MessageTraceResponse> getMessageTrace(MessageTraceRequest request);
 }
@@ -108,6 +108,59 @@ public interface ServerManagementAPIConstants {
 	 */
 	public static final int PUBLISH_AUTO = 4;
 	
+	/*
+	 * Event kinds a client may subscribe to
+	 */
+	/**
+	 * Event kind for discovery paths being added or removed
+	 */
+	public static final String EVENT_KIND_DISCOVERY = "discovery";
+
+	/**
+	 * Event kind for servers being added or removed
+	 */
+	public static final String EVENT_KIND_SERVER = "server";
+
+	/**
+	 * Event kind for server state changes
+	 */
+	public static final String EVENT_KIND_STATE = "state";
+
+	/**
+	 * Event kind for server processes being created or terminated
+	 */
+	public static final String EVENT_KIND_PROCESS = "process";
+
+	/**
+	 * Event kind for output of server processes
+	 */
+	public static final String EVENT_KIND_OUTPUT = "output";
+
+	/*
+	 * Server health, as checked by the health monitor
+	 */
+	/**
+	 * Health status of a server that answered the check
+	 */
+	public static final String HEALTH_HEALTHY = "healthy";
+
+	/**
+	 * Health status of a server that was not reachable, ie. crashed
+	 */
+	public static final String HEALTH_DOWN = "down";
+
+	/**
+	 * Health status of a server that took too long to answer 
+	 * the check, or did not answer it at all, ie. hung
+	 */
+	public static final String HEALTH_UNRESPONSIVE = "unresponsive";
+
+	/**
+	 * Health status of a server whose health could not be told, 
+	 * or that was not checked
+	 */
+	public static final String HEALTH_UNKNOWN = "unknown";
+	
 	/*
 	 * Debugging details: keys
 	 * These should match the keys in org.jboss.tools.rsp.launching.utils.LaunchingDebugProperties
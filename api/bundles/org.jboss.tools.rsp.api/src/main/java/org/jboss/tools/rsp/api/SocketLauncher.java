@@ -8,26 +8,35 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.api;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.eclipse.lsp4j.jsonrpc.Launcher;
 import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.jboss.tools.rsp.api.json.DAOTypeAdapterFactory;
+
+import com.google.gson.GsonBuilder;
 
 public class SocketLauncher<T> implements Launcher<T> {
 
 	private final Launcher<T> launcher;
 	private Future<Void> startListeningResult;
-	private Socket socket;
+	private Closeable connection;
 
 	public SocketLauncher(Object localService, Class<T> remoteInterface, Socket socket) throws IOException {
-		this.launcher = Launcher.createLauncher(localService, remoteInterface, socket.getInputStream(),
-				socket.getOutputStream());
-		this.socket = socket;
+		this.launcher = createBuilder(remoteInterface).setLocalService(localService).setRemoteInterface(remoteInterface)
+				.setInput(socket.getInputStream()).setOutput(socket.getOutputStream()).create();
+		this.connection = socket;
 	}
 
 	public SocketLauncher(Object localService, Class<T> remoteInterface, Socket socket, PrintWriter tracing)
@@ -35,23 +44,58 @@ public class SocketLauncher<T> implements Launcher<T> {
 		Launcher<T> launcherTmp = createBuilder(remoteInterface).setLocalService(localService).setRemoteInterface(remoteInterface)
 				.setInput(socket.getInputStream()).setOutput(socket.getOutputStream()).traceMessages(tracing).create();
 		this.launcher = launcherTmp;
-		this.socket = socket;
+		this.connection = socket;
+	}
+
+	/**
+	 * Create a launcher for a connected, blocking channel,
+	 * such as a unix domain socket channel.
+	 */
+	public SocketLauncher(Object localService, Class<T> remoteInterface, SocketChannel channel) throws IOException {
+		this.launcher = createBuilder(remoteInterface).setLocalService(localService).setRemoteInterface(remoteInterface)
+				.setInput(new ChannelInputStream(channel)).setOutput(new ChannelOutputStream(channel)).create();
+		this.connection = channel;
+	}
+
+	/**
+	 * Wrap an already created launcher. Closing this launcher
+	 * closes the given connection.
+	 */
+	protected SocketLauncher(Launcher<T> launcher, Closeable connection) {
+		this.launcher = launcher;
+		this.connection = connection;
 	}
 
 	protected Builder<T> createBuilder(Class<T> remoteInterface) {
-		return new Builder<T>();
+		Builder<T> builder = new Builder<T>();
+		builder.configureGson(SocketLauncher::configureGson);
+		return builder;
+	}
+
+	/**
+	 * Use the generated type adapters for the DAOs 
+	 * instead of gson's reflective ones
+	 */
+	public static void configureGson(GsonBuilder builder) {
+		builder.registerTypeAdapterFactory(new DAOTypeAdapterFactory());
 	}
 	
 	
 	public CompletableFuture<Void> startListening() {
-		return CompletableFuture.runAsync(() -> {
-			try {
-				this.startListeningResult = this.launcher.startListening();
-				startListeningResult.get();
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			}
-		}, Executors.newSingleThreadExecutor());
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			return CompletableFuture.runAsync(() -> {
+				try {
+					this.startListeningResult = this.launcher.startListening();
+					startListeningResult.get();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}, executor);
+		} finally {
+			// Lets the thread die once the connection is closed
+			executor.shutdown();
+		}
 	}
 
 	public T getRemoteProxy() {
@@ -69,7 +113,7 @@ public class SocketLauncher<T> implements Launcher<T> {
 			startListeningResult.cancel(true);
 		}
 		try {
-			socket.close();
+			connection.close();
 		} catch(IOException ioe) {
 		}
 	}
@@ -77,4 +121,62 @@ public class SocketLauncher<T> implements Launcher<T> {
 	public Future<Void> getStartListeningResult() {
 		return startListeningResult;
 	}
+
+	/*
+	 * The streams of Channels.newInputStream and Channels.newOutputStream 
+	 * synchronize on the channel's blocking lock, so a blocked read would 
+	 * stall every write. These read and write the channel directly.
+	 */
+	private static class ChannelInputStream extends InputStream {
+		private final SocketChannel channel;
+
+		ChannelInputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			int read = read(b, 0, 1);
+			return read == -1 ? -1 : (b[0] & 0xff);
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if( len == 0 )
+				return 0;
+			return channel.read(ByteBuffer.wrap(b, off, len));
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+
+	private static class ChannelOutputStream extends OutputStream {
+		private final SocketChannel channel;
+
+		ChannelOutputStream(SocketChannel channel) {
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte)b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			ByteBuffer buf = ByteBuffer.wrap(b, off, len);
+			while( buf.hasRemaining()) {
+				channel.write(buf);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
 }
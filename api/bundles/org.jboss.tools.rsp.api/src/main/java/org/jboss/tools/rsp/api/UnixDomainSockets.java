@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.BindException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * Access to unix domain sockets, which are only available
+ * when running on java 16 or later.
+ *
+ * The api is accessed reflectively so that this class can
+ * be compiled against, and loaded by, java 8.
+ */
+public class UnixDomainSockets {
+	/**
+	 * The prefix used to denote a unix domain socket path
+	 * wherever a host may be given
+	 */
+	public static final String URI_PREFIX = "unix:";
+
+	private static final String ADDRESS_CLASS = "java.net.UnixDomainSocketAddress";
+	private static final String UNIX_FAMILY = "UNIX";
+
+	private UnixDomainSockets() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * @return true if the running jvm supports unix domain sockets
+	 */
+	public static boolean isSupported() {
+		return getAddressFactory() != null && getUnixFamily() != null;
+	}
+
+	/**
+	 * @return true if the given host denotes a unix domain socket
+	 */
+	public static boolean isSocketUri(String host) {
+		return host != null && host.startsWith(URI_PREFIX);
+	}
+
+	/**
+	 * @return the path of the given unix domain socket uri
+	 */
+	public static Path toPath(String uri) {
+		String path = isSocketUri(uri) ? uri.substring(URI_PREFIX.length()) : uri;
+		return Paths.get(path);
+	}
+
+	/**
+	 * Create a unix domain socket address for the given path.
+	 *
+	 * @throws IOException if unix domain sockets are not supported
+	 */
+	public static SocketAddress createAddress(Path path) throws IOException {
+		Method factory = getAddressFactory();
+		if( factory == null )
+			throw unsupported();
+		try {
+			return (SocketAddress)factory.invoke(null, path);
+		} catch(InvocationTargetException ite) {
+			throw new IOException("Unable to create socket address for " + path, ite.getCause());
+		} catch(IllegalAccessException iae) {
+			throw new IOException("Unable to create socket address for " + path, iae);
+		}
+	}
+
+	/**
+	 * Open a server channel bound to the given path.
+	 * A stale socket file left behind at the path is deleted first.
+	 *
+	 * @throws BindException if a socket something listens on, 
+	 * or a file that is not a socket, is at the path
+	 * @throws IOException if unix domain sockets are not supported
+	 * or the channel cannot be bound
+	 */
+	public static ServerSocketChannel openServerChannel(Path path) throws IOException {
+		SocketAddress address = createAddress(path);
+		ServerSocketChannel channel = null;
+		try {
+			Method open = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+			channel = (ServerSocketChannel)open.invoke(null, getUnixFamily());
+		} catch(InvocationTargetException ite) {
+			throw new IOException("Unable to open unix domain socket " + path, ite.getCause());
+		} catch(NoSuchMethodException | IllegalAccessException e) {
+			throw unsupported();
+		}
+		try {
+			deleteStaleSocket(path);
+			channel.bind(address);
+		} catch(IOException ioe) {
+			channel.close();
+			throw ioe;
+		}
+		return channel;
+	}
+
+	/*
+	 * Delete the socket file at the given path if nothing listens 
+	 * on it anymore. The socket of a running server, or any other 
+	 * kind of file, is left alone.
+	 */
+	private static void deleteStaleSocket(Path path) throws IOException {
+		BasicFileAttributes attrs;
+		try {
+			attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+		} catch(NoSuchFileException nsfe) {
+			return;
+		}
+		// sockets are neither regular files, directories nor links
+		if( !attrs.isOther())
+			throw addressInUse(path);
+		boolean listening;
+		try (SocketChannel c = connect(path)) {
+			listening = true;
+		} catch(IOException ioe) {
+			listening = false;
+		}
+		if( listening )
+			throw addressInUse(path);
+		Files.deleteIfExists(path);
+	}
+
+	private static BindException addressInUse(Path path) {
+		return new BindException("Address already in use: " + path);
+	}
+
+	/**
+	 * Connect a blocking channel to the unix domain socket at the given path.
+	 *
+	 * @throws IOException if unix domain sockets are not supported
+	 * or the connection fails
+	 */
+	public static SocketChannel connect(Path path) throws IOException {
+		return SocketChannel.open(createAddress(path));
+	}
+
+	private static Method getAddressFactory() {
+		try {
+			return Class.forName(ADDRESS_CLASS).getMethod("of", Path.class);
+		} catch(ClassNotFoundException | NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	private static ProtocolFamily getUnixFamily() {
+		try {
+			return StandardProtocolFamily.valueOf(UNIX_FAMILY);
+		} catch(IllegalArgumentException iae) {
+			return null;
+		}
+	}
+
+	private static IOException unsupported() {
+		return new IOException("Unix domain sockets require java 16 or later. Running on java "
+				+ System.getProperty("java.version"));
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Output of a server process, compressed.
+ *
+ * The data is the text encoded as UTF-8, compressed as a zlib 
+ * deflate stream and then encoded as base64. The length is 
+ * the number of bytes of the text encoded as UTF-8.
+ */
+public class CompressedServerProcessOutput {
+	private ServerHandle server;
+	private String processId;
+	private int streamType;
+	private int length;
+	private String data;
+
+	public CompressedServerProcessOutput() {
+
+	}
+
+	public CompressedServerProcessOutput(ServerHandle handle, String id, int type, int length, String data) {
+		this.server = handle;
+		this.processId = id;
+		this.streamType = type;
+		this.length = length;
+		this.data = data;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	public String getProcessId() {
+		return processId;
+	}
+
+	public void setProcessId(String processId) {
+		this.processId = processId;
+	}
+
+	public int getStreamType() {
+		return streamType;
+	}
+
+	public void setStreamType(int streamType) {
+		this.streamType = streamType;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	public void setLength(int length) {
+		this.length = length;
+	}
+
+	public String getData() {
+		return data;
+	}
+
+	public void setData(String data) {
+		this.data = data;
+	}
+}
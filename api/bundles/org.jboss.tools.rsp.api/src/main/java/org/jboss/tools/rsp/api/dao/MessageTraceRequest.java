@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+public class MessageTraceRequest {
+	private boolean clear;
+
+	public MessageTraceRequest() {
+	}
+
+	public MessageTraceRequest(boolean clear) {
+		this.clear = clear;
+	}
+
+	/**
+	 * @return whether the trace buffer should be emptied
+	 * after its contents are returned
+	 */
+	public boolean isClear() {
+		return clear;
+	}
+
+	public void setClear(boolean clear) {
+		this.clear = clear;
+	}
+}
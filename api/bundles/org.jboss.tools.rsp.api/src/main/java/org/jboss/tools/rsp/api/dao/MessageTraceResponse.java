@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+public class MessageTraceResponse {
+	private boolean enabled;
+	private List<String> messages;
+	private long dropped;
+
+	public MessageTraceResponse() {
+	}
+
+	public MessageTraceResponse(boolean enabled, List<String> messages, long dropped) {
+		this.enabled = enabled;
+		this.messages = messages;
+		this.dropped = dropped;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public List<String> getMessages() {
+		return messages;
+	}
+
+	public void setMessages(List<String> messages) {
+		this.messages = messages;
+	}
+
+	/**
+	 * @return the number of messages traced since the buffer
+	 * was last cleared that were overwritten by newer ones
+	 */
+	public long getDropped() {
+		return dropped;
+	}
+
+	public void setDropped(long dropped) {
+		this.dropped = dropped;
+	}
+}
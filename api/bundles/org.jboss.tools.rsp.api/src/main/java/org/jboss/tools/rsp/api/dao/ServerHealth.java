@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The health of a server as found by the last checks 
+ * of the health monitor, the most recent check last. 
+ * 
+ * The status is the one of the most recent check, or 
+ * unknown if the server is not started or was not checked.
+ */
+public class ServerHealth {
+	private ServerHandle server;
+	private String status;
+	private List<ServerHealthCheck> checks;
+
+	public ServerHealth() {
+	}
+
+	public ServerHealth(ServerHandle server, String status, List<ServerHealthCheck> checks) {
+		this.server = server;
+		this.status = status;
+		this.checks = checks;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public List<ServerHealthCheck> getChecks() {
+		return checks;
+	}
+
+	public void setChecks(List<ServerHealthCheck> checks) {
+		this.checks = checks;
+	}
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * One check of the health of a started server.
+ * 
+ * The status is one of the HEALTH_ constants of 
+ * ServerManagementAPIConstants.
+ */
+public class ServerHealthCheck {
+	private long time;
+	private String status;
+	private long duration;
+
+	public ServerHealthCheck() {
+	}
+
+	public ServerHealthCheck(long time, String status, long duration) {
+		this.time = time;
+		this.status = status;
+		this.duration = duration;
+	}
+
+	/**
+	 * @return when the check began, in milliseconds since the epoch
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	public void setTime(long time) {
+		this.time = time;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	/**
+	 * @return how long the check took in milliseconds
+	 */
+	public long getDuration() {
+		return duration;
+	}
+
+	public void setDuration(long duration) {
+		this.duration = duration;
+	}
+}
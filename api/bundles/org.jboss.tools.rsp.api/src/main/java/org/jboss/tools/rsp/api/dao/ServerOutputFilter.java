@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Selects lines of server process output, either by a regular 
+ * expression or by log level. 
+ * 
+ * A level matches lines containing that level, or a more severe one,
+ * as a word. Levels are TRACE, DEBUG, INFO, WARN, ERROR and FATAL. 
+ * If both a pattern and a level are given, a line must match both.
+ */
+public class ServerOutputFilter {
+	private String pattern;
+	private String level;
+	private boolean exclude;
+
+	public ServerOutputFilter() {
+	}
+
+	public ServerOutputFilter(String pattern, String level, boolean exclude) {
+		this.pattern = pattern;
+		this.level = level;
+		this.exclude = exclude;
+	}
+
+	/**
+	 * @return a java regular expression found in the lines to select, or null
+	 */
+	public String getPattern() {
+		return pattern;
+	}
+
+	public void setPattern(String pattern) {
+		this.pattern = pattern;
+	}
+
+	/**
+	 * @return the least severe level of the lines to select, or null
+	 */
+	public String getLevel() {
+		return level;
+	}
+
+	public void setLevel(String level) {
+		this.level = level;
+	}
+
+	/**
+	 * @return whether the selected lines are removed from the output
+	 * instead of being the only ones sent
+	 */
+	public boolean isExclude() {
+		return exclude;
+	}
+
+	public void setExclude(boolean exclude) {
+		this.exclude = exclude;
+	}
+}
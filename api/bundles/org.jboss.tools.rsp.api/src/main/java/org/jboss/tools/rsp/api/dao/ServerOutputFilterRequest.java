@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The output filters of a client for some servers.
+ * 
+ * A null or empty list of server ids sets the filters of all servers
+ * the client has not set filters for by id. A null or empty list 
+ * of filters removes the filters, so all output is sent again.
+ */
+public class ServerOutputFilterRequest {
+	private List<String> serverIds;
+	private List<ServerOutputFilter> filters;
+
+	public ServerOutputFilterRequest() {
+	}
+
+	public ServerOutputFilterRequest(List<String> serverIds, List<ServerOutputFilter> filters) {
+		this.serverIds = serverIds;
+		this.filters = filters;
+	}
+
+	/**
+	 * @return the ids of the servers to filter the output of
+	 */
+	public List<String> getServerIds() {
+		return serverIds;
+	}
+
+	public void setServerIds(List<String> serverIds) {
+		this.serverIds = serverIds;
+	}
+
+	/**
+	 * @return the filters to apply, see {@link ServerOutputFilter}
+	 */
+	public List<ServerOutputFilter> getFilters() {
+		return filters;
+	}
+
+	public void setFilters(List<ServerOutputFilter> filters) {
+		this.filters = filters;
+	}
+}
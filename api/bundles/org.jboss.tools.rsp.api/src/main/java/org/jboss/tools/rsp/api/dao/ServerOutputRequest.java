@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * A range of the output history of a server process.
+ * 
+ * Offsets count the bytes the process wrote to the stream. 
+ * A negative offset counts back from the latest output, 
+ * so -4096 asks for the last 4096 bytes.
+ */
+public class ServerOutputRequest {
+	private ServerHandle server;
+	private String processId;
+	private int streamType;
+	private long offset;
+	private int length;
+
+	public ServerOutputRequest() {
+	}
+
+	public ServerOutputRequest(ServerHandle server, String processId, int streamType, long offset, int length) {
+		this.server = server;
+		this.processId = processId;
+		this.streamType = streamType;
+		this.offset = offset;
+		this.length = length;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	public String getProcessId() {
+		return processId;
+	}
+
+	public void setProcessId(String processId) {
+		this.processId = processId;
+	}
+
+	/**
+	 * @return one of the STREAM_TYPE constants in ServerManagementAPIConstants
+	 */
+	public int getStreamType() {
+		return streamType;
+	}
+
+	public void setStreamType(int streamType) {
+		this.streamType = streamType;
+	}
+
+	/**
+	 * @return the offset to start reading at
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the maximum number of bytes to read, 
+	 * or 0 to read as many as the server allows
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	public void setLength(int length) {
+		this.length = length;
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+/**
+ * Output read from the history of a server process.
+ * 
+ * Only the most recent output of a process is kept, 
+ * so the returned text may start after the requested offset.
+ */
+public class ServerOutputResponse {
+	private ServerHandle server;
+	private String processId;
+	private int streamType;
+	private long offset;
+	private long nextOffset;
+	private long startOffset;
+	private long endOffset;
+	private String text;
+
+	public ServerOutputResponse() {
+	}
+
+	public ServerOutputResponse(ServerHandle server, String processId, int streamType, 
+			long offset, long nextOffset, long startOffset, long endOffset, String text) {
+		this.server = server;
+		this.processId = processId;
+		this.streamType = streamType;
+		this.offset = offset;
+		this.nextOffset = nextOffset;
+		this.startOffset = startOffset;
+		this.endOffset = endOffset;
+		this.text = text;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	public String getProcessId() {
+		return processId;
+	}
+
+	public void setProcessId(String processId) {
+		this.processId = processId;
+	}
+
+	public int getStreamType() {
+		return streamType;
+	}
+
+	public void setStreamType(int streamType) {
+		this.streamType = streamType;
+	}
+
+	/**
+	 * @return the offset of the first byte of the text
+	 */
+	public long getOffset() {
+		return offset;
+	}
+
+	public void setOffset(long offset) {
+		this.offset = offset;
+	}
+
+	/**
+	 * @return the offset to continue reading at
+	 */
+	public long getNextOffset() {
+		return nextOffset;
+	}
+
+	public void setNextOffset(long nextOffset) {
+		this.nextOffset = nextOffset;
+	}
+
+	/**
+	 * @return the offset of the oldest output still kept
+	 */
+	public long getStartOffset() {
+		return startOffset;
+	}
+
+	public void setStartOffset(long startOffset) {
+		this.startOffset = startOffset;
+	}
+
+	/**
+	 * @return the number of bytes the process wrote so far
+	 */
+	public long getEndOffset() {
+		return endOffset;
+	}
+
+	public void setEndOffset(long endOffset) {
+		this.endOffset = endOffset;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public void setText(String text) {
+		this.text = text;
+	}
+}
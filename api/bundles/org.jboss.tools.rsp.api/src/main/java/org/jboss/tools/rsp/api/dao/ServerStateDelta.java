@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The changes to the state of a server since the previous
+ * delta sent to the same client.
+ *
+ * The sequence number of the first delta for a server is 1, and that
+ * delta carries the complete state. Each following delta increments
+ * the sequence number by one, and only carries what has changed:
+ * the run state and publish state are null if unchanged.
+ */
+public class ServerStateDelta {
+	private ServerHandle server;
+	private long sequence;
+	private Integer state;
+	private Integer publishState;
+	private List<DeployableState> changedDeployables;
+	private List<DeployableReference> removedDeployables;
+
+	public ServerStateDelta() {
+
+	}
+
+	public ServerStateDelta(ServerHandle server, long sequence, Integer state, Integer publishState,
+			List<DeployableState> changedDeployables, List<DeployableReference> removedDeployables) {
+		this.server = server;
+		this.sequence = sequence;
+		this.state = state;
+		this.publishState = publishState;
+		this.changedDeployables = changedDeployables;
+		this.removedDeployables = removedDeployables;
+	}
+
+	public ServerHandle getServer() {
+		return server;
+	}
+
+	public void setServer(ServerHandle server) {
+		this.server = server;
+	}
+
+	public long getSequence() {
+		return sequence;
+	}
+
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	public Integer getState() {
+		return state;
+	}
+
+	public void setState(Integer state) {
+		this.state = state;
+	}
+
+	public Integer getPublishState() {
+		return publishState;
+	}
+
+	public void setPublishState(Integer publishState) {
+		this.publishState = publishState;
+	}
+
+	public List<DeployableState> getChangedDeployables() {
+		return changedDeployables;
+	}
+
+	public void setChangedDeployables(List<DeployableState> changedDeployables) {
+		this.changedDeployables = changedDeployables;
+	}
+
+	public List<DeployableReference> getRemovedDeployables() {
+		return removedDeployables;
+	}
+
+	public void setRemovedDeployables(List<DeployableReference> removedDeployables) {
+		this.removedDeployables = removedDeployables;
+	}
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The servers to get the states of in a single request
+ */
+public class ServerStatesRequest {
+	private List<ServerHandle> servers;
+
+	public ServerStatesRequest() {
+	}
+
+	public ServerStatesRequest(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+
+	public List<ServerHandle> getServers() {
+		return servers;
+	}
+
+	public void setServers(List<ServerHandle> servers) {
+		this.servers = servers;
+	}
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao;
+
+import java.util.List;
+
+/**
+ * The events a client wants to be notified of.
+ * 
+ * A null or empty list of server ids matches all servers, 
+ * and a null or empty list of event kinds matches all kinds. 
+ * Events that do not belong to a server, such as discovery 
+ * path changes, are only filtered by their kind.
+ */
+public class SubscriptionRequest {
+	private List<String> serverIds;
+	private List<String> eventKinds;
+
+	public SubscriptionRequest() {
+	}
+
+	public SubscriptionRequest(List<String> serverIds, List<String> eventKinds) {
+		this.serverIds = serverIds;
+		this.eventKinds = eventKinds;
+	}
+
+	/**
+	 * @return the ids of the servers to receive events for
+	 */
+	public List<String> getServerIds() {
+		return serverIds;
+	}
+
+	public void setServerIds(List<String> serverIds) {
+		this.serverIds = serverIds;
+	}
+
+	/**
+	 * @return the kinds of events to receive, 
+	 * see the EVENT_KIND constants in ServerManagementAPIConstants
+	 */
+	public List<String> getEventKinds() {
+		return eventKinds;
+	}
+
+	public void setEventKinds(List<String> eventKinds) {
+		this.eventKinds = eventKinds;
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.dao.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+
+/**
+ * Converts between {@link ServerProcessOutput} and 
+ * {@link CompressedServerProcessOutput}
+ */
+public class OutputCompressionUtility {
+
+	/**
+	 * @param level the deflate compression level, 0 to 9, or -1 for the default
+	 */
+	public static CompressedServerProcessOutput compress(ServerProcessOutput output, int level) {
+		byte[] bytes = output.getText().getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(level);
+		try {
+			deflater.setInput(bytes);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+			byte[] buf = new byte[8192];
+			while( !deflater.finished()) {
+				int n = deflater.deflate(buf);
+				out.write(buf, 0, n);
+			}
+			return new CompressedServerProcessOutput(output.getServer(), output.getProcessId(), 
+					output.getStreamType(), bytes.length, Base64.getEncoder().encodeToString(out.toByteArray()));
+		} finally {
+			deflater.end();
+		}
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the data is not valid
+	 */
+	public static ServerProcessOutput decompress(CompressedServerProcessOutput output) {
+		byte[] data = Base64.getDecoder().decode(output.getData());
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(data);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, output.getLength()));
+			byte[] buf = new byte[8192];
+			while( !inflater.finished()) {
+				int n = inflater.inflate(buf);
+				if( n == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new IllegalArgumentException("Compressed output is truncated");
+				out.write(buf, 0, n);
+			}
+			byte[] bytes = out.toByteArray();
+			if( bytes.length != output.getLength())
+				throw new IllegalArgumentException("Compressed output does not match its length " + output.getLength());
+			return new ServerProcessOutput(output.getServer(), output.getProcessId(), 
+					output.getStreamType(), new String(bytes, StandardCharsets.UTF_8));
+		} catch(DataFormatException dfe) {
+			throw new IllegalArgumentException("Compressed output is not valid", dfe);
+		} finally {
+			inflater.end();
+		}
+	}
+}
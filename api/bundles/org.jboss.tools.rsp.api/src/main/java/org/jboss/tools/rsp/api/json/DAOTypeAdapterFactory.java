@@ -0,0 +1,2647 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.json;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.tools.rsp.api.dao.Attribute;
+import org.jboss.tools.rsp.api.dao.Attributes;
+import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
+import org.jboss.tools.rsp.api.dao.CommandLineDetails;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.CreateServerResponse;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.DiscoveryPath;
+import org.jboss.tools.rsp.api.dao.DownloadRuntimeDescription;
+import org.jboss.tools.rsp.api.dao.DownloadRuntimeResponse;
+import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
+import org.jboss.tools.rsp.api.dao.LaunchParameters;
+import org.jboss.tools.rsp.api.dao.MessageTraceRequest;
+import org.jboss.tools.rsp.api.dao.MessageTraceResponse;
+import org.jboss.tools.rsp.api.dao.ModifyDeployableRequest;
+import org.jboss.tools.rsp.api.dao.PublishServerRequest;
+import org.jboss.tools.rsp.api.dao.PublishServersRequest;
+import org.jboss.tools.rsp.api.dao.ServerAttributes;
+import org.jboss.tools.rsp.api.dao.ServerBean;
+import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
+import org.jboss.tools.rsp.api.dao.ServerHealthCheck;
+import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilter;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilterRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
+import org.jboss.tools.rsp.api.dao.ServerProcess;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.jboss.tools.rsp.api.dao.ServerStatesRequest;
+import org.jboss.tools.rsp.api.dao.ServerType;
+import org.jboss.tools.rsp.api.dao.StartServerResponse;
+import org.jboss.tools.rsp.api.dao.StartServersRequest;
+import org.jboss.tools.rsp.api.dao.Status;
+import org.jboss.tools.rsp.api.dao.StopServerAttributes;
+import org.jboss.tools.rsp.api.dao.StopServersRequest;
+import org.jboss.tools.rsp.api.dao.StringPrompt;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
+import org.jboss.tools.rsp.api.dao.VMDescription;
+import org.jboss.tools.rsp.api.dao.VMHandle;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Reflection free type adapters for the DAOs of the protocol.
+ *
+ * This class is generated by org.jboss.tools.rsp.api.schema.TypeAdapterGenerator.
+ * Do not edit it, run GenerateSchemaMain to regenerate it instead.
+ */
+public class DAOTypeAdapterFactory implements TypeAdapterFactory {
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+		Class<? super T> raw = type.getRawType();
+		if( raw == Attribute.class )
+			return (TypeAdapter<T>)new AttributeAdapter(gson);
+		if( raw == Attributes.class )
+			return (TypeAdapter<T>)new AttributesAdapter(gson);
+		if( raw == ClientCapabilitiesRequest.class )
+			return (TypeAdapter<T>)new ClientCapabilitiesRequestAdapter(gson);
+		if( raw == CommandLineDetails.class )
+			return (TypeAdapter<T>)new CommandLineDetailsAdapter(gson);
+		if( raw == CompressedServerProcessOutput.class )
+			return (TypeAdapter<T>)new CompressedServerProcessOutputAdapter(gson);
+		if( raw == CreateServerResponse.class )
+			return (TypeAdapter<T>)new CreateServerResponseAdapter(gson);
+		if( raw == DeployableReference.class )
+			return (TypeAdapter<T>)new DeployableReferenceAdapter(gson);
+		if( raw == DeployableState.class )
+			return (TypeAdapter<T>)new DeployableStateAdapter(gson);
+		if( raw == DiscoveryPath.class )
+			return (TypeAdapter<T>)new DiscoveryPathAdapter(gson);
+		if( raw == DownloadRuntimeDescription.class )
+			return (TypeAdapter<T>)new DownloadRuntimeDescriptionAdapter(gson);
+		if( raw == DownloadRuntimeResponse.class )
+			return (TypeAdapter<T>)new DownloadRuntimeResponseAdapter(gson);
+		if( raw == LaunchAttributesRequest.class )
+			return (TypeAdapter<T>)new LaunchAttributesRequestAdapter(gson);
+		if( raw == LaunchParameters.class )
+			return (TypeAdapter<T>)new LaunchParametersAdapter(gson);
+		if( raw == MessageTraceRequest.class )
+			return (TypeAdapter<T>)new MessageTraceRequestAdapter(gson);
+		if( raw == MessageTraceResponse.class )
+			return (TypeAdapter<T>)new MessageTraceResponseAdapter(gson);
+		if( raw == ModifyDeployableRequest.class )
+			return (TypeAdapter<T>)new ModifyDeployableRequestAdapter(gson);
+		if( raw == PublishServerRequest.class )
+			return (TypeAdapter<T>)new PublishServerRequestAdapter(gson);
+		if( raw == PublishServersRequest.class )
+			return (TypeAdapter<T>)new PublishServersRequestAdapter(gson);
+		if( raw == ServerAttributes.class )
+			return (TypeAdapter<T>)new ServerAttributesAdapter(gson);
+		if( raw == ServerBean.class )
+			return (TypeAdapter<T>)new ServerBeanAdapter(gson);
+		if( raw == ServerCapabilitiesResponse.class )
+			return (TypeAdapter<T>)new ServerCapabilitiesResponseAdapter(gson);
+		if( raw == ServerHandle.class )
+			return (TypeAdapter<T>)new ServerHandleAdapter(gson);
+		if( raw == ServerHealth.class )
+			return (TypeAdapter<T>)new ServerHealthAdapter(gson);
+		if( raw == ServerHealthCheck.class )
+			return (TypeAdapter<T>)new ServerHealthCheckAdapter(gson);
+		if( raw == ServerLaunchMode.class )
+			return (TypeAdapter<T>)new ServerLaunchModeAdapter(gson);
+		if( raw == ServerOutputFilter.class )
+			return (TypeAdapter<T>)new ServerOutputFilterAdapter(gson);
+		if( raw == ServerOutputFilterRequest.class )
+			return (TypeAdapter<T>)new ServerOutputFilterRequestAdapter(gson);
+		if( raw == ServerOutputRequest.class )
+			return (TypeAdapter<T>)new ServerOutputRequestAdapter(gson);
+		if( raw == ServerOutputResponse.class )
+			return (TypeAdapter<T>)new ServerOutputResponseAdapter(gson);
+		if( raw == ServerProcess.class )
+			return (TypeAdapter<T>)new ServerProcessAdapter(gson);
+		if( raw == ServerProcessOutput.class )
+			return (TypeAdapter<T>)new ServerProcessOutputAdapter(gson);
+		if( raw == ServerStartingAttributes.class )
+			return (TypeAdapter<T>)new ServerStartingAttributesAdapter(gson);
+		if( raw == ServerState.class )
+			return (TypeAdapter<T>)new ServerStateAdapter(gson);
+		if( raw == ServerStateDelta.class )
+			return (TypeAdapter<T>)new ServerStateDeltaAdapter(gson);
+		if( raw == ServerStatesRequest.class )
+			return (TypeAdapter<T>)new ServerStatesRequestAdapter(gson);
+		if( raw == ServerType.class )
+			return (TypeAdapter<T>)new ServerTypeAdapter(gson);
+		if( raw == StartServerResponse.class )
+			return (TypeAdapter<T>)new StartServerResponseAdapter(gson);
+		if( raw == StartServersRequest.class )
+			return (TypeAdapter<T>)new StartServersRequestAdapter(gson);
+		if( raw == Status.class )
+			return (TypeAdapter<T>)new StatusAdapter(gson);
+		if( raw == StopServerAttributes.class )
+			return (TypeAdapter<T>)new StopServerAttributesAdapter(gson);
+		if( raw == StopServersRequest.class )
+			return (TypeAdapter<T>)new StopServersRequestAdapter(gson);
+		if( raw == StringPrompt.class )
+			return (TypeAdapter<T>)new StringPromptAdapter(gson);
+		if( raw == SubscriptionRequest.class )
+			return (TypeAdapter<T>)new SubscriptionRequestAdapter(gson);
+		if( raw == VMDescription.class )
+			return (TypeAdapter<T>)new VMDescriptionAdapter(gson);
+		if( raw == VMHandle.class )
+			return (TypeAdapter<T>)new VMHandleAdapter(gson);
+		return null;
+	}
+
+	private static String readString(JsonReader in) throws IOException {
+		if( in.peek() == JsonToken.BOOLEAN )
+			return Boolean.toString(in.nextBoolean());
+		return in.nextString();
+	}
+
+	private static boolean readBoolean(JsonReader in) throws IOException {
+		if( in.peek() == JsonToken.STRING )
+			return Boolean.parseBoolean(in.nextString());
+		return in.nextBoolean();
+	}
+
+	private static class AttributeAdapter extends TypeAdapter<Attribute> {
+		private final TypeAdapter<Object> defaultValAdapter;
+
+		AttributeAdapter(Gson gson) {
+			this.defaultValAdapter = gson.getAdapter(Object.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, Attribute value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("type");
+			out.value(value.getType());
+			out.name("description");
+			out.value(value.getDescription());
+			out.name("defaultVal");
+			defaultValAdapter.write(out, value.getDefaultVal());
+			out.endObject();
+		}
+
+		@Override
+		public Attribute read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			Attribute ret = new Attribute();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "type":
+					ret.setType(readString(in));
+					break;
+				case "description":
+					ret.setDescription(readString(in));
+					break;
+				case "defaultVal":
+					ret.setDefaultVal(defaultValAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class AttributesAdapter extends TypeAdapter<Attributes> {
+		private final TypeAdapter<Map<String, Attribute>> attributesAdapter;
+
+		AttributesAdapter(Gson gson) {
+			this.attributesAdapter = gson.getAdapter(new TypeToken<Map<String, Attribute>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, Attributes value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("attributes");
+			attributesAdapter.write(out, value.getAttributes());
+			out.endObject();
+		}
+
+		@Override
+		public Attributes read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			Attributes ret = new Attributes();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "attributes":
+					ret.setAttributes(attributesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ClientCapabilitiesRequestAdapter extends TypeAdapter<ClientCapabilitiesRequest> {
+		private final TypeAdapter<Map<String, String>> mapAdapter;
+
+		ClientCapabilitiesRequestAdapter(Gson gson) {
+			this.mapAdapter = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ClientCapabilitiesRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("map");
+			mapAdapter.write(out, value.getMap());
+			out.endObject();
+		}
+
+		@Override
+		public ClientCapabilitiesRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ClientCapabilitiesRequest ret = new ClientCapabilitiesRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "map":
+					ret.setMap(mapAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class CommandLineDetailsAdapter extends TypeAdapter<CommandLineDetails> {
+		private final TypeAdapter<String[]> cmdLineAdapter;
+		private final TypeAdapter<String[]> envpAdapter;
+		private final TypeAdapter<Map<String, String>> propertiesAdapter;
+
+		CommandLineDetailsAdapter(Gson gson) {
+			this.cmdLineAdapter = gson.getAdapter(String[].class);
+			this.envpAdapter = gson.getAdapter(String[].class);
+			this.propertiesAdapter = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, CommandLineDetails value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("cmdLine");
+			cmdLineAdapter.write(out, value.getCmdLine());
+			out.name("workingDir");
+			out.value(value.getWorkingDir());
+			out.name("envp");
+			envpAdapter.write(out, value.getEnvp());
+			out.name("properties");
+			propertiesAdapter.write(out, value.getProperties());
+			out.endObject();
+		}
+
+		@Override
+		public CommandLineDetails read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			CommandLineDetails ret = new CommandLineDetails();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "cmdLine":
+					ret.setCmdLine(cmdLineAdapter.read(in));
+					break;
+				case "workingDir":
+					ret.setWorkingDir(readString(in));
+					break;
+				case "envp":
+					ret.setEnvp(envpAdapter.read(in));
+					break;
+				case "properties":
+					ret.setProperties(propertiesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class CompressedServerProcessOutputAdapter extends TypeAdapter<CompressedServerProcessOutput> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		CompressedServerProcessOutputAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, CompressedServerProcessOutput value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("processId");
+			out.value(value.getProcessId());
+			out.name("streamType");
+			out.value(value.getStreamType());
+			out.name("length");
+			out.value(value.getLength());
+			out.name("data");
+			out.value(value.getData());
+			out.endObject();
+		}
+
+		@Override
+		public CompressedServerProcessOutput read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			CompressedServerProcessOutput ret = new CompressedServerProcessOutput();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "processId":
+					ret.setProcessId(readString(in));
+					break;
+				case "streamType":
+					ret.setStreamType(in.nextInt());
+					break;
+				case "length":
+					ret.setLength(in.nextInt());
+					break;
+				case "data":
+					ret.setData(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class CreateServerResponseAdapter extends TypeAdapter<CreateServerResponse> {
+		private final TypeAdapter<Status> statusAdapter;
+		private final TypeAdapter<List<String>> invalidKeysAdapter;
+
+		CreateServerResponseAdapter(Gson gson) {
+			this.statusAdapter = gson.getAdapter(Status.class);
+			this.invalidKeysAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, CreateServerResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("status");
+			statusAdapter.write(out, value.getStatus());
+			out.name("invalidKeys");
+			invalidKeysAdapter.write(out, value.getInvalidKeys());
+			out.endObject();
+		}
+
+		@Override
+		public CreateServerResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			CreateServerResponse ret = new CreateServerResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "status":
+					ret.setStatus(statusAdapter.read(in));
+					break;
+				case "invalidKeys":
+					ret.setInvalidKeys(invalidKeysAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class DeployableReferenceAdapter extends TypeAdapter<DeployableReference> {
+		DeployableReferenceAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, DeployableReference value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("label");
+			out.value(value.getLabel());
+			out.name("path");
+			out.value(value.getPath());
+			out.endObject();
+		}
+
+		@Override
+		public DeployableReference read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			DeployableReference ret = new DeployableReference();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "label":
+					ret.setLabel(readString(in));
+					break;
+				case "path":
+					ret.setPath(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class DeployableStateAdapter extends TypeAdapter<DeployableState> {
+		private final TypeAdapter<DeployableReference> referenceAdapter;
+
+		DeployableStateAdapter(Gson gson) {
+			this.referenceAdapter = gson.getAdapter(DeployableReference.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, DeployableState value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("reference");
+			referenceAdapter.write(out, value.getReference());
+			out.name("state");
+			out.value(value.getState());
+			out.name("publishState");
+			out.value(value.getPublishState());
+			out.endObject();
+		}
+
+		@Override
+		public DeployableState read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			DeployableState ret = new DeployableState();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "reference":
+					ret.setReference(referenceAdapter.read(in));
+					break;
+				case "state":
+					ret.setState(in.nextInt());
+					break;
+				case "publishState":
+					ret.setPublishState(in.nextInt());
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class DiscoveryPathAdapter extends TypeAdapter<DiscoveryPath> {
+		DiscoveryPathAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, DiscoveryPath value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("filepath");
+			out.value(value.getFilepath());
+			out.endObject();
+		}
+
+		@Override
+		public DiscoveryPath read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			DiscoveryPath ret = new DiscoveryPath();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "filepath":
+					ret.setFilepath(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class DownloadRuntimeDescriptionAdapter extends TypeAdapter<DownloadRuntimeDescription> {
+		private final TypeAdapter<Map<String, String>> propertiesAdapter;
+
+		DownloadRuntimeDescriptionAdapter(Gson gson) {
+			this.propertiesAdapter = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, DownloadRuntimeDescription value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("name");
+			out.value(value.getName());
+			out.name("id");
+			out.value(value.getId());
+			out.name("version");
+			out.value(value.getVersion());
+			out.name("url");
+			out.value(value.getUrl());
+			out.name("licenseURL");
+			out.value(value.getLicenseURL());
+			out.name("humanUrl");
+			out.value(value.getHumanUrl());
+			out.name("disclaimer");
+			out.value(value.isDisclaimer());
+			out.name("properties");
+			propertiesAdapter.write(out, value.getProperties());
+			out.name("size");
+			out.value(value.getSize());
+			out.name("installationMethod");
+			out.value(value.getInstallationMethod());
+			out.endObject();
+		}
+
+		@Override
+		public DownloadRuntimeDescription read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			DownloadRuntimeDescription ret = new DownloadRuntimeDescription();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "name":
+					ret.setName(readString(in));
+					break;
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "version":
+					ret.setVersion(readString(in));
+					break;
+				case "url":
+					ret.setUrl(readString(in));
+					break;
+				case "licenseURL":
+					ret.setLicenseURL(readString(in));
+					break;
+				case "humanUrl":
+					ret.setHumanUrl(readString(in));
+					break;
+				case "disclaimer":
+					ret.setDisclaimer(readBoolean(in));
+					break;
+				case "properties":
+					ret.setProperties(propertiesAdapter.read(in));
+					break;
+				case "size":
+					ret.setSize(readString(in));
+					break;
+				case "installationMethod":
+					ret.setInstallationMethod(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class DownloadRuntimeResponseAdapter extends TypeAdapter<DownloadRuntimeResponse> {
+		private final TypeAdapter<List<DownloadRuntimeDescription>> runtimesAdapter;
+
+		DownloadRuntimeResponseAdapter(Gson gson) {
+			this.runtimesAdapter = gson.getAdapter(new TypeToken<List<DownloadRuntimeDescription>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, DownloadRuntimeResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("runtimes");
+			runtimesAdapter.write(out, value.getRuntimes());
+			out.endObject();
+		}
+
+		@Override
+		public DownloadRuntimeResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			DownloadRuntimeResponse ret = new DownloadRuntimeResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "runtimes":
+					ret.setRuntimes(runtimesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class LaunchAttributesRequestAdapter extends TypeAdapter<LaunchAttributesRequest> {
+		LaunchAttributesRequestAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, LaunchAttributesRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("serverTypeId");
+			out.value(value.getServerTypeId());
+			out.name("mode");
+			out.value(value.getMode());
+			out.endObject();
+		}
+
+		@Override
+		public LaunchAttributesRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			LaunchAttributesRequest ret = new LaunchAttributesRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "serverTypeId":
+					ret.setServerTypeId(readString(in));
+					break;
+				case "mode":
+					ret.setMode(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class LaunchParametersAdapter extends TypeAdapter<LaunchParameters> {
+		private final TypeAdapter<ServerAttributes> paramsAdapter;
+
+		LaunchParametersAdapter(Gson gson) {
+			this.paramsAdapter = gson.getAdapter(ServerAttributes.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, LaunchParameters value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("mode");
+			out.value(value.getMode());
+			out.name("params");
+			paramsAdapter.write(out, value.getParams());
+			out.endObject();
+		}
+
+		@Override
+		public LaunchParameters read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			LaunchParameters ret = new LaunchParameters();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "mode":
+					ret.setMode(readString(in));
+					break;
+				case "params":
+					ret.setParams(paramsAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class MessageTraceRequestAdapter extends TypeAdapter<MessageTraceRequest> {
+		MessageTraceRequestAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, MessageTraceRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("clear");
+			out.value(value.isClear());
+			out.endObject();
+		}
+
+		@Override
+		public MessageTraceRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			MessageTraceRequest ret = new MessageTraceRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "clear":
+					ret.setClear(readBoolean(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class MessageTraceResponseAdapter extends TypeAdapter<MessageTraceResponse> {
+		private final TypeAdapter<List<String>> messagesAdapter;
+
+		MessageTraceResponseAdapter(Gson gson) {
+			this.messagesAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, MessageTraceResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("enabled");
+			out.value(value.isEnabled());
+			out.name("messages");
+			messagesAdapter.write(out, value.getMessages());
+			out.name("dropped");
+			out.value(value.getDropped());
+			out.endObject();
+		}
+
+		@Override
+		public MessageTraceResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			MessageTraceResponse ret = new MessageTraceResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "enabled":
+					ret.setEnabled(readBoolean(in));
+					break;
+				case "messages":
+					ret.setMessages(messagesAdapter.read(in));
+					break;
+				case "dropped":
+					ret.setDropped(in.nextLong());
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ModifyDeployableRequestAdapter extends TypeAdapter<ModifyDeployableRequest> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+		private final TypeAdapter<DeployableReference> deployableAdapter;
+
+		ModifyDeployableRequestAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+			this.deployableAdapter = gson.getAdapter(DeployableReference.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ModifyDeployableRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("deployable");
+			deployableAdapter.write(out, value.getDeployable());
+			out.endObject();
+		}
+
+		@Override
+		public ModifyDeployableRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ModifyDeployableRequest ret = new ModifyDeployableRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "deployable":
+					ret.setDeployable(deployableAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class PublishServerRequestAdapter extends TypeAdapter<PublishServerRequest> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		PublishServerRequestAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, PublishServerRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("kind");
+			out.value(value.getKind());
+			out.endObject();
+		}
+
+		@Override
+		public PublishServerRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			PublishServerRequest ret = new PublishServerRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "kind":
+					ret.setKind(in.nextInt());
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class PublishServersRequestAdapter extends TypeAdapter<PublishServersRequest> {
+		private final TypeAdapter<List<PublishServerRequest>> serversAdapter;
+
+		PublishServersRequestAdapter(Gson gson) {
+			this.serversAdapter = gson.getAdapter(new TypeToken<List<PublishServerRequest>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, PublishServersRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("servers");
+			serversAdapter.write(out, value.getServers());
+			out.endObject();
+		}
+
+		@Override
+		public PublishServersRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			PublishServersRequest ret = new PublishServersRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "servers":
+					ret.setServers(serversAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerAttributesAdapter extends TypeAdapter<ServerAttributes> {
+		private final TypeAdapter<Map<String, Object>> attributesAdapter;
+
+		ServerAttributesAdapter(Gson gson) {
+			this.attributesAdapter = gson.getAdapter(new TypeToken<Map<String, Object>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerAttributes value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("serverType");
+			out.value(value.getServerType());
+			out.name("id");
+			out.value(value.getId());
+			out.name("attributes");
+			attributesAdapter.write(out, value.getAttributes());
+			out.endObject();
+		}
+
+		@Override
+		public ServerAttributes read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerAttributes ret = new ServerAttributes();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "serverType":
+					ret.setServerType(readString(in));
+					break;
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "attributes":
+					ret.setAttributes(attributesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerBeanAdapter extends TypeAdapter<ServerBean> {
+		ServerBeanAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerBean value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("location");
+			out.value(value.getLocation());
+			out.name("typeCategory");
+			out.value(value.getTypeCategory());
+			out.name("specificType");
+			out.value(value.getSpecificType());
+			out.name("name");
+			out.value(value.getName());
+			out.name("version");
+			out.value(value.getVersion());
+			out.name("fullVersion");
+			out.value(value.getFullVersion());
+			out.name("serverAdapterTypeId");
+			out.value(value.getServerAdapterTypeId());
+			out.endObject();
+		}
+
+		@Override
+		public ServerBean read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerBean ret = new ServerBean();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "location":
+					ret.setLocation(readString(in));
+					break;
+				case "typeCategory":
+					ret.setTypeCategory(readString(in));
+					break;
+				case "specificType":
+					ret.setSpecificType(readString(in));
+					break;
+				case "name":
+					ret.setName(readString(in));
+					break;
+				case "version":
+					ret.setVersion(readString(in));
+					break;
+				case "fullVersion":
+					ret.setFullVersion(readString(in));
+					break;
+				case "serverAdapterTypeId":
+					ret.setServerAdapterTypeId(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerCapabilitiesResponseAdapter extends TypeAdapter<ServerCapabilitiesResponse> {
+		private final TypeAdapter<Map<String, String>> serverCapabilitiesAdapter;
+		private final TypeAdapter<Status> clientRegistrationStatusAdapter;
+
+		ServerCapabilitiesResponseAdapter(Gson gson) {
+			this.serverCapabilitiesAdapter = gson.getAdapter(new TypeToken<Map<String, String>>() {});
+			this.clientRegistrationStatusAdapter = gson.getAdapter(Status.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerCapabilitiesResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("serverCapabilities");
+			serverCapabilitiesAdapter.write(out, value.getServerCapabilities());
+			out.name("clientRegistrationStatus");
+			clientRegistrationStatusAdapter.write(out, value.getClientRegistrationStatus());
+			out.endObject();
+		}
+
+		@Override
+		public ServerCapabilitiesResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerCapabilitiesResponse ret = new ServerCapabilitiesResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "serverCapabilities":
+					ret.setServerCapabilities(serverCapabilitiesAdapter.read(in));
+					break;
+				case "clientRegistrationStatus":
+					ret.setClientRegistrationStatus(clientRegistrationStatusAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerHandleAdapter extends TypeAdapter<ServerHandle> {
+		private final TypeAdapter<ServerType> typeAdapter;
+
+		ServerHandleAdapter(Gson gson) {
+			this.typeAdapter = gson.getAdapter(ServerType.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerHandle value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id");
+			out.value(value.getId());
+			out.name("type");
+			typeAdapter.write(out, value.getType());
+			out.endObject();
+		}
+
+		@Override
+		public ServerHandle read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerHandle ret = new ServerHandle();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "type":
+					ret.setType(typeAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerHealthAdapter extends TypeAdapter<ServerHealth> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+		private final TypeAdapter<List<ServerHealthCheck>> checksAdapter;
+
+		ServerHealthAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+			this.checksAdapter = gson.getAdapter(new TypeToken<List<ServerHealthCheck>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerHealth value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("status");
+			out.value(value.getStatus());
+			out.name("checks");
+			checksAdapter.write(out, value.getChecks());
+			out.endObject();
+		}
+
+		@Override
+		public ServerHealth read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerHealth ret = new ServerHealth();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "status":
+					ret.setStatus(readString(in));
+					break;
+				case "checks":
+					ret.setChecks(checksAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerHealthCheckAdapter extends TypeAdapter<ServerHealthCheck> {
+		ServerHealthCheckAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerHealthCheck value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("time");
+			out.value(value.getTime());
+			out.name("status");
+			out.value(value.getStatus());
+			out.name("duration");
+			out.value(value.getDuration());
+			out.endObject();
+		}
+
+		@Override
+		public ServerHealthCheck read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerHealthCheck ret = new ServerHealthCheck();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "time":
+					ret.setTime(in.nextLong());
+					break;
+				case "status":
+					ret.setStatus(readString(in));
+					break;
+				case "duration":
+					ret.setDuration(in.nextLong());
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerLaunchModeAdapter extends TypeAdapter<ServerLaunchMode> {
+		ServerLaunchModeAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerLaunchMode value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("mode");
+			out.value(value.getMode());
+			out.name("desc");
+			out.value(value.getDesc());
+			out.endObject();
+		}
+
+		@Override
+		public ServerLaunchMode read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerLaunchMode ret = new ServerLaunchMode();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "mode":
+					ret.setMode(readString(in));
+					break;
+				case "desc":
+					ret.setDesc(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerOutputFilterAdapter extends TypeAdapter<ServerOutputFilter> {
+		ServerOutputFilterAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerOutputFilter value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("pattern");
+			out.value(value.getPattern());
+			out.name("level");
+			out.value(value.getLevel());
+			out.name("exclude");
+			out.value(value.isExclude());
+			out.endObject();
+		}
+
+		@Override
+		public ServerOutputFilter read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerOutputFilter ret = new ServerOutputFilter();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "pattern":
+					ret.setPattern(readString(in));
+					break;
+				case "level":
+					ret.setLevel(readString(in));
+					break;
+				case "exclude":
+					ret.setExclude(readBoolean(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerOutputFilterRequestAdapter extends TypeAdapter<ServerOutputFilterRequest> {
+		private final TypeAdapter<List<String>> serverIdsAdapter;
+		private final TypeAdapter<List<ServerOutputFilter>> filtersAdapter;
+
+		ServerOutputFilterRequestAdapter(Gson gson) {
+			this.serverIdsAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+			this.filtersAdapter = gson.getAdapter(new TypeToken<List<ServerOutputFilter>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerOutputFilterRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("serverIds");
+			serverIdsAdapter.write(out, value.getServerIds());
+			out.name("filters");
+			filtersAdapter.write(out, value.getFilters());
+			out.endObject();
+		}
+
+		@Override
+		public ServerOutputFilterRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerOutputFilterRequest ret = new ServerOutputFilterRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "serverIds":
+					ret.setServerIds(serverIdsAdapter.read(in));
+					break;
+				case "filters":
+					ret.setFilters(filtersAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerOutputRequestAdapter extends TypeAdapter<ServerOutputRequest> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		ServerOutputRequestAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerOutputRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("processId");
+			out.value(value.getProcessId());
+			out.name("streamType");
+			out.value(value.getStreamType());
+			out.name("offset");
+			out.value(value.getOffset());
+			out.name("length");
+			out.value(value.getLength());
+			out.endObject();
+		}
+
+		@Override
+		public ServerOutputRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerOutputRequest ret = new ServerOutputRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "processId":
+					ret.setProcessId(readString(in));
+					break;
+				case "streamType":
+					ret.setStreamType(in.nextInt());
+					break;
+				case "offset":
+					ret.setOffset(in.nextLong());
+					break;
+				case "length":
+					ret.setLength(in.nextInt());
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerOutputResponseAdapter extends TypeAdapter<ServerOutputResponse> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		ServerOutputResponseAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerOutputResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("processId");
+			out.value(value.getProcessId());
+			out.name("streamType");
+			out.value(value.getStreamType());
+			out.name("offset");
+			out.value(value.getOffset());
+			out.name("nextOffset");
+			out.value(value.getNextOffset());
+			out.name("startOffset");
+			out.value(value.getStartOffset());
+			out.name("endOffset");
+			out.value(value.getEndOffset());
+			out.name("text");
+			out.value(value.getText());
+			out.endObject();
+		}
+
+		@Override
+		public ServerOutputResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerOutputResponse ret = new ServerOutputResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "processId":
+					ret.setProcessId(readString(in));
+					break;
+				case "streamType":
+					ret.setStreamType(in.nextInt());
+					break;
+				case "offset":
+					ret.setOffset(in.nextLong());
+					break;
+				case "nextOffset":
+					ret.setNextOffset(in.nextLong());
+					break;
+				case "startOffset":
+					ret.setStartOffset(in.nextLong());
+					break;
+				case "endOffset":
+					ret.setEndOffset(in.nextLong());
+					break;
+				case "text":
+					ret.setText(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerProcessAdapter extends TypeAdapter<ServerProcess> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		ServerProcessAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerProcess value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("processId");
+			out.value(value.getProcessId());
+			out.endObject();
+		}
+
+		@Override
+		public ServerProcess read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerProcess ret = new ServerProcess();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "processId":
+					ret.setProcessId(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerProcessOutputAdapter extends TypeAdapter<ServerProcessOutput> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+
+		ServerProcessOutputAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerProcessOutput value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("processId");
+			out.value(value.getProcessId());
+			out.name("streamType");
+			out.value(value.getStreamType());
+			out.name("text");
+			out.value(value.getText());
+			out.endObject();
+		}
+
+		@Override
+		public ServerProcessOutput read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerProcessOutput ret = new ServerProcessOutput();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "processId":
+					ret.setProcessId(readString(in));
+					break;
+				case "streamType":
+					ret.setStreamType(in.nextInt());
+					break;
+				case "text":
+					ret.setText(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerStartingAttributesAdapter extends TypeAdapter<ServerStartingAttributes> {
+		private final TypeAdapter<LaunchParameters> requestAdapter;
+
+		ServerStartingAttributesAdapter(Gson gson) {
+			this.requestAdapter = gson.getAdapter(LaunchParameters.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerStartingAttributes value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("initiatePolling");
+			out.value(value.isInitiatePolling());
+			out.name("request");
+			requestAdapter.write(out, value.getRequest());
+			out.endObject();
+		}
+
+		@Override
+		public ServerStartingAttributes read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerStartingAttributes ret = new ServerStartingAttributes();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "initiatePolling":
+					ret.setInitiatePolling(readBoolean(in));
+					break;
+				case "request":
+					ret.setRequest(requestAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerStateAdapter extends TypeAdapter<ServerState> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+		private final TypeAdapter<List<DeployableState>> deployableStatesAdapter;
+
+		ServerStateAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+			this.deployableStatesAdapter = gson.getAdapter(new TypeToken<List<DeployableState>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerState value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("state");
+			out.value(value.getState());
+			out.name("publishState");
+			out.value(value.getPublishState());
+			out.name("deployableStates");
+			deployableStatesAdapter.write(out, value.getDeployableStates());
+			out.endObject();
+		}
+
+		@Override
+		public ServerState read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerState ret = new ServerState();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "state":
+					ret.setState(in.nextInt());
+					break;
+				case "publishState":
+					ret.setPublishState(in.nextInt());
+					break;
+				case "deployableStates":
+					ret.setDeployableStates(deployableStatesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerStateDeltaAdapter extends TypeAdapter<ServerStateDelta> {
+		private final TypeAdapter<ServerHandle> serverAdapter;
+		private final TypeAdapter<List<DeployableState>> changedDeployablesAdapter;
+		private final TypeAdapter<List<DeployableReference>> removedDeployablesAdapter;
+
+		ServerStateDeltaAdapter(Gson gson) {
+			this.serverAdapter = gson.getAdapter(ServerHandle.class);
+			this.changedDeployablesAdapter = gson.getAdapter(new TypeToken<List<DeployableState>>() {});
+			this.removedDeployablesAdapter = gson.getAdapter(new TypeToken<List<DeployableReference>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerStateDelta value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("server");
+			serverAdapter.write(out, value.getServer());
+			out.name("sequence");
+			out.value(value.getSequence());
+			out.name("state");
+			out.value(value.getState());
+			out.name("publishState");
+			out.value(value.getPublishState());
+			out.name("changedDeployables");
+			changedDeployablesAdapter.write(out, value.getChangedDeployables());
+			out.name("removedDeployables");
+			removedDeployablesAdapter.write(out, value.getRemovedDeployables());
+			out.endObject();
+		}
+
+		@Override
+		public ServerStateDelta read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerStateDelta ret = new ServerStateDelta();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "server":
+					ret.setServer(serverAdapter.read(in));
+					break;
+				case "sequence":
+					ret.setSequence(in.nextLong());
+					break;
+				case "state":
+					ret.setState(in.nextInt());
+					break;
+				case "publishState":
+					ret.setPublishState(in.nextInt());
+					break;
+				case "changedDeployables":
+					ret.setChangedDeployables(changedDeployablesAdapter.read(in));
+					break;
+				case "removedDeployables":
+					ret.setRemovedDeployables(removedDeployablesAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerStatesRequestAdapter extends TypeAdapter<ServerStatesRequest> {
+		private final TypeAdapter<List<ServerHandle>> serversAdapter;
+
+		ServerStatesRequestAdapter(Gson gson) {
+			this.serversAdapter = gson.getAdapter(new TypeToken<List<ServerHandle>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerStatesRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("servers");
+			serversAdapter.write(out, value.getServers());
+			out.endObject();
+		}
+
+		@Override
+		public ServerStatesRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerStatesRequest ret = new ServerStatesRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "servers":
+					ret.setServers(serversAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class ServerTypeAdapter extends TypeAdapter<ServerType> {
+		ServerTypeAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, ServerType value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id");
+			out.value(value.getId());
+			out.name("visibleName");
+			out.value(value.getVisibleName());
+			out.name("description");
+			out.value(value.getDescription());
+			out.endObject();
+		}
+
+		@Override
+		public ServerType read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			ServerType ret = new ServerType();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "visibleName":
+					ret.setVisibleName(readString(in));
+					break;
+				case "description":
+					ret.setDescription(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StartServerResponseAdapter extends TypeAdapter<StartServerResponse> {
+		private final TypeAdapter<Status> statusAdapter;
+		private final TypeAdapter<CommandLineDetails> detailsAdapter;
+
+		StartServerResponseAdapter(Gson gson) {
+			this.statusAdapter = gson.getAdapter(Status.class);
+			this.detailsAdapter = gson.getAdapter(CommandLineDetails.class);
+		}
+
+		@Override
+		public void write(JsonWriter out, StartServerResponse value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("status");
+			statusAdapter.write(out, value.getStatus());
+			out.name("details");
+			detailsAdapter.write(out, value.getDetails());
+			out.endObject();
+		}
+
+		@Override
+		public StartServerResponse read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			StartServerResponse ret = new StartServerResponse();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "status":
+					ret.setStatus(statusAdapter.read(in));
+					break;
+				case "details":
+					ret.setDetails(detailsAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StartServersRequestAdapter extends TypeAdapter<StartServersRequest> {
+		private final TypeAdapter<List<LaunchParameters>> serversAdapter;
+
+		StartServersRequestAdapter(Gson gson) {
+			this.serversAdapter = gson.getAdapter(new TypeToken<List<LaunchParameters>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, StartServersRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("servers");
+			serversAdapter.write(out, value.getServers());
+			out.endObject();
+		}
+
+		@Override
+		public StartServersRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			StartServersRequest ret = new StartServersRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "servers":
+					ret.setServers(serversAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StatusAdapter extends TypeAdapter<Status> {
+		StatusAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, Status value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("severity");
+			out.value(value.getSeverity());
+			out.name("pluginId");
+			out.value(value.getPluginId());
+			out.name("code");
+			out.value(value.getCode());
+			out.name("message");
+			out.value(value.getMessage());
+			out.name("trace");
+			out.value(value.getTrace());
+			out.endObject();
+		}
+
+		@Override
+		public Status read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			Status ret = new Status();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "severity":
+					ret.setSeverity(in.nextInt());
+					break;
+				case "pluginId":
+					ret.setPluginId(readString(in));
+					break;
+				case "code":
+					ret.setCode(in.nextInt());
+					break;
+				case "message":
+					ret.setMessage(readString(in));
+					break;
+				case "trace":
+					ret.setTrace(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StopServerAttributesAdapter extends TypeAdapter<StopServerAttributes> {
+		StopServerAttributesAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, StopServerAttributes value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id");
+			out.value(value.getId());
+			out.name("force");
+			out.value(value.isForce());
+			out.endObject();
+		}
+
+		@Override
+		public StopServerAttributes read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			StopServerAttributes ret = new StopServerAttributes();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "force":
+					ret.setForce(readBoolean(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StopServersRequestAdapter extends TypeAdapter<StopServersRequest> {
+		private final TypeAdapter<List<StopServerAttributes>> serversAdapter;
+
+		StopServersRequestAdapter(Gson gson) {
+			this.serversAdapter = gson.getAdapter(new TypeToken<List<StopServerAttributes>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, StopServersRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("servers");
+			serversAdapter.write(out, value.getServers());
+			out.endObject();
+		}
+
+		@Override
+		public StopServersRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			StopServersRequest ret = new StopServersRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "servers":
+					ret.setServers(serversAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class StringPromptAdapter extends TypeAdapter<StringPrompt> {
+		StringPromptAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, StringPrompt value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("code");
+			out.value(value.getCode());
+			out.name("prompt");
+			out.value(value.getPrompt());
+			out.endObject();
+		}
+
+		@Override
+		public StringPrompt read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			StringPrompt ret = new StringPrompt();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "code":
+					ret.setCode(in.nextInt());
+					break;
+				case "prompt":
+					ret.setPrompt(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class SubscriptionRequestAdapter extends TypeAdapter<SubscriptionRequest> {
+		private final TypeAdapter<List<String>> serverIdsAdapter;
+		private final TypeAdapter<List<String>> eventKindsAdapter;
+
+		SubscriptionRequestAdapter(Gson gson) {
+			this.serverIdsAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+			this.eventKindsAdapter = gson.getAdapter(new TypeToken<List<String>>() {});
+		}
+
+		@Override
+		public void write(JsonWriter out, SubscriptionRequest value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("serverIds");
+			serverIdsAdapter.write(out, value.getServerIds());
+			out.name("eventKinds");
+			eventKindsAdapter.write(out, value.getEventKinds());
+			out.endObject();
+		}
+
+		@Override
+		public SubscriptionRequest read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			SubscriptionRequest ret = new SubscriptionRequest();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "serverIds":
+					ret.setServerIds(serverIdsAdapter.read(in));
+					break;
+				case "eventKinds":
+					ret.setEventKinds(eventKindsAdapter.read(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class VMDescriptionAdapter extends TypeAdapter<VMDescription> {
+		VMDescriptionAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, VMDescription value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id");
+			out.value(value.getId());
+			out.name("installLocation");
+			out.value(value.getInstallLocation());
+			out.name("version");
+			out.value(value.getVersion());
+			out.endObject();
+		}
+
+		@Override
+		public VMDescription read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			VMDescription ret = new VMDescription();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "id":
+					ret.setId(readString(in));
+					break;
+				case "installLocation":
+					ret.setInstallLocation(readString(in));
+					break;
+				case "version":
+					ret.setVersion(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+
+	private static class VMHandleAdapter extends TypeAdapter<VMHandle> {
+		VMHandleAdapter(Gson gson) {
+		}
+
+		@Override
+		public void write(JsonWriter out, VMHandle value) throws IOException {
+			if( value == null ) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name("id");
+			out.value(value.getId());
+			out.endObject();
+		}
+
+		@Override
+		public VMHandle read(JsonReader in) throws IOException {
+			if( in.peek() == JsonToken.NULL ) {
+				in.nextNull();
+				return null;
+			}
+			VMHandle ret = new VMHandle();
+			in.beginObject();
+			while( in.hasNext()) {
+				String name = in.nextName();
+				if( in.peek() == JsonToken.NULL ) {
+					in.nextNull();
+					continue;
+				}
+				switch(name) {
+				case "id":
+					ret.setId(readString(in));
+					break;
+				default:
+					in.skipValue();
+				}
+			}
+			in.endObject();
+			return ret;
+		}
+	}
+}
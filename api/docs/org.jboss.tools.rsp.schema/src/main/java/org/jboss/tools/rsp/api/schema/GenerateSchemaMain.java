@@ -13,6 +13,7 @@ import org.jboss.tools.rsp.api.dao.Attribute;
 import org.jboss.tools.rsp.api.dao.Attributes;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.api.dao.CommandLineDetails;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.CreateServerResponse;
 import org.jboss.tools.rsp.api.dao.DeployableReference;
 import org.jboss.tools.rsp.api.dao.DeployableState;
@@ -21,22 +22,36 @@ import org.jboss.tools.rsp.api.dao.DownloadRuntimeDescription;
 import org.jboss.tools.rsp.api.dao.DownloadRuntimeResponse;
 import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
 import org.jboss.tools.rsp.api.dao.LaunchParameters;
+import org.jboss.tools.rsp.api.dao.MessageTraceRequest;
+import org.jboss.tools.rsp.api.dao.MessageTraceResponse;
 import org.jboss.tools.rsp.api.dao.ModifyDeployableRequest;
 import org.jboss.tools.rsp.api.dao.PublishServerRequest;
+import org.jboss.tools.rsp.api.dao.PublishServersRequest;
 import org.jboss.tools.rsp.api.dao.ServerAttributes;
 import org.jboss.tools.rsp.api.dao.ServerBean;
 import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
+import org.jboss.tools.rsp.api.dao.ServerHealthCheck;
 import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilter;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilterRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.jboss.tools.rsp.api.dao.ServerStatesRequest;
 import org.jboss.tools.rsp.api.dao.ServerType;
 import org.jboss.tools.rsp.api.dao.StartServerResponse;
+import org.jboss.tools.rsp.api.dao.StartServersRequest;
 import org.jboss.tools.rsp.api.dao.Status;
 import org.jboss.tools.rsp.api.dao.StopServerAttributes;
+import org.jboss.tools.rsp.api.dao.StopServersRequest;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
 import org.jboss.tools.rsp.api.dao.VMDescription;
 import org.jboss.tools.rsp.api.dao.VMHandle;
 
@@ -54,6 +69,9 @@ public class GenerateSchemaMain {
 
 		SpecificationGenerator generator = new SpecificationGenerator(json, ts, baseDir);
 		generator.generate();
+
+		TypeAdapterGenerator adapters = new TypeAdapterGenerator(baseDir);
+		adapters.writeTypeAdapterFactory(daos);
 		// Write MD docs
 	}
 	
@@ -64,6 +82,7 @@ public class GenerateSchemaMain {
 				Attributes.class,
 				ClientCapabilitiesRequest.class,
 				CommandLineDetails.class,
+				CompressedServerProcessOutput.class,
 				CreateServerResponse.class,
 				DeployableReference.class,
 				DeployableState.class,
@@ -72,22 +91,36 @@ public class GenerateSchemaMain {
 				DownloadRuntimeResponse.class,
 				LaunchAttributesRequest.class,
 				LaunchParameters.class,
+				MessageTraceRequest.class,
+				MessageTraceResponse.class,
 				ModifyDeployableRequest.class,
 				PublishServerRequest.class,
+				PublishServersRequest.class,
 				ServerAttributes.class,
 				ServerBean.class,
 				ServerCapabilitiesResponse.class,
 				ServerHandle.class,
+				ServerHealth.class,
+				ServerHealthCheck.class,
 				ServerLaunchMode.class,
+				ServerOutputFilter.class,
+				ServerOutputFilterRequest.class,
+				ServerOutputRequest.class,
+				ServerOutputResponse.class,
 				ServerProcess.class,
 				ServerProcessOutput.class,
 				ServerStartingAttributes.class,
 				ServerState.class,
+				ServerStateDelta.class,
+				ServerStatesRequest.class,
 				ServerType.class,
 				StartServerResponse.class,
+				StartServersRequest.class,
 				Status.class,
 				StopServerAttributes.class,
+				StopServersRequest.class,
 				StringPrompt.class,
+				SubscriptionRequest.class,
 				VMDescription.class,
 				VMHandle.class,
 		};
@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.schema;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a gson TypeAdapterFactory with one TypeAdapter per DAO.
+ *
+ * The adapters call the getters and setters of the DAOs directly,
+ * and produce the same json as gson's reflective adapters:
+ * the fields are written in declaration order, and null values
+ * are left out unless the gson instance serializes nulls.
+ * Fields that are neither primitives nor strings are delegated to
+ * the adapter gson has for their type, which for DAOs is the
+ * generated one.
+ */
+public class TypeAdapterGenerator {
+
+	public static final String PACKAGE = "org.jboss.tools.rsp.api.json";
+	public static final String CLASS_NAME = "DAOTypeAdapterFactory";
+
+	private static final String API_BUNDLE = "org.jboss.tools.rsp.api";
+
+	private String baseDir;
+
+	public TypeAdapterGenerator(String baseDir) {
+		this.baseDir = baseDir;
+	}
+
+	public void writeTypeAdapterFactory(Class[] daoClasses) throws Exception {
+		Path out = getFactoryFile();
+		out.getParent().toFile().mkdirs();
+		System.out.println("Writing type adapters to " + out.toFile().getAbsolutePath());
+		Files.write(out, generate(daoClasses).getBytes());
+		System.out.println("Done.");
+	}
+
+	public String generate(Class[] daoClasses) {
+		// java first, then org, then com, as eclipse orders them
+		Set<String> imports = new TreeSet<>(Comparator.comparing(TypeAdapterGenerator::importGroup)
+				.thenComparing(Comparator.naturalOrder()));
+		imports.add("java.io.IOException");
+		imports.add("com.google.gson.Gson");
+		imports.add("com.google.gson.TypeAdapter");
+		imports.add("com.google.gson.TypeAdapterFactory");
+		imports.add("com.google.gson.reflect.TypeToken");
+		imports.add("com.google.gson.stream.JsonReader");
+		imports.add("com.google.gson.stream.JsonToken");
+		imports.add("com.google.gson.stream.JsonWriter");
+
+		StringBuilder adapters = new StringBuilder();
+		List<Class> generated = new ArrayList<>();
+		for( int i = 0; i < daoClasses.length; i++ ) {
+			List<Field> fields = getFields(daoClasses[i]);
+			if( fields == null ) {
+				System.out.println("Skipping " + daoClasses[i].getName() + ": it is not a plain bean");
+				continue;
+			}
+			generated.add(daoClasses[i]);
+			imports.add(daoClasses[i].getName());
+			adapters.append("\n");
+			writeAdapter(daoClasses[i], fields, imports, adapters);
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(HEADER);
+		sb.append("package ").append(PACKAGE).append(";\n\n");
+		String previousRoot = null;
+		for( String imp : imports ) {
+			String root = imp.substring(0, imp.indexOf('.'));
+			if( previousRoot != null && !previousRoot.equals(root))
+				sb.append("\n");
+			previousRoot = root;
+			sb.append("import ").append(imp).append(";\n");
+		}
+		sb.append("\n/**\n");
+		sb.append(" * Reflection free type adapters for the DAOs of the protocol.\n");
+		sb.append(" *\n");
+		sb.append(" * This class is generated by ").append(TypeAdapterGenerator.class.getName()).append(".\n");
+		sb.append(" * Do not edit it, run GenerateSchemaMain to regenerate it instead.\n");
+		sb.append(" */\n");
+		sb.append("public class ").append(CLASS_NAME).append(" implements TypeAdapterFactory {\n\n");
+		sb.append("\t@Override\n");
+		sb.append("\t@SuppressWarnings(\"unchecked\")\n");
+		sb.append("\tpublic <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {\n");
+		sb.append("\t\tClass<? super T> raw = type.getRawType();\n");
+		for( Class c : generated ) {
+			sb.append("\t\tif( raw == ").append(c.getSimpleName()).append(".class )\n");
+			sb.append("\t\t\treturn (TypeAdapter<T>)new ").append(c.getSimpleName()).append("Adapter(gson);\n");
+		}
+		sb.append("\t\treturn null;\n");
+		sb.append("\t}\n\n");
+		sb.append(HELPERS);
+		sb.append(adapters);
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private static int importGroup(String imp) {
+		if( imp.startsWith("java."))
+			return 0;
+		if( imp.startsWith("org."))
+			return 1;
+		return 2;
+	}
+
+	/*
+	 * The fields gson would serialize, or null if
+	 * they can not all be accessed through the bean methods
+	 */
+	private List<Field> getFields(Class c) {
+		if( c.getSuperclass() != Object.class )
+			return null;
+		try {
+			c.getConstructor();
+		} catch(NoSuchMethodException nsme) {
+			return null;
+		}
+		List<Field> ret = new ArrayList<>();
+		for( Field f : c.getDeclaredFields()) {
+			int mods = f.getModifiers();
+			if( Modifier.isStatic(mods) || Modifier.isTransient(mods))
+				continue;
+			if( getGetter(c, f) == null || getSetter(c, f) == null )
+				return null;
+			ret.add(f);
+		}
+		return ret;
+	}
+
+	private static String getGetter(Class c, Field f) {
+		String[] prefixes = f.getType() == boolean.class ? new String[] {"is", "get"} : new String[] {"get"};
+		for( String prefix : prefixes ) {
+			String name = prefix + capitalize(f.getName());
+			try {
+				Method m = c.getMethod(name);
+				if( m.getReturnType() == f.getType())
+					return name;
+			} catch(NoSuchMethodException nsme) {
+				// try the next prefix
+			}
+		}
+		return null;
+	}
+
+	private static String getSetter(Class c, Field f) {
+		String name = "set" + capitalize(f.getName());
+		try {
+			c.getMethod(name, f.getType());
+			return name;
+		} catch(NoSuchMethodException nsme) {
+			return null;
+		}
+	}
+
+	private static String capitalize(String s) {
+		return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+	}
+
+	private void writeAdapter(Class c, List<Field> fields, Set<String> imports, StringBuilder sb) {
+		String dao = c.getSimpleName();
+		String adapter = dao + "Adapter";
+		sb.append("\tprivate static class ").append(adapter).append(" extends TypeAdapter<").append(dao).append("> {\n");
+		List<Field> delegated = new ArrayList<>();
+		for( Field f : fields ) {
+			if( !isSimple(f.getType())) {
+				delegated.add(f);
+				sb.append("\t\tprivate final TypeAdapter<").append(typeName(f.getGenericType(), imports))
+					.append("> ").append(adapterField(f)).append(";\n");
+			}
+		}
+		if( !delegated.isEmpty())
+			sb.append("\n");
+		sb.append("\t\t").append(adapter).append("(Gson gson) {\n");
+		for( Field f : delegated ) {
+			sb.append("\t\t\tthis.").append(adapterField(f)).append(" = gson.getAdapter(");
+			if( f.getGenericType() instanceof Class ) {
+				sb.append(typeName(f.getGenericType(), imports)).append(".class");
+			} else {
+				sb.append("new TypeToken<").append(typeName(f.getGenericType(), imports)).append(">() {}");
+			}
+			sb.append(");\n");
+		}
+		sb.append("\t\t}\n\n");
+
+		// write
+		sb.append("\t\t@Override\n");
+		sb.append("\t\tpublic void write(JsonWriter out, ").append(dao).append(" value) throws IOException {\n");
+		sb.append("\t\t\tif( value == null ) {\n");
+		sb.append("\t\t\t\tout.nullValue();\n");
+		sb.append("\t\t\t\treturn;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\tout.beginObject();\n");
+		for( Field f : fields ) {
+			String get = "value." + getGetter(c, f) + "()";
+			sb.append("\t\t\tout.name(\"").append(f.getName()).append("\");\n");
+			if( isSimple(f.getType())) {
+				sb.append("\t\t\tout.value(").append(get).append(");\n");
+			} else {
+				sb.append("\t\t\t").append(adapterField(f)).append(".write(out, ").append(get).append(");\n");
+			}
+		}
+		sb.append("\t\t\tout.endObject();\n");
+		sb.append("\t\t}\n\n");
+
+		// read
+		sb.append("\t\t@Override\n");
+		sb.append("\t\tpublic ").append(dao).append(" read(JsonReader in) throws IOException {\n");
+		sb.append("\t\t\tif( in.peek() == JsonToken.NULL ) {\n");
+		sb.append("\t\t\t\tin.nextNull();\n");
+		sb.append("\t\t\t\treturn null;\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\t").append(dao).append(" ret = new ").append(dao).append("();\n");
+		sb.append("\t\t\tin.beginObject();\n");
+		sb.append("\t\t\twhile( in.hasNext()) {\n");
+		sb.append("\t\t\t\tString name = in.nextName();\n");
+		sb.append("\t\t\t\tif( in.peek() == JsonToken.NULL ) {\n");
+		sb.append("\t\t\t\t\tin.nextNull();\n");
+		sb.append("\t\t\t\t\tcontinue;\n");
+		sb.append("\t\t\t\t}\n");
+		sb.append("\t\t\t\tswitch(name) {\n");
+		for( Field f : fields ) {
+			sb.append("\t\t\t\tcase \"").append(f.getName()).append("\":\n");
+			sb.append("\t\t\t\t\tret.").append(getSetter(c, f)).append("(").append(readExpression(f)).append(");\n");
+			sb.append("\t\t\t\t\tbreak;\n");
+		}
+		sb.append("\t\t\t\tdefault:\n");
+		sb.append("\t\t\t\t\tin.skipValue();\n");
+		sb.append("\t\t\t\t}\n");
+		sb.append("\t\t\t}\n");
+		sb.append("\t\t\tin.endObject();\n");
+		sb.append("\t\t\treturn ret;\n");
+		sb.append("\t\t}\n");
+		sb.append("\t}\n");
+	}
+
+	private static boolean isSimple(Class type) {
+		return type == String.class
+				|| type == int.class || type == Integer.class
+				|| type == long.class || type == Long.class
+				|| type == boolean.class || type == Boolean.class;
+	}
+
+	private static String readExpression(Field f) {
+		Class type = f.getType();
+		if( type == String.class )
+			return "readString(in)";
+		if( type == int.class || type == Integer.class )
+			return "in.nextInt()";
+		if( type == long.class || type == Long.class )
+			return "in.nextLong()";
+		if( type == boolean.class || type == Boolean.class )
+			return "readBoolean(in)";
+		return adapterField(f) + ".read(in)";
+	}
+
+	private static String adapterField(Field f) {
+		return f.getName() + "Adapter";
+	}
+
+	private static String typeName(Type type, Set<String> imports) {
+		if( type instanceof Class ) {
+			Class c = (Class)type;
+			if( c.isArray())
+				return typeName(c.getComponentType(), imports) + "[]";
+			if( !c.isPrimitive() && !c.getPackage().getName().equals("java.lang"))
+				imports.add(c.getName());
+			return c.getSimpleName();
+		}
+		if( type instanceof GenericArrayType ) {
+			return typeName(((GenericArrayType)type).getGenericComponentType(), imports) + "[]";
+		}
+		if( type instanceof ParameterizedType ) {
+			ParameterizedType pt = (ParameterizedType)type;
+			StringBuilder sb = new StringBuilder(typeName(pt.getRawType(), imports));
+			sb.append("<");
+			Type[] args = pt.getActualTypeArguments();
+			for( int i = 0; i < args.length; i++ ) {
+				if( i > 0 )
+					sb.append(", ");
+				sb.append(typeName(args[i], imports));
+			}
+			return sb.append(">").toString();
+		}
+		throw new IllegalArgumentException("Unsupported field type " + type);
+	}
+
+	public Path getFactoryFile() {
+		Path folder = new File(baseDir).toPath().resolve("..").resolve("..").resolve("bundles").resolve(API_BUNDLE)
+				.resolve("src").resolve("main").resolve("java");
+		for( String segment : PACKAGE.split("\\.")) {
+			folder = folder.resolve(segment);
+		}
+		return folder.resolve(CLASS_NAME + ".java").normalize();
+	}
+
+	private static final String HEADER =
+			"/*******************************************************************************\n" +
+			" * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.\n" +
+			" * All rights reserved. This program is made available under the terms of the\n" +
+			" * Eclipse Public License v1.0 which accompanies this distribution, and is\n" +
+			" * available at http://www.eclipse.org/legal/epl-v10.html\n" +
+			" * \n" +
+			" * Contributors: Red Hat, Inc.\n" +
+			" ******************************************************************************/\n";
+
+	/*
+	 * Lenient like gson's own adapters for strings and booleans
+	 */
+	private static final String HELPERS =
+			"\tprivate static String readString(JsonReader in) throws IOException {\n" +
+			"\t\tif( in.peek() == JsonToken.BOOLEAN )\n" +
+			"\t\t\treturn Boolean.toString(in.nextBoolean());\n" +
+			"\t\treturn in.nextString();\n" +
+			"\t}\n\n" +
+			"\tprivate static boolean readBoolean(JsonReader in) throws IOException {\n" +
+			"\t\tif( in.peek() == JsonToken.STRING )\n" +
+			"\t\t\treturn Boolean.parseBoolean(in.nextString());\n" +
+			"\t\treturn in.nextBoolean();\n" +
+			"\t}\n";
+}
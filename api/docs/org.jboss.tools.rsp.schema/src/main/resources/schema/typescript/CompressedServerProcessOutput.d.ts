@@ -0,0 +1,18 @@
+export interface CompressedServerProcessOutput {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    length: number;
+    data: string;
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+export interface MessageTraceRequest {
+    clear: boolean;
+}
\ No newline at end of file
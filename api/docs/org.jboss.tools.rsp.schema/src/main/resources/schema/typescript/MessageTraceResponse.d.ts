@@ -0,0 +1,5 @@
+export interface MessageTraceResponse {
+    enabled: boolean;
+    messages: string[];
+    dropped: number;
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+export interface PublishServersRequest {
+    servers: PublishServerRequest[];
+}
+
+export interface PublishServerRequest {
+    server: ServerHandle;
+    kind: number;
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+export interface ServerHealth {
+    server: ServerHandle;
+    status: string;
+    checks: ServerHealthCheck[];
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerHealthCheck {
+    time: number;
+    status: string;
+    duration: number;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+export interface ServerHealthCheck {
+    time: number;
+    status: string;
+    duration: number;
+}
\ No newline at end of file
@@ -0,0 +1,5 @@
+export interface ServerOutputFilter {
+    pattern: string;
+    level: string;
+    exclude: boolean;
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+export interface ServerOutputFilterRequest {
+    serverIds: string[];
+    filters: ServerOutputFilter[];
+}
+
+export interface ServerOutputFilter {
+    pattern: string;
+    level: string;
+    exclude: boolean;
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+export interface ServerOutputRequest {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    offset: number;
+    length: number;
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
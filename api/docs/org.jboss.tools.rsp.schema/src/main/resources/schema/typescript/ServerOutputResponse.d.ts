@@ -0,0 +1,21 @@
+export interface ServerOutputResponse {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    offset: number;
+    nextOffset: number;
+    startOffset: number;
+    endOffset: number;
+    text: string;
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+export interface ServerStateDelta {
+    server: ServerHandle;
+    sequence: number;
+    state: number;
+    publishState: number;
+    changedDeployables: DeployableState[];
+    removedDeployables: DeployableReference[];
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface DeployableState {
+    reference: DeployableReference;
+    state: number;
+    publishState: number;
+}
+
+export interface DeployableReference {
+    label: string;
+    path: string;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+export interface ServerStatesRequest {
+    servers: ServerHandle[];
+}
+
+export interface ServerHandle {
+    id: string;
+    type: ServerType;
+}
+
+export interface ServerType {
+    id: string;
+    visibleName: string;
+    description: string;
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+export interface StartServersRequest {
+    servers: LaunchParameters[];
+}
+
+export interface LaunchParameters {
+    mode: string;
+    params: ServerAttributes;
+}
+
+export interface ServerAttributes {
+    serverType: string;
+    id: string;
+    attributes: { [index: string]: any };
+}
\ No newline at end of file
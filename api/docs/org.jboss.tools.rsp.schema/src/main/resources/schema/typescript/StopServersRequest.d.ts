@@ -0,0 +1,8 @@
+export interface StopServersRequest {
+    servers: StopServerAttributes[];
+}
+
+export interface StopServerAttributes {
+    id: string;
+    force: boolean;
+}
\ No newline at end of file
@@ -0,0 +1,4 @@
+export interface SubscriptionRequest {
+    serverIds: string[];
+    eventKinds: string[];
+}
\ No newline at end of file
@@ -22,6 +22,14 @@ export interface CommandLineDetails {
     properties: { [index: string]: string };
 }
 
+export interface CompressedServerProcessOutput {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    length: number;
+    data: string;
+}
+
 export interface CreateServerResponse {
     status: Status;
     invalidKeys: string[];
@@ -69,6 +77,16 @@ export interface LaunchParameters {
     params: ServerAttributes;
 }
 
+export interface MessageTraceRequest {
+    clear: boolean;
+}
+
+export interface MessageTraceResponse {
+    enabled: boolean;
+    messages: string[];
+    dropped: number;
+}
+
 export interface ModifyDeployableRequest {
     server: ServerHandle;
     deployable: DeployableReference;
@@ -79,6 +97,10 @@ export interface PublishServerRequest {
     kind: number;
 }
 
+export interface PublishServersRequest {
+    servers: PublishServerRequest[];
+}
+
 export interface ServerAttributes {
     serverType: string;
     id: string;
@@ -105,11 +127,53 @@ export interface ServerHandle {
     type: ServerType;
 }
 
+export interface ServerHealth {
+    server: ServerHandle;
+    status: string;
+    checks: ServerHealthCheck[];
+}
+
+export interface ServerHealthCheck {
+    time: number;
+    status: string;
+    duration: number;
+}
+
 export interface ServerLaunchMode {
     mode: string;
     desc: string;
 }
 
+export interface ServerOutputFilter {
+    pattern: string;
+    level: string;
+    exclude: boolean;
+}
+
+export interface ServerOutputFilterRequest {
+    serverIds: string[];
+    filters: ServerOutputFilter[];
+}
+
+export interface ServerOutputRequest {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    offset: number;
+    length: number;
+}
+
+export interface ServerOutputResponse {
+    server: ServerHandle;
+    processId: string;
+    streamType: number;
+    offset: number;
+    nextOffset: number;
+    startOffset: number;
+    endOffset: number;
+    text: string;
+}
+
 export interface ServerProcess {
     server: ServerHandle;
     processId: string;
@@ -134,6 +198,19 @@ export interface ServerState {
     deployableStates: DeployableState[];
 }
 
+export interface ServerStateDelta {
+    server: ServerHandle;
+    sequence: number;
+    state: number;
+    publishState: number;
+    changedDeployables: DeployableState[];
+    removedDeployables: DeployableReference[];
+}
+
+export interface ServerStatesRequest {
+    servers: ServerHandle[];
+}
+
 export interface ServerType {
     id: string;
     visibleName: string;
@@ -145,6 +222,10 @@ export interface StartServerResponse {
     details: CommandLineDetails;
 }
 
+export interface StartServersRequest {
+    servers: LaunchParameters[];
+}
+
 export interface Status {
     severity: number;
     pluginId: string;
@@ -160,11 +241,20 @@ export interface StopServerAttributes {
     force: boolean;
 }
 
+export interface StopServersRequest {
+    servers: StopServerAttributes[];
+}
+
 export interface StringPrompt {
     code: number;
     prompt: string;
 }
 
+export interface SubscriptionRequest {
+    serverIds: string[];
+    eventKinds: string[];
+}
+
 export interface VMDescription {
     id: string;
     installLocation: string;
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.api.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerType;
+import org.jboss.tools.rsp.api.json.DAOTypeAdapterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares gson's reflective adapters with the generated ones
+ * for the DAOs sent most often.
+ *
+ * Run with
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=org.jboss.tools.rsp.api.schema.TypeAdapterBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeAdapterBenchmark {
+
+	@Param({"reflective", "generated"})
+	public String adapters;
+
+	private Gson gson;
+	private ServerProcessOutput output;
+	private String outputJson;
+	private ServerState state;
+	private String stateJson;
+
+	@Setup
+	public void setup() {
+		GsonBuilder builder = new GsonBuilder();
+		if( "generated".equals(adapters))
+			builder.registerTypeAdapterFactory(new DAOTypeAdapterFactory());
+		gson = builder.create();
+
+		ServerHandle handle = new ServerHandle("wildfly-13", 
+				new ServerType("org.jboss.ide.eclipse.as.wildfly.130", "WildFly 13", "A WildFly 13 server"));
+		output = new ServerProcessOutput(handle, "wildfly-13:1", 2, 
+				"12:00:00,000 INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: WildFly Full 13.0.0.Final started\n");
+		outputJson = gson.toJson(output);
+
+		List<DeployableState> deployables = new ArrayList<>();
+		for( int i = 0; i < 10; i++ ) {
+			deployables.add(new DeployableState(new DeployableReference("app" + i, "/tmp/app" + i + ".war"), 2, 1));
+		}
+		state = new ServerState();
+		state.setServer(handle);
+		state.setState(2);
+		state.setPublishState(1);
+		state.setDeployableStates(deployables);
+		stateJson = gson.toJson(state);
+	}
+
+	@Benchmark
+	public String writeOutput() {
+		return gson.toJson(output);
+	}
+
+	@Benchmark
+	public ServerProcessOutput readOutput() {
+		return gson.fromJson(outputJson, ServerProcessOutput.class);
+	}
+
+	@Benchmark
+	public String writeState() {
+		return gson.toJson(state);
+	}
+
+	@Benchmark
+	public ServerState readState() {
+		return gson.fromJson(stateJson, ServerState.class);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TypeAdapterBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -14,13 +14,17 @@ import java.util.concurrent.CompletableFuture;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
 import org.jboss.tools.rsp.api.dao.DeployableState;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
+import org.jboss.tools.rsp.api.dao.util.OutputCompressionUtility;
 import org.jboss.tools.rsp.client.cli.InputHandler;
 import org.jboss.tools.rsp.client.cli.InputProvider;
 
@@ -87,6 +91,34 @@ public class ServerManagementClientImpl implements RSPClient {
 		System.out.println(sb.toString());
 	}
 
+	@Override
+	public void serverStateDelta(ServerStateDelta delta) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Server state delta #" + delta.getSequence() + ": \n  Server:");
+		sb.append(delta.getServer().getType() + ":" + delta.getServer().getId()); 
+		if( delta.getState() != null ) {
+			sb.append("\n  State: ");
+			sb.append(getRunStateString(delta.getState()));
+		}
+		if( delta.getPublishState() != null ) {
+			sb.append("\n  Publish State: ");
+			sb.append(getPublishStateString(delta.getPublishState()));
+		}
+		if( delta.getChangedDeployables() != null ) {
+			for( DeployableState ds : delta.getChangedDeployables() ) {
+				sb.append("\n    " + ds.getReference().getLabel() );
+				sb.append(" [" + getRunStateString(ds.getState()) + "]");
+				sb.append(" [" + getPublishStateString(ds.getPublishState()) + "]");
+			}
+		}
+		if( delta.getRemovedDeployables() != null ) {
+			for( DeployableReference ref : delta.getRemovedDeployables() ) {
+				sb.append("\n    " + ref.getLabel() + " [removed]");
+			}
+		}
+		System.out.println(sb.toString());
+	}
+
 	@Override
 	public void serverProcessCreated(ServerProcess process) {
 		System.out.println("Server process created: " + 
@@ -158,6 +190,11 @@ public class ServerManagementClientImpl implements RSPClient {
 				+ out.getStreamType() + "] " + out.getText());
 	}
 
+	@Override
+	public void serverProcessOutputCompressed(CompressedServerProcessOutput out) {
+		serverProcessOutputAppended(OutputCompressionUtility.decompress(out));
+	}
+
 	@Override
 	public CompletableFuture<String> promptString(StringPrompt prompt) {
 		@SuppressWarnings("unchecked")
@@ -11,16 +11,17 @@ package org.jboss.tools.rsp.client.bindings;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.nio.channels.SocketChannel;
 
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
 import org.jboss.tools.rsp.client.cli.InputProvider;
 
 public class ServerManagementClientLauncher {
 
 	private ServerManagementClientImpl myClient;
 	private SocketLauncher<RSPServer> launcher;
-	private Socket socket;
 	private String host;
 	private int port;
 	private boolean connectionOpen = false;
@@ -31,14 +32,22 @@ public class ServerManagementClientLauncher {
 		this.port = port;
 		this.provider = provider;
 	}
+
+	/**
+	 * Connect to a server listening on a unix domain socket
+	 * 
+	 * @param socketPath the path of the socket, optionally prefixed with 
+	 * {@link UnixDomainSockets#URI_PREFIX}
+	 */
+	public ServerManagementClientLauncher(String socketPath, InputProvider provider) {
+		this(UnixDomainSockets.URI_PREFIX + UnixDomainSockets.toPath(socketPath), -1, provider);
+	}
 	
 	public void launch() throws UnknownHostException, IOException {
 		// create the chat client
 		ServerManagementClientImpl client = new ServerManagementClientImpl();
-		// connect to the server
-		this.socket = new Socket(host, port);
-		// open a JSON-RPC connection for the opened socket
-		this.launcher = new SocketLauncher<>(client, RSPServer.class, socket);
+		// connect to the server and open a JSON-RPC connection for it
+		this.launcher = connect(client);
 		/*
          * Start listening for incoming message.
          * When the JSON-RPC connection is closed, 
@@ -52,6 +61,15 @@ public class ServerManagementClientLauncher {
 		connectionOpen = true;
 	}
 
+	private SocketLauncher<RSPServer> connect(ServerManagementClientImpl client) throws IOException {
+		if( UnixDomainSockets.isSocketUri(host)) {
+			SocketChannel channel = UnixDomainSockets.connect(UnixDomainSockets.toPath(host));
+			return new SocketLauncher<>(client, RSPServer.class, channel);
+		}
+		Socket socket = new Socket(host, port);
+		return new SocketLauncher<>(client, RSPServer.class, socket);
+	}
+
 	private void clientClosed() {
 		this.myClient = null;
 		connectionOpen = false;
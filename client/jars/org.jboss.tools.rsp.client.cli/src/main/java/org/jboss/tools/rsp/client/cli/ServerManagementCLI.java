@@ -16,6 +16,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 
 import org.jboss.tools.rsp.api.ICapabilityKeys;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
 import org.jboss.tools.rsp.api.dao.ClientCapabilitiesRequest;
 import org.jboss.tools.rsp.client.bindings.IClientConnectionClosedListener;
 import org.jboss.tools.rsp.client.bindings.ServerManagementClientLauncher;
@@ -29,10 +30,10 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 
 	private void connect(String host, String port) throws Exception {
 		if (host == null) {
-			System.out.print("Enter server host: ");
+			System.out.print("Enter server host, or unix:<path> for a local socket: ");
 			host = getUserInput();
 		}
-		if (port == null) {
+		if (port == null && !UnixDomainSockets.isSocketUri(host)) {
 			System.out.print("Enter server port: ");
 			port = getUserInput();
 		}
@@ -42,7 +43,12 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 	}
 
 	private ServerManagementClientLauncher launch(String host, String port) throws IOException, InterruptedException, ExecutionException {
-		ServerManagementClientLauncher launcher = new ServerManagementClientLauncher(host, Integer.parseInt(port), this);
+		ServerManagementClientLauncher launcher = null;
+		if( UnixDomainSockets.isSocketUri(host)) {
+			launcher = new ServerManagementClientLauncher(host, this);
+		} else {
+			launcher = new ServerManagementClientLauncher(host, Integer.parseInt(port), this);
+		}
 		launcher.setListener(this);
 		launcher.launch();
 		ClientCapabilitiesRequest clientCapRequest = createClientCapabilitiesRequest();
@@ -54,6 +60,7 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 		Map<String, String> clientCap = new HashMap<>();
 		clientCap.put(ICapabilityKeys.STRING_PROTOCOL_VERSION, ICapabilityKeys.PROTOCOL_VERSION_0_10_0);
 		clientCap.put(ICapabilityKeys.BOOLEAN_STRING_PROMPT, Boolean.toString(true));
+		clientCap.put(ICapabilityKeys.BOOLEAN_OUTPUT_COMPRESSED, Boolean.toString(true));
 		return new ClientCapabilitiesRequest(clientCap);
 	}
 
@@ -129,13 +136,17 @@ public class ServerManagementCLI implements InputProvider, IClientConnectionClos
 	public static void main(String[] args) {
 		ServerManagementCLI cli = new ServerManagementCLI();
 		try {
-			cli.connect(args[0], args[1]);
+			cli.connect(args[0], args.length > 1 ? args[1] : null);
 		} catch (Exception e) {
 			e.printStackTrace();
 			return;
 		}
 
-		System.out.println("Connected to: " + args[0] + ":" + args[1]);
+		if( UnixDomainSockets.isSocketUri(args[0])) {
+			System.out.println("Connected to: " + args[0]);
+		} else {
+			System.out.println("Connected to: " + args[0] + ":" + args[1]);
+		}
 		cli.readInputs();
 	}
 
@@ -106,6 +106,15 @@ public class WildFlyServerModelTest extends RSPCase {
         Map<String, Attribute> expected = new HashMap<>();
         expected.put("vm.install.path", new Attribute("string",
                 "A string representation pointing to a java home. If not set, java.home will be used instead.", null));
+        expected.put("server.state.poller", new Attribute("string",
+                "How to tell the server started or stopped besides its console: "
+                + "web polls the web port, management reads the server state over the management api.", "web"));
+        expected.put("management.port", new Attribute("int",
+                "The http management port, used by the management poller. 9990 if not set.", null));
+        expected.put("management.username", new Attribute("string",
+                "The management user, used by the management poller", null));
+        expected.put(":secure:server:management.password", new Attribute("string",
+                "The password of the management user", null));
         assertEquals(new Attributes(expected), attr);
     }
     
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Feeds a recorded WildFly boot log through an {@link OutputStreamMonitor}
+ * and measures how long it takes until the listeners got all of it.
+ *
+ * Lives in the monitor's package so that it can start and close monitors.
+ *
+ * Run with
+ * mvn compile exec:java
+ *     -Dexec.mainClass=org.jboss.tools.rsp.eclipse.debug.internal.core.OutputStreamMonitorBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputStreamMonitorBenchmark {
+
+	private static final String BOOT_LOG = "/wildfly-13-boot.log";
+
+	/**
+	 * The number of times the boot log is repeated
+	 */
+	@Param({"100"})
+	public int boots;
+
+	@Param({"false", "true"})
+	public boolean lineBuffered;
+
+	private byte[] output;
+
+	@Setup
+	public void setup() throws IOException {
+		// measure the decoding, not the history kept for clients
+		System.setProperty(OutputHistory.SYSPROP_HISTORY_SIZE, "0");
+		byte[] log;
+		try (InputStream in = getClass().getResourceAsStream(BOOT_LOG)) {
+			log = IOUtils.toByteArray(in);
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream(log.length * boots);
+		for( int i = 0; i < boots; i++ ) {
+			out.write(log);
+		}
+		output = out.toByteArray();
+	}
+
+	@Benchmark
+	public long monitor() {
+		OutputStreamMonitor monitor = new OutputStreamMonitor(
+				new ByteArrayInputStream(output), "UTF-8", lineBuffered);
+		CountingListener listener = new CountingListener();
+		monitor.addListener(listener);
+		monitor.startMonitoring();
+		monitor.close();
+		return listener.chars;
+	}
+
+	private static class CountingListener implements IStreamListener {
+		private long chars;
+
+		@Override
+		public void streamAppended(String text, IStreamMonitor monitor) {
+			chars += text.length();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(OutputStreamMonitorBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.server.model.ServerModel;
+import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
+import org.jboss.tools.rsp.server.spi.model.ServerModelListenerAdapter;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Fires 1 MB of a recorded WildFly boot log through a {@link ServerStreamListener}
+ * and the server model, the path every chunk of process output takes to the
+ * clients. Every chunk must reach the listeners exactly once, the benchmark
+ * fails otherwise.
+ *
+ * The allocated bytes per MB of output are reported by the gc profiler
+ * as gc.alloc.rate.norm.
+ *
+ * Run with
+ * mvn compile exec:java
+ *     -Dexec.mainClass=org.jboss.tools.rsp.server.model.internal.ServerOutputEventBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServerOutputEventBenchmark {
+
+	private static final String BOOT_LOG = "/wildfly-13-boot.log";
+	private static final String TYPE_ID = "org.jboss.ide.eclipse.as.wildfly.130";
+	private static final int MEGABYTE = 1024 * 1024;
+	// the size of a read of the output stream monitor
+	private static final int CHUNK = 8192;
+
+	private String[] chunks;
+	private ServerStreamListener streamListener;
+	private CountingListener modelListener;
+	private long operations;
+
+	@Setup
+	public void setup() throws IOException {
+		String log;
+		try (InputStream in = getClass().getResourceAsStream(BOOT_LOG)) {
+			log = new String(IOUtils.toByteArray(in), StandardCharsets.UTF_8);
+		}
+		StringBuilder output = new StringBuilder(MEGABYTE);
+		while( output.length() < MEGABYTE ) {
+			output.append(log);
+		}
+		output.setLength(MEGABYTE);
+		chunks = new String[MEGABYTE / CHUNK];
+		for( int i = 0; i < chunks.length; i++ ) {
+			chunks[i] = output.substring(i * CHUNK, (i + 1) * CHUNK);
+		}
+
+		IServerManagementModel managementModel = proxy(IServerManagementModel.class, null, null, null);
+		ServerModel serverModel = new ServerModel(managementModel);
+		serverModel.addServerType(proxy(IServerType.class, TYPE_ID, null, null));
+		modelListener = new CountingListener();
+		serverModel.addServerModelListener(modelListener);
+		IServer server = proxy(IServer.class, "wildfly-13", TYPE_ID,
+				proxy(IServerManagementModel.class, null, null, serverModel));
+		// no batching, so that every chunk is fired right away
+		streamListener = new ServerStreamListener(server, "wildfly-13:1", 1, 0, 0);
+	}
+
+	@Benchmark
+	public void fireMegabyte() {
+		for( String chunk : chunks ) {
+			streamListener.streamAppended(chunk, null);
+		}
+		operations++;
+	}
+
+	@TearDown(Level.Iteration)
+	public void checkNotifications() {
+		long perMegabyte = operations == 0 ? 0 : modelListener.notifications / operations;
+		System.out.println("\nNotifications per MB: " + perMegabyte);
+		if( modelListener.notifications != operations * chunks.length ) {
+			throw new IllegalStateException("Expected " + chunks.length
+					+ " notifications per MB but got " + perMegabyte);
+		}
+		modelListener.notifications = 0;
+		operations = 0;
+	}
+
+	private static class CountingListener extends ServerModelListenerAdapter {
+		private long notifications;
+
+		@Override
+		public void serverProcessOutputAppended(ServerHandle server, String processId, int streamType, String text) {
+			notifications++;
+		}
+	}
+
+	/**
+	 * A stand-in answering the getters the event path calls
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, String id, String typeId, Object model) {
+		return (T) Proxy.newProxyInstance(ServerOutputEventBenchmark.class.getClassLoader(), new Class[] { type },
+				(p, method, args) -> {
+					switch(method.getName()) {
+					case "getId":
+					case "getName":
+						return id;
+					case "getTypeId":
+						return typeId;
+					case "getServerManagementModel":
+					case "getServerModel":
+						return model;
+					default:
+						return null;
+					}
+				});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ServerOutputEventBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
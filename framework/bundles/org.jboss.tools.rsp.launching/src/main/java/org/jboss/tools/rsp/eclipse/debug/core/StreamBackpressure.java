@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.core;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Tells the readers of process output whether the output
+ * read so far can not be passed on as fast as it is read,
+ * ie. because the connections to the clients have more
+ * bytes waiting to be written than they should.
+ * Readers pacing for backpressure read more slowly then.
+ * 
+ * The readers of all processes are slowed down alike, so a
+ * source should only tell output is backed up when none of
+ * its consumers keeps up, not when a single one falls behind.
+ */
+public class StreamBackpressure {
+
+	private static volatile BooleanSupplier source;
+
+	private StreamBackpressure() {
+	}
+
+	/**
+	 * @param source tells whether output is backed up, or null for never
+	 */
+	public static void setSource(BooleanSupplier source) {
+		StreamBackpressure.source = source;
+	}
+
+	/**
+	 * @return whether output is backed up
+	 */
+	public static boolean isBackedUp() {
+		BooleanSupplier s = source;
+		return s != null && s.getAsBoolean();
+	}
+}
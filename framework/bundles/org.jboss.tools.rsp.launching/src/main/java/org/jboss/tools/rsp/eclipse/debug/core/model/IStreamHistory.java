@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.core.model;
+
+/**
+ * The most recent output of a stream, kept as the bytes 
+ * the process wrote. 
+ * 
+ * Positions in the history are offsets from the first byte the
+ * process wrote to the stream. Only the last bytes, up to the 
+ * capacity of the history, can be read.
+ */
+public interface IStreamHistory {
+
+	/**
+	 * @return the offset of the oldest byte that can still be read
+	 */
+	public long getStartOffset();
+
+	/**
+	 * @return the number of bytes written to the stream so far
+	 */
+	public long getEndOffset();
+
+	/**
+	 * @return the encoding of the stream, or <code>null</code> for the system default
+	 */
+	public String getEncoding();
+
+	/**
+	 * Reads bytes from the history. Reading starts at the oldest 
+	 * byte that can still be read if the given offset is older.
+	 * 
+	 * @param offset the offset to start reading at
+	 * @param length the maximum number of bytes to read
+	 * @return the bytes read and the offset they start at
+	 */
+	public Chunk read(long offset, int length);
+
+	/**
+	 * Bytes read from a stream history
+	 */
+	public static class Chunk {
+		private final long offset;
+		private final byte[] bytes;
+
+		public Chunk(long offset, byte[] bytes) {
+			this.offset = offset;
+			this.bytes = bytes;
+		}
+
+		/**
+		 * @return the offset of the first byte
+		 */
+		public long getOffset() {
+			return offset;
+		}
+
+		public byte[] getBytes() {
+			return bytes;
+		}
+	}
+}
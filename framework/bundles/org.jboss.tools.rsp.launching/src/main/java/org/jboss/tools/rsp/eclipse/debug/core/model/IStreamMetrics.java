@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.core.model;
+
+/**
+ * How fast the output of a process stream is read.
+ */
+public interface IStreamMetrics {
+
+	/**
+	 * @return the number of bytes read so far
+	 */
+	public long getBytesRead();
+
+	/**
+	 * @return the bytes read per second since reading started
+	 */
+	public long getBytesPerSecond();
+
+	/**
+	 * The time the stream was not read although it was due to,
+	 * because reading was slowed down or all readers were busy.
+	 * While the stream is not read, the process may block
+	 * writing to it.
+	 *
+	 * @return the time in ms
+	 */
+	public long getBlockedMillis();
+}
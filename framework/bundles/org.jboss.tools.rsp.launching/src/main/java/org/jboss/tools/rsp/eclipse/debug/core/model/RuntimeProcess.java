@@ -14,6 +14,7 @@ package org.jboss.tools.rsp.eclipse.debug.core.model;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.Status;
@@ -22,6 +23,7 @@ import org.jboss.tools.rsp.eclipse.debug.core.DebugException;
 import org.jboss.tools.rsp.eclipse.debug.core.DebugPluginConstants;
 import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
 import org.jboss.tools.rsp.eclipse.debug.internal.core.NullStreamsProxy;
+import org.jboss.tools.rsp.eclipse.debug.internal.core.ProcessExitWatcher;
 import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamsProxy;
 import org.jboss.tools.rsp.launching.RuntimeProcessEventManager;
 
@@ -46,7 +48,6 @@ public class RuntimeProcess implements IProcess {
 	private static final int TIME_TO_WAIT_FOR_THREAD_DEATH = 500; // ms
 
 	private static final String RuntimeProcess_Exit_value_not_available_until_process_terminates__1="Exit value not available until process terminates.";
-	private static final String ProcessMonitorJob_0="Process monitor";
 	private static final String RuntimeProcess_terminate_failed="Terminate failed";
 	
 	
@@ -66,10 +67,9 @@ public class RuntimeProcess implements IProcess {
 	private int fExitValue;
 
 	/**
-	 * The monitor which listens for this runtime process' system process
-	 * to terminate.
+	 * Whether the termination of the system process was handled
 	 */
-	private ProcessMonitorThread fMonitor;
+	private final AtomicBoolean fExitHandled = new AtomicBoolean();
 
 	/**
 	 * The streams proxy for this process
@@ -123,8 +123,7 @@ public class RuntimeProcess implements IProcess {
 		fCaptureOutput = !("false".equals(captureOutput)); //$NON-NLS-1$
 
 		fStreamsProxy= createStreamsProxy();
-		fMonitor = new ProcessMonitorThread(this);
-		fMonitor.start();
+		ProcessExitWatcher.getDefault().onExit(process, this::processExited);
 		launch.addProcess(this);
 		fireCreationEvent();
 	}
@@ -222,15 +221,22 @@ public class RuntimeProcess implements IProcess {
 				attempts++;
 			}
 			// clean-up
-			if (fMonitor != null) {
-				fMonitor.killThread();
-				fMonitor = null;
-			}
+			processExited();
 			IStatus status = new Status(IStatus.ERROR, DebugPluginConstants.DEBUG_CORE_ID, DebugException.TARGET_REQUEST_FAILED, RuntimeProcess_terminate_failed, null);
 			throw new DebugException(status);
 		}
 	}
 
+	/**
+	 * Handles the termination of the system process once,
+	 * whether it was reported by the watcher or forced.
+	 */
+	private void processExited() {
+		if (fExitHandled.compareAndSet(false, true)) {
+			terminated();
+		}
+	}
+
 	/**
 	 * Notification that the system process associated with this process
 	 * has terminated.
@@ -382,90 +388,4 @@ public class RuntimeProcess implements IProcess {
 		}
 		throw new DebugException(new Status(IStatus.ERROR, DebugPluginConstants.DEBUG_CORE_ID, DebugException.TARGET_REQUEST_FAILED, RuntimeProcess_Exit_value_not_available_until_process_terminates__1, null));
 	}
-
-	/**
-	 * Monitors a system process, waiting for it to terminate, and
-	 * then notifies the associated runtime process.
-	 */
-	class ProcessMonitorThread extends Thread {
-
-		/**
-		 * Whether the thread has been told to exit.
-		 */
-		protected boolean fExit;
-		/**
-		 * The underlying <code>java.lang.Process</code> being monitored.
-		 */
-		protected Process fOSProcess;
-		/**
-		 * The <code>IProcess</code> which will be informed when this
-		 * monitor detects that the underlying process has terminated.
-		 */
-		protected RuntimeProcess fRuntimeProcess;
-
-		/**
-		 * The <code>Thread</code> which is monitoring the underlying process.
-		 */
-		protected Thread fThread;
-
-		/**
-		 * A lock protecting access to <code>fThread</code>.
-		 */
-		private final Object fThreadLock = new Object();
-
-		/**
-		 * @see Thread#run()
-		 */
-		@Override
-		public void run() {
-			synchronized (fThreadLock) {
-				if (fExit) {
-					return;
-				}
-				fThread = Thread.currentThread();
-			}
-			while (fOSProcess != null) {
-				try {
-					fOSProcess.waitFor();
-				} catch (InterruptedException ie) {
-					// clear interrupted state
-					Thread.interrupted();
-				} finally {
-					fOSProcess = null;
-					fRuntimeProcess.terminated();
-				}
-			}
-			fThread = null;
-		}
-
-		/**
-		 * Creates a new process monitor and starts monitoring the process for
-		 * termination.
-		 *
-		 * @param process process to monitor for termination
-		 */
-		public ProcessMonitorThread(RuntimeProcess process) {
-			super(ProcessMonitorJob_0);
-			setDaemon(true);
-			fRuntimeProcess= process;
-			fOSProcess= process.getSystemProcess();
-		}
-
-		/**
-		 * Kills the monitoring thread.
-		 *
-		 * This method is to be useful for dealing with the error
-		 * case of an underlying process which has not informed this
-		 * monitor of its termination.
-		 */
-		protected void killThread() {
-			synchronized (fThreadLock) {
-				if (fThread == null) {
-					fExit = true;
-				} else {
-					fThread.interrupt();
-				}
-			}
-		}
-	}
 }
@@ -40,6 +40,12 @@ public class InputStreamMonitor {
 	 * The thread which writes to the stream.
 	 */
 	private Thread fThread;
+	/**
+	 * Whether monitoring was started. The thread which
+	 * writes is only created once there is something to write,
+	 * most processes are never written to.
+	 */
+	private boolean fStarted;
 	/**
 	 * A lock for ensuring that writes to the queue are contiguous
 	 */
@@ -87,15 +93,25 @@ public class InputStreamMonitor {
 	public void write(String text) {
 		synchronized(fLock) {
 			fQueue.add(text);
+			startThread();
 			fLock.notifyAll();
 		}
 	}
 
 	/**
-	 * Starts a thread which writes the stream.
+	 * Starts writing the stream once there is something to write.
 	 */
 	public void startMonitoring() {
-		if (fThread == null) {
+		synchronized(fLock) {
+			fStarted = true;
+			if (!fQueue.isEmpty()) {
+				startThread();
+			}
+		}
+	}
+
+	private void startThread() {
+		if (fStarted && fThread == null) {
 			fThread= new Thread(new Runnable() {
 				@Override
 				public void run() {
@@ -112,9 +128,19 @@ public class InputStreamMonitor {
 	 * monitor and the underlying stream.
 	 */
 	public void close() {
-		if (fThread != null) {
-			Thread thread= fThread;
-			fThread= null;
+		Thread thread;
+		synchronized(fLock) {
+			thread = fThread;
+			if (thread == null && fStarted && !fClosed) {
+				// nothing was ever written, close the stream right away
+				fStarted = false;
+				closeStream();
+				return;
+			}
+			fStarted = false;
+			fThread = null;
+		}
+		if (thread != null) {
 			thread.interrupt();
 		}
 	}
@@ -127,11 +153,15 @@ public class InputStreamMonitor {
 			writeNext();
 		}
 		if (!fClosed) {
-			try {
-			    fStream.close();
-			} catch (IOException e) {
-				log(e);
-			}
+			closeStream();
+		}
+	}
+
+	private void closeStream() {
+		try {
+		    fStream.close();
+		} catch (IOException e) {
+			log(e);
 		}
 	}
 
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed size ring buffer of the bytes most recently written to a stream.
+ * 
+ * The bytes are kept on the heap, or in a memory mapped temporary file
+ * so that long running processes do not fill the heap with their output. 
+ * A heap buffer starts small and grows with the output, up to the capacity.
+ */
+public class OutputHistory implements IStreamHistory {
+	private static final Logger LOG = LoggerFactory.getLogger(OutputHistory.class);
+
+	/**
+	 * The number of bytes kept per stream, or 0 to keep none
+	 */
+	public static final String SYSPROP_HISTORY_SIZE = "rsp.server.output.history";
+	public static final int DEFAULT_HISTORY_SIZE = 1024 * 1024;
+	/**
+	 * Whether to keep the bytes in a memory mapped temporary file
+	 * instead of on the heap
+	 */
+	public static final String SYSPROP_HISTORY_MAPPED = "rsp.server.output.history.mapped";
+
+	private static final int INITIAL_SIZE = 4 * 1024;
+
+	private final String encoding;
+	private final int capacity;
+	// Guarded by this
+	private ByteBuffer buffer;
+	// Guarded by this
+	private long start = 0;
+	// Guarded by this
+	private long end = 0;
+
+	/**
+	 * Creates a history sized by {@link #SYSPROP_HISTORY_SIZE} 
+	 * and mapped to a file if {@link #SYSPROP_HISTORY_MAPPED} is set
+	 * 
+	 * @param encoding stream encoding or <code>null</code> for system default
+	 */
+	public OutputHistory(String encoding) {
+		this(encoding, getHistorySize(), Boolean.getBoolean(SYSPROP_HISTORY_MAPPED));
+	}
+
+	/**
+	 * @param encoding stream encoding or <code>null</code> for system default
+	 * @param capacity the number of bytes to keep
+	 * @param mapped whether to keep the bytes in a memory mapped file
+	 */
+	public OutputHistory(String encoding, int capacity, boolean mapped) {
+		this.encoding = encoding;
+		this.capacity = Math.max(0, capacity);
+		ByteBuffer mappedBuffer = mapped && this.capacity > 0 ? map(this.capacity) : null;
+		this.buffer = mappedBuffer != null ? mappedBuffer 
+				: ByteBuffer.allocate(Math.min(this.capacity, INITIAL_SIZE));
+	}
+
+	private static int getHistorySize() {
+		String size = System.getProperty(SYSPROP_HISTORY_SIZE);
+		if( size != null ) {
+			try {
+				return Integer.parseInt(size);
+			} catch(NumberFormatException nfe) {
+				// ignore
+			}
+		}
+		return DEFAULT_HISTORY_SIZE;
+	}
+
+	private static ByteBuffer map(int capacity) {
+		File file = null;
+		try {
+			file = File.createTempFile("rsp-output", ".history");
+			try (FileChannel channel = FileChannel.open(file.toPath(), 
+					StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				// The mapping stays valid once the channel is closed
+				return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+			}
+		} catch(IOException ioe) {
+			LOG.error("Unable to map output history to a file, keeping it on the heap", ioe);
+			return null;
+		} finally {
+			// Mapped files can not be deleted on some platforms until they are unmapped
+			if( file != null && !file.delete()) {
+				file.deleteOnExit();
+			}
+		}
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return the number of bytes the buffer takes up.
+	 * Package-private for tests.
+	 */
+	synchronized int getAllocated() {
+		return buffer.capacity();
+	}
+
+	/*
+	 * Bytes are kept at their offset modulo the capacity. Until the 
+	 * history is full, they are all below the end offset, so the 
+	 * buffer only needs to reach up to it.
+	 */
+	private void ensureAllocated(long size) {
+		if( size <= buffer.capacity())
+			return;
+		int grown = (int)Math.min(capacity, Math.max(size, 2L * buffer.capacity()));
+		ByteBuffer b = ByteBuffer.allocate(grown);
+		buffer.position(0);
+		b.put(buffer);
+		buffer = b;
+	}
+
+	/**
+	 * Adds the given bytes, overwriting the oldest ones once the history is full
+	 */
+	public synchronized void append(byte[] bytes, int offset, int length) {
+		if( capacity == 0 || length <= 0 ) 
+			return;
+		end += length;
+		ensureAllocated(Math.min(end, capacity));
+		if( length > capacity ) {
+			offset += length - capacity;
+			length = capacity;
+		}
+		int pos = (int)((end - length) % capacity);
+		int first = Math.min(length, capacity - pos);
+		buffer.position(pos);
+		buffer.put(bytes, offset, first);
+		if( first < length ) {
+			buffer.position(0);
+			buffer.put(bytes, offset + first, length - first);
+		}
+		start = Math.max(start, end - capacity);
+	}
+
+	/**
+	 * Forgets all bytes written so far. Offsets keep counting 
+	 * from the first byte ever written.
+	 */
+	public synchronized void clear() {
+		start = end;
+	}
+
+	@Override
+	public synchronized long getStartOffset() {
+		return start;
+	}
+
+	@Override
+	public synchronized long getEndOffset() {
+		return end;
+	}
+
+	@Override
+	public String getEncoding() {
+		return encoding;
+	}
+
+	@Override
+	public synchronized Chunk read(long offset, int length) {
+		long from = Math.min(Math.max(offset, start), end);
+		int count = (int)Math.min(Math.max(0, length), end - from);
+		byte[] ret = new byte[count];
+		if( count > 0 ) {
+			int pos = (int)(from % capacity);
+			int first = Math.min(count, capacity - pos);
+			buffer.position(pos);
+			buffer.get(ret, 0, first);
+			if( first < count ) {
+				buffer.position(0);
+				buffer.get(ret, first, count - first);
+			}
+		}
+		return new Chunk(from, ret);
+	}
+
+	/**
+	 * @return all bytes that can still be read, decoded
+	 */
+	public String getContents() {
+		Chunk all = read(0, capacity);
+		if( encoding != null ) {
+			try {
+				return new String(all.getBytes(), encoding);
+			} catch(UnsupportedEncodingException uee) {
+				// fall through
+			}
+		}
+		return new String(all.getBytes());
+	}
+}
@@ -14,12 +14,16 @@ package org.jboss.tools.rsp.eclipse.debug.internal.core;
 import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
 
 import org.jboss.tools.rsp.eclipse.core.runtime.ISafeRunnable;
 import org.jboss.tools.rsp.eclipse.core.runtime.ListenerList;
 import org.jboss.tools.rsp.eclipse.core.runtime.SafeRunner;
 import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
 import org.jboss.tools.rsp.eclipse.debug.core.model.IFlushableStreamMonitor;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMetrics;
+import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamReaderPool.IPolledStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,12 +32,17 @@ import org.slf4j.LoggerFactory;
  * listeners of additions to the stream.
  *
  * The output stream monitor reads system out (or err) via
- * and input stream.
+ * and input stream. The stream is polled by the shared
+ * {@link StreamReaderPool} rather than by a thread of its own.
  */
-public class OutputStreamMonitor implements IFlushableStreamMonitor {
+public class OutputStreamMonitor implements IFlushableStreamMonitor, IStreamHistory, IStreamMetrics, IPolledStream {
 	private static final Logger LOG = LoggerFactory.getLogger(OutputStreamMonitor.class);
 
-	
+	/**
+	 * Whether listeners are notified of whole lines only
+	 */
+	public static final String SYSPROP_OUTPUT_LINES = "rsp.server.output.lines";
+
 	/**
 	 * The stream being monitored (connected system out or err).
 	 */
@@ -50,31 +59,66 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	private boolean fBuffered = true;
 
 	/**
-	 * The local copy of the stream contents
+	 * The most recent bytes of the stream
+	 */
+	private OutputHistory fHistory;
+
+	/**
+	 * Whether the stream is being read
+	 */
+	private boolean fStarted;
+
+	/**
+	 * Whether the process has ended and only what is left in the stream
+	 * remains to be read
 	 */
-	private StringBuffer fContents;
+	private volatile boolean fClosing;
 
 	/**
-	 * The thread which reads from the stream
+	 * Released once the stream was read to its end
 	 */
-	private Thread fThread;
+	private final CountDownLatch fDone = new CountDownLatch(1);
 
 	/**
 	 * The size of the read buffer
 	 */
 	private static final int BUFFER_SIZE= 8192;
 
+	/**
+	 * The most bytes read in one poll, so that a busy stream
+	 * does not starve the others
+	 */
+	private static final int MAX_POLL_SIZE = 8 * BUFFER_SIZE;
+
+	/**
+	 * The read buffer, only used by the polling thread
+	 */
+	private final byte[] fBytes = new byte[BUFFER_SIZE];
+
 	/**
 	 * Whether or not this monitor has been killed.
 	 * When the monitor is killed, it stops reading
 	 * from the stream immediately.
 	 */
-	private boolean fKilled= false;
-
-    private long lastSleep;
+	private volatile boolean fKilled= false;
 
 	private String fEncoding;
 
+	/**
+	 * Decodes the bytes read, only used by the reading thread
+	 */
+	private StreamDecoder fDecoder;
+
+	/**
+	 * How fast the stream is read
+	 */
+	private final StreamMetrics fMetrics = new StreamMetrics();
+
+	/**
+	 * Notifies the listeners, only used while holding this monitor's lock
+	 */
+	private ContentNotifier fNotifier = new ContentNotifier();
+
 	/**
 	 * Creates an output stream monitor on the
 	 * given stream (connected to system out or err).
@@ -83,9 +127,22 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 * @param encoding stream encoding or <code>null</code> for system default
 	 */
 	public OutputStreamMonitor(InputStream stream, String encoding) {
+		this(stream, encoding, Boolean.getBoolean(SYSPROP_OUTPUT_LINES));
+	}
+
+	/**
+	 * Creates an output stream monitor on the
+	 * given stream (connected to system out or err).
+	 *
+	 * @param stream input stream to read from
+	 * @param encoding stream encoding or <code>null</code> for system default
+	 * @param lineBuffered whether listeners are notified of whole lines only
+	 */
+	public OutputStreamMonitor(InputStream stream, String encoding, boolean lineBuffered) {
         fStream = new BufferedInputStream(stream, 8192);
         fEncoding = encoding;
-		fContents= new StringBuffer();
+		fHistory = new OutputHistory(encoding);
+		fDecoder = new StreamDecoder(encoding, BUFFER_SIZE, lineBuffered);
 	}
 
 	/* (non-Javadoc)
@@ -99,15 +156,22 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	/**
 	 * Causes the monitor to close all
 	 * communications between it and the
-	 * underlying stream by waiting for the thread to terminate.
+	 * underlying stream by waiting for what is
+	 * left in the stream to be read.
 	 */
 	protected void close() {
-		if (fThread != null) {
-			Thread thread= fThread;
-			fThread= null;
-			try {
-				thread.join();
-			} catch (InterruptedException ie) {
+		if (fStarted && !fClosing) {
+			fClosing = true;
+			boolean interrupted = false;
+			while (fDone.getCount() > 0) {
+				try {
+					fDone.await();
+				} catch (InterruptedException ie) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
 			}
 			fListeners = new ListenerList<>();
 		}
@@ -126,70 +190,113 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 * @see org.eclipse.debug.core.model.IStreamMonitor#getContents()
 	 */
 	@Override
-	public synchronized String getContents() {
-		return fContents.toString();
+	public String getContents() {
+		return fHistory.getContents();
+	}
+
+	@Override
+	public long getStartOffset() {
+		return fHistory.getStartOffset();
+	}
+
+	@Override
+	public long getEndOffset() {
+		return fHistory.getEndOffset();
+	}
+
+	@Override
+	public String getEncoding() {
+		return fEncoding;
+	}
+
+	@Override
+	public Chunk read(long offset, int length) {
+		return fHistory.read(offset, length);
+	}
+
+	@Override
+	public long getBytesRead() {
+		return fMetrics.getBytesRead();
+	}
+
+	@Override
+	public long getBytesPerSecond() {
+		return fMetrics.getBytesPerSecond();
+	}
+
+	@Override
+	public long getBlockedMillis() {
+		return fMetrics.getBlockedMillis();
 	}
 
 	/**
-	 * Continually reads from the stream.
+	 * Reads what the stream has available without blocking.
 	 * <p>
-	 * This method, along with the <code>startReading</code>
-	 * method is used to allow <code>OutputStreamMonitor</code>
-	 * to implement <code>Runnable</code> without publicly
-	 * exposing a <code>run</code> method.
+	 * Called by the {@link StreamReaderPool} until it returns -1.
+	 * Once the monitor is closing, the process has ended and whatever
+	 * is available is all that is left, so the stream is finished.
+	 *
+	 * @return the number of bytes read, or -1 once done
 	 */
-	private void read() {
-        lastSleep = System.currentTimeMillis();
-        long currentTime = lastSleep;
-		byte[] bytes= new byte[BUFFER_SIZE];
-		int read = 0;
-		while (read >= 0) {
-			try {
-				if (fKilled) {
+	@Override
+	public int poll() {
+		boolean closing = fClosing;
+		boolean ended = false;
+		int total = 0;
+		try {
+			while (!fKilled && total < MAX_POLL_SIZE && fStream.available() > 0) {
+				int read = fStream.read(fBytes);
+				if (read < 0) {
+					ended = true;
 					break;
 				}
-				read= fStream.read(bytes);
-				if (read > 0) {
-					String text;
-					if (fEncoding != null) {
-						text = new String(bytes, 0, read, fEncoding);
-					} else {
-						text = new String(bytes, 0, read);
-					}
-					synchronized (this) {
-						if (isBuffered()) {
-							fContents.append(text);
-						}
-						fireStreamAppended(text);
-					}
-				}
-			} catch (IOException ioe) {
-				if (!fKilled) {
-					log(ioe);
-				}
-				return;
-			} catch (NullPointerException e) {
-				// killing the stream monitor while reading can cause an NPE
-				// when reading from the stream
-				if (!fKilled && fThread != null) {
-					log(e);
-				}
-				return;
+				total += read;
+				appended(read);
+			}
+			if (!fKilled && !ended && (!closing || total >= MAX_POLL_SIZE)) {
+				return total;
+			}
+		} catch (IOException ioe) {
+			if (!fKilled) {
+				log(ioe);
 			}
+		} catch (RuntimeException e) {
+			// killing the stream monitor while reading can cause an NPE
+			// when reading from the stream
+			if (!fKilled) {
+				log(e);
+			}
+		}
+		done();
+		return -1;
+	}
 
-            currentTime = System.currentTimeMillis();
-            if (currentTime - lastSleep > 1000) {
-                lastSleep = currentTime;
-                try {
-                    Thread.sleep(1); // just give up CPU to maintain UI responsiveness.
-                } catch (InterruptedException e) {
-                }
-            }
+	private void appended(int read) throws IOException {
+		// an incomplete line is passed on once nothing else is waiting, ex. a prompt
+		boolean flushLine = fDecoder.isLineBuffered() && fStream.available() == 0;
+		String text = fDecoder.decode(fBytes, 0, read, flushLine);
+		synchronized (this) {
+			if (isBuffered()) {
+				fHistory.append(fBytes, 0, read);
+			}
+			fireStreamAppended(text);
 		}
+	}
+
+	private void done() {
 		try {
+			String rest = fDecoder.finish();
+			synchronized (this) {
+				fireStreamAppended(rest);
+			}
 			fStream.close();
 		} catch (IOException e) {
 			log(e);
+		} finally {
+			fDone.countDown();
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("Output stream monitor done: {}", fMetrics);
+			}
 		}
 	}
 
@@ -206,19 +313,12 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	}
 
 	/**
-	 * Starts a thread which reads from the stream
+	 * Starts reading the stream in the shared reader pool
 	 */
-	protected void startMonitoring() {
-		if (fThread == null) {
-			fThread= new Thread(new Runnable() {
-				@Override
-				public void run() {
-					read();
-				}
-			}, "Output Stream Monitor"); // DebugCoreMessages.OutputStreamMonitor_label);
-            fThread.setDaemon(true);
-            fThread.setPriority(Thread.MIN_PRIORITY);
-			fThread.start();
+	protected synchronized void startMonitoring() {
+		if (!fStarted) {
+			fStarted = true;
+			StreamReaderPool.getDefault().start(this, fMetrics);
 		}
 	}
 
@@ -235,7 +335,7 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	 */
 	@Override
 	public synchronized void flushContents() {
-		fContents.setLength(0);
+		fHistory.clear();
 	}
 
 	/**
@@ -247,7 +347,7 @@ public class OutputStreamMonitor implements IFlushableStreamMonitor {
 	}
 
 	private ContentNotifier getNotifier() {
-		return new ContentNotifier();
+		return fNotifier;
 	}
 
 	class ContentNotifier implements ISafeRunnable {
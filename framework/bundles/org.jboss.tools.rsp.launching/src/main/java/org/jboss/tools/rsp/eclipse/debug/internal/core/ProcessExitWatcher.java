@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Notifies callbacks when processes exit, using one thread for all of them.
+ *
+ * On java 9 or later <code>Process#onExit()</code> tells when a process
+ * exited. On java 8 the processes are polled instead.
+ * Callbacks are run one at a time on the watcher's thread.
+ */
+public class ProcessExitWatcher {
+	private static final Logger LOG = LoggerFactory.getLogger(ProcessExitWatcher.class);
+
+	/**
+	 * The delay in ms between polls of the running processes on java 8
+	 */
+	public static final String SYSPROP_EXIT_POLL = "rsp.process.exit.poll";
+	public static final int DEFAULT_EXIT_POLL = 100;
+
+	private static final Method ON_EXIT = findOnExit();
+
+	private static final ProcessExitWatcher DEFAULT = new ProcessExitWatcher(
+			Integer.getInteger(SYSPROP_EXIT_POLL, DEFAULT_EXIT_POLL), ON_EXIT != null);
+
+	public static ProcessExitWatcher getDefault() {
+		return DEFAULT;
+	}
+
+	private static Method findOnExit() {
+		try {
+			return Process.class.getMethod("onExit");
+		} catch(NoSuchMethodException nsme) {
+			// java 8
+			return null;
+		}
+	}
+
+	private final ScheduledExecutorService executor;
+	private final long pollDelay;
+	private final boolean useOnExit;
+	// Guarded by this
+	private final Map<Process, Runnable> polled = new LinkedHashMap<>();
+	// Guarded by this
+	private ScheduledFuture<?> poll;
+
+	/**
+	 * @param pollDelay the delay in ms between polls of the running processes
+	 * @param useOnExit whether to use <code>Process#onExit()</code> instead of polling
+	 */
+	public ProcessExitWatcher(long pollDelay, boolean useOnExit) {
+		this.pollDelay = Math.max(1, pollDelay);
+		this.useOnExit = useOnExit && ON_EXIT != null;
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "Process monitor");
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Runs the given callback once the given process exited.
+	 * The callback runs right away if the process already exited.
+	 *
+	 * @param process the process to watch
+	 * @param callback the callback to run
+	 */
+	public void onExit(Process process, Runnable callback) {
+		CompletableFuture<?> exit = useOnExit ? getOnExit(process) : null;
+		if (exit != null) {
+			exit.whenCompleteAsync((p, t) -> run(callback), executor);
+			return;
+		}
+		synchronized (this) {
+			polled.put(process, callback);
+			if (poll == null) {
+				poll = executor.scheduleWithFixedDelay(this::poll, 0, pollDelay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	private CompletableFuture<?> getOnExit(Process process) {
+		try {
+			return (CompletableFuture<?>) ON_EXIT.invoke(process);
+		} catch(IllegalAccessException | InvocationTargetException | RuntimeException e) {
+			LOG.debug("Could not get the exit of process " + process, e);
+			return null;
+		}
+	}
+
+	private void poll() {
+		Map<Process, Runnable> exited = new LinkedHashMap<>();
+		synchronized (this) {
+			Iterator<Entry<Process, Runnable>> it = polled.entrySet().iterator();
+			while (it.hasNext()) {
+				Entry<Process, Runnable> next = it.next();
+				if (!next.getKey().isAlive()) {
+					exited.put(next.getKey(), next.getValue());
+					it.remove();
+				}
+			}
+			if (polled.isEmpty() && poll != null) {
+				poll.cancel(false);
+				poll = null;
+			}
+		}
+		exited.values().forEach(this::run);
+	}
+
+	private void run(Runnable callback) {
+		try {
+			callback.run();
+		} catch(RuntimeException re) {
+			LOG.error(re.getMessage(), re);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes the bytes read from a stream into text, one read at a time.
+ *
+ * The decoder and its buffers are reused for every read. A multi-byte
+ * character split across two reads is kept until the rest of it arrives.
+ * When line buffered, only whole lines are returned and the remainder
+ * is kept until its line break arrives or it is flushed.
+ *
+ * Not thread safe, a decoder is meant to be used by the thread
+ * reading the stream.
+ */
+public class StreamDecoder {
+
+	private final CharsetDecoder decoder;
+	private final boolean lineBuffered;
+	private final ByteBuffer in;
+	private final CharBuffer out;
+	private final StringBuilder decoded = new StringBuilder();
+
+	/**
+	 * @param encoding stream encoding or <code>null</code> for system default
+	 * @param bufferSize the number of bytes decoded at once
+	 * @param lineBuffered whether to return whole lines only
+	 */
+	public StreamDecoder(String encoding, int bufferSize, boolean lineBuffered) {
+		this.decoder = getCharset(encoding).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.lineBuffered = lineBuffered;
+		this.in = ByteBuffer.allocate(Math.max(16, bufferSize));
+		this.out = CharBuffer.allocate((int)(in.capacity() * decoder.maxCharsPerByte()) + 1);
+	}
+
+	private static Charset getCharset(String encoding) {
+		if( encoding != null ) {
+			try {
+				return Charset.forName(encoding);
+			} catch(IllegalArgumentException iae) {
+				// fall back to the default charset
+			}
+		}
+		return Charset.defaultCharset();
+	}
+
+	public boolean isLineBuffered() {
+		return lineBuffered;
+	}
+
+	/**
+	 * Decodes the given bytes.
+	 *
+	 * @param bytes the bytes read
+	 * @param offset the offset of the first byte read
+	 * @param length the number of bytes read
+	 * @param flushLine whether to return an incomplete last line when line buffered
+	 * @return the text decoded or <code>null</code> if there is none yet
+	 */
+	public String decode(byte[] bytes, int offset, int length, boolean flushLine) {
+		int pos = offset;
+		int end = offset + length;
+		while( pos < end ) {
+			int count = Math.min(in.remaining(), end - pos);
+			in.put(bytes, pos, count);
+			pos += count;
+			in.flip();
+			decode(false);
+			in.compact();
+		}
+		return take(flushLine);
+	}
+
+	/**
+	 * Decodes whatever is left once the stream has ended.
+	 * An incomplete trailing character is replaced.
+	 *
+	 * @return the text left or <code>null</code> if there is none
+	 */
+	public String finish() {
+		in.flip();
+		decode(true);
+		while( decoder.flush(out).isOverflow()) {
+			drain();
+		}
+		drain();
+		in.clear();
+		decoder.reset();
+		return take(true);
+	}
+
+	private void decode(boolean endOfInput) {
+		CoderResult result;
+		do {
+			result = decoder.decode(in, out, endOfInput);
+			drain();
+		} while( result.isOverflow());
+	}
+
+	private void drain() {
+		out.flip();
+		decoded.append(out);
+		out.clear();
+	}
+
+	private String take(boolean flushLine) {
+		int length = decoded.length();
+		if( lineBuffered && !flushLine ) {
+			length = decoded.lastIndexOf("\n") + 1;
+		}
+		if( length == 0 ) {
+			return null;
+		}
+		String text = decoded.substring(0, length);
+		decoded.delete(0, length);
+		return text;
+	}
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMetrics;
+
+/**
+ * The metrics of a stream read by the {@link StreamReaderPool}.
+ *
+ * Only updated by the thread polling the stream, which is one
+ * at a time, and read by any thread.
+ */
+public class StreamMetrics implements IStreamMetrics {
+
+	private volatile long started;
+	private volatile long ended;
+	private volatile long bytesRead;
+	private volatile long blockedNanos;
+
+	void start() {
+		started = System.nanoTime();
+	}
+
+	void read(int bytes) {
+		bytesRead += bytes;
+	}
+
+	void blocked(long nanos) {
+		if( nanos > 0 )
+			blockedNanos += nanos;
+	}
+
+	void end() {
+		ended = System.nanoTime();
+	}
+
+	@Override
+	public long getBytesRead() {
+		return bytesRead;
+	}
+
+	@Override
+	public long getBytesPerSecond() {
+		long start = started;
+		if( start == 0 )
+			return 0;
+		long end = ended == 0 ? System.nanoTime() : ended;
+		long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(end - start));
+		return bytesRead * 1000 / millis;
+	}
+
+	@Override
+	public long getBlockedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+	}
+
+	@Override
+	public String toString() {
+		return "read " + getBytesRead() + " bytes (" + getBytesPerSecond() + " bytes/s), blocked "
+				+ getBlockedMillis() + " ms";
+	}
+}
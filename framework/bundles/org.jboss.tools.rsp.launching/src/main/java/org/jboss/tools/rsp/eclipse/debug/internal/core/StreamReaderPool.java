@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.eclipse.debug.core.StreamBackpressure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the output of all processes with a small, fixed number of threads.
+ *
+ * Streams are polled rather than read with a blocking read, so that a
+ * stream without output does not hold on to a thread. How soon a stream
+ * that had output is polled again depends on the {@link Pacing}.
+ * An idle stream is polled again after a delay that doubles
+ * with every poll without output, up to a maximum.
+ */
+public class StreamReaderPool {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamReaderPool.class);
+
+	/**
+	 * The number of threads reading process output
+	 */
+	public static final String SYSPROP_READER_THREADS = "rsp.process.readers";
+	public static final int DEFAULT_READER_THREADS = 2;
+	/**
+	 * The longest delay in ms before an idle stream is polled again
+	 */
+	public static final String SYSPROP_READER_DELAY = "rsp.process.readers.delay";
+	public static final int DEFAULT_READER_DELAY = 20;
+	/**
+	 * How streams that had output are paced, see {@link Pacing}
+	 */
+	public static final String SYSPROP_READER_PACING = "rsp.process.readers.pacing";
+	/**
+	 * The delay in ms between polls of a stream with output when time-sliced
+	 */
+	public static final String SYSPROP_READER_SLICE = "rsp.process.readers.slice";
+	public static final int DEFAULT_READER_SLICE = 10;
+
+	/**
+	 * How soon a stream that had output is polled again
+	 */
+	public enum Pacing {
+		/**
+		 * Right away
+		 */
+		UNTHROTTLED,
+		/**
+		 * After a time slice, which limits how much of a
+		 * stream is read per second
+		 */
+		TIMESLICED,
+		/**
+		 * Right away, unless the output can not be passed on
+		 * as fast as it is read. See {@link StreamBackpressure}
+		 */
+		BACKPRESSURE;
+
+		public static Pacing fromString(String s, Pacing def) {
+			if( s != null ) {
+				for( Pacing p : values()) {
+					if( p.name().equalsIgnoreCase(s.trim()))
+						return p;
+				}
+			}
+			return def;
+		}
+	}
+
+	/**
+	 * A stream read by the pool
+	 */
+	public interface IPolledStream {
+		/**
+		 * Reads what is available without blocking.
+		 *
+		 * @return the number of bytes read, or -1 if the stream
+		 * should not be polled anymore
+		 */
+		int poll();
+	}
+
+	private static final StreamReaderPool DEFAULT = new StreamReaderPool(
+			getIntSysprop(SYSPROP_READER_THREADS, DEFAULT_READER_THREADS),
+			getIntSysprop(SYSPROP_READER_DELAY, DEFAULT_READER_DELAY),
+			Pacing.fromString(System.getProperty(SYSPROP_READER_PACING), Pacing.BACKPRESSURE),
+			getIntSysprop(SYSPROP_READER_SLICE, DEFAULT_READER_SLICE));
+
+	public static StreamReaderPool getDefault() {
+		return DEFAULT;
+	}
+
+	private final ScheduledExecutorService executor;
+	private final long maxDelay;
+	private final Pacing pacing;
+	private final long slice;
+
+	/**
+	 * @param threads the number of threads reading
+	 * @param maxDelay the longest delay in ms before an idle stream is polled again
+	 * @param pacing how soon a stream that had output is polled again
+	 * @param slice the delay in ms between polls of a stream with output when time-sliced
+	 */
+	public StreamReaderPool(int threads, long maxDelay, Pacing pacing, long slice) {
+		this.maxDelay = Math.max(1, maxDelay);
+		this.pacing = pacing == null ? Pacing.UNTHROTTLED : pacing;
+		this.slice = Math.max(1, slice);
+		this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "Output Stream Monitor " + count.incrementAndGet());
+				t.setDaemon(true);
+				return t;
+			}
+		});
+	}
+
+	/**
+	 * Polls the given stream until it asks to stop
+	 *
+	 * @param stream the stream to poll
+	 * @param metrics the metrics to update while reading
+	 */
+	public void start(IPolledStream stream, StreamMetrics metrics) {
+		metrics.start();
+		new Poll(stream, metrics).schedule(0);
+	}
+
+	/**
+	 * @return the delay in ms before polling a stream that had output again
+	 */
+	private long getReadDelay() {
+		switch(pacing) {
+		case TIMESLICED:
+			return slice;
+		case BACKPRESSURE:
+			return StreamBackpressure.isBackedUp() ? maxDelay : 0;
+		case UNTHROTTLED:
+		default:
+			return 0;
+		}
+	}
+
+	private class Poll implements Runnable {
+		private final IPolledStream stream;
+		private final StreamMetrics metrics;
+		private long idleDelay;
+		// when the stream is due to be polled, in System#nanoTime()
+		private long due;
+		// whether the last poll had output
+		private boolean reading;
+
+		private Poll(IPolledStream stream, StreamMetrics metrics) {
+			this.stream = stream;
+			this.metrics = metrics;
+		}
+
+		@Override
+		public void run() {
+			if( reading ) {
+				// waiting for a free thread
+				metrics.blocked(System.nanoTime() - due);
+			}
+			int read;
+			try {
+				read = stream.poll();
+			} catch(RuntimeException re) {
+				LOG.error(re.getMessage(), re);
+				metrics.end();
+				return;
+			}
+			if( read < 0 ) {
+				metrics.end();
+				return;
+			}
+			reading = read > 0;
+			if( reading ) {
+				metrics.read(read);
+				idleDelay = 0;
+				long delay = getReadDelay();
+				metrics.blocked(TimeUnit.MILLISECONDS.toNanos(delay));
+				schedule(delay);
+			} else {
+				idleDelay = Math.min(maxDelay, Math.max(1, idleDelay * 2));
+				schedule(idleDelay);
+			}
+		}
+
+		private void schedule(long delay) {
+			due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+			if( delay == 0 ) {
+				executor.execute(this);
+			} else {
+				executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	private static int getIntSysprop(String key, int def) {
+		String val = System.getProperty(key);
+		if( val != null ) {
+			try {
+				return Integer.parseInt(val);
+			} catch(NumberFormatException nfe) {
+				// ignore
+			}
+		}
+		return def;
+	}
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model;
+
+import org.jboss.tools.rsp.api.dao.ServerHealth;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * Checks the health of all started servers every so often, 
+ * with the health poller of their delegate, and keeps the 
+ * results of the last checks. 
+ * 
+ * A server found down by a number of checks in a row is 
+ * told so with {@link org.jboss.tools.rsp.server.spi.servertype.IServerDelegate#serverFoundDown()}.
+ */
+public interface IServerHealthMonitor {
+
+	/**
+	 * Start checking the servers, if the monitor is enabled
+	 */
+	public void start();
+
+	public void stop();
+
+	/**
+	 * @param server
+	 * @return the health of the server with the last checks, 
+	 *   the most recent last
+	 */
+	public ServerHealth getHealth(IServer server);
+}
@@ -20,6 +20,7 @@ public interface IServerManagementModel {
 	public IServerBeanTypeManager getServerBeanTypeManager();
 	public IServerModel getServerModel();
 	public IFileWatcherService getFileWatcherService();
+	public IServerHealthMonitor getServerHealthMonitor();
 	public IDiscoveryPathModel getDiscoveryPathModel();
 	public IVMInstallRegistry getVMInstallModel();
 	public ICapabilityManagement getCapabilityManagement();
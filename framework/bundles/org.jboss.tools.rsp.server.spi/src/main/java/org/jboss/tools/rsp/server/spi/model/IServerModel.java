@@ -67,6 +67,8 @@ public interface IServerModel {
 
 	void addServerModelListener(IServerModelListener listener);
 
+	void removeServerModelListener(IServerModelListener listener);
+
 	void addServerType(IServerType serverType);
 	void addServerTypes(IServerType[] serverTypes);
 
@@ -11,12 +11,20 @@ package org.jboss.tools.rsp.server.spi.model.polling;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
 
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A poller that pings the server every so often until it 
+ * answers with the expected state. The pings of all pollers 
+ * run on the shared {@link PollingScheduler}, spaced by the 
+ * {@link IPollSchedule} that is set, every 200 ms by default.
+ */
 public abstract class AbstractPoller implements IServerStatePoller {
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractPoller.class);
 
 	private static final long POLLING_DELAY = 200;
 
@@ -25,33 +33,71 @@ public abstract class AbstractPoller implements IServerStatePoller {
 	private boolean done;
 	private SERVER_STATE state;
 	private SERVER_STATE expectedState;
-	private ExecutorService executor = Executors.newSingleThreadExecutor(
-			(Runnable runnable) -> new Thread(runnable, getThreadName()));
+	// Guarded by this
+	private ScheduledFuture<?> pings;
+	private IPollSchedule schedule = PollSchedules.fixed(POLLING_DELAY);
+	private int generation;
+	private int attempt;
+	private long startTime;
+
+	@Override
+	public synchronized void setPollSchedule(IPollSchedule schedule) {
+		this.schedule = schedule == null ? PollSchedules.fixed(POLLING_DELAY) : schedule;
+	}
 	
 	public void beginPolling(IServer server, SERVER_STATE expectedState) {
-		this.server = server;
-		this.canceled = done = false;
-		this.expectedState = expectedState;
-		this.state = SERVER_STATE.UNKNOWN;
+		synchronized(this) {
+			this.server = server;
+			this.canceled = done = false;
+			this.expectedState = expectedState;
+			this.state = SERVER_STATE.UNKNOWN;
+		}
 		launchThread();
 	}
 
+	/**
+	 * Schedule the pings on the shared {@link PollingScheduler}
+	 */
 	protected void launchThread() {
-		executor.execute(() -> pollerRun());
+		synchronized(this) {
+			stopPings(false);
+			attempt = 0;
+			startTime = System.currentTimeMillis();
+			int gen = generation;
+			pings = getScheduler().schedule(() -> pollerRun(gen), 0);
+		}
+	}
+
+	protected PollingScheduler getScheduler() {
+		return PollingScheduler.getDefault();
 	}
 
-	private void pollerRun() {
-		setStateInternal(false, state);
-		while(!canceled && !done) {
-			SERVER_STATE stat = onePing(server);
-			if (expectedState == stat) {
+	/*
+	 * One ping, which schedules the next one unless the pings 
+	 * were stopped or restarted meanwhile
+	 */
+	private void pollerRun(int gen) {
+		synchronized(this) {
+			if( canceled || done || gen != generation )
+				return;
+		}
+		SERVER_STATE stat = null;
+		try {
+			stat = onePing(server);
+		} catch(RuntimeException re) {
+			LOG.error("Error occurred in " + getThreadName() + ", pinging again", re);
+		}
+		synchronized(this) {
+			// canceled while pinging
+			if( canceled || gen != generation )
+				return;
+			if( expectedState == stat ) {
 				setStateInternal(true, stat);
+				stopPings(false);
+				return;
 			}
-			try {
-					Thread.sleep(POLLING_DELAY);
-			} catch (InterruptedException e) {
-				cancel(CANCELATION_CAUSE.CANCEL);
-			}
+			long delay = schedule.getDelay(++attempt, System.currentTimeMillis() - startTime);
+			pings = getScheduler().schedule(() -> pollerRun(gen), delay);
 		}
 	}
 
@@ -61,7 +107,21 @@ public abstract class AbstractPoller implements IServerStatePoller {
 		this.done = done;
 		this.state = state;
 	}
+
+	/**
+	 * @param interrupt whether to interrupt a ping in progress
+	 */
+	private synchronized void stopPings(boolean interrupt) {
+		generation++;
+		if( pings != null ) {
+			pings.cancel(interrupt);
+			pings = null;
+		}
+	}
 	
+	/**
+	 * @return the name of this poller, used in log messages
+	 */
 	protected abstract String getThreadName();
 
 	@Override
@@ -81,7 +141,7 @@ public abstract class AbstractPoller implements IServerStatePoller {
 	
 	@Override
 	public void cleanup() {
-		executor.shutdownNow();
+		stopPings(true);
 	}
 
 	@Override
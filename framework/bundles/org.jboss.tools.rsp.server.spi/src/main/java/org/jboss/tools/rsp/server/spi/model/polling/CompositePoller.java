@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * Runs several pollers at once and answers with the first
+ * of them that has an answer. The other pollers are canceled then.
+ *
+ * The timeout behavior is the one of the first poller.
+ */
+public class CompositePoller implements IServerStatePoller {
+
+	private final List<IServerStatePoller> pollers;
+	private IServer server;
+	private IServerStatePoller answered;
+
+	public CompositePoller(IServerStatePoller... pollers) {
+		if( pollers.length == 0 )
+			throw new IllegalArgumentException("At least one poller is required");
+		this.pollers = Arrays.asList(pollers);
+	}
+
+	@Override
+	public void beginPolling(IServer server, SERVER_STATE expectedState) throws PollingException {
+		synchronized (this) {
+			this.server = server;
+			this.answered = null;
+		}
+		for( IServerStatePoller p : pollers ) {
+			p.beginPolling(server, expectedState);
+		}
+	}
+
+	@Override
+	public boolean isComplete() throws PollingException, RequiresInfoException {
+		if( getAnswered() != null )
+			return true;
+		for( IServerStatePoller p : pollers ) {
+			if( p.isComplete()) {
+				setAnswered(p);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized IServerStatePoller getAnswered() {
+		return answered;
+	}
+
+	private void setAnswered(IServerStatePoller poller) {
+		synchronized (this) {
+			this.answered = poller;
+		}
+		for( IServerStatePoller p : pollers ) {
+			if( p != poller ) {
+				p.cancel(CANCELATION_CAUSE.SUCCESS);
+			}
+		}
+	}
+
+	@Override
+	public SERVER_STATE getState() throws PollingException, RequiresInfoException {
+		IServerStatePoller p = getAnswered();
+		return p == null ? SERVER_STATE.UNKNOWN : p.getState();
+	}
+
+	@Override
+	public void setPollSchedule(IPollSchedule schedule) {
+		for( IServerStatePoller p : pollers ) {
+			p.setPollSchedule(schedule);
+		}
+	}
+
+	@Override
+	public void cleanup() {
+		for( IServerStatePoller p : pollers ) {
+			p.cleanup();
+		}
+	}
+
+	@Override
+	public void cancel(CANCELATION_CAUSE cause) {
+		for( IServerStatePoller p : pollers ) {
+			p.cancel(cause);
+		}
+	}
+
+	@Override
+	public TIMEOUT_BEHAVIOR getTimeoutBehavior() {
+		return pollers.get(0).getTimeoutBehavior();
+	}
+
+	@Override
+	public List<String> getRequiredProperties() {
+		List<String> ret = new ArrayList<>();
+		for( IServerStatePoller p : pollers ) {
+			for( String prop : p.getRequiredProperties()) {
+				if( !ret.contains(prop))
+					ret.add(prop);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public void provideCredentials(Properties credentials) {
+		for( IServerStatePoller p : pollers ) {
+			p.provideCredentials(credentials);
+		}
+	}
+
+	@Override
+	public synchronized IServer getServer() {
+		return server;
+	}
+
+	/**
+	 * @return the first state one of the pollers knows, or UNKNOWN
+	 */
+	@Override
+	public SERVER_STATE getCurrentStateSynchronous(IServer server) {
+		for( IServerStatePoller p : pollers ) {
+			SERVER_STATE s = p.getCurrentStateSynchronous(server);
+			if( s != null && s != SERVER_STATE.UNKNOWN )
+				return s;
+		}
+		return SERVER_STATE.UNKNOWN;
+	}
+}
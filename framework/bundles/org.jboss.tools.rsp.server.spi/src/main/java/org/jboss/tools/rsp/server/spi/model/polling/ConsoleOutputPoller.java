@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.model.ServerModelListenerAdapter;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * Tells the state of a server from the lines its processes print,
+ * ie. the message a server logs once it finished booting.
+ *
+ * The poller does not poll anything itself, it has an answer as soon as
+ * a line that matches one of its patterns is printed. A stopped marker
+ * always ends polling, a started marker only when waiting for a start.
+ */
+public class ConsoleOutputPoller implements IServerStatePoller {
+
+	/**
+	 * The most characters of an unterminated line kept to be matched
+	 * once the rest of it was printed
+	 */
+	private static final int MAX_PARTIAL_LINE = 8192;
+
+	private final String name;
+	private final Pattern started;
+	private final Pattern stopped;
+	private final OutputListener listener = new OutputListener();
+
+	private volatile IServer server;
+	private volatile IServerModel model;
+	private SERVER_STATE expectedState;
+	private SERVER_STATE state;
+	private boolean done;
+	// the unterminated last line of each process stream
+	private final Map<String, String> partialLines = new HashMap<>();
+
+	/**
+	 * @param name the name of the poller
+	 * @param started the pattern of a line printed once the server started, or null
+	 * @param stopped the pattern of a line printed once the server stopped, or null
+	 */
+	public ConsoleOutputPoller(String name, Pattern started, Pattern stopped) {
+		this.name = name;
+		this.started = started;
+		this.stopped = stopped;
+	}
+
+	@Override
+	public void beginPolling(IServer server, SERVER_STATE expectedState) throws PollingException {
+		synchronized (this) {
+			this.server = server;
+			this.expectedState = expectedState;
+			this.state = SERVER_STATE.UNKNOWN;
+			this.done = false;
+			this.partialLines.clear();
+		}
+		this.model = server.getServerManagementModel().getServerModel();
+		model.addServerModelListener(listener);
+	}
+
+	private class OutputListener extends ServerModelListenerAdapter {
+		@Override
+		public void serverProcessOutputAppended(ServerHandle handle, String processId, int streamType, String text) {
+			IServer s = server;
+			if( s != null && handle != null && s.getId().equals(handle.getId())) {
+				outputAppended(processId, streamType, text);
+			}
+		}
+	}
+
+	/**
+	 * Match the given output of one of the server's processes
+	 */
+	protected synchronized void outputAppended(String processId, int streamType, String text) {
+		if( done || text == null || text.isEmpty())
+			return;
+		String key = processId + ":" + streamType;
+		String partial = partialLines.remove(key);
+		String lines = partial == null ? text : partial + text;
+		int end = lines.lastIndexOf('\n') + 1;
+		if( end < lines.length()) {
+			int start = Math.max(end, lines.length() - MAX_PARTIAL_LINE);
+			partialLines.put(key, lines.substring(start));
+		}
+		if( end > 0 ) {
+			match(lines.substring(0, end));
+		}
+	}
+
+	private void match(String lines) {
+		if( matches(stopped, lines)) {
+			setDone(SERVER_STATE.DOWN);
+		} else if( expectedState == SERVER_STATE.UP && matches(started, lines)) {
+			setDone(SERVER_STATE.UP);
+		}
+	}
+
+	private static boolean matches(Pattern p, String lines) {
+		if( p == null )
+			return false;
+		Matcher m = p.matcher(lines);
+		return m.find();
+	}
+
+	private void setDone(SERVER_STATE state) {
+		this.state = state;
+		this.done = true;
+		partialLines.clear();
+	}
+
+	@Override
+	public synchronized boolean isComplete() throws PollingException, RequiresInfoException {
+		return done;
+	}
+
+	@Override
+	public synchronized SERVER_STATE getState() throws PollingException, RequiresInfoException {
+		return state;
+	}
+
+	@Override
+	public void cleanup() {
+		IServerModel m = model;
+		if( m != null ) {
+			m.removeServerModelListener(listener);
+		}
+	}
+
+	@Override
+	public void cancel(CANCELATION_CAUSE cause) {
+		synchronized (this) {
+			this.state = null;
+			this.partialLines.clear();
+		}
+		cleanup();
+	}
+
+	@Override
+	public TIMEOUT_BEHAVIOR getTimeoutBehavior() {
+		return TIMEOUT_BEHAVIOR.FAIL;
+	}
+
+	@Override
+	public List<String> getRequiredProperties() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void provideCredentials(Properties credentials) {
+	}
+
+	@Override
+	public IServer getServer() {
+		return server;
+	}
+
+	/**
+	 * The console can only tell when the state changes,
+	 * the current state is not known.
+	 */
+	@Override
+	public SERVER_STATE getCurrentStateSynchronous(IServer server) {
+		return SERVER_STATE.UNKNOWN;
+	}
+
+	@Override
+	public String toString() {
+		return "Console Poller: " + name;
+	}
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.function.IntPredicate;
+
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Polls the server by requesting a url and checking the status code 
+ * of the response. 
+ * 
+ * Connecting and reading each time out, so that a port that accepts 
+ * connections but never answers does not hold the polling thread.
+ * The response is read to its end so that the connection is kept 
+ * alive and reused by the next ping. The pings of many servers run 
+ * concurrently on the {@link PollingScheduler}.
+ */
+public abstract class HttpReadinessPoller extends AbstractPoller {
+	private static final Logger LOG = LoggerFactory.getLogger(HttpReadinessPoller.class);
+
+	public static final int DEFAULT_TIMEOUT = 2000;
+	// bodies longer than this are not read, the connection is closed instead
+	private static final int MAX_DRAINED = 16 * 1024;
+
+	private final String name;
+	private final int timeout;
+	private final IntPredicate expectedStatus;
+
+	public HttpReadinessPoller(String name) {
+		this(name, DEFAULT_TIMEOUT, null);
+	}
+
+	/**
+	 * @param name the name of the poller, used in log messages
+	 * @param timeout milliseconds to connect and to wait for data
+	 * @param expectedStatus the status codes telling the server is up, 
+	 * 			or null if any response does
+	 */
+	public HttpReadinessPoller(String name, int timeout, IntPredicate expectedStatus) {
+		this.name = name;
+		this.timeout = timeout > 0 ? timeout : DEFAULT_TIMEOUT;
+		this.expectedStatus = expectedStatus;
+	}
+
+	/**
+	 * @return the url to request
+	 */
+	protected abstract String getURL(IServer server);
+
+	@Override
+	protected SERVER_STATE onePing(IServer server) {
+		return onePing(getURL(server));
+	}
+
+	private SERVER_STATE onePing(String url) {
+		HttpURLConnection conn = null;
+		try {
+			URLConnection c = new URL(url).openConnection();
+			if( !(c instanceof HttpURLConnection)) {
+				LOG.error(getThreadName() + " can not poll " + url + ", it is not an http url");
+				return SERVER_STATE.DOWN;
+			}
+			conn = (HttpURLConnection)c;
+			conn.setConnectTimeout(timeout);
+			conn.setReadTimeout(timeout);
+			conn.setUseCaches(false);
+			conn.setInstanceFollowRedirects(false);
+			int status = conn.getResponseCode();
+			if( drain(conn, status))
+				conn = null;
+			if( status == -1 )
+				return SERVER_STATE.DOWN;
+			return expectedStatus == null || expectedStatus.test(status) ? 
+					SERVER_STATE.UP : SERVER_STATE.DOWN;
+		} catch (MalformedURLException e) {
+			LOG.error(getThreadName() + " can not poll malformed url " + url, e);
+			return SERVER_STATE.DOWN;
+		} catch (IOException e) {
+			// refused, timed out or reset. Does not need to be logged
+			return SERVER_STATE.DOWN;
+		} finally {
+			if( conn != null ) {
+				conn.disconnect();
+			}
+		}
+	}
+
+	/*
+	 * Read the body to its end and close it, which returns the 
+	 * connection to the keep-alive cache.
+	 * 
+	 * @return whether it was read to the end
+	 */
+	private boolean drain(HttpURLConnection conn, int status) throws IOException {
+		InputStream in = status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+		if( in == null )
+			return false;
+		try {
+			byte[] buf = new byte[4096];
+			int total = 0;
+			int read;
+			while((read = in.read(buf)) != -1 ) {
+				total += read;
+				if( total > MAX_DRAINED )
+					return false;
+			}
+			return true;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Parse status codes like "200,204,300-399"
+	 * 
+	 * @return a predicate matching the codes, or null if none are given
+	 * @throws IllegalArgumentException if a code is not a number
+	 */
+	public static IntPredicate parseStatusCodes(String codes) {
+		if( codes == null || codes.trim().isEmpty())
+			return null;
+		IntPredicate ret = null;
+		for( String s : codes.split(",")) {
+			s = s.trim();
+			if( s.isEmpty())
+				continue;
+			IntPredicate range;
+			try {
+				int dash = s.indexOf('-');
+				if( dash > 0 ) {
+					int from = Integer.parseInt(s.substring(0, dash).trim());
+					int to = Integer.parseInt(s.substring(dash + 1).trim());
+					range = code -> code >= from && code <= to;
+				} else {
+					int code = Integer.parseInt(s);
+					range = c -> c == code;
+				}
+			} catch(NumberFormatException nfe) {
+				throw new IllegalArgumentException("Invalid status code " + s + " in " + codes, nfe);
+			}
+			ret = ret == null ? range : ret.or(range);
+		}
+		return ret;
+	}
+
+	@Override
+	protected String getThreadName() {
+		return name;
+	}
+}
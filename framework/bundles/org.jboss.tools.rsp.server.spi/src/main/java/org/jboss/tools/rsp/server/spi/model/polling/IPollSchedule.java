@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+/**
+ * Tells a poller how long to wait before it pings the server again.
+ * 
+ * @see PollSchedules
+ */
+public interface IPollSchedule {
+
+	/**
+	 * @param attempt the number of pings so far, starting at 1
+	 * @param elapsed milliseconds since polling began
+	 * @return milliseconds to wait before the next ping
+	 */
+	public long getDelay(int attempt, long elapsed);
+}
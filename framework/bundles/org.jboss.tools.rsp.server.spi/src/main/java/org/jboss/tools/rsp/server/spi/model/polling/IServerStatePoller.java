@@ -132,6 +132,17 @@ public interface IServerStatePoller {
 	 * @throws PollingException
 	 */
 	public void beginPolling(IServer server, SERVER_STATE expectedState) throws PollingException;
+
+	/**
+	 * Sets when to ping the server while polling. Set before 
+	 * polling begins. Pollers that do not ping the server, 
+	 * but are told its state, ignore it.
+	 * 
+	 * @param schedule the schedule, or null for the poller's default
+	 */
+	public default void setPollSchedule(IPollSchedule schedule) {
+		// pollers that do not ping ignore the schedule
+	}
 	
 	/**
 	 * Returns {@code true} if the polling has completed. Returns {@code false} otherwise.
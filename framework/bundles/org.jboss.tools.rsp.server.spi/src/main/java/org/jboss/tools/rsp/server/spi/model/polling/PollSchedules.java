@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+
+/**
+ * The schedules pollers can ping the server on.
+ * 
+ * Servers are polled with an exponential backoff by default, so 
+ * that a server taking long to start is not pinged hundreds of times. 
+ * When the server was seen starting before, it is polled fast around 
+ * the time it took to start then (see {@link StartupHistory}).
+ * The schedule is set with {@value #SYSPROP_POLLER_SCHEDULE}: one of 
+ * {@value #SCHEDULE_FIXED}, {@value #SCHEDULE_BACKOFF} or 
+ * {@value #SCHEDULE_ADAPTIVE}, the default.
+ */
+public class PollSchedules {
+
+	public static final String SYSPROP_POLLER_SCHEDULE = "rsp.server.poller.schedule";
+	public static final String SCHEDULE_FIXED = "fixed";
+	public static final String SCHEDULE_BACKOFF = "backoff";
+	public static final String SCHEDULE_ADAPTIVE = "adaptive";
+
+	public static final long FIXED_DELAY = 200;
+	public static final long FAST_DELAY = 100;
+	public static final long INITIAL_DELAY = 200;
+	public static final long MAX_STARTUP_DELAY = 2000;
+	public static final long MAX_SHUTDOWN_DELAY = 1000;
+	public static final double BACKOFF_FACTOR = 1.5;
+	public static final double JITTER = 0.2;
+	public static final long MIN_WINDOW = 1000;
+
+	private PollSchedules() {
+	}
+
+	/**
+	 * @return a schedule for polling the given server for the given state
+	 */
+	public static IPollSchedule forServer(IServer server, SERVER_STATE expectedState) {
+		String schedule = System.getProperty(SYSPROP_POLLER_SCHEDULE, SCHEDULE_ADAPTIVE);
+		if( SCHEDULE_FIXED.equals(schedule))
+			return fixed(FIXED_DELAY);
+		if( expectedState != SERVER_STATE.UP )
+			return backoff(INITIAL_DELAY, MAX_SHUTDOWN_DELAY, BACKOFF_FACTOR, JITTER);
+		IPollSchedule backoff = backoff(INITIAL_DELAY, MAX_STARTUP_DELAY, BACKOFF_FACTOR, JITTER);
+		long expected = SCHEDULE_ADAPTIVE.equals(schedule) ? 
+				StartupHistory.getExpectedStartupTime(server) : -1;
+		if( expected <= 0 )
+			return backoff;
+		return nearExpected(expected, FAST_DELAY, backoff);
+	}
+
+	/**
+	 * @return a schedule always waiting the given delay
+	 */
+	public static IPollSchedule fixed(long delay) {
+		return (attempt, elapsed) -> delay;
+	}
+
+	/**
+	 * A schedule waiting longer after each ping, up to a maximum
+	 * 
+	 * @param initial the delay after the first ping
+	 * @param max the longest delay
+	 * @param factor what the delay is multiplied with after each ping
+	 * @param jitter the fraction of the delay it is randomly 
+	 * 			made shorter or longer by, so that pollers started 
+	 * 			together do not ping together
+	 */
+	public static IPollSchedule backoff(long initial, long max, double factor, double jitter) {
+		return (attempt, elapsed) -> {
+			double delay = initial * Math.pow(factor, Math.max(0, attempt - 1));
+			delay = Math.min(delay, max);
+			if( jitter > 0 ) {
+				delay += delay * jitter * ThreadLocalRandom.current().nextDouble(-1, 1);
+			}
+			return Math.max(1, Math.round(delay));
+		};
+	}
+
+	/**
+	 * A schedule pinging every fastDelay around the expected time, 
+	 * and as the given schedule otherwise. A delay never reaches 
+	 * past the start of the fast window. 
+	 * 
+	 * @param expected the milliseconds the server is expected to take
+	 * @param fastDelay the delay around the expected time
+	 * @param otherwise the schedule before and after the expected time
+	 */
+	public static IPollSchedule nearExpected(long expected, long fastDelay, IPollSchedule otherwise) {
+		long window = Math.max(MIN_WINDOW, expected / 5);
+		long windowStart = expected - window;
+		long windowEnd = expected + window;
+		return (attempt, elapsed) -> {
+			if( elapsed >= windowStart && elapsed < windowEnd )
+				return fastDelay;
+			long delay = otherwise.getDelay(attempt, elapsed);
+			if( elapsed < windowStart )
+				delay = Math.min(delay, windowStart - elapsed);
+			return Math.max(1, delay);
+		};
+	}
+}
@@ -8,6 +8,10 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.server.spi.model.polling;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.jboss.tools.rsp.eclipse.osgi.util.NLS;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.CANCELATION_CAUSE;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
@@ -17,80 +21,157 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Asks a poller every so often whether the server reached the 
+ * expected state, until it did, the server was started or stopped 
+ * otherwise, or the timeout is reached. The listener is then told 
+ * the result.
+ * 
+ * Despite its name this is not a thread of its own anymore: 
+ * the checks run on the shared {@link PollingScheduler}.
  * 
  * @author rob.stryker@jboss.com
  */
-public class PollThread extends Thread {
+public class PollThread implements Runnable {
 
 	private static final Logger LOG = LoggerFactory.getLogger(PollThread.class);
 
 	private static final int POLL_DELAY = 100;
 	
-	private boolean abort;
+	private volatile boolean abort;
 	private SERVER_STATE expectedState;
 	private IServerStatePoller poller;
 	private IPollResultListener listener;
 	private IServer server;
 	private int timeout;
+	private final String name;
+	private final PollingScheduler scheduler;
+	private final CountDownLatch finished = new CountDownLatch(1);
+	// Guarded by this
+	private boolean started;
+	private boolean done;
+	private ScheduledFuture<?> checks;
+	private long startTime;
 
 	public PollThread(SERVER_STATE expectedState, IServerStatePoller poller, IPollResultListener listener, IServer server, int timeout) {
-		super(NLS.bind("{0} - Server Poller", server.getName()));
+		this(expectedState, poller, listener, server, timeout, PollingScheduler.getDefault());
+	}
+
+	public PollThread(SERVER_STATE expectedState, IServerStatePoller poller, IPollResultListener listener, 
+			IServer server, int timeout, PollingScheduler scheduler) {
+		this.name = NLS.bind("{0} - Server Poller", server.getName());
 		this.expectedState = expectedState;
 		this.poller = poller;
 		this.server = server;
 		this.listener = listener;
 		this.abort = false;
 		this.timeout = timeout;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Begin polling and schedule the checks of the poller
+	 */
+	public void start() {
+		synchronized(this) {
+			if( started )
+				throw new IllegalStateException(name + " was already started");
+			started = true;
+		}
+		scheduler.schedule(this, 0);
+	}
+
+	/**
+	 * @return whether polling was started and has not finished yet
+	 */
+	public synchronized boolean isAlive() {
+		return started && !done;
 	}
 
+	/**
+	 * Wait for polling to finish
+	 */
+	public void join() throws InterruptedException {
+		finished.await();
+	}
+
+	/**
+	 * Wait for polling to finish for at most the given time
+	 * 
+	 * @return whether polling finished
+	 */
+	public boolean join(long timeout, TimeUnit unit) throws InterruptedException {
+		return finished.await(timeout, unit);
+	}
+
+	public String getName() {
+		return name;
+	}
 
 	@Override
 	public void run() {
 		// Poller not found. Abort
 		if (poller == null) {
 			LOG.error("No poller defined, aborting polling.");
-			alertListener(getOpposite(expectedState));
+			finish(() -> alertListener(getOpposite(expectedState)));
 			return;
 		}
-
-		int maxWait = getTimeout();
-
-		long startTime = System.currentTimeMillis();
-		boolean done = false;
-		boolean serverStartedOrStopped = false;
 		try {
+			synchronized(this) {
+				if( done )
+					return;
+				startTime = System.currentTimeMillis();
+			}
+			poller.setPollSchedule(PollSchedules.forServer(getServer(), expectedState));
 			poller.beginPolling(getServer(), expectedState);
-	
-			// begin the loop; ask the poller every so often
-			while (!serverStartedOrStopped
-					&& !abort 
-					&& !done
-					&& !timeoutReached(startTime, maxWait)) {
-				try {
-					Thread.sleep(POLL_DELAY);
-					done = poller.isComplete();
-				} catch (PollingException | InterruptedException e) {
-					// abort and put the message in event log
-					cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+			synchronized(this) {
+				if( !done ) {
+					checks = scheduler.scheduleWithFixedDelay(this::check, POLL_DELAY, POLL_DELAY);
 					return;
-				} catch (RequiresInfoException rie) {
-					// This way each request for new info is checked only once.
-					if (!rie.getChecked()) {
-						rie.setChecked();
-						fireRequestCredentials(expectedState, poller);
-					}
 				}
-				serverStartedOrStopped = isStartedOrStopped(server.getDelegate());
 			}
-			if (serverStartedOrStopped) {
+			// canceled while the poller began polling
+			poller.cancel(CANCELATION_CAUSE.CANCEL);
+		} catch(Exception e) {
+			LOG.error("Error occurred while polling, aborting.", e);
+			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+		}
+	}
+
+	/*
+	 * One check of the poller, replacing one round of the loop
+	 * the thread used to run
+	 */
+	private void check() {
+		if( abort || isDone())
+			return;
+		boolean complete = false;
+		try {
+			complete = poller.isComplete();
+		} catch (PollingException e) {
+			// abort and put the message in event log
+			cancel(e.getMessage(), CANCELATION_CAUSE.FAILED);
+			return;
+		} catch (RequiresInfoException rie) {
+			// This way each request for new info is checked only once.
+			if (!rie.getChecked()) {
+				rie.setChecked();
+				fireRequestCredentials(expectedState, poller);
+			}
+		} catch (RuntimeException re) {
+			LOG.error("Error occurred while polling, aborting.", re);
+			cancel(re.getMessage(), CANCELATION_CAUSE.FAILED);
+			return;
+		}
+		try {
+			if (isStartedOrStopped(server.getDelegate())) {
 				// we stopped. Did we abort?
-				handleUncertainTermination();
-			} else if (done) {
+				finish(this::handleUncertainTermination);
+			} else if (complete) {
 				// the poller has an answer
-				handlePollerHasAnswer();
-			} else {
+				finish(this::handlePollerHasAnswer);
+			} else if (timeoutReached(getStartTime(), getTimeout())) {
 				// we timed out. get response from preferences
-				handleTimeoutTermination();
+				finish(this::handleTimeoutTermination);
 			}
 		} catch(Exception e) {
 			LOG.error("Error occurred while polling, aborting.", e);
@@ -98,6 +179,34 @@ public class PollThread extends Thread {
 		}
 	}
 
+	private synchronized boolean isDone() {
+		return done;
+	}
+
+	private synchronized long getStartTime() {
+		return startTime;
+	}
+
+	/**
+	 * Stop the checks and run the given handler, which tells 
+	 * the listener the result. Only the first caller's handler runs. 
+	 * Threads joining are released once it ran to the end.
+	 */
+	private void finish(Runnable handler) {
+		synchronized(this) {
+			if( done )
+				return;
+			done = true;
+			if( checks != null )
+				checks.cancel(false);
+		}
+		try {
+			handler.run();
+		} finally {
+			finished.countDown();
+		}
+	}
+
 	private SERVER_STATE getOpposite(SERVER_STATE state) {
 		switch(state) {
 		case UNKNOWN:
@@ -115,6 +224,8 @@ public class PollThread extends Thread {
 		try {
 			SERVER_STATE currentState = poller.getState();
 			poller.cleanup();
+			if( currentState == SERVER_STATE.UP && expectedState == SERVER_STATE.UP )
+				StartupHistory.recordStartup(getServer(), System.currentTimeMillis() - getStartTime());
 			alertListener(currentState);
 		} catch (PollingException pe) {
 			// Poller's answer was exception:  abort and put the message in event log
@@ -166,9 +277,11 @@ public class PollThread extends Thread {
 
 	protected void cancel(String message, IServerStatePoller.CANCELATION_CAUSE cause) {
 		this.abort = true;
-		cancelPoller(cause);
-		log(message, cause);
-		alertListener(getOpposite(expectedState));
+		finish(() -> {
+			cancelPoller(cause);
+			log(message, cause);
+			alertListener(getOpposite(expectedState));
+		});
 	}
 
 	private void cancelPoller(IServerStatePoller.CANCELATION_CAUSE cause) {
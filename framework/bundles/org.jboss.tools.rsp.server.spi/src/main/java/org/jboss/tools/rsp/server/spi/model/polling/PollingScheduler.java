@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the polling of all servers on a few shared threads.
+ *
+ * Pollers schedule their pings and {@link PollThread} schedules its
+ * checks of the poller here, instead of each of them sleeping on a 
+ * thread of its own. Timeouts and cancellation only cancel the 
+ * scheduled task.
+ * 
+ * A ping that blocks holds one of the threads while it does, 
+ * so there are a few of them: the number is set with
+ * {@value #SYSPROP_POLLER_THREADS}.
+ */
+public class PollingScheduler {
+	private static final Logger LOG = LoggerFactory.getLogger(PollingScheduler.class);
+
+	public static final String SYSPROP_POLLER_THREADS = "rsp.server.poller.threads";
+	public static final int DEFAULT_POLLER_THREADS = 4;
+
+	private static final PollingScheduler DEFAULT = new PollingScheduler(
+			Integer.getInteger(SYSPROP_POLLER_THREADS, DEFAULT_POLLER_THREADS));
+
+	public static PollingScheduler getDefault() {
+		return DEFAULT;
+	}
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	public PollingScheduler(int threads) {
+		AtomicInteger count = new AtomicInteger();
+		this.executor = new ScheduledThreadPoolExecutor(Math.max(1, threads), r -> {
+			Thread t = new Thread(r, "RSP server poller " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Run the task once after the given delay
+	 */
+	public ScheduledFuture<?> schedule(Runnable task, long delay) {
+		return executor.schedule(guard(task), delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Run the task repeatedly until the returned future is canceled.
+	 * Runs of the same task never overlap.
+	 * 
+	 * @param initialDelay milliseconds before the first run
+	 * @param delay milliseconds between the end of one run and the start of the next
+	 */
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long initialDelay, long delay) {
+		return executor.scheduleWithFixedDelay(guard(task), initialDelay, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return the number of tasks waiting for their next run
+	 */
+	public int getScheduledCount() {
+		return executor.getQueue().size();
+	}
+
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/*
+	 * A repeated task that throws is never run again, 
+	 * so errors are logged and swallowed instead
+	 */
+	private static Runnable guard(Runnable task) {
+		return () -> {
+			try {
+				task.run();
+			} catch(RuntimeException re) {
+				LOG.error("Error occurred while polling", re);
+			}
+		};
+	}
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
+import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The durations of the last startups of a server, kept in its 
+ * metadata. Tells how long the server is expected to take to 
+ * start, so that it can be polled fast around that time.
+ */
+public class StartupHistory {
+	private static final Logger LOG = LoggerFactory.getLogger(StartupHistory.class);
+
+	public static final String METADATA_KEY = "startup.durations";
+	public static final int MAX_ENTRIES = 10;
+
+	private StartupHistory() {
+	}
+
+	/**
+	 * @return the median of the last startup durations in milliseconds, 
+	 * or -1 if the server was never seen starting
+	 */
+	public static long getExpectedStartupTime(IServer server) {
+		if( server == null )
+			return -1;
+		List<Long> durations = parse(server.getMetadata(METADATA_KEY));
+		if( durations.isEmpty())
+			return -1;
+		Collections.sort(durations);
+		return durations.get(durations.size() / 2);
+	}
+
+	/**
+	 * Add the given startup duration to the history of the server and save it
+	 * 
+	 * @param duration milliseconds the server took to start
+	 */
+	public static void recordStartup(IServer server, long duration) {
+		if( server == null || duration <= 0 )
+			return;
+		List<Long> durations = parse(server.getMetadata(METADATA_KEY));
+		durations.add(duration);
+		while( durations.size() > MAX_ENTRIES ) {
+			durations.remove(0);
+		}
+		server.setMetadata(METADATA_KEY, format(durations));
+		try {
+			server.save(new NullProgressMonitor());
+		} catch(CoreException ce) {
+			LOG.error("Could not save the startup history of server " + server.getId(), ce);
+		}
+	}
+
+	static List<Long> parse(String value) {
+		List<Long> ret = new ArrayList<>();
+		if( value == null || value.isEmpty())
+			return ret;
+		for( String s : value.split(",")) {
+			try {
+				long l = Long.parseLong(s.trim());
+				if( l > 0 )
+					ret.add(l);
+			} catch(NumberFormatException nfe) {
+				// ignore entries that are not durations
+			}
+		}
+		return ret;
+	}
+
+	static String format(List<Long> durations) {
+		StringBuilder sb = new StringBuilder();
+		for( Long l : durations ) {
+			if( sb.length() > 0 )
+				sb.append(',');
+			sb.append(l);
+		}
+		return sb.toString();
+	}
+}
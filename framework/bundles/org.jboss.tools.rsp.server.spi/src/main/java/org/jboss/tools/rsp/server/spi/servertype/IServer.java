@@ -29,5 +29,19 @@ public interface IServer extends IServerAttributes {
 	void delete() throws CoreException;
 
 	IServerManagementModel getServerManagementModel();
+
+	/**
+	 * Metadata the framework keeps about the server, such as how 
+	 * long it took to start. Unlike attributes, it is not set by 
+	 * clients. It is persisted when the server is saved.
+	 * 
+	 * @return the value, or null if not set
+	 */
+	String getMetadata(String key);
+
+	/**
+	 * @param value the value, or null to remove it
+	 */
+	void setMetadata(String key, String value);
 	
 }
@@ -8,6 +8,8 @@
  ******************************************************************************/
 package org.jboss.tools.rsp.server.spi.servertype;
 
+import java.util.List;
+
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.CommandLineDetails;
 import org.jboss.tools.rsp.api.dao.DeployableReference;
@@ -20,6 +22,8 @@ import org.jboss.tools.rsp.api.dao.StartServerResponse;
 import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
 import org.jboss.tools.rsp.eclipse.core.runtime.IProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
 
 public interface IServerDelegate {
 
@@ -288,6 +292,41 @@ public interface IServerDelegate {
 	public IStatus canPublish();
 
 	int getServerPublishState();
-	
+
+	/**
+	 * Get the recent output of a process launched for this server
+	 * @param processId the id of the process
+	 * @param streamType one of the STREAM_TYPE constants in ServerManagementAPIConstants
+	 * @return the output history, or null if the process or its history is unknown
+	 */
+	public IStreamHistory getStreamHistory(String processId, int streamType);
+
+	/**
+	 * Get the ids of the processes launched for this server 
+	 * that have not terminated yet
+	 * @return
+	 */
+	public List<String> getRunningProcessIds();
+
+	/**
+	 * Get a poller telling whether the started server still answers.
+	 * It is asked for the current state of the server every so often 
+	 * by the health monitor, if enabled. 
+	 * 
+	 * @return the poller, or null if the health of the server 
+	 *   can not be checked
+	 */
+	public default IServerStatePoller getHealthPoller() {
+		return null;
+	}
+
+	/**
+	 * The health monitor found the started server down a number 
+	 * of times in a row, ie. because it crashed. Delegates should 
+	 * update the server state if they can tell the server is gone.
+	 */
+	public default void serverFoundDown() {
+		// do nothing
+	}
 
 }
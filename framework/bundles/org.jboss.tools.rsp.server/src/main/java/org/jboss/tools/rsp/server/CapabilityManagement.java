@@ -10,6 +10,7 @@ package org.jboss.tools.rsp.server;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.tools.rsp.api.ICapabilityKeys;
 import org.jboss.tools.rsp.api.RSPClient;
@@ -24,7 +25,8 @@ public class CapabilityManagement implements ICapabilityManagement, ICapabilityK
 	private Map<RSPClient, Capabilities> capabilities;
 	
 	public CapabilityManagement() {
-		this.capabilities = new HashMap<RSPClient, Capabilities>();
+		// Read by the threads delivering notifications to the clients
+		this.capabilities = new ConcurrentHashMap<RSPClient, Capabilities>();
 	}
 	
 	public void clientAdded(RSPClient client) {
@@ -85,6 +87,9 @@ public class CapabilityManagement implements ICapabilityManagement, ICapabilityK
         Map<String,String> ret = new HashMap<String,String>();
         ret.put(ICapabilityKeys.STRING_PROTOCOL_VERSION, ICapabilityKeys.PROTOCOL_VERSION_CURRENT);
         ret.put(ICapabilityKeys.BOOLEAN_STRING_PROMPT, Boolean.toString(true));
+        ret.put(ICapabilityKeys.BOOLEAN_STATE_DELTA, Boolean.toString(true));
+        ret.put(ICapabilityKeys.BOOLEAN_OUTPUT_COMPRESSED, Boolean.toString(true));
+        ret.put(ICapabilityKeys.STRING_OUTPUT_REPLAY, Integer.toString(RSPFlags.getOutputReplayMax()));
         return ret;
 	}
 }
@@ -11,11 +11,281 @@ package org.jboss.tools.rsp.server;
 public class RSPFlags {
 	public static final String SYSPROP_SERVER_PORT = "rsp.server.port";
 	public static final int DEFAULT_PORT = 27511;
+	/**
+	 * The path of a unix domain socket to listen on in addition to the port.
+	 * Requires java 16 or later. 
+	 */
+	public static final String SYSPROP_SERVER_SOCKET = "rsp.server.socket";
+
+	/*
+	 * Client connections
+	 */
+	public static final String SYSPROP_IO_THREADS = "rsp.server.connections.io.threads";
+	public static final int DEFAULT_IO_THREADS = 2;
+	public static final String SYSPROP_MAX_CONNECTIONS = "rsp.server.connections.max";
+	public static final int DEFAULT_MAX_CONNECTIONS = 64;
+	/**
+	 * Milliseconds without traffic before a connection is closed.
+	 * Clients may legitimately stay quiet for hours, so this is off (0) by default.
+	 */
+	public static final String SYSPROP_IDLE_TIMEOUT = "rsp.server.connections.idle.timeout";
+	public static final int DEFAULT_IDLE_TIMEOUT = 0;
+
+	/*
+	 * Notifications to clients
+	 */
+	public static final String SYSPROP_CLIENT_EVENT_QUEUE = "rsp.server.events.client.queue";
+	public static final int DEFAULT_CLIENT_EVENT_QUEUE = 1024;
+	/**
+	 * What to do when a client's notification queue is full:
+	 * drop, merge or disconnect. See ClientEventQueue.OverflowPolicy 
+	 */
+	public static final String SYSPROP_CLIENT_EVENT_OVERFLOW = "rsp.server.events.client.overflow";
+	/**
+	 * The number of threads delivering the notifications of all clients
+	 */
+	public static final String SYSPROP_CLIENT_EVENT_THREADS = "rsp.server.events.client.threads";
+	public static final int DEFAULT_CLIENT_EVENT_THREADS = 2;
+	/**
+	 * The number of bytes queued for a client but not yet written to
+	 * its socket above which notifications wait in its event queue
+	 */
+	public static final String SYSPROP_CLIENT_OUTBOUND_MAX = "rsp.server.events.client.outbound.max";
+	public static final int DEFAULT_CLIENT_OUTBOUND_MAX = 1024 * 1024;
+
+	/**
+	 * Milliseconds to collect publish and deployable state changes of 
+	 * a server for before notifying clients, or 0 to notify every change.
+	 * Run state changes are always notified right away.
+	 */
+	public static final String SYSPROP_SERVER_STATE_WINDOW = "rsp.server.state.window";
+	public static final int DEFAULT_SERVER_STATE_WINDOW = 50;
+
+	/*
+	 * Server process output. Both may be set for a single server type 
+	 * by appending its id, ie. rsp.server.output.window.org.jboss.ide.eclipse.as.wildfly.130
+	 */
+	/**
+	 * The number of characters of a process stream to collect
+	 * before notifying clients, or 0 to notify every chunk read.
+	 */
+	public static final String SYSPROP_OUTPUT_BATCH_SIZE = "rsp.server.output.size";
+	public static final int DEFAULT_OUTPUT_BATCH_SIZE = 16384;
+	/**
+	 * Milliseconds to collect the output of a process stream for 
+	 * before notifying clients, or 0 to notify every chunk read.
+	 */
+	public static final String SYSPROP_OUTPUT_BATCH_WINDOW = "rsp.server.output.window";
+	public static final int DEFAULT_OUTPUT_BATCH_WINDOW = 50;
+
+	/**
+	 * The most bytes of each process stream replayed to a client 
+	 * that asks for output replay when it connects
+	 */
+	public static final String SYSPROP_OUTPUT_REPLAY_MAX = "rsp.server.output.replay.max";
+	public static final int DEFAULT_OUTPUT_REPLAY_MAX = 256 * 1024;
+
+	/**
+	 * The deflate level, 0 to 9, of the output sent compressed 
+	 * to clients that registered the output.compressed capability
+	 */
+	public static final String SYSPROP_OUTPUT_COMPRESSION_LEVEL = "rsp.server.output.compression.level";
+	public static final int DEFAULT_OUTPUT_COMPRESSION_LEVEL = 6;
+	/**
+	 * The number of characters of output below which
+	 * it is sent uncompressed to those clients
+	 */
+	public static final String SYSPROP_OUTPUT_COMPRESSION_MIN = "rsp.server.output.compression.min";
+	public static final int DEFAULT_OUTPUT_COMPRESSION_MIN = 1024;
+
+	/*
+	 * Server state polling. All may be set for a single server type 
+	 * by appending its id, like the output flags above.
+	 */
+	/**
+	 * The pattern of the console line telling that a server started, 
+	 * or an empty value to not watch the console for it. 
+	 * Overrides the pattern of the server type.
+	 */
+	public static final String SYSPROP_POLLER_CONSOLE_STARTED = "rsp.server.poller.console.started";
+	/**
+	 * The pattern of the console line telling that a server stopped, 
+	 * or an empty value to not watch the console for it. 
+	 * Overrides the pattern of the server type.
+	 */
+	public static final String SYSPROP_POLLER_CONSOLE_STOPPED = "rsp.server.poller.console.stopped";
+	/**
+	 * Whether to poll the web port in addition to watching the console. 
+	 * The web port is always polled if the console can not tell the state.
+	 */
+	public static final String SYSPROP_POLLER_WEB = "rsp.server.poller.web";
+	public static final boolean DEFAULT_POLLER_WEB = true;
+	/**
+	 * The url polled for the web port, ie. a health endpoint.
+	 * Overrides the url of the server type.
+	 */
+	public static final String SYSPROP_POLLER_WEB_URL = "rsp.server.poller.web.url";
+	/**
+	 * The status codes telling that the server is up, like 200,300-399.
+	 * Any status does if not set.
+	 */
+	public static final String SYSPROP_POLLER_WEB_STATUS = "rsp.server.poller.web.status";
+	/**
+	 * Milliseconds a ping of the web port may take to connect, 
+	 * and to wait for the response, before the server is taken to be down
+	 */
+	public static final String SYSPROP_POLLER_WEB_TIMEOUT = "rsp.server.poller.web.timeout";
+	public static final int DEFAULT_POLLER_WEB_TIMEOUT = 2000;
+
+	/*
+	 * Health monitoring of started servers
+	 */
+	/**
+	 * Milliseconds between checks of the health of started servers, 
+	 * or 0 to not check them. Off by default.
+	 */
+	public static final String SYSPROP_HEALTH_INTERVAL = "rsp.server.health.interval";
+	public static final int DEFAULT_HEALTH_INTERVAL = 0;
+	/**
+	 * The number of checks in a row a server must be found down 
+	 * by before it is taken to have crashed
+	 */
+	public static final String SYSPROP_HEALTH_FAILURES = "rsp.server.health.failures";
+	public static final int DEFAULT_HEALTH_FAILURES = 2;
+	/**
+	 * Milliseconds a check may take before the server is taken to be hung
+	 */
+	public static final String SYSPROP_HEALTH_HANG = "rsp.server.health.hang";
+	public static final int DEFAULT_HEALTH_HANG = 1000;
+	/**
+	 * The number of checks kept for each server
+	 */
+	public static final String SYSPROP_HEALTH_HISTORY = "rsp.server.health.history";
+	public static final int DEFAULT_HEALTH_HISTORY = 20;
+
+	/**
+	 * The number of json-rpc messages kept for tracing, or 0 to disable tracing
+	 */
+	public static final String SYSPROP_TRACE_SIZE = "rsp.server.trace.size";
+	public static final int DEFAULT_TRACE_SIZE = 0;
+
+	/*
+	 * Request executor sizing
+	 */
+	public static final String SYSPROP_FAST_REQUEST_THREADS = "rsp.server.requests.fast.threads";
+	public static final int DEFAULT_FAST_REQUEST_THREADS = 2;
+	public static final String SYSPROP_FAST_REQUEST_QUEUE = "rsp.server.requests.fast.queue";
+	public static final int DEFAULT_FAST_REQUEST_QUEUE = 256;
+	public static final String SYSPROP_BLOCKING_REQUEST_THREADS = "rsp.server.requests.blocking.threads";
+	public static final int DEFAULT_BLOCKING_REQUEST_THREADS = 4;
+	public static final String SYSPROP_BLOCKING_REQUEST_QUEUE = "rsp.server.requests.blocking.queue";
+	public static final int DEFAULT_BLOCKING_REQUEST_QUEUE = 64;
+	public static final String SYSPROP_CLIENT_REQUEST_QUEUE = "rsp.server.requests.client.queue";
+	public static final int DEFAULT_CLIENT_REQUEST_QUEUE = 32;
 	
 	public static int getServerPort() {
 		return getIntSysprop(SYSPROP_SERVER_PORT, DEFAULT_PORT);
 	}
 
+	/**
+	 * @return the path of the unix domain socket to listen on, or null
+	 */
+	public static String getServerSocket() {
+		String path = System.getProperty(SYSPROP_SERVER_SOCKET);
+		return path == null || path.trim().isEmpty() ? null : path.trim();
+	}
+
+	public static int getOutputReplayMax() {
+		return getIntSysprop(SYSPROP_OUTPUT_REPLAY_MAX, DEFAULT_OUTPUT_REPLAY_MAX);
+	}
+
+	public static int getOutputCompressionLevel() {
+		int level = getIntSysprop(SYSPROP_OUTPUT_COMPRESSION_LEVEL, DEFAULT_OUTPUT_COMPRESSION_LEVEL);
+		return level < 0 || level > 9 ? DEFAULT_OUTPUT_COMPRESSION_LEVEL : level;
+	}
+
+	public static int getOutputCompressionMin() {
+		return getIntSysprop(SYSPROP_OUTPUT_COMPRESSION_MIN, DEFAULT_OUTPUT_COMPRESSION_MIN);
+	}
+
+	public static int getOutputBatchSize(String serverType) {
+		return getIntSysprop(SYSPROP_OUTPUT_BATCH_SIZE, serverType, DEFAULT_OUTPUT_BATCH_SIZE);
+	}
+
+	public static int getOutputBatchWindow(String serverType) {
+		return getIntSysprop(SYSPROP_OUTPUT_BATCH_WINDOW, serverType, DEFAULT_OUTPUT_BATCH_WINDOW);
+	}
+
+	/**
+	 * @return the console pattern set for the given server type, 
+	 *   otherwise def. An empty string if the console should not be watched.
+	 */
+	public static String getPollerConsolePattern(String key, String serverType, String def) {
+		return getStringSysprop(key, serverType, def);
+	}
+
+	public static boolean isPollerWebEnabled(String serverType) {
+		String val = getStringSysprop(SYSPROP_POLLER_WEB, serverType, null);
+		return val == null ? DEFAULT_POLLER_WEB : Boolean.parseBoolean(val.trim());
+	}
+
+	/**
+	 * @return the url set for the given server type, otherwise def
+	 */
+	public static String getPollerWebURL(String serverType, String def) {
+		String val = getStringSysprop(SYSPROP_POLLER_WEB_URL, serverType, null);
+		return val == null || val.trim().isEmpty() ? def : val.trim();
+	}
+
+	/**
+	 * @return the status codes set for the given server type, or null
+	 */
+	public static String getPollerWebStatus(String serverType) {
+		return getStringSysprop(SYSPROP_POLLER_WEB_STATUS, serverType, null);
+	}
+
+	public static int getPollerWebTimeout(String serverType) {
+		return getIntSysprop(SYSPROP_POLLER_WEB_TIMEOUT, serverType, DEFAULT_POLLER_WEB_TIMEOUT);
+	}
+
+	public static int getHealthInterval() {
+		return Math.max(0, getIntSysprop(SYSPROP_HEALTH_INTERVAL, DEFAULT_HEALTH_INTERVAL));
+	}
+
+	public static int getHealthFailures() {
+		return Math.max(1, getIntSysprop(SYSPROP_HEALTH_FAILURES, DEFAULT_HEALTH_FAILURES));
+	}
+
+	public static int getHealthHang() {
+		return getIntSysprop(SYSPROP_HEALTH_HANG, DEFAULT_HEALTH_HANG);
+	}
+
+	public static int getHealthHistory() {
+		return Math.max(1, getIntSysprop(SYSPROP_HEALTH_HISTORY, DEFAULT_HEALTH_HISTORY));
+	}
+
+	/**
+	 * @return the value of key.serverType if set, 
+	 *   otherwise the value of key, otherwise def
+	 */
+	public static String getStringSysprop(String key, String serverType, String def) {
+		String global = System.getProperty(key, def);
+		if( serverType == null )
+			return global;
+		return System.getProperty(key + "." + serverType, global);
+	}
+
+	/**
+	 * @return the value of key.serverType if set, 
+	 *   otherwise the value of key, otherwise def
+	 */
+	public static int getIntSysprop(String key, String serverType, int def) {
+		int global = getIntSysprop(key, def);
+		if( serverType == null )
+			return global;
+		return getIntSysprop(key + "." + serverType, global);
+	}
+
 	public static int getIntSysprop(String key, int def) {
 		int logLevel = def;
 		String logLevelTmp = System.getProperty(key);
@@ -16,9 +16,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.jboss.tools.rsp.api.ICapabilityKeys;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.SocketLauncher;
@@ -33,33 +35,50 @@ import org.jboss.tools.rsp.api.dao.DownloadRuntimeDescription;
 import org.jboss.tools.rsp.api.dao.DownloadRuntimeResponse;
 import org.jboss.tools.rsp.api.dao.LaunchAttributesRequest;
 import org.jboss.tools.rsp.api.dao.LaunchParameters;
+import org.jboss.tools.rsp.api.dao.MessageTraceRequest;
+import org.jboss.tools.rsp.api.dao.MessageTraceResponse;
 import org.jboss.tools.rsp.api.dao.ModifyDeployableRequest;
 import org.jboss.tools.rsp.api.dao.PublishServerRequest;
+import org.jboss.tools.rsp.api.dao.PublishServersRequest;
 import org.jboss.tools.rsp.api.dao.ServerAttributes;
 import org.jboss.tools.rsp.api.dao.ServerBean;
 import org.jboss.tools.rsp.api.dao.ServerCapabilitiesResponse;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
 import org.jboss.tools.rsp.api.dao.ServerLaunchMode;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilterRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputRequest;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
 import org.jboss.tools.rsp.api.dao.ServerStartingAttributes;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStatesRequest;
 import org.jboss.tools.rsp.api.dao.ServerType;
 import org.jboss.tools.rsp.api.dao.StartServerResponse;
+import org.jboss.tools.rsp.api.dao.StartServersRequest;
 import org.jboss.tools.rsp.api.dao.Status;
 import org.jboss.tools.rsp.api.dao.StopServerAttributes;
+import org.jboss.tools.rsp.api.dao.StopServersRequest;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
 import org.jboss.tools.rsp.eclipse.core.runtime.CoreException;
 import org.jboss.tools.rsp.eclipse.core.runtime.IPath;
 import org.jboss.tools.rsp.eclipse.core.runtime.IStatus;
 import org.jboss.tools.rsp.eclipse.core.runtime.NullProgressMonitor;
 import org.jboss.tools.rsp.eclipse.core.runtime.Path;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
 import org.jboss.tools.rsp.runtime.core.model.DownloadRuntime;
 import org.jboss.tools.rsp.server.discovery.serverbeans.ServerBeanLoader;
+import org.jboss.tools.rsp.server.executor.RequestExecutor;
+import org.jboss.tools.rsp.server.model.EventSubscription;
+import org.jboss.tools.rsp.server.model.OutputFilter;
 import org.jboss.tools.rsp.server.model.RemoteEventManager;
+import org.jboss.tools.rsp.server.model.internal.ServerOutputHistory;
 import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
 import org.jboss.tools.rsp.server.spi.servertype.IServerType;
 import org.jboss.tools.rsp.server.spi.util.StatusConverter;
+import org.jboss.tools.rsp.server.tracing.MessageTracer;
 
 public class ServerManagementServerImpl implements RSPServer {
 	
@@ -68,12 +87,26 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	private final IServerManagementModel managementModel;
 	private final RemoteEventManager remoteEventManager;
+	private final RequestExecutor requestExecutor;
 	private ServerManagementServerLauncher launcher;
 	
 	public ServerManagementServerImpl(ServerManagementServerLauncher launcher, IServerManagementModel managementModel) {
 		this.launcher = launcher;
 		this.managementModel = managementModel;
 		this.remoteEventManager = new RemoteEventManager(this);
+		this.requestExecutor = createRequestExecutor();
+	}
+
+	protected RequestExecutor createRequestExecutor() {
+		return new RequestExecutor();
+	}
+
+	public RequestExecutor getRequestExecutor() {
+		return requestExecutor;
+	}
+
+	public RemoteEventManager getRemoteEventManager() {
+		return remoteEventManager;
 	}
 	
 	public List<RSPClient> getClients() {
@@ -92,6 +125,7 @@ public class ServerManagementServerImpl implements RSPServer {
 		this.launchers.add(launcher);
 		RSPClient client = launcher.getRemoteProxy();
 		this.clients.add(client);
+		this.remoteEventManager.addClient(client, launcher::close);
 		return () -> this.removeClient(launcher);
 	}
 
@@ -104,6 +138,7 @@ public class ServerManagementServerImpl implements RSPServer {
 		this.launchers.remove(launcher);
 		this.managementModel.clientRemoved(launcher.getRemoteProxy());
 		this.clients.remove(launcher.getRemoteProxy());
+		this.remoteEventManager.removeClient(launcher.getRemoteProxy());
 	}
 	
 	public List<SocketLauncher<RSPClient>> getActiveLaunchers() {
@@ -127,7 +162,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	 */
 	@Override
 	public CompletableFuture<Status> addDiscoveryPath(DiscoveryPath path) {
-		return createCompletableFuture(() -> addDiscoveryPathSync(path));
+		return createBlockingCompletableFuture(() -> addDiscoveryPathSync(path),
+				() -> requestRejectedStatus());
 	}
 	
 	private Status addDiscoveryPathSync(DiscoveryPath path) {
@@ -144,7 +180,8 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<Status> removeDiscoveryPath(DiscoveryPath path) {
-		return createCompletableFuture(() -> removeDiscoveryPathSync(path));
+		return createBlockingCompletableFuture(() -> removeDiscoveryPathSync(path),
+				() -> requestRejectedStatus());
 	}
 	
 	public Status removeDiscoveryPathSync(DiscoveryPath path) {
@@ -165,7 +202,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<List<ServerBean>> findServerBeans(DiscoveryPath path) {
-		return createCompletableFuture(() -> findServerBeansSync(path));
+		return createBlockingCompletableFuture(() -> findServerBeansSync(path));
 	}
 
 	private List<ServerBean> findServerBeansSync(DiscoveryPath path) {
@@ -204,7 +241,8 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<Status> deleteServer(ServerHandle handle) {
-		return createCompletableFuture(() -> deleteServerSync(handle));
+		return createBlockingCompletableFuture(() -> deleteServerSync(handle),
+				() -> requestRejectedStatus());
 	}
 	
 	private Status deleteServerSync(ServerHandle handle) {
@@ -287,7 +325,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<CreateServerResponse> createServer(ServerAttributes attr) {
-		return createCompletableFuture(() -> createServerSync(attr));
+		return createBlockingCompletableFuture(() -> createServerSync(attr),
+				() -> new CreateServerResponse(requestRejectedStatus(), null));
 	}
 
 	private CreateServerResponse createServerSync(ServerAttributes attr) {
@@ -306,7 +345,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<List<ServerType>> getServerTypes() {
-		return createCompletableFuture(() -> getServerTypesSync());
+		return createBlockingCompletableFuture(() -> getServerTypesSync());
 	}
 
 	private List<ServerType> getServerTypesSync() {
@@ -316,11 +355,12 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<StartServerResponse> startServerAsync(LaunchParameters attr) {
-		return createCompletableFuture(() -> startServerImpl(attr));
+		return createBlockingCompletableFuture(() -> startServerImpl(attr),
+				() -> new StartServerResponse(requestRejectedStatus(), null));
 	}
 
 	private StartServerResponse startServerImpl(LaunchParameters attr) {
-		if( attr == null || isEmpty(attr.getMode()) || isEmpty(attr.getParams().getId())) {
+		if( attr == null || isEmpty(attr.getMode()) || attr.getParams() == null || isEmpty(attr.getParams().getId())) {
 			IStatus is = new org.jboss.tools.rsp.eclipse.core.runtime.Status(IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, 
 					"Invalid Parameter");
 			return (new StartServerResponse(StatusConverter.convert(is), null));
@@ -351,7 +391,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<Status> stopServerAsync(StopServerAttributes attr) {
-		return createCompletableFuture(() -> stopServerImpl(attr));
+		return createBlockingCompletableFuture(() -> stopServerImpl(attr),
+				() -> requestRejectedStatus());
 	}
 
 	private Status stopServerImpl(StopServerAttributes attr) {
@@ -389,7 +430,7 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<CommandLineDetails> getLaunchCommand(LaunchParameters req) {
-		return createCompletableFuture(() -> getLaunchCommandSync(req));
+		return createBlockingCompletableFuture(() -> getLaunchCommandSync(req));
 	}
 
 	private CommandLineDetails getLaunchCommandSync(LaunchParameters req) {
@@ -422,10 +463,51 @@ public class ServerManagementServerImpl implements RSPServer {
 		IServer is = managementModel.getServerModel().getServer(handle.getId());
 		return is.getDelegate().getServerState();
 	}
+
+	@Override
+	public CompletableFuture<ServerHealth> getServerHealth(ServerHandle handle) {
+		return createCompletableFuture(() -> getServerHealthSync(handle));
+	}
+
+	private ServerHealth getServerHealthSync(ServerHandle handle) {
+		IServer is = handle == null ? null : managementModel.getServerModel().getServer(handle.getId());
+		if( is == null )
+			return null;
+		return managementModel.getServerHealthMonitor().getHealth(is);
+	}
+
+	@Override
+	public CompletableFuture<List<ServerState>> getServerStates(ServerStatesRequest request) {
+		return createCompletableFuture(() -> getServerStatesSync(request));
+	}
+
+	private List<ServerState> getServerStatesSync(ServerStatesRequest request) {
+		List<ServerState> ret = new ArrayList<>();
+		if( request == null || request.getServers() == null )
+			return ret;
+		for( ServerHandle handle : request.getServers()) {
+			IServer is = handle == null ? null : managementModel.getServerModel().getServer(handle.getId());
+			ret.add(is == null || is.getDelegate() == null ? null : is.getDelegate().getServerState());
+		}
+		return ret;
+	}
+
+	@Override
+	public CompletableFuture<List<StartServerResponse>> startServers(StartServersRequest request) {
+		return createBlockingBatch(request == null ? null : request.getServers(), this::startServerImpl,
+				() -> new StartServerResponse(requestRejectedStatus(), null));
+	}
+
+	@Override
+	public CompletableFuture<List<Status>> stopServers(StopServersRequest request) {
+		return createBlockingBatch(request == null ? null : request.getServers(), 
+				this::stopServerImpl, () -> requestRejectedStatus());
+	}
 	
 	@Override
 	public CompletableFuture<Status> serverStartingByClient(ServerStartingAttributes attr) {
-		return createCompletableFuture(() -> serverStartingByClientSync(attr));
+		return createBlockingCompletableFuture(() -> serverStartingByClientSync(attr),
+				() -> requestRejectedStatus());
 	}
 
 	private Status serverStartingByClientSync(ServerStartingAttributes attr) {
@@ -456,7 +538,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	
 	@Override
 	public CompletableFuture<Status> serverStartedByClient(LaunchParameters attr) {
-		return createCompletableFuture(() -> serverStartedByClientSync(attr));
+		return createBlockingCompletableFuture(() -> serverStartedByClientSync(attr),
+				() -> requestRejectedStatus());
 	}
 
 	private Status serverStartedByClientSync(LaunchParameters attr) {
@@ -493,9 +576,54 @@ public class ServerManagementServerImpl implements RSPServer {
 		Status st = StatusConverter.convert(s);
 		Map<String,String> resp2 = managementModel.getCapabilityManagement().getServerCapabilities();
 		ServerCapabilitiesResponse resp = new ServerCapabilitiesResponse(st, resp2);
+		int replay = getOutputReplay(request);
+		if( rspc != null && replay > 0 ) {
+			remoteEventManager.replayOutput(rspc, Math.min(replay, RSPFlags.getOutputReplayMax()));
+		}
 		return CompletableFuture.completedFuture(resp);
 	}
 
+	private int getOutputReplay(ClientCapabilitiesRequest request) {
+		String replay = request == null || request.getMap() == null ? null 
+				: request.getMap().get(ICapabilityKeys.STRING_OUTPUT_REPLAY);
+		if( replay != null ) {
+			try {
+				return Integer.parseInt(replay.trim());
+			} catch(NumberFormatException nfe) {
+				// ignore
+			}
+		}
+		return 0;
+	}
+
+	@Override
+	public CompletableFuture<Status> subscribe(SubscriptionRequest request) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		EventSubscription subscription = EventSubscription.fromRequest(request);
+		if( subscription == null ) {
+			return CompletableFuture.completedFuture(booleanToStatus(false, 
+					"Unknown event kind. Valid kinds are " + EventSubscription.EVENT_KINDS));
+		}
+		boolean ok = rspc != null && remoteEventManager.subscribe(rspc, subscription);
+		return CompletableFuture.completedFuture(booleanToStatus(ok, "The client is not connected."));
+	}
+
+	@Override
+	public CompletableFuture<Status> setOutputFilter(ServerOutputFilterRequest request) {
+		RSPClient rspc = ClientThreadLocal.getActiveClient();
+		OutputFilter filter = null;
+		try {
+			filter = request == null ? null : OutputFilter.fromRequest(request.getFilters());
+		} catch(IllegalArgumentException iae) {
+			// PatternSyntaxException is an IllegalArgumentException
+			return CompletableFuture.completedFuture(booleanToStatus(false, 
+					"Invalid output filter: " + iae.getMessage()));
+		}
+		boolean ok = rspc != null && remoteEventManager.setOutputFilter(rspc, 
+				request == null ? null : request.getServerIds(), filter);
+		return CompletableFuture.completedFuture(booleanToStatus(ok, "The client is not connected."));
+	}
+
 	/*
 	 * Utility methods below
 	 */	
@@ -514,6 +642,12 @@ public class ServerManagementServerImpl implements RSPServer {
 		return s == null || s.isEmpty();
 	}
 
+	private Status requestRejectedStatus() {
+		IStatus s = new org.jboss.tools.rsp.eclipse.core.runtime.Status(
+				IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, "The server is too busy to accept this request. Please try again later.");
+		return StatusConverter.convert(s);
+	}
+
 	private Status invalidParameterStatus() {
 		IStatus s = new org.jboss.tools.rsp.eclipse.core.runtime.Status(
 				IStatus.ERROR, ServerCoreActivator.BUNDLE_ID, "Parameter is invalid. It may be null, missing required fields, or unacceptable values.");
@@ -531,7 +665,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	}
 	
 	public CompletableFuture<Status> addDeployable(ModifyDeployableRequest request) {
-		return createCompletableFuture(() -> addDeployableSync(request.getServer(), request.getDeployable()));
+		return createBlockingCompletableFuture(() -> addDeployableSync(request.getServer(), request.getDeployable()),
+				() -> requestRejectedStatus());
 	}
 
 	public Status addDeployableSync(ServerHandle handle, DeployableReference reference) {
@@ -541,7 +676,8 @@ public class ServerManagementServerImpl implements RSPServer {
 	}
 	
 	public CompletableFuture<Status> removeDeployable(ModifyDeployableRequest request) {
-		return createCompletableFuture(() -> removeDeployableSync(request.getServer(), request.getDeployable()));
+		return createBlockingCompletableFuture(() -> removeDeployableSync(request.getServer(), request.getDeployable()),
+				() -> requestRejectedStatus());
 	}
 
 	public Status removeDeployableSync(ServerHandle handle, DeployableReference reference) {
@@ -552,10 +688,42 @@ public class ServerManagementServerImpl implements RSPServer {
 
 	@Override
 	public CompletableFuture<Status> publish(PublishServerRequest request) {
-		return createCompletableFuture(() -> publishSync(request));
+		return createBlockingCompletableFuture(() -> publishSync(request),
+				() -> requestRejectedStatus());
+	}
+
+	@Override
+	public CompletableFuture<List<Status>> publishServers(PublishServersRequest request) {
+		return createBlockingBatch(request == null ? null : request.getServers(), 
+				this::publishSync, () -> requestRejectedStatus());
+	}
+
+	@Override
+	public CompletableFuture<ServerOutputResponse> getServerOutput(ServerOutputRequest request) {
+		return createCompletableFuture(() -> getServerOutputSync(request));
+	}
+
+	private ServerOutputResponse getServerOutputSync(ServerOutputRequest request) {
+		if( request == null || request.getServer() == null || isEmpty(request.getProcessId())) {
+			return null;
+		}
+		IServer server = managementModel.getServerModel().getServer(request.getServer().getId());
+		IServerDelegate del = server == null ? null : server.getDelegate();
+		if( del == null ) {
+			return null;
+		}
+		IStreamHistory history = del.getStreamHistory(request.getProcessId(), request.getStreamType());
+		if( history == null ) {
+			return null;
+		}
+		return ServerOutputHistory.read(request.getServer(), request.getProcessId(), 
+				request.getStreamType(), history, request.getOffset(), request.getLength());
 	}
 
 	private Status publishSync(PublishServerRequest request) {
+		if( request == null || request.getServer() == null ) {
+			return invalidParameterStatus();
+		}
 		try {
 			IServer server = managementModel.getServerModel().getServer(request.getServer().getId());
 			IStatus stat = managementModel.getServerModel().publish(server, request.getKind());
@@ -565,20 +733,52 @@ public class ServerManagementServerImpl implements RSPServer {
 		}
 	}
 
-	private static <T> CompletableFuture<T> createCompletableFuture(Supplier<T> supplier) {
-		final RSPClient rspc = ClientThreadLocal.getActiveClient();
-		CompletableFuture<T> completableFuture = new CompletableFuture<>();
-		CompletableFuture.runAsync(() -> {
-			ClientThreadLocal.setActiveClient(rspc);
-			completableFuture.complete(supplier.get());
-			ClientThreadLocal.setActiveClient(null);
-		});
-		return completableFuture;
+	/**
+	 * Run a request that only reads the in-memory model
+	 */
+	private <T> CompletableFuture<T> createCompletableFuture(Supplier<T> supplier) {
+		return requestExecutor.submit(RequestExecutor.Lane.FAST, supplier);
+	}
+
+	/**
+	 * Run a request that may block on disk, network, processes or the client
+	 */
+	private <T> CompletableFuture<T> createBlockingCompletableFuture(Supplier<T> supplier) {
+		return requestExecutor.submit(RequestExecutor.Lane.BLOCKING, supplier);
+	}
+
+	private <T> CompletableFuture<T> createBlockingCompletableFuture(Supplier<T> supplier, Supplier<T> onRejected) {
+		return requestExecutor.submit(RequestExecutor.Lane.BLOCKING, supplier, onRejected);
+	}
+
+	/**
+	 * Run a request that may block for each of the given parameters, in parallel
+	 */
+	private <P, T> CompletableFuture<List<T>> createBlockingBatch(List<P> params, 
+			Function<P, T> function, Supplier<T> onRejected) {
+		return requestExecutor.submitAll(RequestExecutor.Lane.BLOCKING, params, function, onRejected);
+	}
+
+	@Override
+	public CompletableFuture<MessageTraceResponse> getMessageTrace(MessageTraceRequest request) {
+		return createCompletableFuture(() -> getMessageTraceSync(request));
+	}
+
+	private MessageTraceResponse getMessageTraceSync(MessageTraceRequest request) {
+		MessageTracer tracer = launcher.getMessageTracer();
+		if( tracer == null ) {
+			return new MessageTraceResponse(false, new ArrayList<>(), 0);
+		}
+		MessageTraceResponse ret = new MessageTraceResponse(true, tracer.getMessages(), tracer.getDropped());
+		if( request != null && request.isClear()) {
+			tracer.clear();
+		}
+		return ret;
 	}
 
 	@Override
 	public CompletableFuture<DownloadRuntimeResponse> listDownloadableRuntimes() {
-		return createCompletableFuture(() -> listDownloadableRuntimesInternal());
+		return createBlockingCompletableFuture(() -> listDownloadableRuntimesInternal());
 	}
 
 	private DownloadRuntimeResponse listDownloadableRuntimesInternal() {
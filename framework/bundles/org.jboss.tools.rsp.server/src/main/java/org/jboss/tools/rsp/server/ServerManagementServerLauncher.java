@@ -9,29 +9,31 @@
 package org.jboss.tools.rsp.server;
 
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.UnixDomainSockets;
+import org.jboss.tools.rsp.server.connection.ChannelConnection;
+import org.jboss.tools.rsp.server.connection.ChannelLauncher;
+import org.jboss.tools.rsp.server.connection.ConnectionManager;
+import org.jboss.tools.rsp.server.model.ClientEventQueue;
 import org.jboss.tools.rsp.server.model.ServerManagementModel;
 import org.jboss.tools.rsp.server.model.ServerPersistenceManager;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.jboss.tools.rsp.server.tracing.MessageTracer;
 
 public class ServerManagementServerLauncher {
-	private static final Logger LOG = LoggerFactory.getLogger(ServerManagementServerLauncher.class);
-
 	private final ServerPersistenceManager persistenceEventManager;
 	
+	/**
+	 * Usage: <code>port [socket-path]</code>. 
+	 * If a socket path is given, the server also listens on a unix domain
+	 * socket at that path. A negative port disables the tcp listener.
+	 */
 	public static void main(String[] args) throws Exception {
 		ServerManagementServerLauncher instance = new ServerManagementServerLauncher();
+		instance.configureSocket(args);
 		instance.launch(args[0]);
 		instance.shutdownOnInput();
 	}
@@ -43,9 +45,11 @@ public class ServerManagementServerLauncher {
 	}
 
 	protected ServerManagementServerImpl serverImpl;
-	private ListenOnSocketRunnable socketRunnable;
-	private ServerSocket serverSocket;
+	private ConnectionManager connectionManager;
+	private final MessageTracer messageTracer;
+	private String socketPath = RSPFlags.getServerSocket();
 	public ServerManagementServerLauncher() {
+		this.messageTracer = createMessageTracer();
 		this.serverImpl = createImpl();
 		this.persistenceEventManager = new ServerPersistenceManager(this);
 	}
@@ -62,6 +66,28 @@ public class ServerManagementServerLauncher {
 		return serverImpl.getClients();
 	}
 	
+	/**
+	 * Listen on a unix domain socket at the path given as second 
+	 * argument, if there is one.
+	 */
+	public void configureSocket(String[] args) {
+		if( args.length > 1 )
+			setSocketPath(args[1]);
+	}
+
+	/**
+	 * Set the path of a unix domain socket to listen on in addition 
+	 * to the port, or null to only listen on the port.
+	 * Must be called before launching.
+	 */
+	public void setSocketPath(String socketPath) {
+		this.socketPath = socketPath;
+	}
+
+	public String getSocketPath() {
+		return socketPath;
+	}
+
 	public void launch(String portString) throws Exception {
 		launch(Integer.parseInt(portString));
 	}
@@ -73,115 +99,82 @@ public class ServerManagementServerLauncher {
 	}
 	
 	protected void startListening(int port, ServerManagementServerImpl server) throws IOException {
-		ExecutorService threadPool = Executors.newCachedThreadPool();
-		serverSocket = new ServerSocket(port);
-		// create the socket server
-		try {
-			socketRunnable = new ListenOnSocketRunnable(serverSocket, server);
+		connectionManager = createConnectionManager(server);
+		if( port >= 0 ) {
+			connectionManager.listen(port);
 			System.out.println("The server management server is running on port " + port);
-			threadPool.submit(socketRunnable);
-		} catch(Throwable t) {
-			t.printStackTrace();
 		}
-	}
-	
-	private class ListenOnSocketRunnable implements Runnable {
-		private ServerSocket serverSocket;
-		private ServerManagementServerImpl server;
-		private boolean listening = true;
-		public ListenOnSocketRunnable(ServerSocket serverSocket, ServerManagementServerImpl server) {
-			this.server = server;
-			this.serverSocket = serverSocket;
-		}
-		@Override
-		public void run() {
-			while (isListening()) {
-				oneSocket(serverSocket, server);
-			}
-		}
-		
-		public void stopListening() {
-			setListening(false);
+		if( socketPath != null ) {
+			connectionManager.listen(UnixDomainSockets.toPath(socketPath));
+			System.out.println("The server management server is running on socket " + socketPath);
 		}
-		
-		private synchronized boolean isListening() {
-			return listening;
-		}
-		private synchronized void setListening(boolean listening) {
-			this.listening = listening;
-		}
-		
 	}
-	
-	private void oneSocket(ServerSocket serverSocket, ServerManagementServerImpl server) {
-		try {
-			// wait for clients to connect
-			Socket socket = serverSocket.accept();
-			// create a JSON-RPC connection for the accepted socket
-			ServerSocketLauncher<RSPClient> launcher = createSocketLauncher(server,
-					RSPClient.class, socket, createLoggingPrintWriter());
-
-			// Alert the models a new client has been added before they start making requests
-			Runnable removeClient = server.addClient(launcher);
-			/*
-			 * Start listening for incoming messages. When the JSON-RPC connection is closed
-			 * disconnect the remote client from the server.
-			 */
-			launcher.startListening().thenRun(removeClient);
-			
-			// Alert the models they may begin requesting information from the client, 
-			// now that we are actually listening to their responses
-			server.clientAdded(launcher);
-			
-			System.out.println(
-					"Client " + socket.getInetAddress().getCanonicalHostName() +
-							":"+ socket.getPort() + " is connected");
-		} catch(IOException ioe) {
-			// We shouldn't fail if we're still supposed to be listening
-			if (socketRunnable != null && socketRunnable.isListening())
-				ioe.printStackTrace();
+
+	protected ConnectionManager createConnectionManager(ServerManagementServerImpl server) {
+		return new ConnectionManager(connection -> connectionAccepted(connection, server),
+				RSPFlags.getIntSysprop(RSPFlags.SYSPROP_IO_THREADS, RSPFlags.DEFAULT_IO_THREADS),
+				RSPFlags.getIntSysprop(RSPFlags.SYSPROP_MAX_CONNECTIONS, RSPFlags.DEFAULT_MAX_CONNECTIONS),
+				RSPFlags.getIntSysprop(RSPFlags.SYSPROP_IDLE_TIMEOUT, RSPFlags.DEFAULT_IDLE_TIMEOUT));
+	}
+
+	private void connectionAccepted(ChannelConnection connection, ServerManagementServerImpl server) {
+		// create a JSON-RPC connection for the accepted socket
+		SocketLauncher<RSPClient> launcher = createSocketLauncher(server, connection);
+
+		// Alert the models a new client has been added before they start making requests
+		Runnable removeClient = server.addClient(launcher);
+		// Notifications wait in the client's queue while it does not read what it was sent
+		connection.setOutboundLimit(RSPFlags.getIntSysprop(
+				RSPFlags.SYSPROP_CLIENT_OUTBOUND_MAX, RSPFlags.DEFAULT_CLIENT_OUTBOUND_MAX));
+		ClientEventQueue queue = server.getRemoteEventManager().getQueue(launcher.getRemoteProxy());
+		if( queue != null ) {
+			queue.setOutbound(connection::isBackedUp);
+			connection.setWritableListener(queue::resume);
 		}
+		/*
+		 * Start listening for incoming messages. When the JSON-RPC connection is closed
+		 * disconnect the remote client from the server.
+		 */
+		launcher.startListening().thenRun(removeClient);
+
+		// Alert the models they may begin requesting information from the client, 
+		// now that we are actually listening to their responses
+		server.clientAdded(launcher);
+
+		System.out.println("Client " + connection.getDescription() + " is connected");
 	}
-	
-	protected RSPServerSocketLauncher<RSPClient> createSocketLauncher(ServerManagementServerImpl server, Class<RSPClient> class1, Socket socket, LoggingPrintWriter loggingPrintWriter) throws IOException {
-		 return new RSPServerSocketLauncher<>(server,
-					RSPClient.class, socket, createLoggingPrintWriter());
+
+	protected SocketLauncher<RSPClient> createSocketLauncher(ServerManagementServerImpl server, ChannelConnection connection) {
+		return new ChannelLauncher<>(server, RSPClient.class, connection, messageTracer);
 	}
 	
-	private class LoggingStringWriter extends StringWriter {
-	    public void flush() {
-	    	String val = null;
-	    	synchronized(this) {
-	    		val = getBuffer().toString();
-	    		getBuffer().setLength(0);
-	    	}
-	    	LOG.debug(val);
-	    }
-	}
-	private LoggingPrintWriter createLoggingPrintWriter() {
-		LoggingStringWriter sw = new LoggingStringWriter();
-		LoggingPrintWriter writer = new LoggingPrintWriter(sw);
-		return writer;
-	}
-	private static class LoggingPrintWriter extends PrintWriter {
-		private StringWriter sw;
-		public LoggingPrintWriter(LoggingStringWriter writer) {
-			super(writer);
-			this.sw = writer;
-		}
-		
+	protected MessageTracer createMessageTracer() {
+		int size = RSPFlags.getIntSysprop(RSPFlags.SYSPROP_TRACE_SIZE, RSPFlags.DEFAULT_TRACE_SIZE);
+		if( size <= 0 )
+			return null;
+		MessageTracer tracer = new MessageTracer(size);
+		tracer.start();
+		return tracer;
 	}
-	
+
+	/**
+	 * @return the tracer recording all messages, or null if tracing is disabled
+	 */
+	public MessageTracer getMessageTracer() {
+		return messageTracer;
+	}
+
 	public void shutdown() {
 		persistenceEventManager.saveState();
-		if( socketRunnable != null )
-			socketRunnable.stopListening();
+		if( getModel().getServerHealthMonitor() != null )
+			getModel().getServerHealthMonitor().stop();
 		closeAllConnections();
-		try {
-			if( serverSocket != null )
-				serverSocket.close();
-		} catch(IOException ioe) {
-		}
+		if( connectionManager != null )
+			connectionManager.shutdown();
+		if( messageTracer != null )
+			messageTracer.stop();
+		serverImpl.getRequestExecutor().shutdown();
+		serverImpl.getRemoteEventManager().shutdown();
 		ShutdownExecutor.getExecutor().shutdown();
 	}
 	
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One client connection, served by a {@link SelectorLoop}.
+ *
+ * Incoming bytes are split into messages on the selector thread and
+ * handed to the message handler given to {@link #start(Consumer)}.
+ * Outgoing messages may be sent from any thread; they are queued and
+ * written by the selector thread whenever the channel can take them,
+ * so a slow client never blocks the thread sending to it.
+ *
+ * The bytes queued but not written yet are counted. Senders that can
+ * hold back, like the notifications to the client, check
+ * {@link #isBackedUp()} before sending and wait for the writable
+ * listener while the count is above the outbound limit, so that a
+ * stalled client does not make the queue grow without bounds.
+ */
+public class ChannelConnection implements Closeable {
+	private static final Logger LOG = LoggerFactory.getLogger(ChannelConnection.class);
+
+	public static final long DEFAULT_OUTBOUND_LIMIT = 1024 * 1024;
+
+	private final SocketChannel channel;
+	private final SelectorLoop loop;
+	private final String description;
+	private final ContentLengthDecoder decoder = new ContentLengthDecoder();
+	private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+	private final AtomicLong outboundBytes = new AtomicLong();
+	private final AtomicBoolean writeScheduled = new AtomicBoolean(false);
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+	private final CompletableFuture<Void> closeFuture = new CompletableFuture<>();
+
+	private volatile Consumer<String> messageHandler;
+	private volatile long lastActivity;
+	private volatile long outboundLimit = DEFAULT_OUTBOUND_LIMIT;
+	private volatile Runnable writableListener;
+	// The thread handing incoming messages to the handler, if any
+	private volatile Thread dispatchThread;
+
+	// Only accessed from the selector thread
+	private SelectionKey key;
+
+	ChannelConnection(SocketChannel channel, SelectorLoop loop, String description) {
+		this.channel = channel;
+		this.loop = loop;
+		this.description = description;
+		this.lastActivity = System.currentTimeMillis();
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Begin reading from the connection.
+	 *
+	 * @param handler receives the content of each incoming message,
+	 *    on the selector thread
+	 * @return a future that completes when the connection is closed
+	 */
+	public CompletableFuture<Void> start(Consumer<String> handler) {
+		if( this.messageHandler != null )
+			throw new IllegalStateException("The connection is already started.");
+		this.messageHandler = handler;
+		loop.register(this);
+		return closeFuture;
+	}
+
+	/**
+	 * Queue a message to be written to the client.
+	 * Messages sent after the connection is closed are dropped.
+	 */
+	public void send(String content) {
+		if( closed.get())
+			return;
+		byte[] body = content.getBytes(StandardCharsets.UTF_8);
+		byte[] header = ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer buf = ByteBuffer.allocate(header.length + body.length);
+		buf.put(header).put(body);
+		buf.flip();
+		outboundBytes.addAndGet(buf.remaining());
+		outbound.add(buf);
+		if( writeScheduled.compareAndSet(false, true)) {
+			loop.requestWrite(this);
+		}
+	}
+
+	/**
+	 * @param limit the number of pending bytes above which 
+	 *   the connection is backed up
+	 */
+	public void setOutboundLimit(long limit) {
+		this.outboundLimit = Math.max(1, limit);
+	}
+
+	/**
+	 * @param listener run on the selector thread whenever the 
+	 *   pending bytes drop below the outbound limit again
+	 */
+	public void setWritableListener(Runnable listener) {
+		this.writableListener = listener;
+	}
+
+	/**
+	 * @return the number of bytes queued but not written yet
+	 */
+	public long getOutboundBytes() {
+		return outboundBytes.get();
+	}
+
+	/**
+	 * @return whether more bytes than the outbound limit are waiting 
+	 *   to be written, because the client does not read them fast enough
+	 */
+	public boolean isBackedUp() {
+		return outboundBytes.get() >= outboundLimit;
+	}
+
+	public CompletableFuture<Void> getCloseFuture() {
+		return closeFuture;
+	}
+
+	public boolean isClosed() {
+		return closed.get();
+	}
+
+	public long getLastActivity() {
+		return lastActivity;
+	}
+
+	@Override
+	public void close() {
+		if( !closed.compareAndSet(false, true))
+			return;
+		try {
+			channel.close();
+		} catch(IOException ioe) {
+			// Ignore
+		}
+		outbound.clear();
+		outboundBytes.set(0);
+		/*
+		 * A message that closes its own connection, like a shutdown request,
+		 * is fully handled before anyone waiting for the close is told
+		 */
+		if( Thread.currentThread() != dispatchThread )
+			closeFuture.complete(null);
+	}
+
+	SocketChannel getChannel() {
+		return channel;
+	}
+
+	void setKey(SelectionKey key) {
+		this.key = key;
+	}
+
+	boolean hasPendingWrites() {
+		return !outbound.isEmpty();
+	}
+
+	/*
+	 * Called on the selector thread
+	 */
+	void handleRead(ByteBuffer readBuffer) {
+		try {
+			readBuffer.clear();
+			int read = channel.read(readBuffer);
+			if( read == -1 ) {
+				close();
+				return;
+			}
+			lastActivity = System.currentTimeMillis();
+			readBuffer.flip();
+			decoder.append(readBuffer);
+			String msg = null;
+			dispatchThread = Thread.currentThread();
+			try {
+				while( !closed.get() && (msg = decoder.next()) != null) {
+					messageHandler.accept(msg);
+				}
+			} finally {
+				dispatchThread = null;
+				if( closed.get())
+					closeFuture.complete(null);
+			}
+		} catch(IOException ioe) {
+			LOG.debug("Closing connection " + description + " after read failure", ioe);
+			close();
+		}
+	}
+
+	/*
+	 * Called on the selector thread
+	 */
+	void handleWrite() {
+		try {
+			ByteBuffer next = null;
+			while((next = outbound.peek()) != null) {
+				channel.write(next);
+				if( next.hasRemaining()) {
+					// Socket buffer is full, wait until writable
+					enableWrite(true);
+					return;
+				}
+				outbound.poll();
+				written(next.limit());
+				lastActivity = System.currentTimeMillis();
+			}
+			enableWrite(false);
+			writeScheduled.set(false);
+			// A message may have been queued after the last poll but before the flag was cleared
+			if( !outbound.isEmpty() && writeScheduled.compareAndSet(false, true)) {
+				enableWrite(true);
+			}
+		} catch(IOException ioe) {
+			LOG.debug("Closing connection " + description + " after write failure", ioe);
+			close();
+		}
+	}
+
+	private void written(int bytes) {
+		long limit = outboundLimit;
+		long after = outboundBytes.addAndGet(-bytes);
+		Runnable listener = writableListener;
+		if( listener != null && after < limit && after + bytes >= limit ) {
+			try {
+				listener.run();
+			} catch(RuntimeException re) {
+				LOG.error("Error notifying that connection " + description + " is writable", re);
+			}
+		}
+	}
+
+	private void enableWrite(boolean enable) {
+		if( key == null || !key.isValid())
+			return;
+		int ops = key.interestOps();
+		key.interestOps(enable ? ops | SelectionKey.OP_WRITE : ops & ~SelectionKey.OP_WRITE);
+	}
+
+	@Override
+	public String toString() {
+		return description;
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.eclipse.lsp4j.jsonrpc.Launcher;
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.MessageIssueException;
+import org.eclipse.lsp4j.jsonrpc.RemoteEndpoint;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.services.ServiceEndpoints;
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
+import org.jboss.tools.rsp.server.tracing.MessageTracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonParseException;
+
+/**
+ * A json-rpc launcher for a {@link ChannelConnection}.
+ *
+ * Unlike a stream based launcher, it needs no thread of its own:
+ * messages are parsed and dispatched on the connection's selector
+ * thread, with the remote proxy set as the active client while
+ * each message is being handled, and outgoing messages are queued
+ * on the connection.
+ */
+public class ChannelLauncher<T> extends SocketLauncher<T> {
+	private static final Logger LOG = LoggerFactory.getLogger(ChannelLauncher.class);
+
+	private final ChannelConnection connection;
+	private final ChannelLauncherDelegate<T> delegate;
+
+	/**
+	 * @param tracer traces all incoming and outgoing messages, or null
+	 */
+	public ChannelLauncher(Object localService, Class<T> remoteInterface,
+			ChannelConnection connection, MessageTracer tracer) {
+		this(createDelegate(localService, remoteInterface, connection, tracer), connection);
+	}
+
+	protected ChannelLauncher(ChannelLauncherDelegate<T> delegate, ChannelConnection connection) {
+		super(delegate, connection);
+		this.delegate = delegate;
+		this.connection = connection;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ChannelLauncherDelegate<T> createDelegate(Object localService, Class<T> remoteInterface,
+			ChannelConnection connection, MessageTracer tracer) {
+		ChannelBuilder<T> builder = new ChannelBuilder<>(connection, tracer);
+		builder.setLocalService(localService).setRemoteInterface(remoteInterface)
+				.configureGson(SocketLauncher::configureGson);
+		return (ChannelLauncherDelegate<T>)builder.create();
+	}
+
+	public ChannelConnection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Begin reading messages from the connection.
+	 *
+	 * @return a future that completes when the connection is closed
+	 */
+	@Override
+	public CompletableFuture<Void> startListening() {
+		return delegate.startListening();
+	}
+
+	@Override
+	public Future<Void> getStartListeningResult() {
+		return connection.getCloseFuture();
+	}
+
+	protected static class ChannelBuilder<T> extends Launcher.Builder<T> {
+		private final ChannelConnection connection;
+		private final MessageTracer tracer;
+
+		public ChannelBuilder(ChannelConnection connection, MessageTracer tracer) {
+			this.connection = connection;
+			this.tracer = tracer;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Launcher<T> create() {
+			if (localServices == null)
+				throw new IllegalStateException("Local service must be configured.");
+			if (remoteInterfaces == null)
+				throw new IllegalStateException("Remote interface must be configured.");
+
+			MessageJsonHandler jsonHandler = createJsonHandler();
+			RemoteEndpoint remoteEndpoint = createRemoteEndpoint(jsonHandler);
+			T remoteProxy;
+			if (localServices.size() == 1 && remoteInterfaces.size() == 1) {
+				remoteProxy = ServiceEndpoints.toServiceObject(remoteEndpoint, remoteInterfaces.iterator().next());
+			} else {
+				remoteProxy = (T) ServiceEndpoints.toServiceObject(remoteEndpoint, (Collection<Class<?>>) (Object) remoteInterfaces, classLoader);
+			}
+			MessageConsumer incoming = remoteEndpoint;
+			if( tracer != null )
+				incoming = tracer.wrap(incoming, connection.getDescription(), true);
+			incoming = wrapMessageConsumer(incoming);
+			return new ChannelLauncherDelegate<>(connection, jsonHandler, incoming, remoteEndpoint, remoteProxy);
+		}
+
+		@Override
+		protected RemoteEndpoint createRemoteEndpoint(MessageJsonHandler jsonHandler) {
+			MessageConsumer outgoing = message -> connection.send(jsonHandler.serialize(message));
+			if( tracer != null )
+				outgoing = tracer.wrap(outgoing, connection.getDescription(), false);
+			outgoing = wrapMessageConsumer(outgoing);
+			RemoteEndpoint remoteEndpoint = new RemoteEndpoint(outgoing, ServiceEndpoints.toEndpoint(localServices));
+			jsonHandler.setMethodProvider(remoteEndpoint);
+			return remoteEndpoint;
+		}
+	}
+
+	protected static class ChannelLauncherDelegate<T> implements Launcher<T> {
+		private final ChannelConnection connection;
+		private final MessageJsonHandler jsonHandler;
+		private final MessageConsumer incoming;
+		private final RemoteEndpoint remoteEndpoint;
+		private final T remoteProxy;
+
+		ChannelLauncherDelegate(ChannelConnection connection, MessageJsonHandler jsonHandler,
+				MessageConsumer incoming, RemoteEndpoint remoteEndpoint, T remoteProxy) {
+			this.connection = connection;
+			this.jsonHandler = jsonHandler;
+			this.incoming = incoming;
+			this.remoteEndpoint = remoteEndpoint;
+			this.remoteProxy = remoteProxy;
+		}
+
+		@Override
+		public CompletableFuture<Void> startListening() {
+			return connection.start(this::messageReceived);
+		}
+
+		private void messageReceived(String content) {
+			RSPClient previous = ClientThreadLocal.getActiveClient();
+			if( remoteProxy instanceof RSPClient )
+				ClientThreadLocal.setActiveClient((RSPClient)remoteProxy);
+			try {
+				Message message = jsonHandler.parseMessage(content);
+				incoming.consume(message);
+			} catch(MessageIssueException mie) {
+				remoteEndpoint.handle(mie.getRpcMessage(), mie.getIssues());
+			} catch(JsonParseException jpe) {
+				LOG.error("Unable to parse message from " + connection.getDescription(), jpe);
+			} finally {
+				ClientThreadLocal.setActiveClient(previous);
+			}
+		}
+
+		@Override
+		public T getRemoteProxy() {
+			return remoteProxy;
+		}
+
+		@Override
+		public RemoteEndpoint getRemoteEndpoint() {
+			return remoteEndpoint;
+		}
+	}
+}
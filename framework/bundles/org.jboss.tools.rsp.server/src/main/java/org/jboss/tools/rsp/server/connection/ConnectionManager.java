@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.api.UnixDomainSockets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Accepts client connections and serves them from a small,
+ * fixed group of selector threads.
+ *
+ * Each listening channel gets one acceptor thread. Accepted connections
+ * are spread over the selector threads, so the number of threads does not
+ * grow with the number of clients. Connections beyond the configured
+ * maximum are closed as soon as they are accepted, and connections
+ * without any traffic for longer than the idle timeout are closed.
+ */
+public class ConnectionManager {
+	private static final Logger LOG = LoggerFactory.getLogger(ConnectionManager.class);
+
+	private final IConnectionHandler handler;
+	private final int ioThreads;
+	private final int maxConnections;
+	private final long idleTimeout;
+
+	private final Set<ChannelConnection> connections = ConcurrentHashMap.newKeySet();
+	private final List<ServerSocketChannel> listeners = new ArrayList<>();
+	private final List<Path> socketFiles = new ArrayList<>();
+	private final AtomicInteger nextLoop = new AtomicInteger();
+	private final AtomicInteger localConnections = new AtomicInteger();
+	// Slots taken by open connections, and by those being set up
+	private final AtomicInteger slots = new AtomicInteger();
+	private SelectorLoop[] loops;
+	private volatile boolean shutdown = false;
+
+	/**
+	 * @param handler notified of each accepted connection
+	 * @param ioThreads the number of selector threads
+	 * @param maxConnections the maximum number of simultaneously open connections
+	 * @param idleTimeout milliseconds without traffic after which
+	 *    a connection is closed, or 0 to keep idle connections open
+	 */
+	public ConnectionManager(IConnectionHandler handler, int ioThreads, int maxConnections, long idleTimeout) {
+		this.handler = handler;
+		this.ioThreads = Math.max(1, ioThreads);
+		this.maxConnections = Math.max(1, maxConnections);
+		this.idleTimeout = Math.max(0, idleTimeout);
+	}
+
+	/**
+	 * Listen for tcp connections on the given port of all local addresses
+	 * @return the address actually bound
+	 */
+	public SocketAddress listen(int port) throws IOException {
+		ServerSocketChannel channel = ServerSocketChannel.open();
+		try {
+			channel.bind(new InetSocketAddress(port));
+		} catch(IOException ioe) {
+			channel.close();
+			throw ioe;
+		}
+		listen(channel);
+		return channel.getLocalAddress();
+	}
+
+	/**
+	 * Listen for connections on a unix domain socket at the given path.
+	 * The socket file is deleted when this manager is shut down.
+	 * 
+	 * @throws IOException if the socket cannot be bound, or unix domain
+	 * sockets are not supported by the running jvm
+	 */
+	public synchronized SocketAddress listen(Path socket) throws IOException {
+		ServerSocketChannel channel = UnixDomainSockets.openServerChannel(socket);
+		try {
+			listen(channel);
+		} catch(IOException ioe) {
+			channel.close();
+			Files.deleteIfExists(socket);
+			throw ioe;
+		}
+		socketFiles.add(socket);
+		return channel.getLocalAddress();
+	}
+
+	/**
+	 * Begin accepting connections from the given bound channel.
+	 * The channel is closed when this manager is shut down.
+	 */
+	public synchronized void listen(ServerSocketChannel channel) throws IOException {
+		if( shutdown )
+			throw new ClosedChannelException();
+		startLoops();
+		channel.configureBlocking(true);
+		listeners.add(channel);
+		Thread acceptor = new Thread(() -> accept(channel), "RSP connection acceptor " + channel.getLocalAddress());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	private void startLoops() throws IOException {
+		if( loops != null )
+			return;
+		SelectorLoop[] tmp = new SelectorLoop[ioThreads];
+		for( int i = 0; i < tmp.length; i++ ) {
+			tmp[i] = new SelectorLoop("RSP connection I/O " + i, idleTimeout);
+		}
+		for( int i = 0; i < tmp.length; i++ ) {
+			tmp[i].start();
+		}
+		loops = tmp;
+	}
+
+	private void accept(ServerSocketChannel server) {
+		while(!shutdown) {
+			SocketChannel channel = null;
+			try {
+				channel = server.accept();
+			} catch(IOException ioe) {
+				if( !shutdown && server.isOpen()) {
+					LOG.error("Error accepting a connection", ioe);
+					continue;
+				}
+				return;
+			}
+			acceptOne(channel);
+		}
+	}
+
+	private void acceptOne(SocketChannel channel) {
+		String description = describe(channel);
+		if( !reserveSlot()) {
+			LOG.warn("Refusing connection from {}: already at the maximum of {} connections", description, maxConnections);
+			closeQuietly(channel);
+			return;
+		}
+		ChannelConnection connection = null;
+		try {
+			channel.configureBlocking(false);
+			configureSocket(channel);
+			connection = new ChannelConnection(channel, nextLoop(), description);
+		} catch(IOException ioe) {
+			LOG.error("Unable to configure connection from " + description, ioe);
+			closeQuietly(channel);
+			slots.decrementAndGet();
+			return;
+		}
+		final ChannelConnection c = connection;
+		connections.add(c);
+		c.getCloseFuture().thenRun(() -> {
+			slots.decrementAndGet();
+			connections.remove(c);
+		});
+		try {
+			handler.connectionAccepted(c);
+		} catch(RuntimeException re) {
+			LOG.error("Error initializing connection from " + description, re);
+			c.close();
+		}
+	}
+
+	/*
+	 * The acceptor threads of all listeners share the slots, 
+	 * so a slot is taken before the connection is set up
+	 */
+	private boolean reserveSlot() {
+		while( true ) {
+			int taken = slots.get();
+			if( taken >= maxConnections )
+				return false;
+			if( slots.compareAndSet(taken, taken + 1))
+				return true;
+		}
+	}
+
+	private void configureSocket(SocketChannel channel) {
+		try {
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+		} catch(UnsupportedOperationException | IOException e) {
+			// Not a tcp socket
+		}
+	}
+
+	private String describe(SocketChannel channel) {
+		try {
+			SocketAddress remote = channel.getRemoteAddress();
+			if( remote instanceof InetSocketAddress ) {
+				InetSocketAddress inet = (InetSocketAddress)remote;
+				return inet.getHostString() + ":" + inet.getPort();
+			}
+			if( remote != null && !remote.toString().isEmpty())
+				return remote.toString();
+			if( remote != null ) {
+				// Clients of unix domain sockets are unnamed
+				return "local connection " + localConnections.incrementAndGet();
+			}
+		} catch(IOException ioe) {
+			// Ignore
+		}
+		return "unknown";
+	}
+
+	private SelectorLoop nextLoop() {
+		int i = Math.floorMod(nextLoop.getAndIncrement(), loops.length);
+		return loops[i];
+	}
+
+	private void closeQuietly(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch(IOException ioe) {
+			// Ignore
+		}
+	}
+
+	public int getConnectionCount() {
+		return connections.size();
+	}
+
+	public List<ChannelConnection> getConnections() {
+		return new ArrayList<>(connections);
+	}
+
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Stop accepting connections, close all open connections
+	 * and stop the selector threads.
+	 */
+	public synchronized void shutdown() {
+		if( shutdown )
+			return;
+		shutdown = true;
+		for( ServerSocketChannel l : listeners ) {
+			try {
+				l.close();
+			} catch(IOException ioe) {
+				// Ignore
+			}
+		}
+		listeners.clear();
+		for( Path p : socketFiles ) {
+			try {
+				Files.deleteIfExists(p);
+			} catch(IOException ioe) {
+				LOG.warn("Unable to delete socket file {}", p);
+			}
+		}
+		socketFiles.clear();
+		for( ChannelConnection c : getConnections()) {
+			c.close();
+		}
+		if( loops != null ) {
+			for( SelectorLoop l : loops ) {
+				l.shutdown();
+			}
+		}
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Splits the bytes read from a connection into json-rpc messages.
+ *
+ * Each message is preceded by a set of headers, terminated by an
+ * empty line, of which Content-Length is required and Content-Type
+ * may declare the charset of the content. This is the same framing
+ * that lsp4j's StreamMessageProducer reads from a blocking stream,
+ * but fed incrementally with whatever bytes happen to be available.
+ */
+public class ContentLengthDecoder {
+	private static final String CONTENT_LENGTH_HEADER = "content-length";
+	private static final String CONTENT_TYPE_HEADER = "content-type";
+	private static final String CHARSET_PARAM = "charset=";
+
+	/**
+	 * Upper bound on the size of one message, so that a
+	 * malformed header can't make us allocate without limit
+	 */
+	public static final int MAX_CONTENT_LENGTH = 64 * 1024 * 1024;
+
+	private byte[] buffer;
+	private int start = 0;
+	private int end = 0;
+
+	// Headers of the message being read, or -1 if still reading headers
+	private int contentLength = -1;
+	private Charset charset;
+
+	public ContentLengthDecoder() {
+		this(8192);
+	}
+
+	public ContentLengthDecoder(int initialCapacity) {
+		this.buffer = new byte[initialCapacity];
+	}
+
+	/**
+	 * Append all remaining bytes of the given buffer.
+	 */
+	public void append(ByteBuffer src) {
+		int len = src.remaining();
+		ensureCapacity(len);
+		src.get(buffer, end, len);
+		end += len;
+	}
+
+	/**
+	 * Return the content of the next complete message,
+	 * or null if more bytes are needed.
+	 *
+	 * @throws IOException if the headers are malformed
+	 */
+	public String next() throws IOException {
+		if( contentLength == -1 && !readHeaders()) {
+			return null;
+		}
+		if( end - start < contentLength ) {
+			return null;
+		}
+		String ret = new String(buffer, start, contentLength, charset);
+		start += contentLength;
+		contentLength = -1;
+		charset = null;
+		if( start == end ) {
+			start = end = 0;
+		}
+		return ret;
+	}
+
+	/**
+	 * @return the number of bytes read but not yet returned as a message
+	 */
+	public int getBufferedLength() {
+		return end - start;
+	}
+
+	private boolean readHeaders() throws IOException {
+		int headerEnd = indexOfEmptyLine();
+		if( headerEnd == -1 ) {
+			if( end - start > 8192 ) {
+				throw new IOException("Message headers exceed 8192 bytes");
+			}
+			return false;
+		}
+		String headers = new String(buffer, start, headerEnd - start, StandardCharsets.US_ASCII);
+		int length = -1;
+		Charset cs = StandardCharsets.UTF_8;
+		for( String line : headers.split("\r\n")) {
+			int sep = line.indexOf(':');
+			if( sep == -1 )
+				continue;
+			String key = line.substring(0, sep).trim().toLowerCase();
+			String value = line.substring(sep + 1).trim();
+			if( CONTENT_LENGTH_HEADER.equals(key)) {
+				length = parseLength(value);
+			} else if( CONTENT_TYPE_HEADER.equals(key)) {
+				cs = parseCharset(value, cs);
+			}
+		}
+		if( length == -1 ) {
+			throw new IOException("Message is missing a Content-Length header");
+		}
+		start = headerEnd + 4;
+		contentLength = length;
+		charset = cs;
+		return true;
+	}
+
+	private int parseLength(String value) throws IOException {
+		try {
+			int ret = Integer.parseInt(value);
+			if( ret < 0 || ret > MAX_CONTENT_LENGTH ) {
+				throw new IOException("Invalid Content-Length: " + value);
+			}
+			return ret;
+		} catch(NumberFormatException nfe) {
+			throw new IOException("Invalid Content-Length: " + value, nfe);
+		}
+	}
+
+	private Charset parseCharset(String value, Charset def) {
+		int i = value.indexOf(CHARSET_PARAM);
+		if( i == -1 )
+			return def;
+		String name = value.substring(i + CHARSET_PARAM.length());
+		int semi = name.indexOf(';');
+		if( semi != -1 )
+			name = name.substring(0, semi);
+		try {
+			return Charset.forName(name.trim());
+		} catch(IllegalCharsetNameException | UnsupportedCharsetException e) {
+			return def;
+		}
+	}
+
+	private int indexOfEmptyLine() {
+		for( int i = start; i + 3 < end; i++ ) {
+			if( buffer[i] == '\r' && buffer[i+1] == '\n' && buffer[i+2] == '\r' && buffer[i+3] == '\n')
+				return i;
+		}
+		return -1;
+	}
+
+	private void ensureCapacity(int additional) {
+		if( end + additional <= buffer.length )
+			return;
+		int used = end - start;
+		if( used + additional <= buffer.length ) {
+			// Enough room once the consumed bytes are dropped
+			System.arraycopy(buffer, start, buffer, 0, used);
+		} else {
+			byte[] bigger = new byte[Math.max(buffer.length * 2, used + additional)];
+			System.arraycopy(buffer, start, bigger, 0, used);
+			buffer = bigger;
+		}
+		start = 0;
+		end = used;
+	}
+}
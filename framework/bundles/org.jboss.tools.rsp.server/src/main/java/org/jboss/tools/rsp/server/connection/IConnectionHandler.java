@@ -0,0 +1,20 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+public interface IConnectionHandler {
+	/**
+	 * A new connection has been accepted. The handler is expected to
+	 * call {@link ChannelConnection#start(java.util.function.Consumer)}
+	 * once it is ready to receive messages.
+	 *
+	 * This is called on the acceptor thread.
+	 */
+	public void connectionAccepted(ChannelConnection connection);
+}
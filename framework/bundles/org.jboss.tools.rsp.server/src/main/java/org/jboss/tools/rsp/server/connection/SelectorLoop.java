@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single I/O thread multiplexing the reads and writes
+ * of any number of {@link ChannelConnection}s.
+ */
+class SelectorLoop implements Runnable {
+	private static final Logger LOG = LoggerFactory.getLogger(SelectorLoop.class);
+
+	private final Selector selector;
+	private final Thread thread;
+	private final long idleTimeout;
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+	private final Queue<ChannelConnection> pendingRegistrations = new ConcurrentLinkedQueue<>();
+	private final Queue<ChannelConnection> pendingWrites = new ConcurrentLinkedQueue<>();
+	private volatile boolean running = true;
+
+	/**
+	 * @param name the name of the thread
+	 * @param idleTimeout milliseconds without any traffic after which
+	 *    a connection is closed, or 0 to never close idle connections
+	 */
+	SelectorLoop(String name, long idleTimeout) throws IOException {
+		this.selector = Selector.open();
+		this.idleTimeout = idleTimeout;
+		this.thread = new Thread(this, name);
+		this.thread.setDaemon(true);
+	}
+
+	void start() {
+		thread.start();
+	}
+
+	void register(ChannelConnection connection) {
+		pendingRegistrations.add(connection);
+		selector.wakeup();
+	}
+
+	void requestWrite(ChannelConnection connection) {
+		pendingWrites.add(connection);
+		selector.wakeup();
+	}
+
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		long selectTimeout = idleTimeout > 0 ? Math.min(1000, idleTimeout) : 0;
+		try {
+			while(running) {
+				selector.select(selectTimeout);
+				processRegistrations();
+				processWrites();
+				processSelectedKeys();
+				if( idleTimeout > 0 )
+					closeIdleConnections();
+			}
+		} catch(IOException | ClosedSelectorException e) {
+			LOG.error("Selector loop " + thread.getName() + " failed", e);
+		} finally {
+			closeAll();
+		}
+	}
+
+	private void processRegistrations() {
+		ChannelConnection c = null;
+		while((c = pendingRegistrations.poll()) != null) {
+			if( c.isClosed())
+				continue;
+			try {
+				int ops = SelectionKey.OP_READ;
+				if( c.hasPendingWrites())
+					ops |= SelectionKey.OP_WRITE;
+				c.setKey(c.getChannel().register(selector, ops, c));
+			} catch(ClosedChannelException cce) {
+				c.close();
+			}
+		}
+	}
+
+	private void processWrites() {
+		ChannelConnection c = null;
+		while((c = pendingWrites.poll()) != null) {
+			if( !c.isClosed())
+				c.handleWrite();
+		}
+	}
+
+	private void processSelectedKeys() {
+		Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+		while(it.hasNext()) {
+			SelectionKey key = it.next();
+			it.remove();
+			ChannelConnection c = (ChannelConnection)key.attachment();
+			try {
+				if( key.isValid() && key.isReadable())
+					c.handleRead(readBuffer);
+				if( key.isValid() && key.isWritable())
+					c.handleWrite();
+			} catch(RuntimeException re) {
+				LOG.error("Error handling connection " + c + ", closing it", re);
+				c.close();
+			}
+		}
+	}
+
+	private void closeIdleConnections() {
+		long now = System.currentTimeMillis();
+		for( SelectionKey key : selector.keys()) {
+			ChannelConnection c = (ChannelConnection)key.attachment();
+			if( now - c.getLastActivity() > idleTimeout ) {
+				LOG.info("Closing idle connection {}", c);
+				c.close();
+			}
+		}
+	}
+
+	private void closeAll() {
+		List<ChannelConnection> all = new ArrayList<>();
+		try {
+			for( SelectionKey key : selector.keys()) {
+				all.add((ChannelConnection)key.attachment());
+			}
+		} catch(ClosedSelectorException cse) {
+			// Already closed
+		}
+		all.addAll(pendingRegistrations);
+		for( ChannelConnection c : all ) {
+			c.close();
+		}
+		try {
+			selector.close();
+		} catch(IOException ioe) {
+			// Ignore
+		}
+	}
+}
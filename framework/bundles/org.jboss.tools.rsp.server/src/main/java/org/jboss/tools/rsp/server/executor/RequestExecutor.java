@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.executor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.lsp4j.jsonrpc.ResponseErrorException;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
+
+/**
+ * Runs the requests made by clients of the server.
+ *
+ * Requests are split between two lanes: a blocking lane for requests
+ * that may do disk or network I/O or run for a long time (launching
+ * servers, publishing, discovering or downloading runtimes), and a fast
+ * lane for requests that only read the in-memory model. A client
+ * starting a server or listing downloadable runtimes therefore
+ * never delays another client asking for the list of servers.
+ *
+ * Both lanes are bounded. A request that does not fit is not queued;
+ * its future is completed right away with a rejection instead.
+ *
+ * Batches run one step per item, with as many steps in flight as the 
+ * lane has threads. Each step queues the next one behind the requests
+ * of other clients, so a large batch is run in parallel without
+ * filling the client's queue or starving the other clients.
+ */
+public class RequestExecutor {
+
+	/**
+	 * Error code sent to clients when a request is rejected
+	 * because the server is too busy to queue it.
+	 * Lies within the json-rpc range reserved for server errors.
+	 */
+	public static final int REQUEST_REJECTED_ERROR_CODE = -32001;
+
+	public enum Lane {
+		FAST, BLOCKING
+	}
+
+	private final RequestLane fast;
+	private final RequestLane blocking;
+
+	public RequestExecutor() {
+		this(new RequestLane("fast",
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_FAST_REQUEST_THREADS, RSPFlags.DEFAULT_FAST_REQUEST_THREADS),
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_FAST_REQUEST_QUEUE, RSPFlags.DEFAULT_FAST_REQUEST_QUEUE),
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_CLIENT_REQUEST_QUEUE, RSPFlags.DEFAULT_CLIENT_REQUEST_QUEUE)),
+			new RequestLane("blocking",
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_BLOCKING_REQUEST_THREADS, RSPFlags.DEFAULT_BLOCKING_REQUEST_THREADS),
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_BLOCKING_REQUEST_QUEUE, RSPFlags.DEFAULT_BLOCKING_REQUEST_QUEUE),
+					RSPFlags.getIntSysprop(RSPFlags.SYSPROP_CLIENT_REQUEST_QUEUE, RSPFlags.DEFAULT_CLIENT_REQUEST_QUEUE)));
+	}
+
+	public RequestExecutor(RequestLane fast, RequestLane blocking) {
+		this.fast = fast;
+		this.blocking = blocking;
+	}
+
+	public RequestLane getLane(Lane lane) {
+		return lane == Lane.BLOCKING ? blocking : fast;
+	}
+
+	/**
+	 * Run the given supplier in the given lane on behalf of the
+	 * client active on the calling thread. The client remains
+	 * the active client while the supplier runs.
+	 *
+	 * If the request is rejected, the returned future is
+	 * completed exceptionally with a {@link ResponseErrorException}.
+	 */
+	public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> supplier) {
+		return submit(lane, supplier, null);
+	}
+
+	/**
+	 * Run the given supplier in the given lane on behalf of the
+	 * client active on the calling thread. The client remains
+	 * the active client while the supplier runs.
+	 *
+	 * If the request is rejected, the returned future is completed
+	 * with the value of the rejection supplier, or exceptionally
+	 * with a {@link ResponseErrorException} if there is none.
+	 */
+	public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> supplier, Supplier<T> onRejected) {
+		final RSPClient rspc = ClientThreadLocal.getActiveClient();
+		RequestTask<T> task = new RequestTask<>(getLane(lane), rspc, supplier, onRejected);
+		if( !task.lane.submit(rspc, task)) {
+			task.reject();
+		}
+		return task.future;
+	}
+
+	/**
+	 * Apply the given function to each of the given parameters in the
+	 * given lane, in parallel, on behalf of the client active on the 
+	 * calling thread. The returned future is completed with the results,
+	 * in the order of the parameters, once all of them are available.
+	 *
+	 * Items that are rejected get the value of the rejection supplier.
+	 * If there is none, the whole batch is completed exceptionally 
+	 * with a {@link ResponseErrorException}, as is a batch in which
+	 * the function throws.
+	 */
+	public <P, T> CompletableFuture<List<T>> submitAll(Lane lane, List<P> params, 
+			Function<P, T> function, Supplier<T> onRejected) {
+		final RSPClient rspc = ClientThreadLocal.getActiveClient();
+		BatchRequest<P, T> batch = new BatchRequest<>(getLane(lane), rspc, params, function, onRejected);
+		batch.start();
+		return batch.future;
+	}
+
+	/**
+	 * Stop both lanes. Requests that have not started yet are rejected.
+	 */
+	public void shutdown() {
+		rejectAll(fast.shutdown());
+		rejectAll(blocking.shutdown());
+	}
+
+	private void rejectAll(List<Runnable> pending) {
+		for( Runnable r : pending ) {
+			if( r instanceof Rejectable )
+				((Rejectable)r).reject();
+		}
+	}
+
+	private static ResponseErrorException rejection(RequestLane lane) {
+		String msg = "Request rejected: the server's " + lane.getName()
+			+ " request queue is full. Please try again later.";
+		return new ResponseErrorException(new ResponseError(REQUEST_REJECTED_ERROR_CODE, msg, null));
+	}
+
+	/*
+	 * The client is told any failure of its request. Errors the vm 
+	 * can not recover from are passed on to the worker thread too.
+	 */
+	private static void rethrowIfFatal(Throwable t) {
+		if( t instanceof VirtualMachineError || t instanceof ThreadDeath )
+			throw (Error)t;
+	}
+
+	private interface Rejectable {
+		void reject();
+	}
+
+	private static class RequestTask<T> implements Runnable, Rejectable {
+		private final RequestLane lane;
+		private final RSPClient client;
+		private final Supplier<T> supplier;
+		private final Supplier<T> onRejected;
+		private final CompletableFuture<T> future = new CompletableFuture<>();
+
+		private RequestTask(RequestLane lane, RSPClient client, Supplier<T> supplier, Supplier<T> onRejected) {
+			this.lane = lane;
+			this.client = client;
+			this.supplier = supplier;
+			this.onRejected = onRejected;
+		}
+
+		@Override
+		public void run() {
+			if( future.isDone())
+				return;
+			ClientThreadLocal.setActiveClient(client);
+			try {
+				future.complete(supplier.get());
+			} catch(Throwable t) {
+				future.completeExceptionally(t);
+				rethrowIfFatal(t);
+			} finally {
+				ClientThreadLocal.setActiveClient(null);
+			}
+		}
+
+		@Override
+		public void reject() {
+			if( onRejected != null ) {
+				future.complete(onRejected.get());
+			} else {
+				future.completeExceptionally(rejection(lane));
+			}
+		}
+	}
+
+	private static class BatchRequest<P, T> {
+		private final RequestLane lane;
+		private final RSPClient client;
+		private final List<P> params;
+		private final Function<P, T> function;
+		private final Supplier<T> onRejected;
+		private final Object[] results;
+		private final AtomicInteger next = new AtomicInteger();
+		private final AtomicInteger remaining;
+		private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+
+		private BatchRequest(RequestLane lane, RSPClient client, List<P> params, 
+				Function<P, T> function, Supplier<T> onRejected) {
+			this.lane = lane;
+			this.client = client;
+			this.params = params == null ? new ArrayList<>() : new ArrayList<>(params);
+			this.function = function;
+			this.onRejected = onRejected;
+			this.results = new Object[this.params.size()];
+			this.remaining = new AtomicInteger(this.params.size());
+		}
+
+		private void start() {
+			if( params.isEmpty()) {
+				future.complete(new ArrayList<>());
+				return;
+			}
+			int steps = Math.min(params.size(), lane.getThreadCount());
+			for( int i = 0; i < steps; i++ ) {
+				schedule();
+			}
+		}
+
+		private void schedule() {
+			BatchStep step = new BatchStep();
+			if( !lane.submit(client, step)) {
+				step.reject();
+			}
+		}
+
+		private void run(int index) {
+			ClientThreadLocal.setActiveClient(client);
+			try {
+				results[index] = function.apply(params.get(index));
+				finished();
+			} catch(Throwable t) {
+				future.completeExceptionally(t);
+				rethrowIfFatal(t);
+			} finally {
+				ClientThreadLocal.setActiveClient(null);
+			}
+		}
+
+		private void rejectRemaining() {
+			if( onRejected == null ) {
+				future.completeExceptionally(rejection(lane));
+				return;
+			}
+			for( int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+				results[i] = onRejected.get();
+				finished();
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private void finished() {
+			if( remaining.decrementAndGet() == 0 ) {
+				future.complete((List<T>)Arrays.asList(results));
+			}
+		}
+
+		private class BatchStep implements Runnable, Rejectable {
+			@Override
+			public void run() {
+				if( future.isDone())
+					return;
+				int index = next.getAndIncrement();
+				if( index >= results.length )
+					return;
+				BatchRequest.this.run(index);
+				if( next.get() < results.length && !future.isDone())
+					schedule();
+			}
+
+			@Override
+			public void reject() {
+				rejectRemaining();
+			}
+		}
+	}
+}
@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.executor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed group of worker threads fed by bounded, per-client queues.
+ *
+ * Workers pick clients in round-robin order, one request at a time,
+ * so that a single client flooding the lane cannot starve the others.
+ * Requests that do not fit in either the client's queue or the
+ * lane's total queue are rejected immediately rather than queued
+ * without bound.
+ */
+public class RequestLane {
+	private static final Logger LOG = LoggerFactory.getLogger(RequestLane.class);
+
+	/**
+	 * Key used for requests that are not made on behalf of any client
+	 */
+	private static final Object NO_CLIENT = new Object();
+
+	private final String name;
+	private final int maxQueued;
+	private final int maxQueuedPerClient;
+	private final Thread[] workers;
+
+	// All guarded by 'this'
+	private final Map<Object, Deque<QueuedRequest>> queues = new HashMap<>();
+	private final Deque<Object> readyClients = new ArrayDeque<>();
+	private int queued = 0;
+	private int maxQueueDepth = 0;
+	private boolean shutdown = false;
+
+	private final AtomicLong submitted = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+	private final AtomicLong started = new AtomicLong();
+	private final AtomicLong completed = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+
+	public RequestLane(String name, int threads, int maxQueued, int maxQueuedPerClient) {
+		this.name = name;
+		this.maxQueued = Math.max(1, maxQueued);
+		this.maxQueuedPerClient = Math.max(1, maxQueuedPerClient);
+		this.workers = new Thread[Math.max(1, threads)];
+		for( int i = 0; i < workers.length; i++ ) {
+			workers[i] = new Thread(this::work, "RSP " + name + " request worker " + i);
+			workers[i].setDaemon(true);
+			workers[i].start();
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getThreadCount() {
+		return workers.length;
+	}
+
+	/**
+	 * Queue the given task on behalf of the given client.
+	 *
+	 * @param client the client making the request, or null
+	 * @param task the task to run
+	 * @return true if the task was queued, false if it was rejected
+	 *         because the lane is full or shut down
+	 */
+	public boolean submit(Object client, Runnable task) {
+		Object key = client == null ? NO_CLIENT : client;
+		synchronized(this) {
+			if( shutdown ) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			Deque<QueuedRequest> q = queues.get(key);
+			int clientDepth = q == null ? 0 : q.size();
+			if( queued >= maxQueued || clientDepth >= maxQueuedPerClient) {
+				rejected.incrementAndGet();
+				return false;
+			}
+			if( q == null ) {
+				q = new ArrayDeque<>();
+				queues.put(key, q);
+				readyClients.addLast(key);
+			}
+			q.addLast(new QueuedRequest(task));
+			queued++;
+			maxQueueDepth = Math.max(maxQueueDepth, queued);
+			submitted.incrementAndGet();
+			notify();
+		}
+		return true;
+	}
+
+	/**
+	 * Stop accepting requests and discard all pending ones.
+	 * Requests currently running are allowed to finish.
+	 *
+	 * @return the tasks that were queued but never run
+	 */
+	public List<Runnable> shutdown() {
+		List<Runnable> pending = new ArrayList<>();
+		synchronized(this) {
+			shutdown = true;
+			for( Deque<QueuedRequest> q : queues.values()) {
+				for( QueuedRequest r : q ) {
+					pending.add(r.task);
+				}
+			}
+			queues.clear();
+			readyClients.clear();
+			queued = 0;
+			notifyAll();
+		}
+		LOG.debug("Request lane {} shut down: {}", name, this);
+		return pending;
+	}
+
+	public synchronized boolean isShutdown() {
+		return shutdown;
+	}
+
+	private void work() {
+		while(true) {
+			QueuedRequest next = take();
+			if( next == null )
+				return;
+			long waited = System.nanoTime() - next.queuedAt;
+			started.incrementAndGet();
+			totalWaitNanos.addAndGet(waited);
+			maxWaitNanos.accumulateAndGet(waited, Math::max);
+			try {
+				next.task.run();
+			} catch(RuntimeException re) {
+				LOG.error("Request in lane " + name + " failed", re);
+			} finally {
+				completed.incrementAndGet();
+			}
+		}
+	}
+
+	private synchronized QueuedRequest take() {
+		while( !shutdown && readyClients.isEmpty()) {
+			try {
+				wait();
+			} catch(InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		if( shutdown )
+			return null;
+
+		Object key = readyClients.removeFirst();
+		Deque<QueuedRequest> q = queues.get(key);
+		QueuedRequest ret = q.removeFirst();
+		queued--;
+		if( q.isEmpty()) {
+			queues.remove(key);
+		} else {
+			// Back of the line
+			readyClients.addLast(key);
+		}
+		return ret;
+	}
+
+	/*
+	 * Statistics
+	 */
+
+	public synchronized int getQueueDepth() {
+		return queued;
+	}
+
+	public synchronized int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	public long getSubmittedCount() {
+		return submitted.get();
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	/**
+	 * @return the average time in milliseconds a request
+	 * spent waiting in the queue before being run
+	 */
+	public long getAverageWaitMillis() {
+		long count = started.get();
+		return count == 0 ? 0 : totalWaitNanos.get() / count / 1000000;
+	}
+
+	public long getMaxWaitMillis() {
+		return maxWaitNanos.get() / 1000000;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + name + "] depth=" + getQueueDepth() + ", maxDepth=" + getMaxQueueDepth()
+				+ ", submitted=" + getSubmittedCount() + ", rejected=" + getRejectedCount()
+				+ ", completed=" + getCompletedCount() + ", avgWaitMs=" + getAverageWaitMillis()
+				+ ", maxWaitMs=" + getMaxWaitMillis();
+	}
+
+	private static class QueuedRequest {
+		private final Runnable task;
+		private final long queuedAt;
+		private QueuedRequest(Runnable task) {
+			this.task = task;
+			this.queuedAt = System.nanoTime();
+		}
+	}
+}
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.DeployableReference;
@@ -31,11 +32,15 @@ import org.jboss.tools.rsp.eclipse.core.runtime.Status;
 import org.jboss.tools.rsp.eclipse.debug.core.DebugEvent;
 import org.jboss.tools.rsp.eclipse.debug.core.IDebugEventSetListener;
 import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
-import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
 import org.jboss.tools.rsp.eclipse.debug.core.model.IProcess;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamsProxy;
 import org.jboss.tools.rsp.eclipse.osgi.util.NLS;
 import org.jboss.tools.rsp.launching.RuntimeProcessEventManager;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.ServerCoreActivator;
+import org.jboss.tools.rsp.server.model.internal.ServerStateAggregator;
 import org.jboss.tools.rsp.server.model.internal.ServerStreamListener;
 import org.jboss.tools.rsp.server.model.internal.publishing.ServerPublishStateModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
@@ -47,9 +52,13 @@ import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
 import org.jboss.tools.rsp.server.spi.servertype.IServerPublishModel;
 import org.jboss.tools.rsp.server.spi.servertype.IServerType;
 import org.jboss.tools.rsp.server.spi.util.StatusConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class AbstractServerDelegate implements IServerDelegate, IDebugEventSetListener {
 
+	private static final Logger LOG = LoggerFactory.getLogger(AbstractServerDelegate.class);
+
 	private static final String PROCESS_ID_KEY = "process.id.key";
 	
 	private int serverState = STATE_UNKNOWN;
@@ -62,9 +71,13 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 	private final IServer server;
 	
 	private ServerPublishStateModel publishModel = null;
+	private final ServerStateAggregator stateAggregator;
+	// Guarded by itself
+	private final Map<String, List<ServerStreamListener>> streamListeners = new HashMap<>();
 	
 	public AbstractServerDelegate(IServer server) {
 		this.server = server;
+		this.stateAggregator = new ServerStateAggregator(() -> fireStateChanged(getServerState()));
 		if( registerAsProcessListener())
 			RuntimeProcessEventManager.getDefault().addListener(this);
 	}
@@ -158,8 +171,9 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 	protected void setServerState(int state, boolean fire) {
 		if( state != this.serverState) {
 			this.serverState = state;
+			// Clients must not miss run state transitions
 			if( fire ) 
-				fireStateChanged(getServerState());
+				stateAggregator.fireNow();
 		}
 	}
 
@@ -171,9 +185,18 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 		if( state != this.publishState) {
 			this.publishState = state;
 			if( fire ) 
-				fireStateChanged(getServerState());
+				fireStateChangedLater();
 		}
 	}
+
+	/**
+	 * Fire a state change once the changes made within a short 
+	 * window have been collected. Used for publish and deployable 
+	 * state changes, which may come in bursts. 
+	 */
+	public void fireStateChangedLater() {
+		stateAggregator.fireLater();
+	}
 	
 	protected void fireStateChanged(ServerState state) {
 		getServerModel().fireServerStateChanged(server, state);
@@ -322,7 +345,43 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 	}
 	
 	protected void processTerminated(IProcess p) {
-		this.fireServerProcessTerminated(getProcessId(p));	
+		String processId = getProcessId(p);
+		// The streams are closed by now. Clients get the remaining output before the termination.
+		flushStreamListeners(processId);
+		this.fireServerProcessTerminated(processId);	
+	}
+
+	private void flushStreamListeners(String processId) {
+		List<ServerStreamListener> listeners;
+		synchronized(streamListeners) {
+			listeners = streamListeners.remove(processId);
+		}
+		if( listeners != null ) {
+			for( ServerStreamListener l : listeners ) {
+				l.flush();
+			}
+		}
+	}
+
+	/**
+	 * The number of characters of process output to collect before
+	 * firing it to clients. Server types may override this to suit
+	 * how much output their servers produce.
+	 * 
+	 * @return the number of characters, or 0 to fire every chunk read
+	 */
+	protected int getOutputBatchSize() {
+		return RSPFlags.getOutputBatchSize(getServer().getTypeId());
+	}
+
+	/**
+	 * The milliseconds to collect process output for before firing
+	 * it to clients. 
+	 * 
+	 * @return the milliseconds, or 0 to fire every chunk read
+	 */
+	protected int getOutputBatchWindow() {
+		return RSPFlags.getOutputBatchWindow(getServer().getTypeId());
 	}
 
 	protected void registerLaunch(ILaunch launch2) {
@@ -333,12 +392,17 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 			String pName = getServer().getTypeId() + ":" + getServer().getId()
 					+ ":" + ctime + ":p" + i;
 			all[i].setAttribute(PROCESS_ID_KEY, pName);
-			IStreamListener out = new ServerStreamListener(
+			ServerStreamListener out = new ServerStreamListener(
 					getServer(), getProcessId(all[i]), 
-					ServerManagementAPIConstants.STREAM_TYPE_SYSOUT);
-			IStreamListener err = new ServerStreamListener(
+					ServerManagementAPIConstants.STREAM_TYPE_SYSOUT,
+					getOutputBatchSize(), getOutputBatchWindow());
+			ServerStreamListener err = new ServerStreamListener(
 					getServer(), getProcessId(all[i]), 
-					ServerManagementAPIConstants.STREAM_TYPE_SYSERR);
+					ServerManagementAPIConstants.STREAM_TYPE_SYSERR,
+					getOutputBatchSize(), getOutputBatchWindow());
+			synchronized(streamListeners) {
+				streamListeners.put(pName, Arrays.asList(out, err));
+			}
 			all[i].getStreamsProxy().getOutputStreamMonitor().addListener(out);
 			all[i].getStreamsProxy().getErrorStreamMonitor().addListener(err);
 			fireServerProcessCreated(pName);
@@ -348,6 +412,59 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 	protected String getProcessId(IProcess p) {
 		return p.getAttribute(PROCESS_ID_KEY);
 	}
+
+	@Override
+	public IStreamHistory getStreamHistory(String processId, int streamType) {
+		IProcess p = findProcess(processId);
+		IStreamsProxy proxy = p == null ? null : p.getStreamsProxy();
+		if( proxy == null ) 
+			return null;
+		IStreamMonitor monitor = streamType == ServerManagementAPIConstants.STREAM_TYPE_SYSERR ? 
+				proxy.getErrorStreamMonitor() : proxy.getOutputStreamMonitor();
+		return monitor instanceof IStreamHistory ? (IStreamHistory)monitor : null;
+	}
+
+	@Override
+	public List<String> getRunningProcessIds() {
+		List<String> ret = new ArrayList<>();
+		for( ILaunch l : new ArrayList<>(launches)) {
+			for( IProcess p : l.getProcesses()) {
+				String id = getProcessId(p);
+				if( id != null && !p.isTerminated()) 
+					ret.add(id);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * A server started by a client, or whose processes all terminated, 
+	 * is gone when found down, so it is set stopped. A server whose 
+	 * process still runs may be restarting or hung, and is left 
+	 * to the process termination or the client to stop.
+	 */
+	@Override
+	public void serverFoundDown() {
+		if( getServerRunState() != STATE_STARTED )
+			return;
+		if( getRunningProcessIds().isEmpty()) {
+			setServerState(STATE_STOPPED);
+		} else {
+			LOG.warn("Server {} is down but its process is still running", getServer().getName());
+		}
+	}
+
+	protected IProcess findProcess(String processId) {
+		if( processId == null )
+			return null;
+		for( ILaunch l : new ArrayList<>(launches)) {
+			for( IProcess p : l.getProcesses()) {
+				if( processId.equals(getProcessId(p))) 
+					return p;
+			}
+		}
+		return null;
+	}
 	
 	/*
 	 * Polling utility methods
@@ -438,7 +555,8 @@ public abstract class AbstractServerDelegate implements IServerDelegate, IDebugE
 						NLS.bind("Error completing publishing to server {0}", getServer().getName()), ce));
 			}
 		}
-		fireStateChanged(getServerState());
+		// One event for the whole publish, including the changes still collected
+		stateAggregator.fireNow();
 		return ms;
 	}
 
@@ -0,0 +1,717 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.jboss.tools.rsp.api.dao.util.OutputCompressionUtility;
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of the notifications waiting to be sent to one client.
+ *
+ * Events are added by whatever thread produced them, and delivered to
+ * the client by a task on the given executor, so a slow client only
+ * delays its own notifications. At most one delivery task per queue
+ * runs at a time, which keeps the notifications in order. A task
+ * delivers a limited number of events before it makes way for the 
+ * tasks of other clients, as the executor may have few threads.
+ *
+ * Pending events are coalesced: a server state change replaces any
+ * pending state change of the same server, and output is appended to
+ * the pending output of the same process stream if that is the most
+ * recent event. What happens when the queue is full anyway is
+ * decided by the {@link OverflowPolicy}.
+ *
+ * Delivery pauses while the connection to the client is backed up, 
+ * see {@link #setOutbound(BooleanSupplier)}, so that the events stay 
+ * here where they are coalesced and the capacity applies, instead of 
+ * piling up as serialized messages in the connection. 
+ *
+ * Clients that want deltas get a {@link ServerStateDelta} against
+ * the state last delivered to them instead of a complete state.
+ * Clients that want compressed output get output of at least 
+ * a minimum length as {@link CompressedServerProcessOutput}.
+ * It is compressed when delivered, after merging.
+ *
+ * Events the client has not subscribed to are discarded when they
+ * are added, and again before delivery in case the subscription
+ * changed in the meantime, so they are never serialized.
+ * Output is passed through the client's {@link OutputFilter} for its
+ * server before it is queued. While a filter is set, an incomplete 
+ * last line is held back until the rest of it arrives.
+ */
+public class ClientEventQueue {
+	private static final Logger LOG = LoggerFactory.getLogger(ClientEventQueue.class);
+
+	/**
+	 * The largest output chunk created by merging output events
+	 */
+	static final int MAX_MERGED_OUTPUT = 64 * 1024;
+
+	/**
+	 * The most events delivered by one run of the delivery task
+	 */
+	static final int MAX_DRAIN_BATCH = 64;
+
+	public enum OverflowPolicy {
+		/**
+		 * Discard new events while the queue is full
+		 */
+		DROP,
+		/**
+		 * Append new output to pending output regardless of its size,
+		 * and accept all other events beyond the capacity.
+		 * Nothing is lost, at the cost of memory.
+		 */
+		MERGE,
+		/**
+		 * Disconnect the client
+		 */
+		DISCONNECT;
+
+		public static OverflowPolicy fromString(String s, OverflowPolicy def) {
+			if( s != null ) {
+				for( OverflowPolicy p : values()) {
+					if( p.name().equalsIgnoreCase(s.trim()))
+						return p;
+				}
+			}
+			return def;
+		}
+	}
+
+	private final RSPClient client;
+	private final int capacity;
+	private final OverflowPolicy policy;
+	private final Executor executor;
+	private final Runnable disconnect;
+	private final BooleanSupplier wantsDeltas;
+	private final BooleanSupplier wantsCompressedOutput;
+	private volatile int compressionLevel = RSPFlags.DEFAULT_OUTPUT_COMPRESSION_LEVEL;
+	private volatile int compressionMin = RSPFlags.DEFAULT_OUTPUT_COMPRESSION_MIN;
+	private volatile EventSubscription subscription = EventSubscription.ALL;
+	// Replaced as a whole while holding this
+	private volatile Map<String, OutputFilter> outputFilters = Collections.emptyMap();
+	private volatile OutputFilter defaultOutputFilter;
+	private volatile BooleanSupplier outboundBackedUp = () -> false;
+
+	// Only accessed by the task delivering the events
+	private final Map<String, SentState> sentStates = new HashMap<>();
+
+	// All guarded by this
+	private final ArrayDeque<Event> events = new ArrayDeque<>();
+	private final Map<String, StateEvent> pendingStates = new HashMap<>();
+	private final Map<String, OutputEvent> pendingOutput = new HashMap<>();
+	private final Map<String, String> partialLines = new HashMap<>();
+	private int size = 0;
+	private boolean draining = false;
+	private boolean closed = false;
+	private long dropped = 0;
+
+	/**
+	 * @param client the client to notify
+	 * @param capacity the maximum number of pending events
+	 * @param policy what to do when the queue is full
+	 * @param executor runs the tasks delivering the events
+	 * @param disconnect closes the client connection
+	 */
+	public ClientEventQueue(RSPClient client, int capacity, OverflowPolicy policy,
+			Executor executor, Runnable disconnect) {
+		this(client, capacity, policy, executor, disconnect, () -> false);
+	}
+
+	/**
+	 * @param wantsDeltas whether the client currently wants 
+	 *   server state deltas instead of complete states
+	 */
+	public ClientEventQueue(RSPClient client, int capacity, OverflowPolicy policy,
+			Executor executor, Runnable disconnect, BooleanSupplier wantsDeltas) {
+		this(client, capacity, policy, executor, disconnect, wantsDeltas, () -> false);
+	}
+
+	/**
+	 * @param wantsCompressedOutput whether the client currently 
+	 *   wants output compressed
+	 */
+	public ClientEventQueue(RSPClient client, int capacity, OverflowPolicy policy,
+			Executor executor, Runnable disconnect, BooleanSupplier wantsDeltas, 
+			BooleanSupplier wantsCompressedOutput) {
+		this.client = client;
+		this.capacity = Math.max(1, capacity);
+		this.policy = policy;
+		this.executor = executor;
+		this.disconnect = disconnect;
+		this.wantsDeltas = wantsDeltas;
+		this.wantsCompressedOutput = wantsCompressedOutput;
+	}
+
+	/**
+	 * Set how output is compressed for the client if it wants it compressed
+	 * 
+	 * @param level the deflate level, 0 to 9
+	 * @param minLength the number of characters below which 
+	 *   output is sent uncompressed
+	 */
+	public void setOutputCompression(int level, int minLength) {
+		this.compressionLevel = level;
+		this.compressionMin = minLength;
+	}
+
+	/**
+	 * Set what tells whether the connection to the client has more
+	 * pending outbound bytes than it should. Delivery pauses while it 
+	 * does, and continues once {@link #resume()} is called.
+	 */
+	public void setOutbound(BooleanSupplier backedUp) {
+		this.outboundBackedUp = backedUp == null ? () -> false : backedUp;
+	}
+
+	/**
+	 * Continue delivering events after the connection 
+	 * to the client caught up
+	 */
+	public void resume() {
+		synchronized(this) {
+			if( draining || closed || events.isEmpty() || outboundBackedUp.getAsBoolean())
+				return;
+			draining = true;
+		}
+		executor.execute(this::drain);
+	}
+
+	public RSPClient getClient() {
+		return client;
+	}
+
+	public EventSubscription getSubscription() {
+		return subscription;
+	}
+
+	/**
+	 * Replace the events the client is notified of
+	 */
+	public void setSubscription(EventSubscription subscription) {
+		this.subscription = subscription == null ? EventSubscription.ALL : subscription;
+	}
+
+	/**
+	 * Replace the output filter of the given servers
+	 * 
+	 * @param serverIds the servers to filter the output of, 
+	 *   or null to set the filter of all servers without one of their own
+	 * @param filter the filter, or null to send all output
+	 */
+	public synchronized void setOutputFilter(Collection<String> serverIds, OutputFilter filter) {
+		if( serverIds == null || serverIds.isEmpty()) {
+			defaultOutputFilter = filter;
+			return;
+		}
+		Map<String, OutputFilter> filters = new HashMap<>(outputFilters);
+		for( String id : serverIds ) {
+			if( filter == null )
+				filters.remove(id);
+			else
+				filters.put(id, filter);
+		}
+		outputFilters = filters;
+	}
+
+	/**
+	 * @return the output filter for the given server, or null if there is none
+	 */
+	public OutputFilter getOutputFilter(String serverId) {
+		OutputFilter filter = serverId == null ? null : outputFilters.get(serverId);
+		return filter == null ? defaultOutputFilter : filter;
+	}
+
+	/**
+	 * Queue a notification to the client, regardless of its subscription
+	 */
+	public void add(Consumer<RSPClient> notification) {
+		enqueue(new Event(null, null, notification));
+	}
+
+	/**
+	 * Queue a notification to the client if it has subscribed to it
+	 * 
+	 * @param kind one of the EVENT_KIND constants
+	 * @param serverId the server the event belongs to, or null
+	 */
+	public void add(String kind, String serverId, Consumer<RSPClient> notification) {
+		if( subscription.accepts(kind, serverId))
+			enqueue(new Event(kind, serverId, notification));
+	}
+
+	/**
+	 * Queue a state change, replacing any pending state change of the same server
+	 */
+	public void serverStateChanged(ServerState state) {
+		String id = state.getServer() == null ? null : state.getServer().getId();
+		if( !subscription.accepts(ServerManagementAPIConstants.EVENT_KIND_STATE, id))
+			return;
+		synchronized(this) {
+			StateEvent pending = id == null ? null : pendingStates.get(id);
+			if( pending != null ) {
+				pending.state = state;
+				return;
+			}
+		}
+		enqueue(new StateEvent(id, state));
+	}
+
+	/**
+	 * Queue the removal of a server, which also ends its sequence of deltas
+	 */
+	public void serverRemoved(ServerHandle handle) {
+		synchronized(this) {
+			// A later state of a server with the same id must come after the removal
+			pendingStates.remove(handle.getId());
+		}
+		// Queued even if not subscribed to, so the sequence of deltas still ends
+		enqueue(new Event(ServerManagementAPIConstants.EVENT_KIND_SERVER, handle.getId(), 
+				c -> c.serverRemoved(handle)) {
+			@Override
+			void deliver(ClientEventQueue q) {
+				q.sentStates.remove(handle.getId());
+				super.deliver(q);
+			}
+		});
+	}
+
+	/**
+	 * Queue output, appending it to the pending output of
+	 * the same process stream if possible
+	 */
+	public void serverProcessOutputAppended(ServerProcessOutput output) {
+		String server = output.getServer() == null ? null : output.getServer().getId();
+		if( !subscription.accepts(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, server))
+			return;
+		String key = outputKey(output);
+		OutputFilter filter = getOutputFilter(server);
+		String text = output.getText();
+		synchronized(this) {
+			String held = partialLines.remove(key);
+			if( held != null )
+				text = held + text;
+			int end = text.lastIndexOf('\n') + 1;
+			if( filter != null && end < text.length() && text.length() < MAX_MERGED_OUTPUT ) {
+				partialLines.put(key, text.substring(end));
+				text = text.substring(0, end);
+			}
+		}
+		if( filter != null )
+			text = filter.filter(text);
+		if( text.isEmpty())
+			return;
+		if( text != output.getText())
+			output = new ServerProcessOutput(output.getServer(), output.getProcessId(), output.getStreamType(), text);
+		appendOutput(key, output);
+	}
+
+	/**
+	 * Queue the incomplete last lines held back by the output filter
+	 * for the given process, which has terminated
+	 */
+	public void flushOutput(ServerHandle server, String processId) {
+		String serverId = server == null ? null : server.getId();
+		for( int type : new int[] { ServerManagementAPIConstants.STREAM_TYPE_SYSOUT, 
+				ServerManagementAPIConstants.STREAM_TYPE_SYSERR}) {
+			String key = outputKey(serverId, processId, type);
+			String held;
+			synchronized(this) {
+				held = partialLines.remove(key);
+			}
+			if( held == null || !subscription.accepts(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, serverId))
+				continue;
+			OutputFilter filter = getOutputFilter(serverId);
+			String text = filter == null ? held : filter.filter(held);
+			if( !text.isEmpty())
+				appendOutput(key, new ServerProcessOutput(server, processId, type, text));
+		}
+	}
+
+	private void appendOutput(String key, ServerProcessOutput output) {
+		synchronized(this) {
+			if( closed )
+				return;
+			OutputEvent pending = pendingOutput.get(key);
+			if( pending != null ) {
+				boolean isLast = events.peekLast() == pending;
+				boolean fits = pending.text.length() + output.getText().length() <= MAX_MERGED_OUTPUT;
+				if((isLast && fits) || (size >= capacity && policy == OverflowPolicy.MERGE)) {
+					pending.text.append(output.getText());
+					return;
+				}
+			}
+		}
+		enqueue(new OutputEvent(key, output));
+	}
+
+	/**
+	 * Queue output produced before the client connected, ahead of 
+	 * all pending events, so that it reaches the client before any 
+	 * live output of the same stream that has not been delivered yet.
+	 * Replayed output is accepted even if the queue is full, and
+	 * passed through the output filter one chunk at a time.
+	 * 
+	 * @param outputs the output of one process stream, oldest first
+	 */
+	public void replayOutput(List<ServerProcessOutput> outputs) {
+		synchronized(this) {
+			if( closed )
+				return;
+			for( int i = outputs.size() - 1; i >= 0; i-- ) {
+				ServerProcessOutput replayed = outputs.get(i);
+				String server = replayed.getServer() == null ? null : replayed.getServer().getId();
+				if( !subscription.accepts(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, server))
+					continue;
+				OutputFilter filter = getOutputFilter(server);
+				String text = filter == null ? replayed.getText() : filter.filter(replayed.getText());
+				if( text.isEmpty())
+					continue;
+				ServerProcessOutput output = text == replayed.getText() ? replayed : new ServerProcessOutput(
+						replayed.getServer(), replayed.getProcessId(), replayed.getStreamType(), text);
+				Event e = new Event(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, server, null) {
+					@Override
+					void deliver(ClientEventQueue q) {
+						if( isSubscribed(q))
+							q.deliverOutput(output);
+					}
+				};
+				events.addFirst(e);
+				size++;
+			}
+			if( !draining && !events.isEmpty() && !outboundBackedUp.getAsBoolean()) {
+				draining = true;
+				executor.execute(this::drain);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of events discarded because the queue was full
+	 */
+	public synchronized long getDropped() {
+		return dropped;
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether the connection to the client has more pending 
+	 *   bytes than it should, or the queue is three quarters full or more
+	 */
+	public boolean isBackedUp() {
+		if( outboundBackedUp.getAsBoolean())
+			return true;
+		synchronized(this) {
+			return size >= capacity - capacity / 4;
+		}
+	}
+
+	/**
+	 * Discard all pending events and stop accepting new ones
+	 */
+	public void close() {
+		synchronized(this) {
+			closed = true;
+			clear();
+		}
+	}
+
+	private void enqueue(Event e) {
+		boolean overflow = false;
+		synchronized(this) {
+			if( closed )
+				return;
+			if( size >= capacity ) {
+				if( policy == OverflowPolicy.DROP ) {
+					dropped++;
+					return;
+				}
+				if( policy == OverflowPolicy.DISCONNECT ) {
+					closed = true;
+					clear();
+					overflow = true;
+				}
+			}
+			if( !overflow ) {
+				events.add(e);
+				e.added(this);
+				size++;
+				if( !draining && !outboundBackedUp.getAsBoolean()) {
+					draining = true;
+					executor.execute(this::drain);
+				}
+			}
+		}
+		if( overflow ) {
+			LOG.warn("Disconnecting client {}: more than {} notifications are pending", client, capacity);
+			disconnect.run();
+		}
+	}
+
+	private void clear() {
+		events.clear();
+		pendingStates.clear();
+		pendingOutput.clear();
+		partialLines.clear();
+		size = 0;
+	}
+
+	private void drain() {
+		for( int delivered = 0; ; delivered++ ) {
+			Event e = null;
+			synchronized(this) {
+				if( outboundBackedUp.getAsBoolean() && !closed ) {
+					draining = false;
+					break;
+				}
+				if( delivered == MAX_DRAIN_BATCH && !closed && !events.isEmpty()) {
+					// still draining, behind the tasks of other clients
+					executor.execute(this::drain);
+					return;
+				}
+				e = events.poll();
+				if( e == null || closed ) {
+					draining = false;
+					return;
+				}
+				size--;
+				e.removed(this);
+			}
+			try {
+				e.deliver(this);
+			} catch(RuntimeException re) {
+				LOG.error("Unable to notify client " + client, re);
+			}
+		}
+		// The connection may have caught up before draining was reset
+		resume();
+	}
+
+	private void deliverOutput(ServerProcessOutput output) {
+		if( output.getText().length() < compressionMin || !wantsCompressedOutput.getAsBoolean()) {
+			client.serverProcessOutputAppended(output);
+			return;
+		}
+		client.serverProcessOutputCompressed(OutputCompressionUtility.compress(output, compressionLevel));
+	}
+
+	private void deliverState(String serverId, ServerState state) {
+		if( serverId == null || !wantsDeltas.getAsBoolean()) {
+			if( serverId != null )
+				sentStates.remove(serverId);
+			client.serverStateChanged(state);
+			return;
+		}
+		SentState sent = sentStates.get(serverId);
+		ServerState previous = sent == null ? null : sent.state;
+		long sequence = sent == null ? 1 : sent.sequence + 1;
+		ServerStateDelta delta = createDelta(previous, state, sequence);
+		if( delta == null )
+			return;
+		sentStates.put(serverId, new SentState(sequence, copy(state)));
+		client.serverStateDelta(delta);
+	}
+
+	/**
+	 * Create the delta between two states of the same server.
+	 * 
+	 * @param previous the state last sent, or null to send the complete state
+	 * @return the delta, or null if nothing changed 
+	 */
+	static ServerStateDelta createDelta(ServerState previous, ServerState current, long sequence) {
+		List<DeployableState> currentDeployables = nonNull(current.getDeployableStates());
+		if( previous == null ) {
+			return new ServerStateDelta(current.getServer(), sequence, current.getState(), 
+					current.getPublishState(), new ArrayList<>(currentDeployables), Collections.emptyList());
+		}
+		Integer state = previous.getState() == current.getState() ? null : current.getState();
+		Integer publishState = previous.getPublishState() == current.getPublishState() ? null : current.getPublishState();
+
+		Map<String, DeployableState> before = new LinkedHashMap<>();
+		for( DeployableState ds : nonNull(previous.getDeployableStates())) {
+			before.put(deployableKey(ds.getReference()), ds);
+		}
+		List<DeployableState> changed = new ArrayList<>();
+		for( DeployableState ds : currentDeployables ) {
+			DeployableState old = before.remove(deployableKey(ds.getReference()));
+			if( old == null || !Objects.equals(old, ds))
+				changed.add(ds);
+		}
+		List<DeployableReference> removed = new ArrayList<>();
+		for( DeployableState ds : before.values()) {
+			removed.add(ds.getReference());
+		}
+		if( state == null && publishState == null && changed.isEmpty() && removed.isEmpty())
+			return null;
+		return new ServerStateDelta(current.getServer(), sequence, state, publishState, changed, removed);
+	}
+
+	/*
+	 * The publish model may modify its deployable states in place,
+	 * so the state kept to compare against must not share them
+	 */
+	private static ServerState copy(ServerState state) {
+		ServerState ret = new ServerState();
+		ret.setServer(state.getServer());
+		ret.setState(state.getState());
+		ret.setPublishState(state.getPublishState());
+		List<DeployableState> deployables = new ArrayList<>();
+		for( DeployableState ds : nonNull(state.getDeployableStates())) {
+			deployables.add(new DeployableState(ds.getReference(), ds.getState(), ds.getPublishState()));
+		}
+		ret.setDeployableStates(deployables);
+		return ret;
+	}
+
+	private static List<DeployableState> nonNull(List<DeployableState> list) {
+		return list == null ? Collections.emptyList() : list;
+	}
+
+	private static String deployableKey(DeployableReference ref) {
+		return ref == null ? null : ref.getPath();
+	}
+
+	private static String outputKey(ServerProcessOutput output) {
+		String server = output.getServer() == null ? null : output.getServer().getId();
+		return outputKey(server, output.getProcessId(), output.getStreamType());
+	}
+
+	private static String outputKey(String server, String processId, int streamType) {
+		return server + "/" + processId + "/" + streamType;
+	}
+
+	private static class Event {
+		// null if sent regardless of the subscription
+		private final String kind;
+		private final String serverId;
+		private final Consumer<RSPClient> notification;
+
+		Event(String kind, String serverId, Consumer<RSPClient> notification) {
+			this.kind = kind;
+			this.serverId = serverId;
+			this.notification = notification;
+		}
+
+		boolean isSubscribed(ClientEventQueue q) {
+			return kind == null || q.subscription.accepts(kind, serverId);
+		}
+
+		void added(ClientEventQueue q) {
+			// Nothing to track
+		}
+
+		void removed(ClientEventQueue q) {
+			// Nothing to track
+		}
+
+		void deliver(ClientEventQueue q) {
+			if( isSubscribed(q))
+				notification.accept(q.client);
+		}
+	}
+
+	private static class StateEvent extends Event {
+		private final String serverId;
+		private ServerState state;
+
+		StateEvent(String serverId, ServerState state) {
+			super(ServerManagementAPIConstants.EVENT_KIND_STATE, serverId, null);
+			this.serverId = serverId;
+			this.state = state;
+		}
+
+		@Override
+		void added(ClientEventQueue q) {
+			if( serverId != null )
+				q.pendingStates.put(serverId, this);
+		}
+
+		@Override
+		void removed(ClientEventQueue q) {
+			q.pendingStates.remove(serverId, this);
+		}
+
+		@Override
+		void deliver(ClientEventQueue q) {
+			// state may be replaced until the event is removed from the queue
+			if( isSubscribed(q))
+				q.deliverState(serverId, state);
+		}
+	}
+
+	private static class OutputEvent extends Event {
+		private final String key;
+		private final ServerProcessOutput output;
+		private final StringBuilder text;
+
+		OutputEvent(String key, ServerProcessOutput output) {
+			super(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, 
+					output.getServer() == null ? null : output.getServer().getId(), null);
+			this.key = key;
+			this.output = output;
+			this.text = new StringBuilder(output.getText());
+		}
+
+		@Override
+		void added(ClientEventQueue q) {
+			q.pendingOutput.put(key, this);
+		}
+
+		@Override
+		void removed(ClientEventQueue q) {
+			q.pendingOutput.remove(key, this);
+		}
+
+		@Override
+		void deliver(ClientEventQueue q) {
+			if( !isSubscribed(q))
+				return;
+			q.deliverOutput(new ServerProcessOutput(
+					output.getServer(), output.getProcessId(), output.getStreamType(), text.toString()));
+		}
+	}
+
+	private static class SentState {
+		private final long sequence;
+		private final ServerState state;
+
+		SentState(long sequence, ServerState state) {
+			this.sequence = sequence;
+			this.state = state;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
+
+/**
+ * The events one client has subscribed to. Instances are immutable
+ * so they can be read without locking by any thread producing events.
+ */
+public class EventSubscription {
+
+	public static final List<String> EVENT_KINDS = Collections.unmodifiableList(Arrays.asList(
+			ServerManagementAPIConstants.EVENT_KIND_DISCOVERY,
+			ServerManagementAPIConstants.EVENT_KIND_SERVER,
+			ServerManagementAPIConstants.EVENT_KIND_STATE,
+			ServerManagementAPIConstants.EVENT_KIND_PROCESS,
+			ServerManagementAPIConstants.EVENT_KIND_OUTPUT));
+
+	/**
+	 * Matches all events
+	 */
+	public static final EventSubscription ALL = new EventSubscription(null, null);
+
+	// null matches all
+	private final Set<String> serverIds;
+	private final Set<String> eventKinds;
+
+	private EventSubscription(Collection<String> serverIds, Collection<String> eventKinds) {
+		this.serverIds = toSet(serverIds);
+		this.eventKinds = toSet(eventKinds);
+	}
+
+	private static Set<String> toSet(Collection<String> c) {
+		if( c == null || c.isEmpty())
+			return null;
+		return Collections.unmodifiableSet(new HashSet<>(c));
+	}
+
+	/**
+	 * @return the subscription for the given request, 
+	 * or null if the request names an unknown event kind
+	 */
+	public static EventSubscription fromRequest(SubscriptionRequest request) {
+		if( request == null )
+			return ALL;
+		List<String> kinds = request.getEventKinds();
+		if( kinds != null && !EVENT_KINDS.containsAll(kinds))
+			return null;
+		return new EventSubscription(request.getServerIds(), kinds);
+	}
+
+	/**
+	 * @param kind one of the EVENT_KIND constants
+	 * @param serverId the server the event belongs to, or null
+	 * @return whether the client should be notified of the event
+	 */
+	public boolean accepts(String kind, String serverId) {
+		if( eventKinds != null && !eventKinds.contains(kind))
+			return false;
+		return serverIds == null || serverId == null || serverIds.contains(serverId);
+	}
+
+	public boolean acceptsAll() {
+		return serverIds == null && eventKinds == null;
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.api.dao.ServerOutputFilter;
+
+/**
+ * The lines of output one client wants to be sent, with the patterns
+ * compiled once. Instances are immutable so they can be used without
+ * locking by any thread producing output.
+ */
+public class OutputFilter {
+
+	public static final List<String> LEVELS = Collections.unmodifiableList(Arrays.asList(
+			"TRACE", "DEBUG", "INFO", "WARN", "ERROR", "FATAL"));
+
+	private final List<Pattern[]> includes;
+	private final List<Pattern[]> excludes;
+
+	private OutputFilter(List<Pattern[]> includes, List<Pattern[]> excludes) {
+		this.includes = includes;
+		this.excludes = excludes;
+	}
+
+	/**
+	 * @return the filter for the given filters, or null if there are none
+	 * @throws IllegalArgumentException if a pattern or level is invalid
+	 */
+	public static OutputFilter fromRequest(List<ServerOutputFilter> filters) {
+		if( filters == null || filters.isEmpty())
+			return null;
+		List<Pattern[]> includes = new ArrayList<>();
+		List<Pattern[]> excludes = new ArrayList<>();
+		for( ServerOutputFilter f : filters ) {
+			if( f == null )
+				continue;
+			List<Pattern> patterns = new ArrayList<>();
+			if( f.getPattern() != null )
+				patterns.add(Pattern.compile(f.getPattern()));
+			if( f.getLevel() != null )
+				patterns.add(levelPattern(f.getLevel()));
+			if( patterns.isEmpty())
+				throw new IllegalArgumentException("A filter needs a pattern or a level.");
+			(f.isExclude() ? excludes : includes).add(patterns.toArray(new Pattern[patterns.size()]));
+		}
+		if( includes.isEmpty() && excludes.isEmpty())
+			return null;
+		return new OutputFilter(includes, excludes);
+	}
+
+	private static Pattern levelPattern(String level) {
+		int index = LEVELS.indexOf(level.trim().toUpperCase(Locale.ENGLISH));
+		if( index == -1 )
+			throw new IllegalArgumentException("Unknown level " + level + ". Valid levels are " + LEVELS);
+		StringBuilder sb = new StringBuilder("\\b(?:");
+		for( int i = index; i < LEVELS.size(); i++ ) {
+			if( i > index )
+				sb.append('|');
+			sb.append(LEVELS.get(i));
+		}
+		return Pattern.compile(sb.append(")\\b").toString());
+	}
+
+	/**
+	 * Remove the lines that are filtered out
+	 *
+	 * @param text whole lines of output
+	 * @return the lines accepted, or an empty string if there are none
+	 */
+	public String filter(String text) {
+		Matcher[] in = matchers(includes, text);
+		Matcher[] ex = matchers(excludes, text);
+		StringBuilder sb = null;
+		int start = 0;
+		int length = text.length();
+		while( start < length ) {
+			int eol = text.indexOf('\n', start);
+			int end = eol == -1 ? length : eol + 1;
+			if( accepts(in, ex, start, eol == -1 ? length : eol)) {
+				if( start == 0 && end == length )
+					return text;
+				if( sb == null )
+					sb = new StringBuilder();
+				sb.append(text, start, end);
+			}
+			start = end;
+		}
+		return sb == null ? "" : sb.toString();
+	}
+
+	private boolean accepts(Matcher[] in, Matcher[] ex, int start, int end) {
+		if( in.length > 0 && !matchesAny(includes, in, start, end))
+			return false;
+		return !matchesAny(excludes, ex, start, end);
+	}
+
+	private static boolean matchesAny(List<Pattern[]> filters, Matcher[] matchers, int start, int end) {
+		int m = 0;
+		for( Pattern[] f : filters ) {
+			boolean all = true;
+			for( int i = 0; i < f.length; i++, m++ ) {
+				if( all && !matchers[m].region(start, end).find())
+					all = false;
+			}
+			if( all )
+				return true;
+		}
+		return false;
+	}
+
+	private static Matcher[] matchers(List<Pattern[]> filters, String text) {
+		List<Matcher> ret = new ArrayList<>();
+		for( Pattern[] f : filters ) {
+			for( Pattern p : f ) {
+				ret.add(p.matcher(text));
+			}
+		}
+		return ret.toArray(new Matcher[ret.size()]);
+	}
+}
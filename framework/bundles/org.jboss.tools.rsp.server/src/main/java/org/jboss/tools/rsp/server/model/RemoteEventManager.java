@@ -9,59 +9,200 @@
 package org.jboss.tools.rsp.server.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
+import org.jboss.tools.rsp.api.ICapabilityKeys;
 import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
 import org.jboss.tools.rsp.api.dao.VMDescription;
+import org.jboss.tools.rsp.eclipse.debug.core.StreamBackpressure;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
 import org.jboss.tools.rsp.eclipse.jdt.launching.IVMInstall;
 import org.jboss.tools.rsp.eclipse.jdt.launching.IVMInstallChangedListener;
 import org.jboss.tools.rsp.eclipse.jdt.launching.PropertyChangeEvent;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.ServerManagementServerImpl;
+import org.jboss.tools.rsp.server.model.ClientEventQueue.OverflowPolicy;
+import org.jboss.tools.rsp.server.model.internal.ServerOutputHistory;
 import org.jboss.tools.rsp.server.spi.discovery.IDiscoveryPathListener;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModelListener;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
 
+/**
+ * Forwards model events to the connected clients.
+ * 
+ * Each client has its own {@link ClientEventQueue}, so the threads 
+ * producing events never wait for a client, and a slow client
+ * does not delay the others. Clients are only sent the events
+ * matching their {@link EventSubscription}.
+ */
 public class RemoteEventManager implements IDiscoveryPathListener, IVMInstallChangedListener, IServerModelListener {
 	private ServerManagementServerImpl server;
+	private final Map<RSPClient, ClientEventQueue> queues = new ConcurrentHashMap<>();
+	private final ExecutorService executor = createExecutor();
+	
 	public RemoteEventManager(ServerManagementServerImpl serverManagementServerImpl) {
 		this.server = serverManagementServerImpl; 
 		serverManagementServerImpl.getModel().getDiscoveryPathModel().addListener(this);
 		//serverManagementServerImpl.getModel().getVMInstallModel().addListener(this);
 		serverManagementServerImpl.getModel().getServerModel().addServerModelListener(this);
+		StreamBackpressure.setSource(this::isBackedUp);
+	}
+
+	/*
+	 * A few threads deliver the notifications of all clients. There is at 
+	 * most one delivery task per client, which never waits for the client,
+	 * so the queue of tasks is bounded by the number of clients.
+	 */
+	private static ExecutorService createExecutor() {
+		int threads = Math.max(1, RSPFlags.getIntSysprop(
+				RSPFlags.SYSPROP_CLIENT_EVENT_THREADS, RSPFlags.DEFAULT_CLIENT_EVENT_THREADS));
+		AtomicInteger count = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 
+				60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread t = new Thread(r, "RSP client notifications " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Begin queuing events for the given client
+	 * 
+	 * @param disconnect closes the connection to the client
+	 */
+	public void addClient(RSPClient client, Runnable disconnect) {
+		ClientEventQueue queue = new ClientEventQueue(client, 
+				RSPFlags.getIntSysprop(RSPFlags.SYSPROP_CLIENT_EVENT_QUEUE, RSPFlags.DEFAULT_CLIENT_EVENT_QUEUE),
+				OverflowPolicy.fromString(System.getProperty(RSPFlags.SYSPROP_CLIENT_EVENT_OVERFLOW), OverflowPolicy.MERGE),
+				executor, disconnect, () -> wants(client, ICapabilityKeys.BOOLEAN_STATE_DELTA),
+				() -> wants(client, ICapabilityKeys.BOOLEAN_OUTPUT_COMPRESSED));
+		queue.setOutputCompression(RSPFlags.getOutputCompressionLevel(), RSPFlags.getOutputCompressionMin());
+		queues.put(client, queue);
+	}
+
+	private boolean wants(RSPClient client, String booleanCapability) {
+		String prop = server.getModel().getCapabilityManagement().getCapabilityProperty(
+				client, booleanCapability);
+		return Boolean.parseBoolean(prop);
+	}
+
+	/**
+	 * Discard all events still pending for the given client
+	 */
+	public void removeClient(RSPClient client) {
+		ClientEventQueue queue = queues.remove(client);
+		if( queue != null )
+			queue.close();
+	}
+
+	public ClientEventQueue getQueue(RSPClient client) {
+		return queues.get(client);
+	}
+
+	/**
+	 * Replace the events the given client is notified of
+	 * 
+	 * @return false if the client is not connected
+	 */
+	public boolean subscribe(RSPClient client, EventSubscription subscription) {
+		ClientEventQueue queue = queues.get(client);
+		if( queue == null )
+			return false;
+		queue.setSubscription(subscription);
+		return true;
+	}
+
+	/**
+	 * Replace the output filter the given client has for the given servers
+	 * 
+	 * @param serverIds the servers, or null for all servers without a filter of their own
+	 * @return false if the client is not connected
+	 */
+	public boolean setOutputFilter(RSPClient client, Collection<String> serverIds, OutputFilter filter) {
+		ClientEventQueue queue = queues.get(client);
+		if( queue == null )
+			return false;
+		queue.setOutputFilter(serverIds, filter);
+		return true;
+	}
+
+	/**
+	 * Whether process output should be read more slowly because 
+	 * the notifications to all clients are backed up. 
+	 * 
+	 * Reading is slowed down for all clients alike, so a single slow 
+	 * client does not slow it down while others keep up: its queue 
+	 * applies its overflow policy instead. Output is only read more 
+	 * slowly when no client can take it as fast as it is produced.
+	 * 
+	 * @return whether all connected clients are backed up
+	 */
+	public boolean isBackedUp() {
+		boolean any = false;
+		for( ClientEventQueue q : queues.values()) {
+			if( !q.isBackedUp())
+				return false;
+			any = true;
+		}
+		return any;
 	}
+
+	public void shutdown() {
+		StreamBackpressure.setSource(null);
+		for( ClientEventQueue q : queues.values()) {
+			q.close();
+		}
+		queues.clear();
+		executor.shutdown();
+	}
+
+	private void notifyClients(String kind, ServerHandle server, Consumer<RSPClient> notification) {
+		String serverId = server == null ? null : server.getId();
+		for( ClientEventQueue q : queues.values()) {
+			q.add(kind, serverId, notification);
+		}
+	}
+
 	@Override
 	public void discoveryPathAdded(DiscoveryPath path) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.discoveryPathAdded(path);
-		}
+		notifyClients(ServerManagementAPIConstants.EVENT_KIND_DISCOVERY, null, 
+				c -> c.discoveryPathAdded(path));
 	}
 	@Override
 	public void discoveryPathRemoved(DiscoveryPath path) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.discoveryPathRemoved(path);
-		}
+		notifyClients(ServerManagementAPIConstants.EVENT_KIND_DISCOVERY, null, 
+				c -> c.discoveryPathRemoved(path));
 	}
 
 	public void serverAdded(ServerHandle server2) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.serverAdded(server2);
-		}
+		notifyClients(ServerManagementAPIConstants.EVENT_KIND_SERVER, server2, 
+				c -> c.serverAdded(server2));
 	}
 	
 	public void serverRemoved(ServerHandle server2) {
-		List<RSPClient> l = server.getClients();
-		for( RSPClient c : l) {
-			c.serverRemoved(server2);
+		for( ClientEventQueue q : queues.values()) {
+			q.serverRemoved(server2);
 		}
 	}
 	
@@ -70,10 +211,9 @@ public class RemoteEventManager implements IDiscoveryPathListener, IVMInstallCha
 	}
 	
 	public void serverStateChanged(ServerHandle server, ServerState state) {
-		List<RSPClient> l = this.server.getClients();
 		if( this.server.getModel().getServerModel().getServer(server.getId()) != null ) {
-			for( RSPClient c : l) {
-				c.serverStateChanged(state);
+			for( ClientEventQueue q : queues.values()) {
+				q.serverStateChanged(state);
 			}
 		}
 	}
@@ -84,37 +224,103 @@ public class RemoteEventManager implements IDiscoveryPathListener, IVMInstallCha
 	public void initClientWithServerStates(RSPClient client) {
 		IServerModel model = server.getModel().getServerModel();
 		List<IServer> all = new ArrayList<>(model.getServers().values());
+		ClientEventQueue queue = queues.get(client);
 		ServerState state = null;
 		for( Iterator<IServer> it = all.iterator(); it.hasNext(); ) {
 			state = it.next().getDelegate().getServerState();
-			client.serverStateChanged(state);
+			if( queue != null ) {
+				queue.serverStateChanged(state);
+			} else {
+				client.serverStateChanged(state);
+			}
 		}
 	}
 	
-	public void serverProcessCreated(ServerHandle server, String processId) {
-		List<RSPClient> l = this.server.getClients();
-		for( RSPClient c : l) {
-			c.serverProcessCreated(new ServerProcess(server, processId));
+	/**
+	 * Send the given client the most recent output of the running 
+	 * server processes. The output is read and queued on a notification 
+	 * thread, in chunks of at most {@link ServerOutputHistory#MAX_LENGTH} bytes.
+	 * 
+	 * @param bytes the number of bytes to replay per process stream
+	 */
+	public void replayOutput(RSPClient client, int bytes) {
+		ClientEventQueue queue = queues.get(client);
+		if( queue == null || bytes <= 0 )
+			return;
+		executor.execute(() -> replayOutput(queue, bytes));
+	}
+
+	private void replayOutput(ClientEventQueue queue, int bytes) {
+		IServerModel model = server.getModel().getServerModel();
+		for( ServerHandle handle : model.getServerHandles()) {
+			IServer s = model.getServer(handle.getId());
+			IServerDelegate delegate = s == null ? null : s.getDelegate();
+			if( delegate == null )
+				continue;
+			for( String processId : delegate.getRunningProcessIds()) {
+				replayOutput(queue, handle, processId, ServerManagementAPIConstants.STREAM_TYPE_SYSOUT, 
+						delegate.getStreamHistory(processId, ServerManagementAPIConstants.STREAM_TYPE_SYSOUT), bytes);
+				replayOutput(queue, handle, processId, ServerManagementAPIConstants.STREAM_TYPE_SYSERR, 
+						delegate.getStreamHistory(processId, ServerManagementAPIConstants.STREAM_TYPE_SYSERR), bytes);
+			}
+		}
+	}
+
+	private void replayOutput(ClientEventQueue queue, ServerHandle handle, String processId, 
+			int streamType, IStreamHistory history, int bytes) {
+		if( history == null )
+			return;
+		long end = history.getEndOffset();
+		long offset = Math.max(history.getStartOffset(), end - bytes);
+		List<ServerProcessOutput> outputs = new ArrayList<>();
+		while( offset < end ) {
+			ServerOutputResponse read = ServerOutputHistory.read(handle, processId, streamType, 
+					history, offset, (int)Math.min(ServerOutputHistory.MAX_LENGTH, end - offset));
+			if( read.getNextOffset() <= offset )
+				break;
+			if( !read.getText().isEmpty())
+				outputs.add(new ServerProcessOutput(handle, processId, streamType, read.getText()));
+			offset = read.getNextOffset();
 		}
+		if( !outputs.isEmpty())
+			queue.replayOutput(outputs);
+	}
+
+	public void serverProcessCreated(ServerHandle server, String processId) {
+		ServerProcess process = new ServerProcess(server, processId);
+		notifyClients(ServerManagementAPIConstants.EVENT_KIND_PROCESS, server, 
+				c -> c.serverProcessCreated(process));
 	}
 	
 	public void serverProcessTerminated(ServerHandle server, String processId) {
-		List<RSPClient> l = this.server.getClients();
-		for( RSPClient c : l) {
-			c.serverProcessTerminated(new ServerProcess(server, processId));
+		for( ClientEventQueue q : queues.values()) {
+			q.flushOutput(server, processId);
 		}
+		ServerProcess process = new ServerProcess(server, processId);
+		notifyClients(ServerManagementAPIConstants.EVENT_KIND_PROCESS, server, 
+				c -> c.serverProcessTerminated(process));
 	}
 	
 	public void serverProcessOutputAppended(ServerHandle server, String processId, int streamType, String text) {
-		List<RSPClient> l = this.server.getClients();
-		for( RSPClient c : l) {
-			c.serverProcessOutputAppended(new ServerProcessOutput(
-					server, processId, streamType, text));
+		if( !isAnySubscribed(ServerManagementAPIConstants.EVENT_KIND_OUTPUT, server))
+			return;
+		ServerProcessOutput output = new ServerProcessOutput(server, processId, streamType, text);
+		for( ClientEventQueue q : queues.values()) {
+			q.serverProcessOutputAppended(output);
 		}
 	}
 	
 	
 	
+	private boolean isAnySubscribed(String kind, ServerHandle server) {
+		String serverId = server == null ? null : server.getId();
+		for( ClientEventQueue q : queues.values()) {
+			if( q.getSubscription().accepts(kind, serverId))
+				return true;
+		}
+		return false;
+	}
+	
 	// To be ignored
 	@Override
 	public void defaultVMInstallChanged(IVMInstall previous, IVMInstall current) {
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
+import org.jboss.tools.rsp.api.dao.ServerHealthCheck;
+import org.jboss.tools.rsp.api.dao.ServerType;
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.jboss.tools.rsp.server.spi.model.IServerHealthMonitor;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingScheduler;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
+import org.jboss.tools.rsp.server.spi.servertype.IServerType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks the health of all started servers on the shared 
+ * {@link PollingScheduler}, so that crashes and hangs are noticed 
+ * without clients polling the server state. 
+ * 
+ * Every interval, each started server whose delegate has a health 
+ * poller gets one check, run as a task of its own so that a hung 
+ * server does not hold up the others. A check still running after 
+ * the hang time is recorded as unresponsive, and no other check 
+ * of that server is started until it ends. 
+ * 
+ * A server found down by a number of checks in a row is told to 
+ * its delegate, which sets it stopped if it can tell it is gone.
+ */
+public class ServerHealthMonitor implements IServerHealthMonitor {
+	private static final Logger LOG = LoggerFactory.getLogger(ServerHealthMonitor.class);
+
+	private final IServerModel model;
+	private final PollingScheduler scheduler;
+	private final int interval;
+	private final int failures;
+	private final int hang;
+	private final int historySize;
+	private final Map<String, Health> health = new ConcurrentHashMap<>();
+	private ScheduledFuture<?> sweep;
+
+	public ServerHealthMonitor(IServerModel model) {
+		this(model, PollingScheduler.getDefault(), RSPFlags.getHealthInterval(), 
+				RSPFlags.getHealthFailures(), RSPFlags.getHealthHang(), RSPFlags.getHealthHistory());
+	}
+
+	/**
+	 * @param interval milliseconds between checks, or 0 to not check
+	 * @param failures checks in a row a server must be found down by
+	 * @param hang milliseconds a check may take, or 0 to not tell hangs
+	 * @param historySize the number of checks kept for each server
+	 */
+	public ServerHealthMonitor(IServerModel model, PollingScheduler scheduler, 
+			int interval, int failures, int hang, int historySize) {
+		this.model = model;
+		this.scheduler = scheduler;
+		this.interval = interval;
+		this.failures = failures;
+		this.hang = hang;
+		this.historySize = historySize;
+	}
+
+	@Override
+	public synchronized void start() {
+		if( interval <= 0 || sweep != null )
+			return;
+		sweep = scheduler.scheduleWithFixedDelay(this::checkServers, interval, interval);
+	}
+
+	@Override
+	public synchronized void stop() {
+		if( sweep != null ) {
+			sweep.cancel(false);
+			sweep = null;
+		}
+	}
+
+	/**
+	 * Start a check of every started server that is not being checked. 
+	 * Package-private for tests.
+	 */
+	void checkServers() {
+		Map<String, IServer> servers = model.getServers();
+		health.keySet().retainAll(servers.keySet());
+		for( IServer server : servers.values()) {
+			checkServer(server);
+		}
+	}
+
+	private void checkServer(IServer server) {
+		IServerDelegate delegate = server.getDelegate();
+		if( delegate == null )
+			return;
+		Health h = health.computeIfAbsent(server.getId(), id -> new Health());
+		synchronized(h) {
+			if( delegate.getServerRunState() != IServerDelegate.STATE_STARTED ) {
+				h.reset();
+				return;
+			}
+			if( h.checkStarted != 0 ) {
+				checkStillRunning(h);
+				return;
+			}
+			if( h.poller == null ) 
+				h.poller = delegate.getHealthPoller();
+			if( h.poller == null ) 
+				return;
+			h.checkStarted = System.nanoTime();
+			h.checkTime = System.currentTimeMillis();
+			IServerStatePoller poller = h.poller;
+			int generation = h.generation;
+			scheduler.schedule(() -> runCheck(server, h, poller, generation), 0);
+		}
+	}
+
+	/*
+	 * The check is recorded as unresponsive once it ran for the hang time, 
+	 * and updated with the outcome when it ends
+	 */
+	private void checkStillRunning(Health h) {
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - h.checkStarted);
+		if( hang <= 0 || elapsed < hang )
+			return;
+		if( h.pending == null ) {
+			h.pending = new ServerHealthCheck(h.checkTime, ServerManagementAPIConstants.HEALTH_UNRESPONSIVE, elapsed);
+			h.add(h.pending, historySize);
+		} else {
+			h.pending.setDuration(elapsed);
+		}
+	}
+
+	private void runCheck(IServer server, Health h, IServerStatePoller poller, int generation) {
+		SERVER_STATE state;
+		try {
+			state = poller.getCurrentStateSynchronous(server);
+		} catch(RuntimeException re) {
+			LOG.error("Error checking the health of server " + server.getName(), re);
+			state = SERVER_STATE.UNKNOWN;
+		}
+		boolean foundDown;
+		synchronized(h) {
+			if( h.generation != generation )
+				return;
+			long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - h.checkStarted);
+			String status = toStatus(state, duration);
+			if( h.pending != null ) {
+				h.pending.setStatus(status);
+				h.pending.setDuration(duration);
+				h.pending = null;
+			} else {
+				h.add(new ServerHealthCheck(h.checkTime, status, duration), historySize);
+			}
+			h.checkStarted = 0;
+			h.downCount = ServerManagementAPIConstants.HEALTH_DOWN.equals(status) ? h.downCount + 1 : 0;
+			// only told once, not on every check after
+			foundDown = h.downCount == failures;
+		}
+		if( foundDown ) 
+			serverFoundDown(server);
+	}
+
+	private void serverFoundDown(IServer server) {
+		IServerDelegate delegate = server.getDelegate();
+		if( delegate == null || delegate.getServerRunState() != IServerDelegate.STATE_STARTED )
+			return;
+		LOG.info("Server {} was found down by {} health checks in a row", server.getName(), failures);
+		delegate.serverFoundDown();
+	}
+
+	private String toStatus(SERVER_STATE state, long duration) {
+		if( state == null || state == SERVER_STATE.UNKNOWN )
+			return ServerManagementAPIConstants.HEALTH_UNKNOWN;
+		if( hang > 0 && duration >= hang ) 
+			return ServerManagementAPIConstants.HEALTH_UNRESPONSIVE;
+		return state == SERVER_STATE.UP ? 
+				ServerManagementAPIConstants.HEALTH_HEALTHY : ServerManagementAPIConstants.HEALTH_DOWN;
+	}
+
+	@Override
+	public ServerHealth getHealth(IServer server) {
+		List<ServerHealthCheck> checks = new ArrayList<>();
+		Health h = health.get(server.getId());
+		if( h != null ) {
+			synchronized(h) {
+				for( ServerHealthCheck c : h.checks ) {
+					checks.add(new ServerHealthCheck(c.getTime(), c.getStatus(), c.getDuration()));
+				}
+			}
+		}
+		IServerDelegate delegate = server.getDelegate();
+		boolean started = delegate != null && delegate.getServerRunState() == IServerDelegate.STATE_STARTED;
+		String status = !started || checks.isEmpty() ? ServerManagementAPIConstants.HEALTH_UNKNOWN 
+				: checks.get(checks.size() - 1).getStatus();
+		return new ServerHealth(toHandle(server), status, checks);
+	}
+
+	/**
+	 * @return whether a check of the server is running.
+	 * Package-private for tests.
+	 */
+	boolean isChecking(IServer server) {
+		Health h = health.get(server.getId());
+		if( h == null )
+			return false;
+		synchronized(h) {
+			return h.checkStarted != 0;
+		}
+	}
+
+	private ServerHandle toHandle(IServer server) {
+		IServerType type = server.getServerType();
+		ServerType st = type == null ? null : new ServerType(type.getId(), type.getName(), type.getDescription());
+		return new ServerHandle(server.getId(), st);
+	}
+
+	/**
+	 * The checks of one server. Guarded by itself.
+	 */
+	private static class Health {
+		private final Deque<ServerHealthCheck> checks = new ArrayDeque<>();
+		// kept while the server is started
+		private IServerStatePoller poller;
+		private int downCount;
+		// the check running, if checkStarted is not 0
+		private long checkStarted;
+		private long checkTime;
+		private ServerHealthCheck pending;
+		// tells apart the checks started before the server was last stopped
+		private int generation;
+
+		private void add(ServerHealthCheck check, int max) {
+			checks.addLast(check);
+			while( checks.size() > max ) 
+				checks.removeFirst();
+		}
+
+		private void reset() {
+			poller = null;
+			downCount = 0;
+			checkStarted = 0;
+			pending = null;
+			generation++;
+		}
+	}
+}
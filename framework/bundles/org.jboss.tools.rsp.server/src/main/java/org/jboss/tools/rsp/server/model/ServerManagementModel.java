@@ -26,6 +26,7 @@ import org.jboss.tools.rsp.server.spi.discovery.IDiscoveryPathModel;
 import org.jboss.tools.rsp.server.spi.discovery.IServerBeanTypeManager;
 import org.jboss.tools.rsp.server.spi.filewatcher.IFileWatcherService;
 import org.jboss.tools.rsp.server.spi.model.ICapabilityManagement;
+import org.jboss.tools.rsp.server.spi.model.IServerHealthMonitor;
 import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 import org.slf4j.Logger;
@@ -44,6 +45,7 @@ public class ServerManagementModel implements IServerManagementModel {
 	private IServerModel serverModel;
 	private IVMInstallRegistry vmModel;
 	private IFileWatcherService fileWatcherService;
+	private IServerHealthMonitor serverHealthMonitor;
 	private IDownloadRuntimesModel downloadRuntimeModel;
 
 	public ServerManagementModel() {
@@ -62,6 +64,8 @@ public class ServerManagementModel implements IServerManagementModel {
 		this.fileWatcherService = createFileWatcherService();
 		this.fileWatcherService.start();
 		this.downloadRuntimeModel = createDownloadRuntimesModel();
+		this.serverHealthMonitor = createServerHealthMonitor(serverModel);
+		this.serverHealthMonitor.start();
 	}
 	
 	@Override
@@ -99,6 +103,11 @@ public class ServerManagementModel implements IServerManagementModel {
 		return fileWatcherService;
 	}
 
+	@Override
+	public IServerHealthMonitor getServerHealthMonitor() {
+		return serverHealthMonitor;
+	}
+
 	@Override
 	public IDownloadRuntimesModel getDownloadRuntimeModel() {
 		return downloadRuntimeModel;
@@ -156,4 +165,8 @@ public class ServerManagementModel implements IServerManagementModel {
 		return new FileWatcherService();
 	}
 
+	protected IServerHealthMonitor createServerHealthMonitor(IServerModel model) {
+		return new ServerHealthMonitor(model);
+	}
+
 }
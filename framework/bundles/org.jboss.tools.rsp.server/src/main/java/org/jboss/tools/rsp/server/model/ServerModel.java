@@ -18,6 +18,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
@@ -60,7 +62,10 @@ public class ServerModel implements IServerModel {
 	private final Map<String, IServerType> serverTypes;
 	private final Map<String, IServer> servers;
 	private final Map<String, IServerDelegate> serverDelegates;
-	private final List<IServerModelListener> listeners = new ArrayList<>();
+	private final List<IServerModelListener> listeners = new CopyOnWriteArrayList<>();
+	// The handles passed to listeners, shared by all events of a server. 
+	// Listeners must not modify them.
+	private final Map<String, ServerHandle> handles = new ConcurrentHashMap<>();
 	private final Set<String> approvedAttributeTypes = new HashSet<>();
 	private final IServerManagementModel managementModel;
 
@@ -97,6 +102,7 @@ public class ServerModel implements IServerModel {
 		listeners.add(l);
 	}
 
+	@Override
 	public void removeServerModelListener(IServerModelListener l) {
 		listeners.remove(l);
 	}
@@ -105,6 +111,7 @@ public class ServerModel implements IServerModel {
 	public void addServerType(IServerType type) {
 		if( type != null && type.getId() != null ) {
 			serverTypes.put(type.getId(), type);
+			handles.clear();
 		}
 	}
 	
@@ -123,6 +130,7 @@ public class ServerModel implements IServerModel {
 	public void removeServerType(IServerType type) {
 		if( type != null && type.getId() != null ) {
 			serverTypes.remove(type.getId());
+			handles.clear();
 		}
 	}
 	
@@ -361,8 +369,12 @@ public class ServerModel implements IServerModel {
 	}
 	
 	private ServerHandle toHandle(IServer s) {
-		String typeId = s.getTypeId();
-		return new ServerHandle(s.getId(), createServerTypeDAO(typeId));
+		ServerHandle handle = handles.get(s.getId());
+		if( handle == null ) {
+			handle = new ServerHandle(s.getId(), createServerTypeDAO(s.getTypeId()));
+			handles.put(s.getId(), handle);
+		}
+		return handle;
 	}
 	
 	@Override
@@ -376,6 +388,7 @@ public class ServerModel implements IServerModel {
 		serverDelegates.remove(serverId);
 		s.dispose();
 		fireServerRemoved(toRemove);
+		handles.remove(serverId);
 		try {
 			toRemove.delete();
 		} catch (CoreException e) {
@@ -14,6 +14,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jboss.tools.rsp.api.dao.DeployableReference;
 import org.jboss.tools.rsp.api.dao.DeployableState;
@@ -35,12 +36,14 @@ public class Server extends SecuredBase implements IServer {
 	private static final String MEMENTO_DEPLOYABLE = "deployable";
 	private static final String MEMENTO_DEPLOYABLE_LABEL = "label";
 	private static final String MEMENTO_DEPLOYABLE_PATH = "path";
+	private static final String MEMENTO_METADATA = "metadata";
 
 	private IServerDelegate delegate;
 	private IServerType serverType;
 	private IServerManagementModel managementModel;
 	
 	private List<DeployableReference> deployableInitialization;
+	private final Map<String, String> metadata = new ConcurrentHashMap<>();
 	
 	public Server(File file, IServerManagementModel managementModel) {
 		super(file, managementModel.getSecureStorageProvider());
@@ -70,6 +73,12 @@ public class Server extends SecuredBase implements IServer {
 
 	@Override
 	protected void saveState(IMemento memento) {
+		if( !metadata.isEmpty()) {
+			IMemento child = memento.createChild(MEMENTO_METADATA);
+			for( Map.Entry<String, String> e : metadata.entrySet()) {
+				child.putString(e.getKey(), e.getValue());
+			}
+		}
 		if( this.delegate != null ) {
 			// Do not persist 'state' information for server or deployable;
 			// just the existence of that deployable itself. 
@@ -105,6 +114,15 @@ public class Server extends SecuredBase implements IServer {
 			}
 		}
 		deployableInitialization = references;
+		metadata.clear();
+		IMemento child = memento.getChild(MEMENTO_METADATA);
+		if( child != null ) {
+			for( String key : child.getNames()) {
+				String value = child.getString(key);
+				if( value != null )
+					metadata.put(key, value);
+			}
+		}
 	}
 	
 	@Override
@@ -139,6 +157,19 @@ public class Server extends SecuredBase implements IServer {
 		return managementModel;
 	}
 
+	@Override
+	public String getMetadata(String key) {
+		return metadata.get(key);
+	}
+
+	@Override
+	public void setMetadata(String key, String value) {
+		if( value == null )
+			metadata.remove(key);
+		else
+			metadata.put(key, value);
+	}
+
 	@Override
 	public void save(IProgressMonitor monitor) throws CoreException {
 		super.saveToFile(monitor);
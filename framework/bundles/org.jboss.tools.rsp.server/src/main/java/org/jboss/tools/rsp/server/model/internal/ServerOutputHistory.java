@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory.Chunk;
+
+/**
+ * Reads ranges of the output history of a server process for clients.
+ */
+public class ServerOutputHistory {
+
+	/**
+	 * The most bytes returned for a single read
+	 */
+	public static final int MAX_LENGTH = 64 * 1024;
+
+	private ServerOutputHistory() {
+		// inhibit instantiation
+	}
+
+	/**
+	 * Reads and decodes a range of the given history.
+	 * 
+	 * A character that is cut off at the end of the range is left 
+	 * for the next read, so that clients that continue reading at 
+	 * the returned next offset get the text intact.
+	 * 
+	 * @param offset the offset to start at, or a negative number 
+	 *   of bytes to count back from the end
+	 * @param length the number of bytes to read at most, 
+	 *   or 0 for {@link #MAX_LENGTH}
+	 */
+	public static ServerOutputResponse read(ServerHandle server, String processId, int streamType,
+			IStreamHistory history, long offset, int length) {
+		long from = offset < 0 ? Math.max(0, history.getEndOffset() + offset) : offset;
+		int max = length <= 0 ? MAX_LENGTH : Math.min(length, MAX_LENGTH);
+		Chunk chunk = history.read(from, max);
+		byte[] bytes = chunk.getBytes();
+		CharsetDecoder decoder = getCharset(history.getEncoding()).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		ByteBuffer in = ByteBuffer.wrap(bytes);
+		CharBuffer out = CharBuffer.allocate((int)(bytes.length * (double)decoder.maxCharsPerByte()) + 1);
+		decoder.decode(in, out, false);
+		if( in.position() == 0 && bytes.length > 0 ) {
+			// Nothing but an incomplete character, that is never going to be completed
+			decoder.reset();
+			decoder.decode(in, out, true);
+		}
+		out.flip();
+		return new ServerOutputResponse(server, processId, streamType, 
+				chunk.getOffset(), chunk.getOffset() + in.position(), 
+				history.getStartOffset(), history.getEndOffset(), out.toString());
+	}
+
+	private static Charset getCharset(String encoding) {
+		if( encoding != null ) {
+			try {
+				return Charset.forName(encoding);
+			} catch(IllegalArgumentException iae) {
+				// fall through
+			}
+		}
+		return Charset.defaultCharset();
+	}
+}
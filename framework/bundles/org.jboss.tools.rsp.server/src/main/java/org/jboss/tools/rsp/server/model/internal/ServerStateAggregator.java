@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.server.RSPFlags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the state changes of one server and fires a single
+ * state change event for all changes within a short window.
+ *
+ * The emitter builds the state snapshot when it runs, so the event
+ * fired always reflects all changes made before it. Emissions never
+ * overlap, so an older snapshot can not be delivered after a newer one.
+ */
+public class ServerStateAggregator {
+	private static final Logger LOG = LoggerFactory.getLogger(ServerStateAggregator.class);
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "RSP server state events");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final Runnable emitter;
+	private final long window;
+	private final Object emitLock = new Object();
+	// Guarded by this
+	private ScheduledFuture<?> pending;
+
+	/**
+	 * Aggregate changes within the window configured
+	 * by {@link RSPFlags#SYSPROP_SERVER_STATE_WINDOW}
+	 */
+	public ServerStateAggregator(Runnable emitter) {
+		this(emitter, RSPFlags.getIntSysprop(RSPFlags.SYSPROP_SERVER_STATE_WINDOW,
+				RSPFlags.DEFAULT_SERVER_STATE_WINDOW));
+	}
+
+	/**
+	 * @param emitter fires the state change event
+	 * @param window milliseconds to collect changes for,
+	 *   or 0 to fire an event for every change
+	 */
+	public ServerStateAggregator(Runnable emitter, long window) {
+		this.emitter = emitter;
+		this.window = Math.max(0, window);
+	}
+
+	/**
+	 * Fire an event once the window started by the
+	 * first change not yet fired has passed
+	 */
+	public void fireLater() {
+		if( window == 0 ) {
+			fireNow();
+			return;
+		}
+		synchronized(this) {
+			if( pending != null )
+				return;
+			pending = SCHEDULER.schedule(this::firePending, window, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Fire an event right away, including any changes
+	 * waiting to be fired. Used for the changes clients
+	 * must not miss, such as the server having started.
+	 */
+	public void fireNow() {
+		synchronized(this) {
+			if( pending != null ) {
+				pending.cancel(false);
+				pending = null;
+			}
+		}
+		emit();
+	}
+
+	public synchronized boolean isPending() {
+		return pending != null;
+	}
+
+	private void firePending() {
+		synchronized(this) {
+			pending = null;
+		}
+		emit();
+	}
+
+	private void emit() {
+		synchronized(emitLock) {
+			try {
+				emitter.run();
+			} catch(RuntimeException re) {
+				LOG.error("Unable to fire server state change", re);
+			}
+		}
+	}
+}
@@ -10,6 +10,7 @@ package org.jboss.tools.rsp.server.model.internal;
 
 import org.jboss.tools.rsp.eclipse.debug.core.IStreamListener;
 import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.spi.model.IServerModel;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 
@@ -18,22 +19,47 @@ public class ServerStreamListener implements IStreamListener {
 	private IServer server;
 	private int streamType;
 	private String processId;
+	private final IServerModel serverModel;
+	private final StreamOutputAggregator aggregator;
 
 	public ServerStreamListener(IServer server, String processId, int type) {
+		this(server, processId, type, 
+				RSPFlags.getOutputBatchSize(server.getTypeId()), 
+				RSPFlags.getOutputBatchWindow(server.getTypeId()));
+	}
+
+	/**
+	 * @param batchSize characters to collect before firing them, or 0
+	 * @param batchWindow milliseconds to collect output for, or 0
+	 */
+	public ServerStreamListener(IServer server, String processId, int type, 
+			int batchSize, long batchWindow) {
 		this.server = server;
 		this.streamType = type;
 		this.processId = processId;
+		this.serverModel = server.getServerManagementModel().getServerModel();
+		this.aggregator = new StreamOutputAggregator(
+				this::fireStreamAppended, batchSize, batchWindow);
 	}
 
 	@Override
 	public void streamAppended(String text, IStreamMonitor monitor) {
-		fireStreamAppended(server, streamType, text);
+		aggregator.append(text);
+	}
+
+	/**
+	 * Fire all output collected so far
+	 */
+	public void flush() {
+		aggregator.flush();
+	}
+
+	public String getProcessId() {
+		return processId;
 	}
 
-	private void fireStreamAppended(IServer server2, int streamType, String text) {
-		IServerModel serverModel = server.getServerManagementModel().getServerModel();
-		serverModel.fireServerStreamAppended(server2, processId, streamType, text);
-		serverModel.fireServerStreamAppended(server2, processId, streamType, text);
+	private void fireStreamAppended(String text) {
+		serverModel.fireServerStreamAppended(server, processId, streamType, text);
 	}
 	
 }
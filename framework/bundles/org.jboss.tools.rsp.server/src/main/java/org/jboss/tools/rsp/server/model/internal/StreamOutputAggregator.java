@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the output of one process stream and hands it on 
+ * in larger chunks. Output is handed on once the collected 
+ * text reaches a size limit, or once the window started by the 
+ * first text not yet handed on has passed, whichever comes first.
+ *
+ * Chunks are handed on one at a time and in the order 
+ * the text was appended.
+ */
+public class StreamOutputAggregator {
+	private static final Logger LOG = LoggerFactory.getLogger(StreamOutputAggregator.class);
+
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread t = new Thread(r, "RSP server output events");
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final Consumer<String> sink;
+	private final int size;
+	private final long window;
+	private final Object emitLock = new Object();
+	// Guarded by this
+	private final StringBuilder buffer = new StringBuilder();
+	// Guarded by this
+	private ScheduledFuture<?> pending;
+
+	/**
+	 * @param sink receives the collected output
+	 * @param size the number of characters to collect before
+	 *   handing them on, or 0 to hand on every chunk appended
+	 * @param window milliseconds to collect output for,
+	 *   or 0 to hand on every chunk appended
+	 */
+	public StreamOutputAggregator(Consumer<String> sink, int size, long window) {
+		this.sink = sink;
+		this.size = Math.max(0, size);
+		this.window = Math.max(0, window);
+	}
+
+	public void append(String text) {
+		if( text == null || text.isEmpty())
+			return;
+		if( size == 0 || window == 0 ) {
+			synchronized(emitLock) {
+				emit(text);
+			}
+			return;
+		}
+		boolean full;
+		synchronized(this) {
+			buffer.append(text);
+			full = buffer.length() >= size;
+			if( !full && pending == null ) {
+				pending = SCHEDULER.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+			}
+		}
+		if( full ) {
+			flush();
+		}
+	}
+
+	/**
+	 * Hand on all collected output right away.
+	 * Used once the process has terminated.
+	 */
+	public void flush() {
+		synchronized(emitLock) {
+			String text;
+			synchronized(this) {
+				if( pending != null ) {
+					pending.cancel(false);
+					pending = null;
+				}
+				if( buffer.length() == 0 )
+					return;
+				text = buffer.toString();
+				buffer.setLength(0);
+			}
+			emit(text);
+		}
+	}
+
+	public synchronized boolean isPending() {
+		return buffer.length() > 0;
+	}
+
+	private void emit(String text) {
+		try {
+			sink.accept(text);
+		} catch(RuntimeException re) {
+			LOG.error("Unable to fire server output", re);
+		}
+	}
+}
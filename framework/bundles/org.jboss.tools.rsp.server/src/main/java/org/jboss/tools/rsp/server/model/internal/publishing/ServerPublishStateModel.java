@@ -199,7 +199,7 @@ public class ServerPublishStateModel implements IServerPublishModel, IFileWatche
 		// but whatever. This feels so dirty. 
 		if( server != null && server.getServer() != null && server.getServer().getServerManagementModel() != null 
 				&& server.getServer().getServerManagementModel().getServerModel() != null ) {
-			server.getServer().getServerManagementModel().getServerModel().fireServerStateChanged(server.getServer(), server.getServerState());
+			server.fireStateChangedLater();
 		}
 	}
 	
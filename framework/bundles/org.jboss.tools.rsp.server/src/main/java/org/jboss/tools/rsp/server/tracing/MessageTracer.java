@@ -0,0 +1,185 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.tracing;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records json-rpc messages in a fixed-size ring buffer.
+ *
+ * Recording a message only stores a reference to it in the next slot of
+ * the buffer; it takes no lock and does not format anything. Messages are
+ * formatted later, either by a background thread that writes them to the
+ * debug log, or when the contents of the buffer are requested.
+ * When the buffer is full, the oldest messages are overwritten.
+ *
+ * Connections are not wrapped at all when tracing is disabled, so it then
+ * costs nothing.
+ */
+public class MessageTracer {
+	private static final Logger LOG = LoggerFactory.getLogger(MessageTracer.class);
+	private static final long DRAIN_INTERVAL_MS = 250;
+
+	private final AtomicReferenceArray<TraceEntry> slots;
+	private final int mask;
+	private final AtomicLong next = new AtomicLong();
+	// Sequence number of the first message since the last clear
+	private volatile long clearedAt = 0;
+
+	private Thread drainer;
+	private volatile boolean running;
+	// Only accessed from the drainer thread
+	private long drained = 0;
+
+	/**
+	 * @param size the number of messages to keep, rounded up to a power of two
+	 */
+	public MessageTracer(int size) {
+		int capacity = Integer.highestOneBit(Math.max(2, size) - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+	}
+
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	/**
+	 * Wrap the given consumer so that every message it consumes is traced.
+	 *
+	 * @param consumer the consumer to wrap
+	 * @param connection a description of the connection, used when formatting
+	 * @param incoming whether the consumer handles messages from the client
+	 *   (true) or messages sent to the client (false)
+	 */
+	public MessageConsumer wrap(MessageConsumer consumer, String connection, boolean incoming) {
+		return message -> {
+			trace(message, connection, incoming);
+			consumer.consume(message);
+		};
+	}
+
+	public void trace(Message message, String connection, boolean incoming) {
+		long seq = next.getAndIncrement();
+		slots.set((int)(seq & mask), new TraceEntry(seq, System.currentTimeMillis(), message, connection, incoming));
+	}
+
+	/**
+	 * Format the traced messages still in the buffer, oldest first.
+	 */
+	public List<String> getMessages() {
+		long end = next.get();
+		long start = Math.max(clearedAt, end - slots.length());
+		List<String> ret = new ArrayList<>();
+		for( long seq = start; seq < end; seq++ ) {
+			TraceEntry e = slots.get((int)(seq & mask));
+			// A slot may already hold a newer message, or not yet hold this one
+			if( e != null && e.seq == seq )
+				ret.add(e.format());
+		}
+		return ret;
+	}
+
+	/**
+	 * @return the number of messages traced since the last clear that
+	 * have been overwritten before they could be returned
+	 */
+	public long getDropped() {
+		return Math.max(0, next.get() - slots.length() - clearedAt);
+	}
+
+	/**
+	 * Forget all messages traced so far
+	 */
+	public void clear() {
+		clearedAt = next.get();
+	}
+
+	/**
+	 * Start writing traced messages to the debug log in the background
+	 */
+	public synchronized void start() {
+		if( running )
+			return;
+		running = true;
+		drainer = new Thread(this::drainLoop, "RSP message tracer");
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	public synchronized void stop() {
+		running = false;
+		if( drainer != null ) {
+			LockSupport.unpark(drainer);
+			drainer = null;
+		}
+	}
+
+	private void drainLoop() {
+		while(running) {
+			LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(DRAIN_INTERVAL_MS));
+			drain();
+		}
+		drain();
+	}
+
+	private void drain() {
+		long end = next.get();
+		if( end - drained > slots.length()) {
+			long missed = end - slots.length() - drained;
+			if( LOG.isDebugEnabled())
+				LOG.debug("{} traced messages were overwritten before they could be logged", missed);
+			drained = end - slots.length();
+		}
+		boolean log = LOG.isDebugEnabled();
+		while( drained < end ) {
+			TraceEntry e = slots.get((int)(drained & mask));
+			if( e == null || e.seq < drained ) {
+				// Reserved but not yet written; try again next time
+				return;
+			}
+			if( log && e.seq == drained )
+				LOG.debug(e.format());
+			drained++;
+		}
+	}
+
+	private static class TraceEntry {
+		private final long seq;
+		private final long time;
+		private final Message message;
+		private final String connection;
+		private final boolean incoming;
+
+		private TraceEntry(long seq, long time, Message message, String connection, boolean incoming) {
+			this.seq = seq;
+			this.time = time;
+			this.message = message;
+			this.connection = connection;
+			this.incoming = incoming;
+		}
+
+		private String format() {
+			String date = new SimpleDateFormat("HH:mm:ss.SSS").format(new Date(time));
+			return "[" + date + "] " + (incoming ? "Received from " : "Sent to ") + connection + ":\n" + message;
+		}
+	}
+}
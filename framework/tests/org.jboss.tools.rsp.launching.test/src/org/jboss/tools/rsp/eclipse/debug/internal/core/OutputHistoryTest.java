@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory.Chunk;
+import org.junit.Test;
+
+public class OutputHistoryTest {
+
+	@Test
+	public void testReadWithinCapacity() {
+		OutputHistory history = new OutputHistory(null, 16, false);
+		append(history, "hello ");
+		append(history, "world");
+		assertEquals(0, history.getStartOffset());
+		assertEquals(11, history.getEndOffset());
+		assertEquals("hello world", history.getContents());
+		Chunk chunk = history.read(6, 3);
+		assertEquals(6, chunk.getOffset());
+		assertArrayEquals("wor".getBytes(), chunk.getBytes());
+	}
+
+	@Test
+	public void testOldestBytesOverwritten() {
+		OutputHistory history = new OutputHistory(null, 8, false);
+		append(history, "0123456");
+		append(history, "789ab");
+		assertEquals(4, history.getStartOffset());
+		assertEquals(12, history.getEndOffset());
+		assertEquals("456789ab", history.getContents());
+		// Reads of overwritten bytes start at the oldest one left
+		Chunk chunk = history.read(0, 3);
+		assertEquals(4, chunk.getOffset());
+		assertArrayEquals("456".getBytes(), chunk.getBytes());
+	}
+
+	@Test
+	public void testAppendLargerThanCapacity() {
+		OutputHistory history = new OutputHistory(null, 4, false);
+		append(history, "abcdefghij");
+		assertEquals(6, history.getStartOffset());
+		assertEquals("ghij", history.getContents());
+	}
+
+	@Test
+	public void testClearKeepsOffsets() {
+		OutputHistory history = new OutputHistory(null, 8, false);
+		append(history, "abc");
+		history.clear();
+		append(history, "de");
+		assertEquals(3, history.getStartOffset());
+		assertEquals("de", history.getContents());
+	}
+
+	@Test
+	public void testBufferGrowsUpToCapacity() {
+		OutputHistory history = new OutputHistory(null, 64 * 1024, false);
+		append(history, "abc");
+		assertTrue(history.getAllocated() < history.getCapacity());
+
+		StringBuilder sb = new StringBuilder("abc");
+		for( int i = 0; i < 10000; i++ ) {
+			String s = Integer.toString(i);
+			append(history, s);
+			sb.append(s);
+		}
+		assertEquals(sb.length(), history.getEndOffset());
+		assertEquals(sb.toString(), history.getContents());
+
+		while( sb.length() < 100 * 1024 ) {
+			append(history, "0123456789");
+			sb.append("0123456789");
+		}
+		assertEquals(64 * 1024, history.getAllocated());
+		assertEquals(sb.substring(sb.length() - 64 * 1024), history.getContents());
+	}
+
+	@Test
+	public void testMapped() {
+		OutputHistory history = new OutputHistory("UTF-8", 8, true);
+		append(history, "0123456789");
+		assertEquals("23456789", history.getContents());
+	}
+
+	private void append(OutputHistory history, String text) {
+		byte[] bytes = text.getBytes();
+		history.append(bytes, 0, bytes.length);
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class OutputStreamMonitorTest {
+
+	@Test
+	public void testCloseReadsEverythingLeft() {
+		StringBuilder expected = new StringBuilder();
+		for( int i = 0; i < 10000; i++ ) {
+			expected.append("line ").append(i).append('\n');
+		}
+		OutputStreamMonitor monitor = new OutputStreamMonitor(
+				new ByteArrayInputStream(expected.toString().getBytes(StandardCharsets.UTF_8)), "UTF-8", false);
+		StringBuilder text = new StringBuilder();
+		monitor.addListener((appended, m) -> text.append(appended));
+		monitor.startMonitoring();
+		monitor.close();
+		assertEquals(expected.toString(), text.toString());
+	}
+
+	@Test
+	public void testOutputReadWhileRunning() throws IOException, InterruptedException {
+		PipedOutputStream out = new PipedOutputStream();
+		OutputStreamMonitor monitor = new OutputStreamMonitor(new PipedInputStream(out), "UTF-8", false);
+		StringBuffer text = new StringBuffer();
+		monitor.addListener((appended, m) -> text.append(appended));
+		monitor.startMonitoring();
+		out.write("started\n".getBytes(StandardCharsets.UTF_8));
+		out.flush();
+		for( int i = 0; i < 100 && text.length() == 0; i++ ) {
+			Thread.sleep(20);
+		}
+		assertEquals("started\n", text.toString());
+		out.close();
+		monitor.close();
+	}
+
+	@Test
+	public void testKilledMonitorStopsReading() {
+		OutputStreamMonitor monitor = new OutputStreamMonitor(
+				new ByteArrayInputStream("ignored".getBytes(StandardCharsets.UTF_8)), "UTF-8", false);
+		StringBuilder text = new StringBuilder();
+		monitor.addListener((appended, m) -> text.append(appended));
+		monitor.kill();
+		monitor.startMonitoring();
+		monitor.close();
+		assertEquals("", text.toString());
+	}
+}
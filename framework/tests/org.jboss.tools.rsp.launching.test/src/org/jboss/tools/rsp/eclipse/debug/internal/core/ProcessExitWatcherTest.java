@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ProcessExitWatcherTest {
+
+	@Test
+	public void testPolledExit() throws InterruptedException {
+		assertExitNotified(new ProcessExitWatcher(10, false));
+	}
+
+	@Test
+	public void testOnExit() throws InterruptedException {
+		assertExitNotified(new ProcessExitWatcher(10, true));
+	}
+
+	@Test
+	public void testExitedProcessNotifiedRightAway() throws InterruptedException {
+		ProcessExitWatcher watcher = new ProcessExitWatcher(10, false);
+		TestProcess process = new TestProcess();
+		process.exit();
+		CountDownLatch exited = new CountDownLatch(1);
+		watcher.onExit(process, exited::countDown);
+		assertTrue(exited.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFailingCallbackDoesNotStopOthers() throws InterruptedException {
+		ProcessExitWatcher watcher = new ProcessExitWatcher(10, false);
+		TestProcess first = new TestProcess();
+		TestProcess second = new TestProcess();
+		CountDownLatch exited = new CountDownLatch(1);
+		watcher.onExit(first, () -> { throw new IllegalStateException("expected"); });
+		watcher.onExit(second, exited::countDown);
+		first.exit();
+		second.exit();
+		assertTrue(exited.await(5, TimeUnit.SECONDS));
+	}
+
+	private void assertExitNotified(ProcessExitWatcher watcher) throws InterruptedException {
+		TestProcess process = new TestProcess();
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch exited = new CountDownLatch(1);
+		watcher.onExit(process, () -> {
+			calls.incrementAndGet();
+			exited.countDown();
+		});
+		assertFalse(exited.await(50, TimeUnit.MILLISECONDS));
+		process.exit();
+		assertTrue(exited.await(5, TimeUnit.SECONDS));
+		Thread.sleep(50);
+		assertEquals(1, calls.get());
+	}
+
+	private static class TestProcess extends Process {
+		private final CountDownLatch exit = new CountDownLatch(1);
+
+		void exit() {
+			exit.countDown();
+		}
+
+		@Override
+		public OutputStream getOutputStream() {
+			return new ByteArrayOutputStream();
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public InputStream getErrorStream() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public int waitFor() throws InterruptedException {
+			exit.await();
+			return 0;
+		}
+
+		@Override
+		public int exitValue() {
+			if (exit.getCount() > 0) {
+				throw new IllegalThreadStateException();
+			}
+			return 0;
+		}
+
+		@Override
+		public boolean isAlive() {
+			return exit.getCount() > 0;
+		}
+
+		@Override
+		public void destroy() {
+			exit();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class StreamDecoderTest {
+
+	@Test
+	public void testCharacterSplitAcrossReads() {
+		StreamDecoder decoder = new StreamDecoder("UTF-8", 64, false);
+		byte[] bytes = "grüß €".getBytes(StandardCharsets.UTF_8);
+		StringBuilder text = new StringBuilder();
+		// feed one byte at a time so that every multi-byte character is split
+		for( int i = 0; i < bytes.length; i++ ) {
+			String decoded = decoder.decode(bytes, i, 1, false);
+			if( decoded != null ) {
+				text.append(decoded);
+			}
+		}
+		assertNull(decoder.finish());
+		assertEquals("grüß €", text.toString());
+	}
+
+	@Test
+	public void testReadLargerThanBuffer() {
+		StringBuilder expected = new StringBuilder();
+		for( int i = 0; i < 100; i++ ) {
+			expected.append("été ").append(i).append('\n');
+		}
+		byte[] bytes = expected.toString().getBytes(StandardCharsets.UTF_8);
+		StreamDecoder decoder = new StreamDecoder("UTF-8", 16, false);
+		assertEquals(expected.toString(), decoder.decode(bytes, 0, bytes.length, false));
+	}
+
+	@Test
+	public void testIncompleteCharacterReplacedAtEnd() {
+		StreamDecoder decoder = new StreamDecoder("UTF-8", 64, false);
+		byte[] bytes = "a€".getBytes(StandardCharsets.UTF_8);
+		assertEquals("a", decoder.decode(bytes, 0, bytes.length - 1, false));
+		assertEquals("�", decoder.finish());
+	}
+
+	@Test
+	public void testLineBuffered() {
+		StreamDecoder decoder = new StreamDecoder("UTF-8", 64, true);
+		assertNull(decode(decoder, "first ", false));
+		assertEquals("first line\nsecond\n", decode(decoder, "line\nsecond\nthi", false));
+		assertEquals("third\n", decode(decoder, "rd\n", false));
+		assertEquals("prompt> ", decode(decoder, "prompt> ", true));
+		assertNull(decoder.finish());
+	}
+
+	@Test
+	public void testLineBufferedRemainderReturnedAtEnd() {
+		StreamDecoder decoder = new StreamDecoder("UTF-8", 64, true);
+		assertEquals("a\n", decode(decoder, "a\nb", false));
+		assertEquals("b", decoder.finish());
+	}
+
+	@Test
+	public void testUnknownEncodingUsesDefault() {
+		StreamDecoder decoder = new StreamDecoder("no-such-encoding", 64, false);
+		assertEquals("abc", decode(decoder, "abc", false));
+	}
+
+	private static String decode(StreamDecoder decoder, String text, boolean flushLine) {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		return decoder.decode(bytes, 0, bytes.length, flushLine);
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.eclipse.debug.internal.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.eclipse.debug.core.StreamBackpressure;
+import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamReaderPool.IPolledStream;
+import org.jboss.tools.rsp.eclipse.debug.internal.core.StreamReaderPool.Pacing;
+import org.junit.After;
+import org.junit.Test;
+
+public class StreamReaderPoolTest {
+
+	@After
+	public void after() {
+		StreamBackpressure.setSource(null);
+	}
+
+	@Test
+	public void testUnthrottledReadsWithoutBlocking() throws Exception {
+		StreamReaderPool pool = new StreamReaderPool(1, 20, Pacing.UNTHROTTLED, 50);
+		StreamMetrics metrics = new StreamMetrics();
+		FixedStream stream = new FixedStream(5, 100);
+		pool.start(stream, metrics);
+
+		assertTrue(stream.done.await(5, TimeUnit.SECONDS));
+		assertEquals(500, metrics.getBytesRead());
+		assertTrue(metrics.getBlockedMillis() < 50);
+	}
+
+	@Test
+	public void testTimeslicedDelaysReads() throws Exception {
+		StreamReaderPool pool = new StreamReaderPool(1, 20, Pacing.TIMESLICED, 50);
+		StreamMetrics metrics = new StreamMetrics();
+		FixedStream stream = new FixedStream(3, 100);
+		pool.start(stream, metrics);
+
+		assertTrue(stream.done.await(5, TimeUnit.SECONDS));
+		assertEquals(300, metrics.getBytesRead());
+		// a slice after each of the 3 reads
+		assertTrue(stream.elapsedMillis() >= 150);
+		assertTrue(metrics.getBlockedMillis() >= 150);
+	}
+
+	@Test
+	public void testBackpressureDelaysReadsOnlyWhenBackedUp() throws Exception {
+		StreamReaderPool pool = new StreamReaderPool(1, 50, Pacing.BACKPRESSURE, 10);
+		StreamMetrics metrics = new StreamMetrics();
+		FixedStream stream = new FixedStream(3, 100);
+		pool.start(stream, metrics);
+		assertTrue(stream.done.await(5, TimeUnit.SECONDS));
+		assertTrue(metrics.getBlockedMillis() < 50);
+
+		StreamBackpressure.setSource(() -> true);
+		metrics = new StreamMetrics();
+		stream = new FixedStream(3, 100);
+		pool.start(stream, metrics);
+		assertTrue(stream.done.await(5, TimeUnit.SECONDS));
+		assertTrue(metrics.getBlockedMillis() >= 150);
+	}
+
+	@Test
+	public void testIdleDelayBacksOff() throws Exception {
+		StreamReaderPool pool = new StreamReaderPool(1, 16, Pacing.UNTHROTTLED, 10);
+		FixedStream stream = new FixedStream(0, 0);
+		stream.idlePolls = 8;
+		pool.start(stream, new StreamMetrics());
+
+		assertTrue(stream.done.await(5, TimeUnit.SECONDS));
+		List<Long> polls = stream.polls;
+		// delays of 1, 2, 4, 8, 16, 16, 16 and 16 ms
+		assertTrue(polls.get(polls.size() - 1) - polls.get(0) >= 1 + 2 + 4 + 8 + 16 * 4);
+		assertTrue(polls.get(2) - polls.get(0) < 16 * 2);
+	}
+
+	/**
+	 * Has output for a number of polls, then none for a number of polls, then ends
+	 */
+	private static class FixedStream implements IPolledStream {
+		private final long start = System.nanoTime();
+		private final CountDownLatch done = new CountDownLatch(1);
+		private final List<Long> polls = new CopyOnWriteArrayList<>();
+		private int reads;
+		private final int size;
+		private int idlePolls;
+
+		private FixedStream(int reads, int size) {
+			this.reads = reads;
+			this.size = size;
+		}
+
+		@Override
+		public int poll() {
+			polls.add(elapsedMillis());
+			if( reads > 0 ) {
+				reads--;
+				return size;
+			}
+			if( idlePolls > 0 ) {
+				idlePolls--;
+				return 0;
+			}
+			done.countDown();
+			return -1;
+		}
+
+		private long elapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		}
+	}
+}
@@ -16,9 +16,11 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.CANCELATION_CAUSE;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -94,6 +96,60 @@ public class AbstractPollerTest {
 		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
 	}
 
+	@Test
+	public void cancelStopsPinging() throws Exception {
+		PollingScheduler scheduler = new PollingScheduler(1);
+		try {
+			CountingPoller poller = new CountingPoller(scheduler);
+			poller.beginPolling(null, SERVER_STATE.UP);
+			while(poller.pings.get() < 2) {
+				Thread.sleep(10);
+			}
+			poller.cancel(CANCELATION_CAUSE.CANCEL);
+			int pings = poller.pings.get();
+			Thread.sleep(500);
+
+			assertThat(poller.pings.get()).isEqualTo(pings);
+			assertThat(scheduler.getScheduledCount()).isEqualTo(0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void stopsPingingOnceComplete() throws Exception {
+		PollingScheduler scheduler = new PollingScheduler(1);
+		try {
+			CountingPoller poller = new CountingPoller(scheduler);
+			poller.result = SERVER_STATE.UP;
+			poller.beginPolling(null, SERVER_STATE.UP);
+
+			assertThat(waitForComplete(poller)).isTrue();
+			Thread.sleep(500);
+			assertThat(poller.pings.get()).isEqualTo(1);
+			assertThat(scheduler.getScheduledCount()).isEqualTo(0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void pingsOnSchedule() throws Exception {
+		PollingScheduler scheduler = new PollingScheduler(1);
+		try {
+			CountingPoller poller = new CountingPoller(scheduler);
+			poller.setPollSchedule(PollSchedules.backoff(10, 1000, 2, 0));
+			poller.beginPolling(null, SERVER_STATE.UP);
+			Thread.sleep(500);
+			poller.cancel(CANCELATION_CAUSE.CANCEL);
+
+			// pings at 0, 10, 30, 70, 150 and 310 ms
+			assertThat(poller.pings.get()).isGreaterThanOrEqualTo(4).isLessThanOrEqualTo(6);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+
 	private boolean waitForComplete(IServerStatePoller poller) {
 		Future<Boolean> isComplete = executor.submit(() -> {
 			while(!poller.isComplete()) {
@@ -109,7 +165,29 @@ public class AbstractPollerTest {
 		}
 	}
 
+	private static class CountingPoller extends AbstractPoller {
+		private final PollingScheduler scheduler;
+		private final AtomicInteger pings = new AtomicInteger();
+		private volatile SERVER_STATE result = SERVER_STATE.DOWN;
 
-	
-}
+		private CountingPoller(PollingScheduler scheduler) {
+			this.scheduler = scheduler;
+		}
 
+		@Override
+		protected PollingScheduler getScheduler() {
+			return scheduler;
+		}
+
+		@Override
+		protected SERVER_STATE onePing(IServer server) {
+			pings.incrementAndGet();
+			return result;
+		}
+
+		@Override
+		protected String getThreadName() {
+			return CountingPoller.class.getSimpleName();
+		}
+	}
+}
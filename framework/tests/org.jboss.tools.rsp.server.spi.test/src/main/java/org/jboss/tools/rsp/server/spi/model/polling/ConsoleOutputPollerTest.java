@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.model.IServerModelListener;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.CANCELATION_CAUSE;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ConsoleOutputPollerTest {
+
+	private static final String STARTED = "WFLYSRV002[56]:";
+	private static final String STOPPED = "WFLYSRV0050:";
+
+	private IServer server;
+	private IServerModel model;
+	private ConsoleOutputPoller poller;
+
+	@Before
+	public void before() {
+		this.server = mock(IServer.class);
+		when(server.getId()).thenReturn("wf13");
+		IServerManagementModel mgmt = mock(IServerManagementModel.class);
+		when(server.getServerManagementModel()).thenReturn(mgmt);
+		this.model = mock(IServerModel.class);
+		when(mgmt.getServerModel()).thenReturn(model);
+		this.poller = new ConsoleOutputPoller("wf13", Pattern.compile(STARTED), Pattern.compile(STOPPED));
+	}
+
+	@Test
+	public void isCompleteOnceStartedMarkerPrinted() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.UP);
+		append(listener, "wf13", "INFO  [org.jboss.as] (MSC service thread) WFLYSRV0049: WildFly starting\n");
+
+		assertThat(poller.isComplete()).isFalse();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UNKNOWN);
+
+		append(listener, "wf13", "INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: WildFly started in 3120ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void matchesMarkerSplitAcrossChunks() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.UP);
+		append(listener, "wf13", "INFO  [org.jboss.as] (Controller Boot Thread) WFLY");
+		append(listener, "wf13", "SRV0026: WildFly started (with errors)");
+
+		assertThat(poller.isComplete()).isFalse();
+
+		append(listener, "wf13", " in 3120ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void ignoresOutputOfOtherServers() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.UP);
+		append(listener, "other", "WFLYSRV0025: WildFly started in 3120ms\n");
+
+		assertThat(poller.isComplete()).isFalse();
+	}
+
+	@Test
+	public void stoppedMarkerAssertsDownWhenStarting() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.UP);
+		append(listener, "wf13", "WFLYSRV0050: WildFly stopped in 12ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.DOWN);
+	}
+
+	@Test
+	public void startedMarkerIgnoredWhenStopping() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.DOWN);
+		append(listener, "wf13", "WFLYSRV0025: WildFly started in 3120ms\n");
+
+		assertThat(poller.isComplete()).isFalse();
+
+		append(listener, "wf13", "WFLYSRV0050: WildFly stopped in 12ms\n");
+
+		assertThat(poller.isComplete()).isTrue();
+		assertThat(poller.getState()).isEqualTo(SERVER_STATE.DOWN);
+	}
+
+	@Test
+	public void cancelRemovesListener() throws Exception {
+		IServerModelListener listener = beginPolling(SERVER_STATE.UP);
+		poller.cancel(CANCELATION_CAUSE.CANCEL);
+
+		verify(model).removeServerModelListener(listener);
+		assertThat(poller.getState()).isNull();
+	}
+
+	private IServerModelListener beginPolling(SERVER_STATE expected) throws PollingException {
+		poller.beginPolling(server, expected);
+		ArgumentCaptor<IServerModelListener> captor = ArgumentCaptor.forClass(IServerModelListener.class);
+		verify(model).addServerModelListener(captor.capture());
+		return captor.getValue();
+	}
+
+	private void append(IServerModelListener listener, String serverId, String text) {
+		listener.serverProcessOutputAppended(new ServerHandle(serverId, null), "process", 1, text);
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.junit.After;
+import org.junit.Test;
+
+public class HttpReadinessPollerTest {
+
+	private HttpStandIn standIn;
+
+	@After
+	public void after() throws IOException {
+		if( standIn != null )
+			standIn.close();
+	}
+
+	@Test
+	public void anyStatusIsUpByDefault() throws IOException {
+		standIn = new HttpStandIn(404);
+
+		assertThat(ping(standIn.getURL(), null)).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void upOnlyOnExpectedStatus() throws IOException {
+		standIn = new HttpStandIn(503);
+		IntPredicate ok = HttpReadinessPoller.parseStatusCodes("200-299");
+
+		assertThat(ping(standIn.getURL(), ok)).isEqualTo(SERVER_STATE.DOWN);
+		standIn.status = 204;
+		assertThat(ping(standIn.getURL(), ok)).isEqualTo(SERVER_STATE.UP);
+	}
+
+	@Test
+	public void downIfNothingListens() throws IOException {
+		int port;
+		try (ServerSocket s = new ServerSocket(0)) {
+			port = s.getLocalPort();
+		}
+
+		assertThat(ping("http://localhost:" + port, null)).isEqualTo(SERVER_STATE.DOWN);
+	}
+
+	@Test
+	public void timesOutIfPortNeverAnswers() throws IOException {
+		// accepts connections in its backlog but never reads them
+		try (ServerSocket silent = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			long start = System.currentTimeMillis();
+			SERVER_STATE state = ping("http://localhost:" + silent.getLocalPort(), null);
+
+			assertThat(state).isEqualTo(SERVER_STATE.DOWN);
+			assertThat(System.currentTimeMillis() - start).isLessThan(5000);
+		}
+	}
+
+	@Test
+	public void reusesConnection() throws IOException {
+		standIn = new HttpStandIn(200);
+		for( int i = 0; i < 5; i++ ) {
+			assertThat(ping(standIn.getURL(), null)).isEqualTo(SERVER_STATE.UP);
+		}
+
+		assertThat(standIn.requests.get()).isEqualTo(5);
+		assertThat(standIn.connections.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void parsesStatusCodes() {
+		IntPredicate codes = HttpReadinessPoller.parseStatusCodes(" 200, 300-399 ,");
+
+		assertThat(codes.test(200)).isTrue();
+		assertThat(codes.test(302)).isTrue();
+		assertThat(codes.test(204)).isFalse();
+		assertThat(HttpReadinessPoller.parseStatusCodes(" ")).isNull();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidStatusCodesThrow() {
+		HttpReadinessPoller.parseStatusCodes("200,ok");
+	}
+
+	private SERVER_STATE ping(String url, IntPredicate expectedStatus) {
+		HttpReadinessPoller poller = new HttpReadinessPoller("test", 500, expectedStatus) {
+			@Override
+			protected String getURL(IServer server) {
+				return url;
+			}
+		};
+		return poller.getCurrentStateSynchronous(null);
+	}
+
+	/**
+	 * Answers every request on a connection kept alive with the given status
+	 */
+	private static class HttpStandIn implements Runnable {
+		private final ServerSocket socket;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final AtomicInteger requests = new AtomicInteger();
+		private volatile int status;
+
+		private HttpStandIn(int status) throws IOException {
+			this.status = status;
+			this.socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			Thread t = new Thread(this, "HTTP stand-in");
+			t.setDaemon(true);
+			t.start();
+		}
+
+		private String getURL() {
+			return "http://localhost:" + socket.getLocalPort() + "/health";
+		}
+
+		@Override
+		public void run() {
+			while( !socket.isClosed()) {
+				try {
+					Socket s = socket.accept();
+					connections.incrementAndGet();
+					Thread t = new Thread(() -> serve(s), "HTTP stand-in connection");
+					t.setDaemon(true);
+					t.start();
+				} catch(IOException ioe) {
+					// closed
+				}
+			}
+		}
+
+		private void serve(Socket s) {
+			try (Socket c = s) {
+				BufferedReader in = new BufferedReader(new InputStreamReader(c.getInputStream(), StandardCharsets.ISO_8859_1));
+				OutputStream out = c.getOutputStream();
+				String line;
+				while((line = in.readLine()) != null ) {
+					if( !line.isEmpty())
+						continue;
+					// end of the headers of a request
+					requests.incrementAndGet();
+					String body = "status " + status;
+					String response = "HTTP/1.1 " + status + " Stand-in\r\n" 
+							+ "Content-Length: " + body.length() + "\r\n" 
+							+ "Connection: keep-alive\r\n\r\n" + body;
+					out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+					out.flush();
+				}
+			} catch(IOException ioe) {
+				// client went away
+			}
+		}
+
+		private void close() throws IOException {
+			socket.close();
+		}
+	}
+}
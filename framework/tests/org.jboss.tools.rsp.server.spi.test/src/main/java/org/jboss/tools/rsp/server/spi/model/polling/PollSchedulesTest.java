@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.spi.model.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.junit.After;
+import org.junit.Test;
+
+public class PollSchedulesTest {
+
+	@After
+	public void after() {
+		System.clearProperty(PollSchedules.SYSPROP_POLLER_SCHEDULE);
+	}
+
+	@Test
+	public void backoffGrowsUpToMax() {
+		IPollSchedule schedule = PollSchedules.backoff(100, 1000, 2, 0);
+
+		assertThat(schedule.getDelay(1, 0)).isEqualTo(100);
+		assertThat(schedule.getDelay(2, 0)).isEqualTo(200);
+		assertThat(schedule.getDelay(4, 0)).isEqualTo(800);
+		assertThat(schedule.getDelay(5, 0)).isEqualTo(1000);
+		assertThat(schedule.getDelay(50, 0)).isEqualTo(1000);
+	}
+
+	@Test
+	public void jitterStaysWithinBounds() {
+		IPollSchedule schedule = PollSchedules.backoff(1000, 1000, 2, 0.2);
+		boolean varies = false;
+		long first = schedule.getDelay(1, 0);
+		for( int i = 0; i < 1000; i++ ) {
+			long delay = schedule.getDelay(1, 0);
+			assertThat(delay).isGreaterThanOrEqualTo(800).isLessThanOrEqualTo(1200);
+			varies |= delay != first;
+		}
+		assertThat(varies).isTrue();
+	}
+
+	@Test
+	public void nearExpectedIsFastAroundExpectedTime() {
+		IPollSchedule schedule = PollSchedules.nearExpected(30000, 50, PollSchedules.fixed(2000));
+
+		// window of 6 s around 30 s
+		assertThat(schedule.getDelay(1, 0)).isEqualTo(2000);
+		assertThat(schedule.getDelay(10, 23000)).isEqualTo(1000);
+		assertThat(schedule.getDelay(10, 24000)).isEqualTo(50);
+		assertThat(schedule.getDelay(10, 35999)).isEqualTo(50);
+		assertThat(schedule.getDelay(10, 36000)).isEqualTo(2000);
+	}
+
+	@Test
+	public void serverWithHistoryIsPolledFastNearExpectedTime() {
+		IServer server = mock(IServer.class);
+		when(server.getMetadata(StartupHistory.METADATA_KEY)).thenReturn("10000,20000,90000");
+		IPollSchedule schedule = PollSchedules.forServer(server, SERVER_STATE.UP);
+
+		assertThat(schedule.getDelay(30, 20000)).isEqualTo(PollSchedules.FAST_DELAY);
+		assertThat(schedule.getDelay(30, 60000)).isGreaterThan(PollSchedules.FAST_DELAY);
+	}
+
+	@Test
+	public void fixedScheduleBySystemProperty() {
+		System.setProperty(PollSchedules.SYSPROP_POLLER_SCHEDULE, PollSchedules.SCHEDULE_FIXED);
+		IPollSchedule schedule = PollSchedules.forServer(mock(IServer.class), SERVER_STATE.UP);
+
+		assertThat(schedule.getDelay(30, 60000)).isEqualTo(PollSchedules.FIXED_DELAY);
+	}
+
+	@Test
+	public void startupHistoryKeepsLastDurations() {
+		IServer server = mock(IServer.class);
+		when(server.getMetadata(StartupHistory.METADATA_KEY)).thenReturn("1,2,3,4,5,6,7,8,9,10");
+		StartupHistory.recordStartup(server, 11);
+
+		verify(server).setMetadata(StartupHistory.METADATA_KEY, "2,3,4,5,6,7,8,9,10,11");
+	}
+
+	@Test
+	public void expectedStartupTimeIsMedian() {
+		IServer server = mock(IServer.class);
+		assertThat(StartupHistory.getExpectedStartupTime(server)).isEqualTo(-1);
+
+		when(server.getMetadata(StartupHistory.METADATA_KEY)).thenReturn("9000, 1000,x,5000");
+		assertThat(StartupHistory.getExpectedStartupTime(server)).isEqualTo(5000);
+		assertThat(StartupHistory.parse("9000,,-3,2")).isEqualTo(Arrays.asList(9000L, 2L));
+	}
+}
@@ -20,9 +20,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.CANCELATION_CAUSE;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
@@ -268,6 +271,57 @@ public class PollThreadTest {
 		pollThread.cancel();
 	}
 
+	@Test
+	public void pollsManyServersOnSharedScheduler() throws Exception {
+		// given
+		PollingScheduler scheduler = new PollingScheduler(1);
+		AtomicInteger asserted = new AtomicInteger();
+		IPollResultListener listener = new IPollResultListener() {
+			@Override
+			public void stateAsserted(SERVER_STATE state, SERVER_STATE currentState) {
+				asserted.incrementAndGet();
+			}
+
+			@Override
+			public void stateNotAsserted(SERVER_STATE state, SERVER_STATE currentState) {
+			}
+		};
+		List<PollThread> polls = new ArrayList<>();
+		try {
+			// when
+			for (int i = 0; i < 50; i++) {
+				PollThread poll = new PollThread(SERVER_STATE.UP, mockPoller(SERVER_STATE.UP), listener, server, TIMEOUT, scheduler);
+				poll.start();
+				polls.add(poll);
+			}
+			for (PollThread poll : polls) {
+				assertThat(poll.join(RESULT_TIMEOUT, TimeUnit.MILLISECONDS)).isTrue();
+				assertThat(poll.isAlive()).isFalse();
+			}
+
+			// then
+			assertThat(asserted.get()).isEqualTo(50);
+			assertThat(scheduler.getScheduledCount()).isEqualTo(0);
+		} finally {
+			scheduler.shutdown();
+		}
+	}
+
+	@Test
+	public void cancelAfterResultDoesNotNotifyAgain() throws Exception {
+		// given
+		PollThread pollThread = PollThreadUtils.pollServer(server, SERVER_STATE.UP, poller, resultListener, TIMEOUT);
+		pollThread.join();
+		assertThat(resultListener.getNextNotifiedState().isAsserted()).isTrue();
+
+		// when
+		pollThread.cancel();
+
+		// then
+		assertThat(resultListener.notifiedStates).isEmpty();
+		verify(poller, never()).cancel(eq(CANCELATION_CAUSE.CANCEL));
+	}
+
 	private IServerDelegate mockServerDelegate() {
 		return mock(IServerDelegate.class);
 	}
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.BindException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.jboss.tools.rsp.api.UnixDomainSockets;
+import org.jboss.tools.rsp.server.model.ClientEventQueue;
+import org.jboss.tools.rsp.server.model.ClientEventQueue.OverflowPolicy;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class ConnectionManagerTest {
+
+	private ConnectionManager manager;
+
+	@After
+	public void after() {
+		if( manager != null )
+			manager.shutdown();
+	}
+
+	@Test
+	public void testEcho() throws Exception {
+		int port = startEchoManager(10, 0);
+		try (Socket s = new Socket("localhost", port)) {
+			s.setSoTimeout(5000);
+			write(s, "hello");
+			write(s, "world");
+			assertEquals("echo:hello", read(s.getInputStream()));
+			assertEquals("echo:world", read(s.getInputStream()));
+			assertEquals(1, manager.getConnectionCount());
+		}
+	}
+
+	@Test
+	public void testMaxConnections() throws Exception {
+		int port = startEchoManager(1, 0);
+		try (Socket first = new Socket("localhost", port); Socket second = new Socket("localhost", port)) {
+			first.setSoTimeout(5000);
+			second.setSoTimeout(5000);
+			write(first, "first");
+			assertEquals("echo:first", read(first.getInputStream()));
+			// The second connection is closed by the server right away
+			assertEquals(-1, second.getInputStream().read());
+			assertEquals(1, manager.getConnectionCount());
+		}
+	}
+
+	@Test
+	public void testMaxConnectionsAcrossListeners() throws Exception {
+		int max = 3;
+		manager = new ConnectionManager(c -> c.start(msg -> c.send("echo:" + msg)), 2, max, 0);
+		int[] ports = new int[4];
+		for( int i = 0; i < ports.length; i++ ) {
+			ports[i] = ((InetSocketAddress)manager.listen(0)).getPort();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(20);
+		List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+		try {
+			CountDownLatch go = new CountDownLatch(1);
+			for( int i = 0; i < 20; i++ ) {
+				int port = ports[i % ports.length];
+				executor.execute(() -> {
+					try {
+						go.await();
+						sockets.add(new Socket("localhost", port));
+					} catch(IOException | InterruptedException e) {
+						// counted as refused
+					}
+				});
+			}
+			go.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+			waitForConnectionCount(max);
+			Thread.sleep(200);
+			assertEquals(max, manager.getConnectionCount());
+
+			// closed connections free their slots
+			for( ChannelConnection c : manager.getConnections()) {
+				c.close();
+			}
+			waitForConnectionCount(0);
+			try (Socket next = new Socket("localhost", ports[0])) {
+				next.setSoTimeout(5000);
+				write(next, "next");
+				assertEquals("echo:next", read(next.getInputStream()));
+			}
+		} finally {
+			executor.shutdownNow();
+			for( Socket s : sockets ) {
+				s.close();
+			}
+		}
+	}
+
+	@Test
+	public void testIdleConnectionClosed() throws Exception {
+		int port = startEchoManager(10, 200);
+		try (Socket s = new Socket("localhost", port)) {
+			s.setSoTimeout(5000);
+			write(s, "ping");
+			assertEquals("echo:ping", read(s.getInputStream()));
+			assertEquals(-1, s.getInputStream().read());
+		}
+		waitForConnectionCount(0);
+		assertEquals(0, manager.getConnectionCount());
+	}
+
+	@Test
+	public void testClientDisconnect() throws Exception {
+		int port = startEchoManager(10, 0);
+		try (Socket s = new Socket("localhost", port)) {
+			s.setSoTimeout(5000);
+			write(s, "ping");
+			assertEquals("echo:ping", read(s.getInputStream()));
+		}
+		waitForConnectionCount(0);
+		assertEquals(0, manager.getConnectionCount());
+	}
+
+	@Test
+	public void testShutdownClosesConnections() throws Exception {
+		int port = startEchoManager(10, 0);
+		try (Socket s = new Socket("localhost", port)) {
+			s.setSoTimeout(5000);
+			write(s, "ping");
+			assertEquals("echo:ping", read(s.getInputStream()));
+			manager.shutdown();
+			assertEquals(-1, s.getInputStream().read());
+			assertTrue(manager.isShutdown());
+			assertEquals(0, manager.getConnectionCount());
+		}
+	}
+
+	@Test
+	public void testUnixDomainSocket() throws Exception {
+		Assume.assumeTrue(UnixDomainSockets.isSupported());
+		Path dir = Files.createTempDirectory("rsp");
+		Path socket = dir.resolve("rsp.sock");
+		try {
+			manager = new ConnectionManager(
+					c -> c.start(msg -> c.send("echo:" + msg)), 2, 10, 0);
+			manager.listen(socket);
+			assertTrue(Files.exists(socket));
+			try (SocketChannel channel = UnixDomainSockets.connect(socket)) {
+				byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+				write(channel, ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+				write(channel, body);
+				assertEquals("echo:hello", read(Channels.newInputStream(channel)));
+				assertEquals(1, manager.getConnectionCount());
+			}
+			manager.shutdown();
+			assertFalse(Files.exists(socket));
+		} finally {
+			Files.deleteIfExists(socket);
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testUnixDomainSocketInUse() throws Exception {
+		Assume.assumeTrue(UnixDomainSockets.isSupported());
+		Path dir = Files.createTempDirectory("rsp");
+		Path socket = dir.resolve("rsp.sock");
+		ConnectionManager other = new ConnectionManager(
+				c -> c.start(msg -> c.send("other:" + msg)), 1, 10, 0);
+		try {
+			manager = new ConnectionManager(
+					c -> c.start(msg -> c.send("echo:" + msg)), 2, 10, 0);
+			manager.listen(socket);
+			try {
+				other.listen(socket);
+				fail("Bound the socket of a running server");
+			} catch(BindException be) {
+				// expected
+			}
+			try (SocketChannel channel = UnixDomainSockets.connect(socket)) {
+				byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+				write(channel, ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+				write(channel, body);
+				assertEquals("echo:hello", read(Channels.newInputStream(channel)));
+			}
+		} finally {
+			other.shutdown();
+			manager.shutdown();
+			Files.deleteIfExists(socket);
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testUnixDomainSocketNotBoundOverFile() throws Exception {
+		Assume.assumeTrue(UnixDomainSockets.isSupported());
+		Path dir = Files.createTempDirectory("rsp");
+		Path file = dir.resolve("rsp.sock");
+		Files.write(file, "keep".getBytes(StandardCharsets.UTF_8));
+		try {
+			manager = new ConnectionManager(
+					c -> c.start(msg -> c.send("echo:" + msg)), 2, 10, 0);
+			try {
+				manager.listen(file);
+				fail("Bound over a regular file");
+			} catch(BindException be) {
+				// expected
+			}
+			assertEquals("keep", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+		} finally {
+			Files.deleteIfExists(file);
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testStaleUnixDomainSocketReplaced() throws Exception {
+		Assume.assumeTrue(UnixDomainSockets.isSupported());
+		Path dir = Files.createTempDirectory("rsp");
+		Path socket = dir.resolve("rsp.sock");
+		try {
+			// closing the channel leaves the socket file behind
+			UnixDomainSockets.openServerChannel(socket).close();
+			assertTrue(Files.exists(socket));
+			manager = new ConnectionManager(
+					c -> c.start(msg -> c.send("echo:" + msg)), 2, 10, 0);
+			manager.listen(socket);
+			try (SocketChannel channel = UnixDomainSockets.connect(socket)) {
+				byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+				write(channel, ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+				write(channel, body);
+				assertEquals("echo:hello", read(Channels.newInputStream(channel)));
+			}
+		} finally {
+			manager.shutdown();
+			Files.deleteIfExists(socket);
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testStalledClientDisconnected() throws Exception {
+		StalledClient stalled = startStalledClient(OverflowPolicy.DISCONNECT);
+		try {
+			stalled.sendUntil(() -> stalled.disconnected.getCount() == 0);
+			assertTrue(stalled.disconnected.await(5, TimeUnit.SECONDS));
+		} finally {
+			stalled.socket.close();
+		}
+	}
+
+	@Test
+	public void testStalledClientEventsDropped() throws Exception {
+		StalledClient stalled = startStalledClient(OverflowPolicy.DROP);
+		try {
+			stalled.sendUntil(() -> stalled.queue.getDropped() > 0);
+			assertTrue(stalled.queue.getDropped() > 0);
+			// the events wait in the queue, not as bytes in the connection
+			assertTrue(stalled.connection.getOutboundBytes() <= STALLED_LIMIT + STALLED_CHUNK.length() + 64);
+			assertEquals(STALLED_CAPACITY, stalled.queue.size());
+			assertEquals(1, manager.getConnectionCount());
+		} finally {
+			stalled.socket.close();
+		}
+	}
+
+	private static final int STALLED_LIMIT = 16 * 1024;
+	private static final int STALLED_CAPACITY = 10;
+	private static final String STALLED_CHUNK = new String(new char[4096]).replace('\0', 'x');
+
+	/*
+	 * A client that never reads what it is sent
+	 */
+	private StalledClient startStalledClient(OverflowPolicy policy) throws Exception {
+		StalledClient stalled = new StalledClient();
+		CountDownLatch accepted = new CountDownLatch(1);
+		manager = new ConnectionManager(c -> {
+			try {
+				c.getChannel().setOption(StandardSocketOptions.SO_SNDBUF, 4096);
+			} catch(IOException ioe) {
+				// keep the default size
+			}
+			c.setOutboundLimit(STALLED_LIMIT);
+			ClientEventQueue queue = new ClientEventQueue(null, STALLED_CAPACITY, policy, 
+					stalled.executor, () -> {
+						c.close();
+						stalled.disconnected.countDown();
+					});
+			queue.setOutbound(c::isBackedUp);
+			c.setWritableListener(queue::resume);
+			stalled.connection = c;
+			stalled.queue = queue;
+			c.start(msg -> {});
+			accepted.countDown();
+		}, 1, 10, 0);
+		InetSocketAddress addr = (InetSocketAddress)manager.listen(0);
+		stalled.socket = new Socket();
+		stalled.socket.setReceiveBufferSize(4096);
+		stalled.socket.connect(new InetSocketAddress("localhost", addr.getPort()));
+		assertTrue(accepted.await(5, TimeUnit.SECONDS));
+		return stalled;
+	}
+
+	private static class StalledClient {
+		private final ExecutorService executor = Executors.newSingleThreadExecutor();
+		private final CountDownLatch disconnected = new CountDownLatch(1);
+		private volatile ChannelConnection connection;
+		private volatile ClientEventQueue queue;
+		private Socket socket;
+
+		private void sendUntil(BooleanSupplier done) throws InterruptedException {
+			try {
+				// far more than the socket buffers can hold
+				for( int i = 0; i < 10000 && !done.getAsBoolean(); i++ ) {
+					queue.add(client -> connection.send(STALLED_CHUNK));
+					Thread.sleep(1);
+				}
+			} finally {
+				executor.shutdown();
+			}
+		}
+	}
+
+	private int startEchoManager(int max, long idle) throws IOException {
+		manager = new ConnectionManager(
+				c -> c.start(msg -> c.send("echo:" + msg)), 2, max, idle);
+		InetSocketAddress addr = (InetSocketAddress)manager.listen(0);
+		return addr.getPort();
+	}
+
+	private void waitForConnectionCount(int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while( manager.getConnectionCount() != count && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+	}
+
+	private void write(Socket s, String content) throws IOException {
+		byte[] body = content.getBytes(StandardCharsets.UTF_8);
+		s.getOutputStream().write(("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		s.getOutputStream().write(body);
+		s.getOutputStream().flush();
+	}
+
+	private void write(SocketChannel channel, byte[] bytes) throws IOException {
+		ByteBuffer buf = ByteBuffer.wrap(bytes);
+		while( buf.hasRemaining()) {
+			channel.write(buf);
+		}
+	}
+
+	private String read(InputStream in) throws IOException {
+		ByteArrayOutputStream headers = new ByteArrayOutputStream();
+		while(!headers.toString("US-ASCII").endsWith("\r\n\r\n")) {
+			int b = in.read();
+			if( b == -1 )
+				throw new IOException("Connection closed");
+			headers.write(b);
+		}
+		String h = headers.toString("US-ASCII");
+		int len = Integer.parseInt(h.substring(h.indexOf(':') + 1).trim());
+		byte[] body = new byte[len];
+		int read = 0;
+		while( read < len ) {
+			int r = in.read(body, read, len - read);
+			if( r == -1 )
+				throw new IOException("Connection closed");
+			read += r;
+		}
+		return new String(body, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.connection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class ContentLengthDecoderTest {
+
+	@Test
+	public void testSingleMessage() throws IOException {
+		ContentLengthDecoder decoder = new ContentLengthDecoder();
+		decoder.append(frame("{\"a\":1}"));
+		assertEquals("{\"a\":1}", decoder.next());
+		assertNull(decoder.next());
+		assertEquals(0, decoder.getBufferedLength());
+	}
+
+	@Test
+	public void testSeveralMessagesInOneRead() throws IOException {
+		ContentLengthDecoder decoder = new ContentLengthDecoder();
+		ByteBuffer one = frame("first");
+		ByteBuffer two = frame("second");
+		ByteBuffer both = ByteBuffer.allocate(one.remaining() + two.remaining());
+		both.put(one).put(two).flip();
+		decoder.append(both);
+		assertEquals("first", decoder.next());
+		assertEquals("second", decoder.next());
+		assertNull(decoder.next());
+	}
+
+	@Test
+	public void testMessageSplitAcrossReads() throws IOException {
+		// Small initial capacity to also exercise growing the buffer
+		ContentLengthDecoder decoder = new ContentLengthDecoder(4);
+		ByteBuffer all = frame("héllo wörld");
+		while( all.hasRemaining()) {
+			ByteBuffer one = ByteBuffer.allocate(1);
+			one.put(all.get()).flip();
+			decoder.append(one);
+			if( all.hasRemaining())
+				assertNull(decoder.next());
+		}
+		assertEquals("héllo wörld", decoder.next());
+	}
+
+	@Test
+	public void testContentTypeCharset() throws IOException {
+		ContentLengthDecoder decoder = new ContentLengthDecoder();
+		byte[] body = "café".getBytes(StandardCharsets.ISO_8859_1);
+		String headers = "Content-Type: application/vscode-jsonrpc; charset=ISO-8859-1\r\n"
+				+ "Content-Length: " + body.length + "\r\n\r\n";
+		decoder.append(ByteBuffer.wrap(headers.getBytes(StandardCharsets.US_ASCII)));
+		decoder.append(ByteBuffer.wrap(body));
+		assertEquals("café", decoder.next());
+	}
+
+	@Test
+	public void testMissingContentLength() {
+		ContentLengthDecoder decoder = new ContentLengthDecoder();
+		decoder.append(ByteBuffer.wrap("Content-Type: text\r\n\r\n{}".getBytes(StandardCharsets.US_ASCII)));
+		try {
+			decoder.next();
+			fail();
+		} catch(IOException ioe) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testInvalidContentLength() {
+		ContentLengthDecoder decoder = new ContentLengthDecoder();
+		decoder.append(ByteBuffer.wrap("Content-Length: abc\r\n\r\n{}".getBytes(StandardCharsets.US_ASCII)));
+		try {
+			decoder.next();
+			fail();
+		} catch(IOException ioe) {
+			// expected
+		}
+	}
+
+	private ByteBuffer frame(String content) {
+		byte[] body = content.getBytes(StandardCharsets.UTF_8);
+		byte[] header = ("Content-Length: " + body.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+		ByteBuffer ret = ByteBuffer.allocate(header.length + body.length);
+		ret.put(header).put(body).flip();
+		return ret;
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.daos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.lsp4j.jsonrpc.json.JsonRpcMethod;
+import org.eclipse.lsp4j.jsonrpc.json.MessageJsonHandler;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.jboss.tools.rsp.api.SocketLauncher;
+import org.jboss.tools.rsp.api.dao.Attribute;
+import org.jboss.tools.rsp.api.dao.Attributes;
+import org.jboss.tools.rsp.api.dao.CommandLineDetails;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.LaunchParameters;
+import org.jboss.tools.rsp.api.dao.ServerAttributes;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.jboss.tools.rsp.api.dao.ServerType;
+import org.jboss.tools.rsp.api.dao.StartServerResponse;
+import org.jboss.tools.rsp.api.dao.Status;
+import org.jboss.tools.rsp.api.dao.StopServerAttributes;
+import org.jboss.tools.rsp.api.json.DAOTypeAdapterFactory;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+public class DAOTypeAdapterFactoryTest {
+
+	private final Gson reflective = new Gson();
+	private final Gson generated = new GsonBuilder().registerTypeAdapterFactory(new DAOTypeAdapterFactory()).create();
+
+	@Test
+	public void testSameJsonAsReflective() {
+		ServerHandle handle = new ServerHandle("wf", new ServerType("wildfly", "WildFly", "desc"));
+		DeployableReference ref = new DeployableReference("war", "/tmp/a.war");
+		ServerState state = new ServerState();
+		state.setServer(handle);
+		state.setState(2);
+		state.setPublishState(1);
+		state.setDeployableStates(Arrays.asList(new DeployableState(ref, 2, 1)));
+		Map<String, Object> attrs = new HashMap<>();
+		attrs.put("server.home.dir", "/tmp/wf");
+		attrs.put("port", 8080);
+
+		assertSameJson(handle);
+		assertSameJson(state);
+		assertSameJson(new ServerProcessOutput(handle, "p1", 1, "line \"quoted\"\n"));
+		assertSameJson(new ServerStateDelta(handle, 3, null, 2,
+				Collections.emptyList(), Arrays.asList(ref)));
+		assertSameJson(new LaunchParameters(new ServerAttributes("wildfly", "wf", attrs), "run"));
+		assertSameJson(new StartServerResponse(new Status(4, "plugin", 0, "failed", null),
+				new CommandLineDetails(new String[] {"java", "-jar"}, "/tmp", null, null)));
+		assertSameJson(new StopServerAttributes("wf", true));
+		assertSameJson(new Attributes(Collections.singletonMap("a", new Attribute("int", "an int", 5))));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		ServerState state = new ServerState();
+		state.setServer(new ServerHandle("wf", new ServerType("wildfly", "WildFly", "desc")));
+		state.setState(4);
+		state.setDeployableStates(Arrays.asList(new DeployableState(new DeployableReference("war", "/a"), 1, 3)));
+		String json = reflective.toJson(state);
+		ServerState read = generated.fromJson(json, ServerState.class);
+		assertEquals(json, reflective.toJson(read));
+	}
+
+	@Test
+	public void testUnknownAndNullMembersIgnored() {
+		String json = "{\"id\":null,\"bogus\":{\"nested\":[1,2]},\"force\":\"true\"}";
+		StopServerAttributes read = generated.fromJson(json, StopServerAttributes.class);
+		assertNull(read.getId());
+		assertTrue(read.isForce());
+	}
+
+	@Test
+	public void testMessagesUseGeneratedAdapters() {
+		Map<String, JsonRpcMethod> methods = Collections.singletonMap("client/serverProcessOutputAppended",
+				JsonRpcMethod.notification("client/serverProcessOutputAppended", ServerProcessOutput.class));
+		MessageJsonHandler withAdapters = new MessageJsonHandler(methods, SocketLauncher::configureGson);
+		MessageJsonHandler withoutAdapters = new MessageJsonHandler(methods);
+
+		NotificationMessage message = new NotificationMessage();
+		message.setMethod("client/serverProcessOutputAppended");
+		message.setParams(new ServerProcessOutput(new ServerHandle("wf", null), "p1", 2, "hello"));
+		String json = withAdapters.serialize(message);
+		assertEquals(withoutAdapters.serialize(message), json);
+
+		NotificationMessage parsed = (NotificationMessage)withAdapters.parseMessage(json);
+		ServerProcessOutput output = (ServerProcessOutput)parsed.getParams();
+		assertEquals("hello", output.getText());
+		assertEquals("wf", output.getServer().getId());
+	}
+
+	private void assertSameJson(Object dao) {
+		String json = reflective.toJson(dao);
+		assertEquals(json, generated.toJson(dao));
+		// Both read numbers in untyped maps as doubles
+		assertEquals(reflective.toJson(reflective.fromJson(json, dao.getClass())),
+				reflective.toJson(generated.fromJson(json, dao.getClass())));
+	}
+}
@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.server.executor.RequestExecutor.Lane;
+import org.jboss.tools.rsp.server.spi.client.ClientThreadLocal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RequestExecutorTest {
+
+	private RequestExecutor executor;
+	private CountDownLatch release;
+
+	@Before
+	public void before() {
+		this.executor = new RequestExecutor(
+				new RequestLane("fast", 1, 10, 10),
+				new RequestLane("blocking", 1, 3, 2));
+		this.release = new CountDownLatch(1);
+	}
+
+	@After
+	public void after() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	@Test
+	public void testFastLaneNotBlockedBySlowRequests() throws Exception {
+		CompletableFuture<String> slow = executor.submit(Lane.BLOCKING, this::awaitRelease);
+		CompletableFuture<String> fast = executor.submit(Lane.FAST, () -> "fast");
+		assertEquals("fast", fast.get(5, TimeUnit.SECONDS));
+		assertFalse(slow.isDone());
+		release.countDown();
+		assertEquals("released", slow.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testPerClientQueueRejects() throws Exception {
+		RSPClient client = mock(RSPClient.class);
+		ClientThreadLocal.setActiveClient(client);
+		try {
+			// First request occupies the only worker, the next two fill the client's queue
+			executor.submit(Lane.BLOCKING, this::awaitRelease);
+			waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+			executor.submit(Lane.BLOCKING, () -> "queued1");
+			executor.submit(Lane.BLOCKING, () -> "queued2");
+			CompletableFuture<String> rejected = executor.submit(Lane.BLOCKING, () -> "rejected");
+			assertTrue(rejected.isCompletedExceptionally());
+
+			CompletableFuture<String> rejectedWithValue =
+					executor.submit(Lane.BLOCKING, () -> "rejected", () -> "busy");
+			assertEquals("busy", rejectedWithValue.get(1, TimeUnit.SECONDS));
+			assertEquals(2, executor.getLane(Lane.BLOCKING).getRejectedCount());
+			assertEquals(2, executor.getLane(Lane.BLOCKING).getMaxQueueDepth());
+		} finally {
+			ClientThreadLocal.setActiveClient(null);
+		}
+	}
+
+	@Test
+	public void testTotalQueueRejects() throws Exception {
+		RSPClient client1 = mock(RSPClient.class);
+		RSPClient client2 = mock(RSPClient.class);
+		executor.submit(Lane.BLOCKING, this::awaitRelease);
+		waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+		submitAs(client1, Lane.BLOCKING, "a");
+		submitAs(client1, Lane.BLOCKING, "b");
+		submitAs(client2, Lane.BLOCKING, "c");
+		CompletableFuture<String> rejected = submitAs(client2, Lane.BLOCKING, "d");
+		assertTrue(rejected.isCompletedExceptionally());
+	}
+
+	@Test
+	public void testClientsServedRoundRobin() throws Exception {
+		replaceExecutor(new RequestExecutor(
+				new RequestLane("fast", 1, 10, 10),
+				new RequestLane("blocking", 1, 10, 10)));
+		RSPClient greedy = mock(RSPClient.class);
+		RSPClient polite = mock(RSPClient.class);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+		executor.submit(Lane.BLOCKING, this::awaitRelease);
+		waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+		List<CompletableFuture<String>> all = new ArrayList<>();
+		for( int i = 0; i < 4; i++ ) {
+			String val = "greedy" + i;
+			all.add(submitAs(greedy, Lane.BLOCKING, () -> { order.add(val); return val; }));
+		}
+		all.add(submitAs(polite, Lane.BLOCKING, () -> { order.add("polite"); return "polite"; }));
+		release.countDown();
+		for( CompletableFuture<String> f : all ) {
+			f.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals("polite", order.get(1));
+	}
+
+	@Test
+	public void testActiveClientPropagated() throws Exception {
+		RSPClient client = mock(RSPClient.class);
+		CompletableFuture<RSPClient> f = submitAs(client, Lane.FAST, ClientThreadLocal::getActiveClient);
+		assertSame(client, f.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFailingRequestCompletesExceptionally() throws Exception {
+		CompletableFuture<String> f = executor.submit(Lane.FAST, () -> {
+			throw new IllegalStateException();
+		});
+		try {
+			f.get(5, TimeUnit.SECONDS);
+		} catch(Exception e) {
+			// expected
+		}
+		assertTrue(f.isCompletedExceptionally());
+	}
+
+	@Test
+	public void testRequestFailingWithErrorCompletesExceptionally() throws Exception {
+		CompletableFuture<String> f = executor.submit(Lane.FAST, () -> {
+			throw new AssertionError();
+		});
+		try {
+			f.get(5, TimeUnit.SECONDS);
+		} catch(Exception e) {
+			// expected
+		}
+		assertTrue(f.isCompletedExceptionally());
+		assertEquals("next", executor.submit(Lane.FAST, () -> "next").get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testBatchFailingWithErrorCompletesExceptionally() throws Exception {
+		CompletableFuture<List<String>> f = executor.submitAll(Lane.BLOCKING, Arrays.asList("a", "b", "c"), s -> {
+			if( "b".equals(s))
+				throw new NoClassDefFoundError(s);
+			return s;
+		}, null);
+		try {
+			f.get(5, TimeUnit.SECONDS);
+		} catch(Exception e) {
+			// expected
+		}
+		assertTrue(f.isCompletedExceptionally());
+	}
+
+	@Test
+	public void testShutdownRejectsPending() throws Exception {
+		executor.submit(Lane.BLOCKING, this::awaitRelease);
+		waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+		CompletableFuture<String> pending = executor.submit(Lane.BLOCKING, () -> "pending", () -> "rejected");
+		executor.shutdown();
+		assertEquals("rejected", pending.get(1, TimeUnit.SECONDS));
+		assertTrue(executor.getLane(Lane.BLOCKING).isShutdown());
+	}
+
+	@Test
+	public void testBatchResultsInOrder() throws Exception {
+		List<Integer> params = new ArrayList<>();
+		for( int i = 0; i < 20; i++ ) {
+			params.add(i);
+		}
+		// 20 items exceed the per client queue of 2
+		CompletableFuture<List<String>> f = executor.submitAll(Lane.BLOCKING, params, i -> "r" + i, () -> "busy");
+		List<String> results = f.get(5, TimeUnit.SECONDS);
+		assertEquals(20, results.size());
+		for( int i = 0; i < 20; i++ ) {
+			assertEquals("r" + i, results.get(i));
+		}
+	}
+
+	@Test
+	public void testBatchRunsInParallel() throws Exception {
+		replaceExecutor(new RequestExecutor(
+				new RequestLane("fast", 1, 10, 10),
+				new RequestLane("blocking", 3, 10, 10)));
+		CountDownLatch allStarted = new CountDownLatch(3);
+		AtomicInteger running = new AtomicInteger();
+		CompletableFuture<List<Integer>> f = executor.submitAll(Lane.BLOCKING, Arrays.asList(1, 2, 3), i -> {
+			running.incrementAndGet();
+			allStarted.countDown();
+			awaitRelease();
+			return i;
+		}, null);
+		assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+		assertEquals(3, running.get());
+		release.countDown();
+		assertEquals(Arrays.asList(1, 2, 3), f.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testBatchInterleavedWithOtherClients() throws Exception {
+		RSPClient batcher = mock(RSPClient.class);
+		RSPClient other = mock(RSPClient.class);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		executor.submit(Lane.BLOCKING, this::awaitRelease);
+		waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+
+		ClientThreadLocal.setActiveClient(batcher);
+		CompletableFuture<List<String>> batch;
+		try {
+			batch = executor.submitAll(Lane.BLOCKING, Arrays.asList("b0", "b1", "b2"), 
+					s -> { order.add(s); return s; }, null);
+		} finally {
+			ClientThreadLocal.setActiveClient(null);
+		}
+		CompletableFuture<String> single = submitAs(other, Lane.BLOCKING, () -> { order.add("other"); return "other"; });
+		release.countDown();
+		batch.get(5, TimeUnit.SECONDS);
+		single.get(5, TimeUnit.SECONDS);
+		assertEquals(Arrays.asList("b0", "other", "b1", "b2"), order);
+	}
+
+	@Test
+	public void testBatchShutdownRejectsRemaining() throws Exception {
+		executor.submit(Lane.BLOCKING, this::awaitRelease);
+		waitForDepth(executor.getLane(Lane.BLOCKING), 0);
+		CompletableFuture<List<String>> f = executor.submitAll(Lane.BLOCKING, 
+				Arrays.asList("a", "b"), s -> s, () -> "rejected");
+		executor.shutdown();
+		assertEquals(Arrays.asList("rejected", "rejected"), f.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testEmptyBatch() throws Exception {
+		assertTrue(executor.submitAll(Lane.FAST, null, s -> s, null).get(1, TimeUnit.SECONDS).isEmpty());
+	}
+
+	/*
+	 * The executor created before the test is shut down, 
+	 * the new one is shut down after the test
+	 */
+	private void replaceExecutor(RequestExecutor replacement) {
+		executor.shutdown();
+		this.executor = replacement;
+	}
+
+	private String awaitRelease() {
+		try {
+			release.await(10, TimeUnit.SECONDS);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+		return "released";
+	}
+
+	private CompletableFuture<String> submitAs(RSPClient client, Lane lane, String val) {
+		return submitAs(client, lane, () -> val);
+	}
+
+	private <T> CompletableFuture<T> submitAs(RSPClient client, Lane lane, java.util.function.Supplier<T> s) {
+		ClientThreadLocal.setActiveClient(client);
+		try {
+			return executor.submit(lane, s);
+		} finally {
+			ClientThreadLocal.setActiveClient(null);
+		}
+	}
+
+	private void waitForDepth(RequestLane lane, int depth) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while( lane.getQueueDepth() != depth && System.currentTimeMillis() < end) {
+			Thread.sleep(5);
+		}
+		// Give the worker a moment to begin the request it took
+		Thread.sleep(20);
+	}
+}
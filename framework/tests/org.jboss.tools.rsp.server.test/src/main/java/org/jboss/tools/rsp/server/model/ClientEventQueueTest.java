@@ -0,0 +1,545 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jboss.tools.rsp.api.RSPClient;
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.DeployableReference;
+import org.jboss.tools.rsp.api.dao.DeployableState;
+import org.jboss.tools.rsp.api.dao.ServerHandle;
+import org.jboss.tools.rsp.api.dao.ServerOutputFilter;
+import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
+import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
+import org.jboss.tools.rsp.api.dao.ServerType;
+import org.jboss.tools.rsp.api.dao.SubscriptionRequest;
+import org.jboss.tools.rsp.api.dao.util.OutputCompressionUtility;
+import org.jboss.tools.rsp.server.model.ClientEventQueue.OverflowPolicy;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+public class ClientEventQueueTest {
+
+	private RSPClient client;
+	private ManualExecutor executor;
+	private AtomicBoolean disconnected;
+
+	@Before
+	public void before() {
+		client = mock(RSPClient.class);
+		executor = new ManualExecutor();
+		disconnected = new AtomicBoolean();
+	}
+
+	@Test
+	public void testEventsDeliveredInOrder() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		ServerHandle a = handle("a");
+		ServerHandle b = handle("b");
+		queue.add(c -> c.serverAdded(a));
+		queue.add(c -> c.serverAdded(b));
+		assertEquals(2, queue.size());
+		verify(client, never()).serverAdded(any(ServerHandle.class));
+
+		executor.runAll();
+		InOrder order = inOrder(client);
+		order.verify(client).serverAdded(a);
+		order.verify(client).serverAdded(b);
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void testBackedUpWhenThreeQuartersFull() {
+		ClientEventQueue queue = createQueue(8, OverflowPolicy.DROP);
+		for( int i = 0; i < 5; i++ ) {
+			ServerHandle h = handle("s" + i);
+			queue.add(c -> c.serverAdded(h));
+		}
+		assertFalse(queue.isBackedUp());
+		ServerHandle h = handle("s5");
+		queue.add(c -> c.serverAdded(h));
+		assertTrue(queue.isBackedUp());
+
+		executor.runAll();
+		assertFalse(queue.isBackedUp());
+	}
+
+	@Test
+	public void testBackedUpWhileConnectionBackedUp() {
+		AtomicBoolean backedUp = new AtomicBoolean(true);
+		ClientEventQueue queue = createQueue(8, OverflowPolicy.DROP);
+		queue.setOutbound(backedUp::get);
+		assertTrue(queue.isBackedUp());
+
+		backedUp.set(false);
+		assertFalse(queue.isBackedUp());
+	}
+
+	@Test
+	public void testDeliveryPausedWhileConnectionBackedUp() {
+		AtomicBoolean backedUp = new AtomicBoolean(true);
+		ClientEventQueue queue = createQueue(2, OverflowPolicy.DISCONNECT);
+		queue.setOutbound(backedUp::get);
+		ServerHandle a = handle("a");
+		ServerHandle b = handle("b");
+		queue.add(c -> c.serverAdded(a));
+		queue.add(c -> c.serverAdded(b));
+		executor.runAll();
+		verify(client, never()).serverAdded(any(ServerHandle.class));
+		assertEquals(2, queue.size());
+
+		// still backed up
+		queue.resume();
+		executor.runAll();
+		assertEquals(2, queue.size());
+
+		backedUp.set(false);
+		queue.resume();
+		executor.runAll();
+		verify(client).serverAdded(a);
+		verify(client).serverAdded(b);
+		assertEquals(0, queue.size());
+		assertFalse(disconnected.get());
+	}
+
+	@Test
+	public void testOverflowWhileConnectionBackedUp() {
+		ClientEventQueue queue = createQueue(2, OverflowPolicy.DISCONNECT);
+		queue.setOutbound(() -> true);
+		for( int i = 0; i < 3; i++ ) {
+			ServerHandle h = handle("s" + i);
+			queue.add(c -> c.serverAdded(h));
+			executor.runAll();
+		}
+		assertTrue(disconnected.get());
+		verify(client, never()).serverAdded(any(ServerHandle.class));
+	}
+
+	@Test
+	public void testOnlyNewestStateKept() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		ServerState starting = state("a", 1);
+		ServerState started = state("a", 2);
+		ServerState other = state("b", 1);
+		queue.serverStateChanged(starting);
+		queue.serverStateChanged(other);
+		queue.serverStateChanged(started);
+		assertEquals(2, queue.size());
+
+		executor.runAll();
+		verify(client, never()).serverStateChanged(starting);
+		InOrder order = inOrder(client);
+		order.verify(client).serverStateChanged(started);
+		order.verify(client).serverStateChanged(other);
+	}
+
+	@Test
+	public void testStateQueuedAgainAfterDelivery() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.serverStateChanged(state("a", 1));
+		executor.runAll();
+		queue.serverStateChanged(state("a", 2));
+		executor.runAll();
+		verify(client, times(2)).serverStateChanged(any(ServerState.class));
+	}
+
+	@Test
+	public void testAdjacentOutputMerged() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		ServerHandle a = handle("a");
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "hello "));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "world"));
+		// different stream
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 2, "error"));
+		// not adjacent anymore
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "!"));
+		assertEquals(3, queue.size());
+
+		executor.runAll();
+		List<String> texts = deliveredOutput(3);
+		assertEquals("hello world", texts.get(0));
+		assertEquals("error", texts.get(1));
+		assertEquals("!", texts.get(2));
+	}
+
+	@Test
+	public void testDropPolicy() {
+		ClientEventQueue queue = createQueue(2, OverflowPolicy.DROP);
+		queue.add(c -> c.serverAdded(handle("a")));
+		queue.add(c -> c.serverAdded(handle("b")));
+		queue.add(c -> c.serverAdded(handle("c")));
+		assertEquals(2, queue.size());
+		assertEquals(1, queue.getDropped());
+		executor.runAll();
+		verify(client, times(2)).serverAdded(any(ServerHandle.class));
+		assertFalse(disconnected.get());
+	}
+
+	@Test
+	public void testMergePolicy() {
+		ClientEventQueue queue = createQueue(2, OverflowPolicy.MERGE);
+		ServerHandle a = handle("a");
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "one "));
+		queue.add(c -> c.serverAdded(handle("b")));
+		// full: merged into the pending output even though it is not adjacent
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "two"));
+		assertEquals(2, queue.size());
+		// other events are still accepted
+		queue.add(c -> c.serverAdded(handle("c")));
+		assertEquals(3, queue.size());
+		assertEquals(0, queue.getDropped());
+
+		executor.runAll();
+		assertEquals("one two", deliveredOutput(1).get(0));
+		verify(client, times(2)).serverAdded(any(ServerHandle.class));
+	}
+
+	@Test
+	public void testDisconnectPolicy() {
+		ClientEventQueue queue = createQueue(1, OverflowPolicy.DISCONNECT);
+		queue.add(c -> c.serverAdded(handle("a")));
+		queue.add(c -> c.serverAdded(handle("b")));
+		assertTrue(disconnected.get());
+		assertEquals(0, queue.size());
+		executor.runAll();
+		verify(client, never()).serverAdded(any(ServerHandle.class));
+	}
+
+	@Test
+	public void testClosedQueueDiscardsEvents() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.add(c -> c.serverAdded(handle("a")));
+		queue.close();
+		queue.add(c -> c.serverAdded(handle("b")));
+		executor.runAll();
+		verify(client, never()).serverAdded(any(ServerHandle.class));
+	}
+
+	@Test
+	public void testOneDrainTaskAtATime() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.add(c -> c.serverAdded(handle("a")));
+		queue.add(c -> c.serverAdded(handle("b")));
+		assertEquals(1, executor.tasks.size());
+		executor.runAll();
+		queue.add(c -> c.serverAdded(handle("c")));
+		assertEquals(1, executor.tasks.size());
+	}
+
+	@Test
+	public void testDeltaOnlyCarriesChanges() {
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> true);
+		DeployableReference war = new DeployableReference("war", "/tmp/a.war");
+		DeployableReference ear = new DeployableReference("ear", "/tmp/b.ear");
+		ServerState first = state("a", 1);
+		first.setDeployableStates(Arrays.asList(new DeployableState(war, 1, 1), new DeployableState(ear, 1, 1)));
+		queue.serverStateChanged(first);
+		executor.runAll();
+
+		ServerState second = state("a", 1);
+		second.setPublishState(2);
+		second.setDeployableStates(Arrays.asList(new DeployableState(war, 2, 1)));
+		queue.serverStateChanged(second);
+		executor.runAll();
+
+		// unchanged: nothing sent
+		queue.serverStateChanged(second);
+		executor.runAll();
+
+		verify(client, never()).serverStateChanged(any(ServerState.class));
+		ArgumentCaptor<ServerStateDelta> captor = ArgumentCaptor.forClass(ServerStateDelta.class);
+		verify(client, times(2)).serverStateDelta(captor.capture());
+		ServerStateDelta full = captor.getAllValues().get(0);
+		assertEquals(1, full.getSequence());
+		assertEquals(Integer.valueOf(1), full.getState());
+		assertEquals(2, full.getChangedDeployables().size());
+
+		ServerStateDelta delta = captor.getAllValues().get(1);
+		assertEquals(2, delta.getSequence());
+		assertNull(delta.getState());
+		assertEquals(Integer.valueOf(2), delta.getPublishState());
+		assertEquals(Arrays.asList(new DeployableState(war, 2, 1)), delta.getChangedDeployables());
+		assertEquals(Arrays.asList(ear), delta.getRemovedDeployables());
+	}
+
+	@Test
+	public void testDeltaSequenceRestartsAfterServerRemoved() {
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> true);
+		queue.serverStateChanged(state("a", 1));
+		queue.serverRemoved(handle("a"));
+		queue.serverStateChanged(state("a", 1));
+		executor.runAll();
+		ArgumentCaptor<ServerStateDelta> captor = ArgumentCaptor.forClass(ServerStateDelta.class);
+		verify(client, times(2)).serverStateDelta(captor.capture());
+		assertEquals(1, captor.getAllValues().get(0).getSequence());
+		assertEquals(1, captor.getAllValues().get(1).getSequence());
+	}
+
+	@Test
+	public void testDeltaNotAffectedByInPlaceChanges() {
+		DeployableReference war = new DeployableReference("war", "/tmp/a.war");
+		DeployableState ds = new DeployableState(war, 1, 1);
+		ServerState first = state("a", 1);
+		first.setDeployableStates(Arrays.asList(ds));
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> true);
+		queue.serverStateChanged(first);
+		executor.runAll();
+		// the publish model changes deployable states in place
+		ds.setPublishState(2);
+		ServerState second = state("a", 1);
+		second.setDeployableStates(Arrays.asList(ds));
+		queue.serverStateChanged(second);
+		executor.runAll();
+		verify(client, times(2)).serverStateDelta(any(ServerStateDelta.class));
+	}
+
+	@Test
+	public void testSubscriptionFiltersServers() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setSubscription(EventSubscription.fromRequest(
+				new SubscriptionRequest(Arrays.asList("a"), null)));
+		queue.serverStateChanged(state("a", 1));
+		queue.serverStateChanged(state("b", 1));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("b"), "p1", 1, "ignored"));
+		queue.add(ServerManagementAPIConstants.EVENT_KIND_DISCOVERY, null, c -> c.discoveryPathAdded(null));
+		assertEquals(2, queue.size());
+
+		executor.runAll();
+		ArgumentCaptor<ServerState> captor = ArgumentCaptor.forClass(ServerState.class);
+		verify(client).serverStateChanged(captor.capture());
+		assertEquals("a", captor.getValue().getServer().getId());
+		verify(client, never()).serverProcessOutputAppended(any(ServerProcessOutput.class));
+		verify(client).discoveryPathAdded(null);
+	}
+
+	@Test
+	public void testSubscriptionFiltersKinds() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setSubscription(EventSubscription.fromRequest(new SubscriptionRequest(null, 
+				Arrays.asList(ServerManagementAPIConstants.EVENT_KIND_STATE))));
+		queue.serverStateChanged(state("a", 1));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p1", 1, "ignored"));
+		queue.add(ServerManagementAPIConstants.EVENT_KIND_SERVER, "a", c -> c.serverAdded(handle("a")));
+		// not filtered
+		queue.add(c -> c.serverAdded(handle("b")));
+		assertEquals(2, queue.size());
+
+		executor.runAll();
+		verify(client).serverStateChanged(any(ServerState.class));
+		verify(client, never()).serverProcessOutputAppended(any(ServerProcessOutput.class));
+		verify(client).serverAdded(handle("b"));
+		verify(client, never()).serverAdded(handle("a"));
+	}
+
+	@Test
+	public void testPendingEventsFilteredWhenSubscriptionChanges() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.serverStateChanged(state("a", 1));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p1", 1, "ignored"));
+		queue.setSubscription(EventSubscription.fromRequest(
+				new SubscriptionRequest(Arrays.asList("b"), null)));
+		executor.runAll();
+		verify(client, never()).serverStateChanged(any(ServerState.class));
+		verify(client, never()).serverProcessOutputAppended(any(ServerProcessOutput.class));
+	}
+
+	@Test
+	public void testRemovalEndsDeltasWhenNotSubscribed() {
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> true);
+		queue.serverStateChanged(state("a", 1));
+		executor.runAll();
+		queue.setSubscription(EventSubscription.fromRequest(new SubscriptionRequest(null, 
+				Arrays.asList(ServerManagementAPIConstants.EVENT_KIND_STATE))));
+		queue.serverRemoved(handle("a"));
+		queue.serverStateChanged(state("a", 1));
+		executor.runAll();
+		verify(client, never()).serverRemoved(any(ServerHandle.class));
+		ArgumentCaptor<ServerStateDelta> captor = ArgumentCaptor.forClass(ServerStateDelta.class);
+		verify(client, times(2)).serverStateDelta(captor.capture());
+		assertEquals(1, captor.getAllValues().get(1).getSequence());
+	}
+
+	@Test
+	public void testReplayedOutputDeliveredFirst() {
+		ClientEventQueue queue = createQueue(1, OverflowPolicy.DROP);
+		ServerHandle a = handle("a");
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "live"));
+		// accepted even though the queue is full
+		queue.replayOutput(Arrays.asList(
+				new ServerProcessOutput(a, "p1", 1, "old "),
+				new ServerProcessOutput(a, "p1", 1, "older than live ")));
+		assertEquals(3, queue.size());
+
+		executor.runAll();
+		List<String> texts = deliveredOutput(3);
+		assertEquals("old ", texts.get(0));
+		assertEquals("older than live ", texts.get(1));
+		assertEquals("live", texts.get(2));
+	}
+
+	@Test
+	public void testReplayedOutputFilteredBySubscription() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setSubscription(EventSubscription.fromRequest(new SubscriptionRequest(
+				Arrays.asList("b"), null)));
+		queue.replayOutput(Arrays.asList(new ServerProcessOutput(handle("a"), "p1", 1, "old")));
+		assertEquals(0, queue.size());
+	}
+
+	@Test
+	public void testOutputFilteredByWholeLines() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setOutputFilter(null, OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter(null, "WARN", false))));
+		ServerHandle a = handle("a");
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "10:00 INFO started\n10:01 WA"));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(a, "p1", 1, "RN low memory\n10:02 INFO"));
+		queue.flushOutput(a, "p1");
+
+		executor.runAll();
+		List<String> texts = deliveredOutput(1);
+		assertEquals("10:01 WARN low memory\n", texts.get(0));
+	}
+
+	@Test
+	public void testOutputFilterPerServer() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setOutputFilter(Arrays.asList("a"), OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter("WFLYSRV0025", null, false))));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p1", 1, "other\n"));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("b"), "p2", 1, "other\n"));
+		assertEquals(1, queue.size());
+
+		queue.setOutputFilter(Arrays.asList("a"), null);
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p1", 1, "other\n"));
+		assertEquals(2, queue.size());
+	}
+
+	@Test
+	public void testLargeOutputCompressedForClientsThatWantIt() {
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> false, () -> true);
+		queue.setOutputCompression(9, 100);
+		StringBuilder large = new StringBuilder();
+		while( large.length() < 1000 ) {
+			large.append("INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: Started \u00e9\n");
+		}
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p", 1, "small\n"));
+		executor.runAll();
+		// merged into one payload before it is compressed
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p", 1, large.substring(0, 50)));
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p", 1, large.substring(50)));
+		executor.runAll();
+
+		assertEquals(Arrays.asList("small\n"), deliveredOutput(1));
+		ArgumentCaptor<CompressedServerProcessOutput> captor = ArgumentCaptor.forClass(CompressedServerProcessOutput.class);
+		verify(client).serverProcessOutputCompressed(captor.capture());
+		CompressedServerProcessOutput compressed = captor.getValue();
+		assertTrue(compressed.getData().length() < large.length() / 4);
+		ServerProcessOutput decompressed = OutputCompressionUtility.decompress(compressed);
+		assertEquals(large.toString(), decompressed.getText());
+		assertEquals("p", decompressed.getProcessId());
+		assertEquals(1, decompressed.getStreamType());
+		assertEquals("a", decompressed.getServer().getId());
+	}
+
+	@Test
+	public void testOutputNotCompressedForOtherClients() {
+		ClientEventQueue queue = createQueue(10, OverflowPolicy.DROP);
+		queue.setOutputCompression(9, 1);
+		queue.serverProcessOutputAppended(new ServerProcessOutput(handle("a"), "p", 1, "output\n"));
+		queue.replayOutput(Arrays.asList(new ServerProcessOutput(handle("a"), "p", 1, "replayed\n")));
+		executor.runAll();
+		assertEquals(Arrays.asList("replayed\n", "output\n"), deliveredOutput(2));
+		verify(client, never()).serverProcessOutputCompressed(any(CompressedServerProcessOutput.class));
+	}
+
+	@Test
+	public void testReplayedOutputCompressed() {
+		ClientEventQueue queue = new ClientEventQueue(client, 10, OverflowPolicy.DROP, 
+				executor, () -> disconnected.set(true), () -> false, () -> true);
+		queue.setOutputCompression(1, 1);
+		queue.replayOutput(Arrays.asList(new ServerProcessOutput(handle("a"), "p", 1, "replayed\n")));
+		executor.runAll();
+		ArgumentCaptor<CompressedServerProcessOutput> captor = ArgumentCaptor.forClass(CompressedServerProcessOutput.class);
+		verify(client).serverProcessOutputCompressed(captor.capture());
+		assertEquals("replayed\n", OutputCompressionUtility.decompress(captor.getValue()).getText());
+		verify(client, never()).serverProcessOutputAppended(any(ServerProcessOutput.class));
+	}
+
+	@Test
+	public void testUnknownEventKindRejected() {
+		assertNull(EventSubscription.fromRequest(new SubscriptionRequest(null, Arrays.asList("bogus"))));
+		assertTrue(EventSubscription.fromRequest(new SubscriptionRequest()).acceptsAll());
+	}
+
+	private List<String> deliveredOutput(int count) {
+		ArgumentCaptor<ServerProcessOutput> captor = ArgumentCaptor.forClass(ServerProcessOutput.class);
+		verify(client, times(count)).serverProcessOutputAppended(captor.capture());
+		List<String> ret = new ArrayList<>();
+		for( ServerProcessOutput o : captor.getAllValues()) {
+			ret.add(o.getText());
+		}
+		return ret;
+	}
+
+	private ClientEventQueue createQueue(int capacity, OverflowPolicy policy) {
+		return new ClientEventQueue(client, capacity, policy, executor, () -> disconnected.set(true));
+	}
+
+	private ServerHandle handle(String id) {
+		return new ServerHandle(id, new ServerType("type", "name", "desc"));
+	}
+
+	private ServerState state(String id, int state) {
+		ServerState s = new ServerState();
+		s.setServer(handle(id));
+		s.setState(state);
+		return s;
+	}
+
+	private static class ManualExecutor implements Executor {
+		private final List<Runnable> tasks = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable command) {
+			tasks.add(command);
+		}
+
+		void runAll() {
+			while(!tasks.isEmpty()) {
+				tasks.remove(0).run();
+			}
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jboss.tools.rsp.api.dao.ServerOutputFilter;
+import org.junit.Test;
+
+public class OutputFilterTest {
+
+	private static final String LOG = 
+			"12:04:33,070 WARN  [org.jboss.as.txn] WFLYTX0013: node-identifier\n"
+			+ "12:04:33,076 INFO  [org.jboss.as.security] WFLYSEC0002: Activating Security Subsystem\n"
+			+ "12:04:34,579 INFO  [org.jboss.as] WFLYSRV0025: WildFly Full 13.0.0.Final started\n"
+			+ "12:04:35,000 ERROR [org.jboss.as] WFLYCTL0013: Operation failed\n";
+
+	@Test
+	public void testNoFilters() {
+		assertNull(OutputFilter.fromRequest(null));
+		assertNull(OutputFilter.fromRequest(Collections.emptyList()));
+	}
+
+	@Test
+	public void testLevel() {
+		OutputFilter filter = OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter(null, "warn", false)));
+		assertEquals(
+				"12:04:33,070 WARN  [org.jboss.as.txn] WFLYTX0013: node-identifier\n"
+				+ "12:04:35,000 ERROR [org.jboss.as] WFLYCTL0013: Operation failed\n", 
+				filter.filter(LOG));
+	}
+
+	@Test
+	public void testIncludesAreAlternatives() {
+		OutputFilter filter = OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter(null, "ERROR", false),
+				new ServerOutputFilter("WFLYSRV0025", null, false)));
+		assertEquals(
+				"12:04:34,579 INFO  [org.jboss.as] WFLYSRV0025: WildFly Full 13.0.0.Final started\n"
+				+ "12:04:35,000 ERROR [org.jboss.as] WFLYCTL0013: Operation failed\n", 
+				filter.filter(LOG));
+	}
+
+	@Test
+	public void testPatternAndLevelMustBothMatch() {
+		OutputFilter filter = OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter("org\\.jboss\\.as\\]", "INFO", false)));
+		assertEquals(
+				"12:04:34,579 INFO  [org.jboss.as] WFLYSRV0025: WildFly Full 13.0.0.Final started\n"
+				+ "12:04:35,000 ERROR [org.jboss.as] WFLYCTL0013: Operation failed\n", 
+				filter.filter(LOG));
+	}
+
+	@Test
+	public void testExclude() {
+		OutputFilter filter = OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter("^\\S+ INFO", null, true)));
+		assertEquals(
+				"12:04:33,070 WARN  [org.jboss.as.txn] WFLYTX0013: node-identifier\n"
+				+ "12:04:35,000 ERROR [org.jboss.as] WFLYCTL0013: Operation failed\n", 
+				filter.filter(LOG));
+	}
+
+	@Test
+	public void testAllLinesAccepted() {
+		OutputFilter filter = OutputFilter.fromRequest(Arrays.asList(
+				new ServerOutputFilter("bogus", null, true)));
+		assertEquals(LOG, filter.filter(LOG));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPattern() {
+		OutputFilter.fromRequest(Arrays.asList(new ServerOutputFilter("(", null, false)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownLevel() {
+		OutputFilter.fromRequest(Arrays.asList(new ServerOutputFilter(null, "LOUD", false)));
+	}
+}
@@ -435,6 +435,24 @@ public class ServerDeployableTest {
 		assertEquals(ServerManagementAPIConstants.STATE_STARTED, oneState.getState());
 	}
 	
+	@Test
+	public void testPublishFiresOneStateChange() throws Exception {
+		AtomicInteger fired = new AtomicInteger();
+		ServerModel sm = createServerModel(s -> new CountingServerDelegate(s, fired), 
+				getServerWithoutDeployablesString(SERVER_ID, SERVER_TYPE));
+		IServer server = sm.getServer(SERVER_ID);
+		DeployableReference reference = new DeployableReference(DEPLOYABLE_LABEL, war.getAbsolutePath());
+		assertTrue(sm.addDeployable(server, reference).isOK());
+		// let the change of adding the deployable be fired
+		Thread.sleep(500);
+		fired.set(0);
+
+		sm.publish(server, ServerManagementAPIConstants.PUBLISH_FULL);
+		assertEquals(1, fired.get());
+		Thread.sleep(500);
+		assertEquals(1, fired.get());
+	}
+
 	private CountDownLatch[] startSignal1 = new CountDownLatch[1];
 	private CountDownLatch[] doneSignal1 = new CountDownLatch[1];
 	private CountDownLatch[] startSignal2 = new CountDownLatch[1];
@@ -627,6 +645,20 @@ public class ServerDeployableTest {
 		}
 	}
 	
+	public class CountingServerDelegate extends TestServerDelegate {
+		private final AtomicInteger fired;
+
+		public CountingServerDelegate(IServer server, AtomicInteger fired) {
+			super(server);
+			this.fired = fired;
+		}
+
+		@Override
+		protected void fireStateChanged(ServerState state) {
+			fired.incrementAndGet();
+		}
+	}
+
 	public class TestServerType extends AbstractServerType {
 
 		private Function<IServer, IServerDelegate> delegateProvider;
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.ServerHealth;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.spi.model.polling.PollingScheduler;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ServerHealthMonitorTest {
+
+	private PollingScheduler scheduler;
+	private IServer server;
+	private IServerDelegate delegate;
+	private IServerStatePoller poller;
+	private IServerModel model;
+
+	@Before
+	public void before() {
+		this.scheduler = new PollingScheduler(2);
+		this.poller = mock(IServerStatePoller.class);
+		this.delegate = mock(IServerDelegate.class);
+		when(delegate.getServerRunState()).thenReturn(IServerDelegate.STATE_STARTED);
+		when(delegate.getHealthPoller()).thenReturn(poller);
+		this.server = mock(IServer.class);
+		when(server.getId()).thenReturn("server1");
+		when(server.getName()).thenReturn("server1");
+		when(server.getDelegate()).thenReturn(delegate);
+		this.model = mock(IServerModel.class);
+		when(model.getServers()).thenReturn(Collections.singletonMap("server1", server));
+	}
+
+	@After
+	public void after() {
+		scheduler.shutdown();
+	}
+
+	@Test
+	public void testHealthyServer() throws Exception {
+		when(poller.getCurrentStateSynchronous(any(IServer.class))).thenReturn(SERVER_STATE.UP);
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 1000, 5);
+		check(monitor, 1);
+		ServerHealth health = monitor.getHealth(server);
+		assertEquals(ServerManagementAPIConstants.HEALTH_HEALTHY, health.getStatus());
+		assertEquals("server1", health.getServer().getId());
+		assertEquals(1, health.getChecks().size());
+	}
+
+	@Test
+	public void testHistoryTrimmed() throws Exception {
+		when(poller.getCurrentStateSynchronous(any(IServer.class))).thenReturn(SERVER_STATE.UP);
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 1000, 3);
+		for( int i = 1; i <= 5; i++ ) {
+			check(monitor, Math.min(i, 3));
+		}
+		assertEquals(3, monitor.getHealth(server).getChecks().size());
+		// the poller is kept while the server is started
+		verify(delegate, times(1)).getHealthPoller();
+	}
+
+	@Test
+	public void testFoundDownAfterFailures() throws Exception {
+		when(poller.getCurrentStateSynchronous(any(IServer.class))).thenReturn(SERVER_STATE.DOWN);
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 1000, 5);
+		check(monitor, 1);
+		assertEquals(ServerManagementAPIConstants.HEALTH_DOWN, monitor.getHealth(server).getStatus());
+		verify(delegate, never()).serverFoundDown();
+		check(monitor, 2);
+		verify(delegate, times(1)).serverFoundDown();
+		// told only once
+		check(monitor, 3);
+		verify(delegate, times(1)).serverFoundDown();
+	}
+
+	@Test
+	public void testHealthyCheckResetsFailures() throws Exception {
+		when(poller.getCurrentStateSynchronous(any(IServer.class)))
+			.thenReturn(SERVER_STATE.DOWN, SERVER_STATE.UP, SERVER_STATE.DOWN);
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 1000, 5);
+		check(monitor, 1);
+		check(monitor, 2);
+		check(monitor, 3);
+		verify(delegate, never()).serverFoundDown();
+	}
+
+	@Test
+	public void testHungServerUnresponsive() throws Exception {
+		CountDownLatch answer = new CountDownLatch(1);
+		when(poller.getCurrentStateSynchronous(any(IServer.class))).thenAnswer(invocation -> {
+			answer.await(5, TimeUnit.SECONDS);
+			return SERVER_STATE.UP;
+		});
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 50, 5);
+		monitor.checkServers();
+		Thread.sleep(100);
+		// still running: recorded as unresponsive, not checked again
+		monitor.checkServers();
+		ServerHealth health = monitor.getHealth(server);
+		assertEquals(ServerManagementAPIConstants.HEALTH_UNRESPONSIVE, health.getStatus());
+		assertEquals(1, health.getChecks().size());
+		verify(poller, times(1)).getCurrentStateSynchronous(any(IServer.class));
+
+		answer.countDown();
+		waitForCheck(monitor);
+		health = monitor.getHealth(server);
+		// the check is updated once it ends
+		assertEquals(1, health.getChecks().size());
+		assertEquals(ServerManagementAPIConstants.HEALTH_UNRESPONSIVE, health.getStatus());
+		assertTrue(health.getChecks().get(0).getDuration() >= 100);
+	}
+
+	@Test
+	public void testServerNotStartedNotChecked() throws Exception {
+		when(delegate.getServerRunState()).thenReturn(IServerDelegate.STATE_STOPPED);
+		ServerHealthMonitor monitor = new ServerHealthMonitor(model, scheduler, 0, 2, 1000, 5);
+		monitor.checkServers();
+		Thread.sleep(50);
+		verify(delegate, never()).getHealthPoller();
+		ServerHealth health = monitor.getHealth(server);
+		assertEquals(ServerManagementAPIConstants.HEALTH_UNKNOWN, health.getStatus());
+		assertTrue(health.getChecks().isEmpty());
+	}
+
+	/*
+	 * Run a check and wait until the server has the given number of checks
+	 */
+	private void check(ServerHealthMonitor monitor, int checks) throws InterruptedException {
+		monitor.checkServers();
+		long end = System.currentTimeMillis() + 5000;
+		while( monitor.getHealth(server).getChecks().size() < checks && System.currentTimeMillis() < end ) {
+			Thread.sleep(5);
+		}
+		waitForCheck(monitor);
+	}
+
+	/*
+	 * Wait until the running check ended: a new one can be started then
+	 */
+	private void waitForCheck(ServerHealthMonitor monitor) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while( monitor.isChecking(server) && System.currentTimeMillis() < end ) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -36,6 +36,7 @@ public class ServerManagementModelTest {
 		assertNotNull(model.getServerModel());
 		assertNotNull(model.getSecureStorageProvider());
 		assertNotNull(model.getVMInstallModel());
+		assertNotNull(model.getServerHealthMonitor());
 	}
 
 	@Test
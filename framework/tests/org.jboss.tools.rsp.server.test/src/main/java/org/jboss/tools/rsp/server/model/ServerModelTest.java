@@ -22,9 +22,11 @@ import static org.mockito.Mockito.mock;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.assertj.core.data.MapEntry;
@@ -473,6 +475,28 @@ public class ServerModelTest {
 				MapEntry.entry("orangutan", intAttribute));
 	}
 
+	@Test
+	public void shouldReuseServerHandleForEvents() {
+		// given
+		sm.addServerType(mockServerType("wonka5"));
+		IServer server = mockServer("abc123");
+		doReturn("wonka5").when(server).getTypeId();
+		List<ServerHandle> handles = new ArrayList<>();
+		sm.addServerModelListener(new ServerModelListenerAdapter() {
+			@Override
+			public void serverProcessOutputAppended(ServerHandle handle, String processId, int streamType, String text) {
+				handles.add(handle);
+			}
+		});
+		// when
+		sm.fireServerStreamAppended(server, "p1", 1, "line1\n");
+		sm.fireServerStreamAppended(server, "p1", 1, "line2\n");
+		// then
+		assertThat(handles).hasSize(2);
+		assertServerHandle("abc123", "wonka5", handles.get(0));
+		assertThat(handles.get(1)).isSameAs(handles.get(0));
+	}
+
 	private String getServerString(String name, String type) {
 		String contents = "{id:\"" + name + "\", id-set:\"true\", " + 
 				"org.jboss.tools.rsp.server.typeId=\"" + type + "\"}\n";
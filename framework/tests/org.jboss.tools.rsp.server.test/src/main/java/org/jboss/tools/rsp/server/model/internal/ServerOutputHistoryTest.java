@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jboss.tools.rsp.api.dao.ServerOutputResponse;
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamHistory;
+import org.junit.Test;
+
+public class ServerOutputHistoryTest {
+
+	@Test
+	public void testReadRange() {
+		IStreamHistory history = new TestHistory("hello world".getBytes(StandardCharsets.UTF_8));
+		ServerOutputResponse resp = ServerOutputHistory.read(null, "p0", 2, history, 6, 5);
+		assertEquals("world", resp.getText());
+		assertEquals(6, resp.getOffset());
+		assertEquals(11, resp.getNextOffset());
+		assertEquals(11, resp.getEndOffset());
+		assertEquals("p0", resp.getProcessId());
+	}
+
+	@Test
+	public void testNegativeOffsetCountsFromEnd() {
+		IStreamHistory history = new TestHistory("hello world".getBytes(StandardCharsets.UTF_8));
+		ServerOutputResponse resp = ServerOutputHistory.read(null, "p0", 2, history, -5, 0);
+		assertEquals("world", resp.getText());
+		assertEquals(6, resp.getOffset());
+	}
+
+	@Test
+	public void testCutOffCharacterLeftForNextRead() {
+		// "aé" is 3 bytes in UTF-8
+		IStreamHistory history = new TestHistory("aéb".getBytes(StandardCharsets.UTF_8));
+		ServerOutputResponse resp = ServerOutputHistory.read(null, "p0", 2, history, 0, 2);
+		assertEquals("a", resp.getText());
+		assertEquals(1, resp.getNextOffset());
+		resp = ServerOutputHistory.read(null, "p0", 2, history, resp.getNextOffset(), 0);
+		assertEquals("éb", resp.getText());
+		assertEquals(4, resp.getNextOffset());
+	}
+
+	private static class TestHistory implements IStreamHistory {
+		private final byte[] bytes;
+
+		TestHistory(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		@Override
+		public long getStartOffset() {
+			return 0;
+		}
+
+		@Override
+		public long getEndOffset() {
+			return bytes.length;
+		}
+
+		@Override
+		public String getEncoding() {
+			return "UTF-8";
+		}
+
+		@Override
+		public Chunk read(long offset, int length) {
+			int from = (int)Math.min(offset, bytes.length);
+			int count = Math.min(length, bytes.length - from);
+			byte[] ret = new byte[count];
+			System.arraycopy(bytes, from, ret, 0, count);
+			return new Chunk(from, ret);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class ServerStateAggregatorTest {
+
+	@Test
+	public void testChangesWithinWindowFiredOnce() throws Exception {
+		AtomicInteger fired = new AtomicInteger();
+		ServerStateAggregator aggregator = new ServerStateAggregator(fired::incrementAndGet, 100);
+		for( int i = 0; i < 50; i++ ) {
+			aggregator.fireLater();
+		}
+		assertEquals(0, fired.get());
+		assertTrue(aggregator.isPending());
+		waitFor(fired, 1);
+		Thread.sleep(200);
+		assertEquals(1, fired.get());
+		assertFalse(aggregator.isPending());
+	}
+
+	@Test
+	public void testFireNowIncludesPendingChanges() throws Exception {
+		AtomicInteger fired = new AtomicInteger();
+		ServerStateAggregator aggregator = new ServerStateAggregator(fired::incrementAndGet, 100);
+		aggregator.fireLater();
+		aggregator.fireNow();
+		assertEquals(1, fired.get());
+		assertFalse(aggregator.isPending());
+		Thread.sleep(200);
+		assertEquals(1, fired.get());
+	}
+
+	@Test
+	public void testNoWindowFiresEveryChange() {
+		AtomicInteger fired = new AtomicInteger();
+		ServerStateAggregator aggregator = new ServerStateAggregator(fired::incrementAndGet, 0);
+		aggregator.fireLater();
+		aggregator.fireLater();
+		assertEquals(2, fired.get());
+		assertFalse(aggregator.isPending());
+	}
+
+	@Test
+	public void testFiresAgainAfterWindow() throws Exception {
+		AtomicInteger fired = new AtomicInteger();
+		ServerStateAggregator aggregator = new ServerStateAggregator(fired::incrementAndGet, 20);
+		aggregator.fireLater();
+		waitFor(fired, 1);
+		aggregator.fireLater();
+		waitFor(fired, 2);
+		assertEquals(2, fired.get());
+	}
+
+	private void waitFor(AtomicInteger fired, int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while( fired.get() < count && System.currentTimeMillis() < end ) {
+			Thread.sleep(10);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.jboss.tools.rsp.eclipse.debug.core.model.IStreamMonitor;
+import org.jboss.tools.rsp.server.spi.model.IServerManagementModel;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.junit.Test;
+
+public class ServerStreamListenerTest {
+
+	@Test
+	public void testOutputFiredOnce() {
+		IServer server = mock(IServer.class);
+		IServerManagementModel mgmt = mock(IServerManagementModel.class);
+		IServerModel model = mock(IServerModel.class);
+		when(server.getServerManagementModel()).thenReturn(mgmt);
+		when(mgmt.getServerModel()).thenReturn(model);
+
+		ServerStreamListener listener = new ServerStreamListener(server, "p1", 1, 0, 0);
+		listener.streamAppended("line1\n", mock(IStreamMonitor.class));
+
+		verify(model, times(1)).fireServerStreamAppended(server, "p1", 1, "line1\n");
+	}
+}
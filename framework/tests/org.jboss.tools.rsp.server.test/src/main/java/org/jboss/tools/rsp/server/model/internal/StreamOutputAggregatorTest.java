@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.model.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Test;
+
+public class StreamOutputAggregatorTest {
+
+	@Test
+	public void testOutputWithinWindowFiredOnce() throws Exception {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		StreamOutputAggregator aggregator = new StreamOutputAggregator(fired::add, 1000, 100);
+		for( int i = 0; i < 10; i++ ) {
+			aggregator.append("line" + i + "\n");
+		}
+		assertTrue(fired.isEmpty());
+		assertTrue(aggregator.isPending());
+		waitFor(fired, 1);
+		Thread.sleep(200);
+		assertEquals(1, fired.size());
+		assertTrue(fired.get(0).startsWith("line0\nline1\n"));
+		assertTrue(fired.get(0).endsWith("line9\n"));
+		assertFalse(aggregator.isPending());
+	}
+
+	@Test
+	public void testFiredOnceSizeReached() {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		StreamOutputAggregator aggregator = new StreamOutputAggregator(fired::add, 10, 10000);
+		aggregator.append("12345");
+		assertTrue(fired.isEmpty());
+		aggregator.append("67890ab");
+		assertEquals(Collections.singletonList("1234567890ab"), fired);
+		assertFalse(aggregator.isPending());
+	}
+
+	@Test
+	public void testFlushFiresPendingOutput() throws Exception {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		StreamOutputAggregator aggregator = new StreamOutputAggregator(fired::add, 1000, 100);
+		aggregator.append("last words");
+		aggregator.flush();
+		assertEquals(Collections.singletonList("last words"), fired);
+		aggregator.flush();
+		Thread.sleep(200);
+		assertEquals(1, fired.size());
+	}
+
+	@Test
+	public void testNoWindowFiresEveryChunk() {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		StreamOutputAggregator aggregator = new StreamOutputAggregator(fired::add, 1000, 0);
+		aggregator.append("a");
+		aggregator.append("b");
+		assertEquals(2, fired.size());
+		assertFalse(aggregator.isPending());
+	}
+
+	private void waitFor(List<String> fired, int count) throws InterruptedException {
+		long end = System.currentTimeMillis() + 5000;
+		while( fired.size() < count && System.currentTimeMillis() < end ) {
+			Thread.sleep(10);
+		}
+	}
+}
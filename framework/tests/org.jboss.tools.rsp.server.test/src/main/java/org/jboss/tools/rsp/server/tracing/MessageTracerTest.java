@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.jsonrpc.MessageConsumer;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.junit.Test;
+
+public class MessageTracerTest {
+
+	@Test
+	public void testCapacityRoundedToPowerOfTwo() {
+		assertEquals(8, new MessageTracer(5).getCapacity());
+		assertEquals(8, new MessageTracer(8).getCapacity());
+		assertEquals(2, new MessageTracer(0).getCapacity());
+	}
+
+	@Test
+	public void testWrapTracesAndForwards() {
+		MessageTracer tracer = new MessageTracer(8);
+		List<Message> consumed = new ArrayList<>();
+		MessageConsumer wrapped = tracer.wrap(consumed::add, "client1", true);
+		Message m = notification("server/getServerHandles");
+		wrapped.consume(m);
+		assertEquals(1, consumed.size());
+		assertSame(m, consumed.get(0));
+		List<String> traced = tracer.getMessages();
+		assertEquals(1, traced.size());
+		assertTrue(traced.get(0).contains("Received from client1"));
+		assertTrue(traced.get(0).contains("server/getServerHandles"));
+	}
+
+	@Test
+	public void testOldestOverwritten() {
+		MessageTracer tracer = new MessageTracer(4);
+		for( int i = 0; i < 10; i++ ) {
+			tracer.trace(notification("method" + i), "client1", false);
+		}
+		List<String> traced = tracer.getMessages();
+		assertEquals(4, traced.size());
+		assertTrue(traced.get(0).contains("method6"));
+		assertTrue(traced.get(3).contains("method9"));
+		assertEquals(6, tracer.getDropped());
+	}
+
+	@Test
+	public void testClear() {
+		MessageTracer tracer = new MessageTracer(4);
+		for( int i = 0; i < 6; i++ ) {
+			tracer.trace(notification("method" + i), "client1", false);
+		}
+		tracer.clear();
+		assertEquals(0, tracer.getMessages().size());
+		assertEquals(0, tracer.getDropped());
+		tracer.trace(notification("after"), "client1", false);
+		List<String> traced = tracer.getMessages();
+		assertEquals(1, traced.size());
+		assertTrue(traced.get(0).contains("after"));
+	}
+
+	@Test
+	public void testConcurrentTracing() throws InterruptedException {
+		MessageTracer tracer = new MessageTracer(1024);
+		tracer.start();
+		Thread[] threads = new Thread[4];
+		for( int t = 0; t < threads.length; t++ ) {
+			threads[t] = new Thread(() -> {
+				for( int i = 0; i < 200; i++ ) {
+					tracer.trace(notification("m"), "client", true);
+				}
+			});
+			threads[t].start();
+		}
+		for( Thread t : threads ) {
+			t.join();
+		}
+		tracer.stop();
+		assertEquals(800, tracer.getMessages().size());
+		assertEquals(0, tracer.getDropped());
+	}
+
+	private Message notification(String method) {
+		NotificationMessage m = new NotificationMessage();
+		m.setMethod(method);
+		return m;
+	}
+}
@@ -16,12 +16,15 @@ import java.util.concurrent.CompletableFuture;
 import org.jboss.tools.rsp.api.RSPClient;
 import org.jboss.tools.rsp.api.RSPServer;
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.api.dao.CompressedServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.DiscoveryPath;
 import org.jboss.tools.rsp.api.dao.ServerHandle;
 import org.jboss.tools.rsp.api.dao.ServerProcess;
 import org.jboss.tools.rsp.api.dao.ServerProcessOutput;
 import org.jboss.tools.rsp.api.dao.ServerState;
+import org.jboss.tools.rsp.api.dao.ServerStateDelta;
 import org.jboss.tools.rsp.api.dao.StringPrompt;
+import org.jboss.tools.rsp.api.dao.util.OutputCompressionUtility;
 
 public class ClientImpl implements RSPClient {
 	
@@ -82,6 +85,12 @@ public class ClientImpl implements RSPClient {
 		System.out.println("Server state changed: " + state.getServer().getType() + ":" + state.getServer().getId() + " to " + stateString);
 	}
 
+	@Override
+	public void serverStateDelta(ServerStateDelta delta) {
+		System.out.println("Server state delta: " + delta.getServer().getType() + ":" + delta.getServer().getId() 
+				+ " #" + delta.getSequence());
+	}
+
 	@Override
 	public void serverProcessCreated(ServerProcess process) {
 		System.out.println("Server process created: " + 
@@ -104,6 +113,11 @@ public class ClientImpl implements RSPClient {
 				+ out.getStreamType() + "] " + out.getText());
 	}
 
+	@Override
+	public void serverProcessOutputCompressed(CompressedServerProcessOutput out) {
+		serverProcessOutputAppended(OutputCompressionUtility.decompress(out));
+	}
+
 	@Override
 	public CompletableFuture<String> promptString(StringPrompt prompt) {
 		return CompletableFuture.completedFuture("this_is_a_password"); 
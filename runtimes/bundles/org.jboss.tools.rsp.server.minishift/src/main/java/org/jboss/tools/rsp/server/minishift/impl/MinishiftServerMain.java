@@ -20,6 +20,7 @@ public class MinishiftServerMain extends ServerManagementServerLauncher {
 	public static void main(String[] args) throws Exception {
 		MinishiftServerMain instance = new MinishiftServerMain();
 		LauncherSingleton.getDefault().setLauncher(instance);
+		instance.configureSocket(args);
 		instance.launch(args[0]);
 		instance.shutdownOnInput();
 	}
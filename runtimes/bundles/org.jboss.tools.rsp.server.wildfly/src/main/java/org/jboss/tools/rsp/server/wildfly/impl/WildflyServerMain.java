@@ -24,6 +24,7 @@ public class WildflyServerMain extends ServerManagementServerLauncher {
 	public static void main(String[] args) throws Exception {
 		WildflyServerMain instance = new WildflyServerMain();
 		LauncherSingleton.getDefault().setLauncher(instance);
+		instance.configureSocket(args);
 		instance.launch(args[0]);
 		
 		Map<String, DownloadRuntime> test = instance.getModel().getDownloadRuntimeModel().getOrLoadDownloadRuntimes(new NullProgressMonitor());
@@ -9,6 +9,9 @@
 package org.jboss.tools.rsp.server.wildfly.servertype;
 
 import java.io.File;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
 import org.jboss.tools.rsp.api.dao.CommandLineDetails;
@@ -24,18 +27,24 @@ import org.jboss.tools.rsp.eclipse.debug.core.DebugException;
 import org.jboss.tools.rsp.eclipse.debug.core.ILaunch;
 import org.jboss.tools.rsp.eclipse.debug.core.model.IProcess;
 import org.jboss.tools.rsp.eclipse.jdt.launching.IVMInstall;
+import org.jboss.tools.rsp.server.RSPFlags;
 import org.jboss.tools.rsp.server.model.AbstractServerDelegate;
 import org.jboss.tools.rsp.server.spi.launchers.IServerShutdownLauncher;
 import org.jboss.tools.rsp.server.spi.launchers.IServerStartLauncher;
+import org.jboss.tools.rsp.server.spi.model.polling.CompositePoller;
+import org.jboss.tools.rsp.server.spi.model.polling.ConsoleOutputPoller;
+import org.jboss.tools.rsp.server.spi.model.polling.HttpReadinessPoller;
 import org.jboss.tools.rsp.server.spi.model.polling.IPollResultListener;
 import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller;
 import org.jboss.tools.rsp.server.spi.model.polling.PollThreadUtils;
-import org.jboss.tools.rsp.server.spi.model.polling.WebPortPoller;
 import org.jboss.tools.rsp.server.spi.servertype.CreateServerValidation;
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
 import org.jboss.tools.rsp.server.spi.servertype.IServerDelegate;
 import org.jboss.tools.rsp.server.spi.util.StatusConverter;
 import org.jboss.tools.rsp.server.wildfly.impl.Activator;
+import org.jboss.tools.rsp.server.wildfly.servertype.capabilities.ExtendedServerPropertiesAdapterFactory;
+import org.jboss.tools.rsp.server.wildfly.servertype.capabilities.JBossExtendedProperties;
+import org.jboss.tools.rsp.server.wildfly.servertype.capabilities.ServerExtendedProperties;
 import org.jboss.tools.rsp.server.wildfly.servertype.publishing.IJBossPublishController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -160,16 +169,102 @@ public abstract class AbstractJBossServerDelegate extends AbstractServerDelegate
 	
 	/*
 	 * Default implementation, subclasses can override.
+	 * Watches the console for the server's started and stopped messages
+	 * and polls the web port, or the management api if the server is 
+	 * set to, whichever answers first. 
 	 */
 	protected IServerStatePoller getPoller(IServerStatePoller.SERVER_STATE expectedState) {
-		return getDefaultWebPortPoller();
+		IServerStatePoller console = getConsolePoller();
+		if( isManagementPollerSelected()) {
+			IServerStatePoller management = getManagementPoller();
+			return console == null ? management : new CompositePoller(management, console);
+		}
+		if( console == null )
+			return getDefaultWebPortPoller();
+		if( !RSPFlags.isPollerWebEnabled(getServer().getTypeId()))
+			return console;
+		return new CompositePoller(getDefaultWebPortPoller(), console);
+	}
+
+	/*
+	 * Checks a started server over the management api if the server 
+	 * is set to, otherwise over the web port unless it is disabled. 
+	 * The console can not tell a crash or hang, so it is not watched.
+	 */
+	@Override
+	public IServerStatePoller getHealthPoller() {
+		if( isManagementPollerSelected())
+			return getManagementPoller();
+		if( RSPFlags.isPollerWebEnabled(getServer().getTypeId()))
+			return getDefaultWebPortPoller();
+		return null;
+	}
+
+	protected boolean isManagementPollerSelected() {
+		String poller = getServer().getAttribute(IJBossServerAttributes.STATE_POLLER, 
+				IJBossServerAttributes.STATE_POLLER_WEB);
+		return IJBossServerAttributes.STATE_POLLER_MANAGEMENT.equals(poller);
+	}
+
+	/**
+	 * @return a poller reading the server state over the management api
+	 */
+	protected IServerStatePoller getManagementPoller() {
+		IServer server = getServer();
+		return new WildFlyManagementPoller("Management Poller: " + server.getName(), 
+				server.getAttribute(IJBossServerAttributes.MANAGEMENT_HOST, WildFlyManagementPoller.DEFAULT_MANAGEMENT_HOST),
+				server.getAttribute(IJBossServerAttributes.MANAGEMENT_PORT, WildFlyManagementPoller.DEFAULT_MANAGEMENT_PORT),
+				server.getAttribute(IJBossServerAttributes.MANAGEMENT_USERNAME, (String)null),
+				server.getAttribute(IJBossServerAttributes.MANAGEMENT_PASSWORD, (String)null),
+				RSPFlags.getPollerWebTimeout(server.getTypeId()));
+	}
+
+	/**
+	 * @return a poller watching the console, or null if the 
+	 *   server type's console can not tell the state
+	 */
+	protected IServerStatePoller getConsolePoller() {
+		ServerExtendedProperties props = new ExtendedServerPropertiesAdapterFactory()
+				.getExtendedProperties(getServer());
+		if( !(props instanceof JBossExtendedProperties)) 
+			return null;
+		JBossExtendedProperties jbossProps = (JBossExtendedProperties)props;
+		String typeId = getServer().getTypeId();
+		Pattern started = compileConsolePattern(RSPFlags.SYSPROP_POLLER_CONSOLE_STARTED, 
+				typeId, jbossProps.getConsoleStartedPattern());
+		Pattern stopped = compileConsolePattern(RSPFlags.SYSPROP_POLLER_CONSOLE_STOPPED, 
+				typeId, jbossProps.getConsoleStoppedPattern());
+		if( started == null && stopped == null )
+			return null;
+		return new ConsoleOutputPoller(getServer().getName(), started, stopped);
+	}
+
+	private Pattern compileConsolePattern(String key, String typeId, String def) {
+		String pattern = RSPFlags.getPollerConsolePattern(key, typeId, def);
+		if( pattern == null || pattern.isEmpty())
+			return null;
+		try {
+			return Pattern.compile(pattern);
+		} catch(PatternSyntaxException pse) {
+			LOG.error("Invalid console pattern " + pattern + " for server " + getServer().getName(), pse);
+			return null;
+		}
 	}
 	
 	private IServerStatePoller getDefaultWebPortPoller() {
-		return new WebPortPoller("Web Poller: " + this.getServer().getName()) {
+		String typeId = getServer().getTypeId();
+		IntPredicate expectedStatus = null;
+		try {
+			expectedStatus = HttpReadinessPoller.parseStatusCodes(RSPFlags.getPollerWebStatus(typeId));
+		} catch(IllegalArgumentException iae) {
+			LOG.error("Invalid web poller status codes for server " + getServer().getName() 
+					+ ", any status is taken for the server being up", iae);
+		}
+		return new HttpReadinessPoller("Web Poller: " + this.getServer().getName(), 
+				RSPFlags.getPollerWebTimeout(typeId), expectedStatus) {
 			@Override
 			protected String getURL(IServer server) {
-				return getPollURL(server);
+				return RSPFlags.getPollerWebURL(server.getTypeId(), getPollURL(server));
 			}
 		};
 	}
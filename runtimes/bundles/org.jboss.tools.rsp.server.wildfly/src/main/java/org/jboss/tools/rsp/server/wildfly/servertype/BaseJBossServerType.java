@@ -71,6 +71,25 @@ public abstract class BaseJBossServerType implements IServerType{
 			attrs.addAttribute(IJBossServerAttributes.VM_INSTALL_PATH, 
 					ServerManagementAPIConstants.ATTR_TYPE_STRING, 
 					"A string representation pointing to a java home. If not set, java.home will be used instead.", null);
+			attrs.addAttribute(IJBossServerAttributes.STATE_POLLER, 
+					ServerManagementAPIConstants.ATTR_TYPE_STRING, 
+					"How to tell the server started or stopped besides its console: "
+					+ "web polls the web port, management reads the server state over the management api.", 
+					IJBossServerAttributes.STATE_POLLER_WEB);
+			attrs.addAttribute(IJBossServerAttributes.MANAGEMENT_HOST, 
+					ServerManagementAPIConstants.ATTR_TYPE_STRING, 
+					"The host the http management interface listens on, used by the management poller. " 
+					+ WildFlyManagementPoller.DEFAULT_MANAGEMENT_HOST + " if not set.", null);
+			attrs.addAttribute(IJBossServerAttributes.MANAGEMENT_PORT, 
+					ServerManagementAPIConstants.ATTR_TYPE_INT, 
+					"The http management port, used by the management poller. " 
+					+ WildFlyManagementPoller.DEFAULT_MANAGEMENT_PORT + " if not set.", null);
+			attrs.addAttribute(IJBossServerAttributes.MANAGEMENT_USERNAME, 
+					ServerManagementAPIConstants.ATTR_TYPE_STRING, 
+					"The management user, used by the management poller", null);
+			attrs.addAttribute(IJBossServerAttributes.MANAGEMENT_PASSWORD, 
+					ServerManagementAPIConstants.ATTR_TYPE_STRING, 
+					"The password of the management user", null);
 			optional = attrs.toPojo();
 		}
 		return optional;
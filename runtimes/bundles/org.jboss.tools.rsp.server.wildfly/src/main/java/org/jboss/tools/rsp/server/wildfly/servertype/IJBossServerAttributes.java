@@ -9,6 +9,7 @@
 package org.jboss.tools.rsp.server.wildfly.servertype;
 
 import org.jboss.tools.rsp.api.ServerManagementAPIConstants;
+import org.jboss.tools.rsp.server.spi.model.IServerModel;
 
 public interface IJBossServerAttributes {
 	/*
@@ -22,6 +23,18 @@ public interface IJBossServerAttributes {
 	 * Optional Attributes
 	 */
 	public static final String VM_INSTALL_PATH = "vm.install.path";
+
+	/**
+	 * How the server state is polled, besides watching the console: 
+	 * {@link #STATE_POLLER_WEB} or {@link #STATE_POLLER_MANAGEMENT}
+	 */
+	public static final String STATE_POLLER = "server.state.poller";
+	public static final String STATE_POLLER_WEB = "web";
+	public static final String STATE_POLLER_MANAGEMENT = "management";
+	public static final String MANAGEMENT_HOST = "management.host";
+	public static final String MANAGEMENT_PORT = "management.port";
+	public static final String MANAGEMENT_USERNAME = "management.username";
+	public static final String MANAGEMENT_PASSWORD = IServerModel.SECURE_ATTRIBUTE_PREFIX + "management.password";
 	
 	
 	/*
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.wildfly.servertype;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.server.spi.model.polling.AbstractPoller;
+import org.jboss.tools.rsp.server.spi.model.polling.HttpReadinessPoller;
+import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Polls a WildFly server by reading its server-state attribute 
+ * over the http management api. Unlike the web port, the server 
+ * only reports to be running once its deployments are deployed, 
+ * and it answers even if the web listener is disabled.
+ * 
+ * The management realm authenticates with http digest (or basic), 
+ * the challenge is kept and answered for the next pings. Only MD5 
+ * digests are answered, the server may offer other algorithms too.
+ */
+public class WildFlyManagementPoller extends AbstractPoller {
+	private static final Logger LOG = LoggerFactory.getLogger(WildFlyManagementPoller.class);
+
+	public static final String DEFAULT_MANAGEMENT_HOST = "localhost";
+	public static final int DEFAULT_MANAGEMENT_PORT = 9990;
+
+	private static final String MANAGEMENT_PATH = "/management";
+	private static final String READ_SERVER_STATE = 
+			"{\"operation\":\"read-attribute\",\"name\":\"server-state\",\"address\":[]}";
+	private static final int MAX_RESPONSE = 64 * 1024;
+	private static final Pattern CHALLENGE_PARAM = Pattern.compile("(\\w+)=(?:\"([^\"]*)\"|([^,\\s]*))");
+
+	private final String name;
+	private final String url;
+	private final String username;
+	private final String password;
+	private final int timeout;
+	// Guarded by this
+	private Map<String, String> digest;
+	private int nonceCount;
+	private boolean loggedUnauthorized;
+
+	/**
+	 * @param host the host the management interface listens on
+	 * @param port the management http port
+	 * @param username the management user, or null if none is required
+	 * @param password the password of the management user
+	 * @param timeout milliseconds to connect and to wait for the answer
+	 */
+	public WildFlyManagementPoller(String name, String host, int port, 
+			String username, String password, int timeout) {
+		this.name = name;
+		this.url = "http://" + host + ":" + port + MANAGEMENT_PATH;
+		this.username = username;
+		this.password = password == null ? "" : password;
+		this.timeout = timeout > 0 ? timeout : HttpReadinessPoller.DEFAULT_TIMEOUT;
+	}
+
+	@Override
+	protected SERVER_STATE onePing(IServer server) {
+		try {
+			Response r = post(authorization());
+			if( r.status == HttpURLConnection.HTTP_UNAUTHORIZED && challenged(r.authenticate)) {
+				// first ping, or the nonce went stale
+				r = post(authorization());
+			}
+			if( r.status == HttpURLConnection.HTTP_UNAUTHORIZED ) {
+				logUnauthorized();
+				return SERVER_STATE.UNKNOWN;
+			}
+			return toServerState(r.status, r.body);
+		} catch(IOException ioe) {
+			// refused or timed out, the server is not up
+			return SERVER_STATE.DOWN;
+		}
+	}
+
+	/**
+	 * @return the state telling by the answer to reading the server-state
+	 */
+	public static SERVER_STATE toServerState(int status, String body) {
+		if( status != HttpURLConnection.HTTP_OK || body == null )
+			return SERVER_STATE.UNKNOWN;
+		String result;
+		try {
+			JsonElement e = new JsonParser().parse(body);
+			if( !e.isJsonObject())
+				return SERVER_STATE.UNKNOWN;
+			JsonObject o = e.getAsJsonObject();
+			if( !o.has("outcome") || !"success".equals(o.get("outcome").getAsString()) 
+					|| !o.has("result") || !o.get("result").isJsonPrimitive())
+				return SERVER_STATE.UNKNOWN;
+			result = o.get("result").getAsString();
+		} catch(JsonParseException | IllegalStateException | UnsupportedOperationException e) {
+			return SERVER_STATE.UNKNOWN;
+		}
+		switch(result) {
+		case "running":
+		case "reload-required":
+		case "restart-required":
+			return SERVER_STATE.UP;
+		case "stopped":
+			return SERVER_STATE.DOWN;
+		case "starting":
+		case "stopping":
+		default:
+			return SERVER_STATE.UNKNOWN;
+		}
+	}
+
+	private Response post(String authorization) throws IOException {
+		HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
+		boolean reusable = false;
+		try {
+			conn.setConnectTimeout(timeout);
+			conn.setReadTimeout(timeout);
+			conn.setUseCaches(false);
+			conn.setRequestMethod("POST");
+			conn.setDoOutput(true);
+			conn.setRequestProperty("Content-Type", "application/json");
+			conn.setRequestProperty("Accept", "application/json");
+			if( authorization != null )
+				conn.setRequestProperty("Authorization", authorization);
+			// not streamed, streaming fails on the 401 of the challenge
+			try (OutputStream out = conn.getOutputStream()) {
+				out.write(READ_SERVER_STATE.getBytes(StandardCharsets.UTF_8));
+			}
+			Response r = new Response();
+			r.status = conn.getResponseCode();
+			r.authenticate = conn.getHeaderFields().get("WWW-Authenticate");
+			InputStream in = r.status >= 400 ? conn.getErrorStream() : conn.getInputStream();
+			if( in != null ) {
+				r.body = read(in);
+				reusable = r.body != null;
+			}
+			return r;
+		} finally {
+			if( !reusable )
+				conn.disconnect();
+		}
+	}
+
+	/*
+	 * Read the whole response so that the connection is kept alive
+	 * 
+	 * @return the response, or null if it is too long
+	 */
+	private String read(InputStream in) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buf = new byte[4096];
+			int read;
+			while((read = in.read(buf)) != -1 ) {
+				out.write(buf, 0, read);
+				if( out.size() > MAX_RESPONSE )
+					return null;
+			}
+			return new String(out.toByteArray(), StandardCharsets.UTF_8);
+		} finally {
+			in.close();
+		}
+	}
+
+	/*
+	 * Keep the challenge of the server, preferring an MD5 digest 
+	 * over basic. Digests with other algorithms are skipped.
+	 * 
+	 * @return whether it can be answered
+	 */
+	private synchronized boolean challenged(List<String> headers) {
+		if( username == null || headers == null )
+			return false;
+		boolean basic = false;
+		for( String h : headers ) {
+			if( h.regionMatches(true, 0, "Digest ", 0, 7)) {
+				Map<String, String> params = new HashMap<>();
+				Matcher m = CHALLENGE_PARAM.matcher(h.substring(7));
+				while( m.find()) {
+					params.put(m.group(1).toLowerCase(), m.group(2) != null ? m.group(2) : m.group(3));
+				}
+				String algorithm = params.get("algorithm");
+				if( params.get("nonce") == null 
+						|| (algorithm != null && !"MD5".equalsIgnoreCase(algorithm)))
+					continue;
+				digest = params;
+				nonceCount = 0;
+				return true;
+			}
+			if( h.regionMatches(true, 0, "Basic", 0, 5)) 
+				basic = true;
+		}
+		if( basic ) {
+			digest = null;
+			nonceCount = -1;
+		}
+		return basic;
+	}
+
+	private synchronized String authorization() {
+		if( username == null )
+			return null;
+		if( nonceCount == -1 ) {
+			String s = username + ":" + password;
+			return "Basic " + Base64.getEncoder().encodeToString(s.getBytes(StandardCharsets.UTF_8));
+		}
+		if( digest == null )
+			return null;
+		String realm = digest.getOrDefault("realm", "");
+		String nonce = digest.get("nonce");
+		String qop = digest.get("qop");
+		String ha1 = md5(username + ":" + realm + ":" + password);
+		String ha2 = md5("POST:" + MANAGEMENT_PATH);
+		StringBuilder sb = new StringBuilder("Digest username=\"").append(username)
+				.append("\", realm=\"").append(realm)
+				.append("\", nonce=\"").append(nonce)
+				.append("\", uri=\"").append(MANAGEMENT_PATH).append('"');
+		if( qop != null && qop.contains("auth")) {
+			String nc = String.format("%08x", ++nonceCount);
+			String cnonce = Long.toHexString(ThreadLocalRandom.current().nextLong());
+			sb.append(", qop=auth, nc=").append(nc)
+				.append(", cnonce=\"").append(cnonce)
+				.append("\", response=\"").append(md5(ha1 + ":" + nonce + ":" + nc + ":" + cnonce + ":auth:" + ha2)).append('"');
+		} else {
+			sb.append(", response=\"").append(md5(ha1 + ":" + nonce + ":" + ha2)).append('"');
+		}
+		if( digest.get("opaque") != null )
+			sb.append(", opaque=\"").append(digest.get("opaque")).append('"');
+		if( digest.get("algorithm") != null )
+			sb.append(", algorithm=MD5");
+		return sb.toString();
+	}
+
+	private static String md5(String s) {
+		try {
+			byte[] hash = MessageDigest.getInstance("MD5").digest(s.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for( byte b : hash ) {
+				sb.append(String.format("%02x", b));
+			}
+			return sb.toString();
+		} catch(NoSuchAlgorithmException nsae) {
+			// every java platform has md5
+			throw new IllegalStateException(nsae);
+		}
+	}
+
+	private synchronized void logUnauthorized() {
+		if( loggedUnauthorized )
+			return;
+		loggedUnauthorized = true;
+		LOG.error(getThreadName() + " is not authorized to read the server state at " + url 
+				+ ", check the management username and password of the server");
+	}
+
+	@Override
+	protected String getThreadName() {
+		return name;
+	}
+
+	private static class Response {
+		private int status;
+		private String body;
+		private List<String> authenticate;
+	}
+}
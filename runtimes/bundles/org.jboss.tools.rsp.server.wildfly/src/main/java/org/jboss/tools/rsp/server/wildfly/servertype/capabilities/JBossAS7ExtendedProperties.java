@@ -11,11 +11,25 @@
 package org.jboss.tools.rsp.server.wildfly.servertype.capabilities;
 
 import org.jboss.tools.rsp.server.spi.servertype.IServer;
+import org.jboss.tools.rsp.server.wildfly.beans.impl.IServerConstants;
 import org.jboss.tools.rsp.server.wildfly.impl.util.IJBossRuntimeResourceConstants;
 import org.jboss.tools.rsp.server.wildfly.servertype.launch.IDefaultLaunchArguments;
 import org.jboss.tools.rsp.server.wildfly.servertype.launch.JBoss70DefaultLaunchArguments;
 
 public class JBossAS7ExtendedProperties extends JBossExtendedProperties { //implements IJBossManagerServiceProvider {
+
+	/*
+	 * Server types that still log JBAS message ids. 
+	 * Later ones log WFLYSRV ids instead.
+	 */
+	private static final String[] JBAS_MESSAGE_TYPES = new String[]{
+			IServerConstants.SERVER_AS_70,
+			IServerConstants.SERVER_AS_71,
+			IServerConstants.SERVER_EAP_60,
+			IServerConstants.SERVER_EAP_61,
+			IServerConstants.SERVER_WILDFLY_80,
+	};
+
 	public JBossAS7ExtendedProperties(IServer obj) {
 		super(obj);
 	}
@@ -55,6 +69,37 @@ public class JBossAS7ExtendedProperties extends JBossExtendedProperties { //impl
 	public int getFileStructure() {
 		return FILE_STRUCTURE_CONFIG_DEPLOYMENTS;
 	}
+
+	/**
+	 * Started (JBAS015874, WFLYSRV0025) 
+	 * or started with errors (JBAS015875, WFLYSRV0026)
+	 */
+	@Override
+	public String getConsoleStartedPattern() {
+		return logsJBASMessages() ? "JBAS01587[45]:" : "WFLYSRV002[56]:";
+	}
+
+	/**
+	 * Stopped (JBAS015950, WFLYSRV0050)
+	 */
+	@Override
+	public String getConsoleStoppedPattern() {
+		return logsJBASMessages() ? "JBAS015950:" : "WFLYSRV0050:";
+	}
+
+	private boolean logsJBASMessages() {
+		if (server == null
+				|| server.getServerType() == null) {
+			return false;
+		}
+		String id = server.getServerType().getId();
+		for (int i = 0; i < JBAS_MESSAGE_TYPES.length; i++) {
+			if (JBAS_MESSAGE_TYPES[i].equals(id)) {
+				return true;
+			}
+		}
+		return false;
+	}
 	
 //	public IServerModuleStateVerifier getModuleStateVerifier() {
 //		try {
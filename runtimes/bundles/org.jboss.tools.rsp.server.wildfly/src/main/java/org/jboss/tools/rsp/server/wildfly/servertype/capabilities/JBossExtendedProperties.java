@@ -149,6 +149,25 @@ public class JBossExtendedProperties extends ServerExtendedProperties {
 	 * IExecutionEnvironment getMaximumExecutionEnvironment()
 	 */
 
+	/**
+	 * The pattern of the line a server prints once it started, 
+	 * ie. <code>JBoss (Microcontainer) [5.1.0.GA (build: ...)] Started in 21s:712ms</code>
+	 * 
+	 * @return the pattern, or null if the console can not tell
+	 */
+	public String getConsoleStartedPattern() {
+		return "\\] Started in \\d+";
+	}
+
+	/**
+	 * The pattern of the line a server prints once it stopped
+	 * 
+	 * @return the pattern, or null if the console can not tell
+	 */
+	public String getConsoleStoppedPattern() {
+		return "Shutdown complete";
+	}
+
 	public boolean requiresJDK() {
 		return false;
 	}
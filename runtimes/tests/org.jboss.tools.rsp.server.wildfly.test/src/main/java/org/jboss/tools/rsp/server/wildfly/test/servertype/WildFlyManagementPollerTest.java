@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2018 Red Hat, Inc. Distributed under license by Red Hat, Inc.
+ * All rights reserved. This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution, and is
+ * available at http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Contributors: Red Hat, Inc.
+ ******************************************************************************/
+package org.jboss.tools.rsp.server.wildfly.test.servertype;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.jboss.tools.rsp.server.spi.model.polling.IServerStatePoller.SERVER_STATE;
+import org.jboss.tools.rsp.server.wildfly.servertype.WildFlyManagementPoller;
+import org.junit.After;
+import org.junit.Test;
+
+public class WildFlyManagementPollerTest {
+
+	private static final String USER = "admin";
+	private static final String PASSWORD = "secret";
+
+	private FakeManagementEndpoint endpoint;
+
+	@After
+	public void after() throws IOException {
+		if( endpoint != null )
+			endpoint.close();
+	}
+
+	@Test
+	public void mapsServerStates() throws IOException {
+		endpoint = new FakeManagementEndpoint();
+		WildFlyManagementPoller poller = poller(endpoint.getPort(), USER, PASSWORD);
+
+		endpoint.state = "starting";
+		assertEquals(SERVER_STATE.UNKNOWN, poller.getCurrentStateSynchronous(null));
+		endpoint.state = "running";
+		assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		endpoint.state = "reload-required";
+		assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		endpoint.state = "stopping";
+		assertEquals(SERVER_STATE.UNKNOWN, poller.getCurrentStateSynchronous(null));
+	}
+
+	@Test
+	public void answersChallengeOnce() throws IOException {
+		endpoint = new FakeManagementEndpoint();
+		WildFlyManagementPoller poller = poller(endpoint.getPort(), USER, PASSWORD);
+		for( int i = 0; i < 5; i++ ) {
+			assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		}
+
+		assertEquals(1, endpoint.challenges.get());
+		assertEquals(5, endpoint.authorized.get());
+	}
+
+	@Test
+	public void answersNewChallengeWhenNonceIsStale() throws IOException {
+		endpoint = new FakeManagementEndpoint();
+		WildFlyManagementPoller poller = poller(endpoint.getPort(), USER, PASSWORD);
+		assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		endpoint.nonce = "renewed";
+
+		assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		assertEquals(2, endpoint.challenges.get());
+	}
+
+	@Test
+	public void answersMD5AmongSeveralChallenges() throws IOException {
+		endpoint = new FakeManagementEndpoint();
+		endpoint.otherAlgorithms = true;
+		WildFlyManagementPoller poller = poller(endpoint.getPort(), USER, PASSWORD);
+
+		assertEquals(SERVER_STATE.UP, poller.getCurrentStateSynchronous(null));
+		assertEquals(1, endpoint.challenges.get());
+		assertEquals(1, endpoint.authorized.get());
+	}
+
+	@Test
+	public void unknownIfNotAuthorized() throws IOException {
+		endpoint = new FakeManagementEndpoint();
+
+		assertEquals(SERVER_STATE.UNKNOWN, poller(endpoint.getPort(), USER, "wrong").getCurrentStateSynchronous(null));
+		assertEquals(SERVER_STATE.UNKNOWN, poller(endpoint.getPort(), null, null).getCurrentStateSynchronous(null));
+		assertEquals(0, endpoint.authorized.get());
+	}
+
+	@Test
+	public void downIfNothingListens() throws IOException {
+		int port;
+		try (ServerSocket s = new ServerSocket(0)) {
+			port = s.getLocalPort();
+		}
+
+		assertEquals(SERVER_STATE.DOWN, poller(port, USER, PASSWORD).getCurrentStateSynchronous(null));
+	}
+
+	@Test
+	public void unknownOnFailedOperation() {
+		assertEquals(SERVER_STATE.UNKNOWN, WildFlyManagementPoller.toServerState(200, 
+				"{\"outcome\" : \"failed\", \"failure-description\" : \"WFLYCTL0201\"}"));
+		assertEquals(SERVER_STATE.UNKNOWN, WildFlyManagementPoller.toServerState(500, null));
+		assertEquals(SERVER_STATE.UNKNOWN, WildFlyManagementPoller.toServerState(200, "<html>"));
+		assertEquals(SERVER_STATE.UP, WildFlyManagementPoller.toServerState(200, 
+				"{\"outcome\" : \"success\", \"result\" : \"restart-required\"}"));
+	}
+
+	private WildFlyManagementPoller poller(int port, String user, String password) {
+		return new WildFlyManagementPoller("test", "localhost", port, user, password, 1000);
+	}
+
+	/**
+	 * Answers read-attribute(name=server-state) like the http management 
+	 * interface of WildFly, authenticating with digest
+	 */
+	private static class FakeManagementEndpoint implements Runnable {
+		private static final String REALM = "ManagementRealm";
+		private static final Pattern PARAM = Pattern.compile("(\\w+)=(?:\"([^\"]*)\"|([^,\\s]*))");
+
+		private final ServerSocket socket;
+		private final AtomicInteger challenges = new AtomicInteger();
+		private final AtomicInteger authorized = new AtomicInteger();
+		private volatile String state = "running";
+		private volatile String nonce = "initial";
+		private volatile boolean otherAlgorithms;
+
+		private FakeManagementEndpoint() throws IOException {
+			this.socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+			Thread t = new Thread(this, "Fake management endpoint");
+			t.setDaemon(true);
+			t.start();
+		}
+
+		private int getPort() {
+			return socket.getLocalPort();
+		}
+
+		@Override
+		public void run() {
+			while( !socket.isClosed()) {
+				try {
+					Socket s = socket.accept();
+					Thread t = new Thread(() -> serve(s), "Fake management connection");
+					t.setDaemon(true);
+					t.start();
+				} catch(IOException ioe) {
+					// closed
+				}
+			}
+		}
+
+		private void serve(Socket s) {
+			try (Socket c = s) {
+				BufferedReader in = new BufferedReader(new InputStreamReader(c.getInputStream(), StandardCharsets.ISO_8859_1));
+				OutputStream out = c.getOutputStream();
+				String line;
+				while((line = in.readLine()) != null ) {
+					String requestLine = line;
+					Map<String, String> headers = new HashMap<>();
+					while((line = in.readLine()) != null && !line.isEmpty()) {
+						int colon = line.indexOf(':');
+						headers.put(line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+					}
+					char[] body = new char[Integer.parseInt(headers.getOrDefault("content-length", "0"))];
+					int read = 0;
+					while( read < body.length ) {
+						read += in.read(body, read, body.length - read);
+					}
+					out.write(respond(requestLine, headers.get("authorization"), new String(body)));
+					out.flush();
+				}
+			} catch(IOException ioe) {
+				// client went away
+			}
+		}
+
+		private byte[] respond(String requestLine, String authorization, String body) {
+			if( !requestLine.startsWith("POST /management ") || !body.contains("\"server-state\""))
+				return response(400, "", "{\"outcome\" : \"failed\"}");
+			if( !isAuthorized(authorization)) {
+				challenges.incrementAndGet();
+				String headers = challenge("MD5");
+				if( otherAlgorithms ) 
+					headers = challenge("SHA-256") + headers + challenge("SHA-512-256");
+				return response(401, headers, "");
+			}
+			authorized.incrementAndGet();
+			return response(200, "", "{\"outcome\" : \"success\", \"result\" : \"" + state + "\"}");
+		}
+
+		private String challenge(String algorithm) {
+			return "WWW-Authenticate: Digest realm=\"" + REALM + "\", nonce=\"" + nonce 
+					+ "\", opaque=\"00000000\", algorithm=" + algorithm + ", qop=\"auth\"\r\n";
+		}
+
+		private boolean isAuthorized(String authorization) {
+			if( authorization == null || !authorization.startsWith("Digest "))
+				return false;
+			Map<String, String> p = new HashMap<>();
+			Matcher m = PARAM.matcher(authorization.substring(7));
+			while( m.find()) {
+				p.put(m.group(1), m.group(2) != null ? m.group(2) : m.group(3));
+			}
+			if( !nonce.equals(p.get("nonce")) || !USER.equals(p.get("username")) 
+					|| !"MD5".equals(p.get("algorithm")))
+				return false;
+			String ha1 = md5(USER + ":" + REALM + ":" + PASSWORD);
+			String ha2 = md5("POST:" + p.get("uri"));
+			String expected = md5(ha1 + ":" + nonce + ":" + p.get("nc") + ":" + p.get("cnonce") + ":auth:" + ha2);
+			return expected.equals(p.get("response"));
+		}
+
+		private byte[] response(int status, String headers, String body) {
+			String r = "HTTP/1.1 " + status + " Fake\r\n" + headers 
+					+ "Content-Type: application/json\r\n"
+					+ "Content-Length: " + body.length() + "\r\n\r\n" + body;
+			return r.getBytes(StandardCharsets.ISO_8859_1);
+		}
+
+		private static String md5(String s) {
+			try {
+				StringBuilder sb = new StringBuilder();
+				for( byte b : MessageDigest.getInstance("MD5").digest(s.getBytes(StandardCharsets.UTF_8))) {
+					sb.append(String.format("%02x", b));
+				}
+				return sb.toString();
+			} catch(NoSuchAlgorithmException nsae) {
+				throw new IllegalStateException(nsae);
+			}
+		}
+
+		private void close() throws IOException {
+			socket.close();
+		}
+	}
+}